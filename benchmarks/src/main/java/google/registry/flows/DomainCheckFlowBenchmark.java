@@ -0,0 +1,62 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static google.registry.testing.DatabaseHelper.persistActiveDomain;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import google.registry.flows.domain.DomainCheckFlow;
+import google.registry.testing.TestDataHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link DomainCheckFlow} with check commands of varying size.
+ *
+ * <p>Every other name in a command is registered, so that both the available and the unavailable
+ * code paths are exercised.
+ */
+public class DomainCheckFlowBenchmark extends EppFlowBenchmark {
+
+  /** The number of names per check command, up to the configured maximum of 50. */
+  @Param({"1", "5", "50"})
+  public int namesPerCommand;
+
+  private String checkXml;
+
+  @Override
+  void persistFixtures() {
+    ImmutableList.Builder<String> names = new ImmutableList.Builder<>();
+    for (int i = 0; i < namesPerCommand; i++) {
+      String domainName = String.format("check-%d.%s", i, TLD);
+      if (i % 2 == 1) {
+        persistActiveDomain(domainName);
+      }
+      names.add(String.format("<domain:name>%s</domain:name>", domainName));
+    }
+    checkXml =
+        TestDataHelper.loadFile(
+            EppFlowBenchmark.class,
+            "domain_check.xml",
+            ImmutableMap.of("NAMES", Joiner.on("\n        ").join(names.build())));
+  }
+
+  @Benchmark
+  public String check() {
+    return checkSuccess(runCommand(checkXml));
+  }
+}
@@ -0,0 +1,45 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static google.registry.testing.DatabaseHelper.persistActiveHost;
+
+import google.registry.flows.domain.DomainCreateFlow;
+import google.registry.testing.TestDataHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks {@link DomainCreateFlow}.
+ *
+ * <p>Every invocation creates a new domain, so the database grows over the course of a trial.
+ */
+public class DomainCreateFlowBenchmark extends EppFlowBenchmark {
+
+  private String createXmlTemplate;
+  private int nextDomainNumber;
+
+  @Override
+  void persistFixtures() {
+    persistActiveHost("ns1.example.net");
+    persistActiveHost("ns2.example.net");
+    createXmlTemplate = TestDataHelper.loadFile(EppFlowBenchmark.class, "domain_create.xml");
+  }
+
+  @Benchmark
+  public String create() {
+    String domainName = String.format("create-%d.%s", nextDomainNumber++, TLD);
+    return checkSuccess(runCommand(createXmlTemplate.replace("%DOMAIN%", domainName)));
+  }
+}
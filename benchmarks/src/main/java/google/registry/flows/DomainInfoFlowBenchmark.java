@@ -0,0 +1,48 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static google.registry.testing.DatabaseHelper.newDomain;
+import static google.registry.testing.DatabaseHelper.persistActiveHost;
+import static google.registry.testing.DatabaseHelper.persistResource;
+
+import com.google.common.collect.ImmutableMap;
+import google.registry.flows.domain.DomainInfoFlow;
+import google.registry.model.host.Host;
+import google.registry.testing.TestDataHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/** Benchmarks {@link DomainInfoFlow} for a domain with two nameservers. */
+public class DomainInfoFlowBenchmark extends EppFlowBenchmark {
+
+  private static final String DOMAIN_NAME = "info." + TLD;
+
+  private String infoXml;
+
+  @Override
+  void persistFixtures() {
+    Host ns1 = persistActiveHost("ns1.example.net");
+    Host ns2 = persistActiveHost("ns2.example.net");
+    persistResource(newDomain(DOMAIN_NAME, ns1, ns2));
+    infoXml =
+        TestDataHelper.loadFile(
+            EppFlowBenchmark.class, "domain_info.xml", ImmutableMap.of("DOMAIN", DOMAIN_NAME));
+  }
+
+  @Benchmark
+  public String info() {
+    return checkSuccess(runCommand(infoXml));
+  }
+}
@@ -0,0 +1,133 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static com.google.common.base.Preconditions.checkState;
+import static google.registry.testing.DatabaseHelper.createTld;
+import static jakarta.servlet.http.HttpServletResponse.SC_OK;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import google.registry.flows.EppTestComponent.FakesAndMocksModule;
+import google.registry.flows.EppTestComponent.RequestComponent;
+import google.registry.model.eppcommon.ProtocolDefinition;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import google.registry.testing.DatabaseHelper;
+import google.registry.testing.FakeClock;
+import google.registry.testing.FakeHttpSession;
+import google.registry.testing.FakeResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for JMH benchmarks that run EPP commands end to end.
+ *
+ * <p>Each command goes through {@link EppRequestHandler}, exactly as it would in the EPP servlet:
+ * the XML is sanitized, unmarshalled and dispatched to its flow by {@link FlowRunner}, and the
+ * response is marshalled back to XML. The database is the PostgreSQL test container provisioned by
+ * {@link JpaTestExtensions}, set up once per trial with the fixtures returned by {@link
+ * #persistFixtures}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public abstract class EppFlowBenchmark {
+
+  static final String TLD = "tld";
+
+  /** The registrar that all benchmarked commands are sent as. */
+  static final String REGISTRAR_ID = "TheRegistrar";
+
+  final FakeClock clock = new FakeClock(DateTime.parse("2024-06-01T00:00:00Z"));
+
+  private final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().withClock(clock).buildIntegrationTestExtension();
+
+  private EppTestComponent component;
+  private SessionMetadata sessionMetadata;
+
+  @Setup
+  public void setUpDatabase() throws Exception {
+    // Per-command logging would otherwise flood the benchmark output.
+    Logger.getLogger("").setLevel(Level.WARNING);
+    // The extension does not use its ExtensionContext argument.
+    jpa.beforeEach(null);
+    DatabaseHelper.setClock(clock);
+    createTld(TLD);
+    persistFixtures();
+    component =
+        DaggerEppTestComponent.builder()
+            .fakesAndMocksModule(FakesAndMocksModule.create(clock))
+            .build();
+    sessionMetadata = new HttpSessionMetadata(new FakeHttpSession());
+    sessionMetadata.setRegistrarId(REGISTRAR_ID);
+    sessionMetadata.setServiceExtensionUris(ProtocolDefinition.getVisibleServiceExtensionUris());
+  }
+
+  @TearDown
+  public void tearDownDatabase() {
+    jpa.afterEach(null);
+  }
+
+  /** Persists the entities that the benchmarked commands operate on. */
+  abstract void persistFixtures() throws Exception;
+
+  /**
+   * Runs a single EPP command as {@link #REGISTRAR_ID} and returns the response XML.
+   *
+   * <p>A new request component is created for every command, as the request scope would in
+   * production.
+   */
+  String runCommand(String inputXml) {
+    RequestComponent request = component.startRequest();
+    EppRequestHandler handler = new EppRequestHandler();
+    FakeResponse response = new FakeResponse();
+    handler.response = response;
+    handler.eppController = request.eppController();
+    handler.executeEpp(
+        sessionMetadata,
+        new PasswordOnlyTransportCredentials(),
+        EppRequestSource.UNIT_TEST,
+        false,
+        false,
+        inputXml.getBytes(UTF_8));
+    checkState(response.getStatus() == SC_OK, "EPP request failed: %s", response.getPayload());
+    return response.getPayload();
+  }
+
+  /** Checks that a command succeeded so that errors are not silently benchmarked. */
+  static String checkSuccess(String responseXml) {
+    checkState(
+        responseXml.contains("code=\"1000\"") || responseXml.contains("code=\"1301\""),
+        "Unexpected EPP response: %s",
+        responseXml);
+    return responseXml;
+  }
+}
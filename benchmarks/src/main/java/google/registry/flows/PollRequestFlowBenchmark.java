@@ -0,0 +1,66 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static google.registry.testing.DatabaseHelper.createHistoryEntryForEppResource;
+import static google.registry.testing.DatabaseHelper.persistActiveDomain;
+import static google.registry.testing.DatabaseHelper.persistResources;
+
+import com.google.common.collect.ImmutableList;
+import google.registry.flows.poll.PollRequestFlow;
+import google.registry.model.domain.Domain;
+import google.registry.model.poll.PollMessage;
+import google.registry.model.reporting.HistoryEntry;
+import google.registry.testing.TestDataHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link PollRequestFlow} against message queues of varying depth.
+ *
+ * <p>Messages are never acked, so every invocation returns the oldest message along with the
+ * count of the whole queue.
+ */
+public class PollRequestFlowBenchmark extends EppFlowBenchmark {
+
+  /** The number of pending poll messages queued for the registrar. */
+  @Param({"1", "10000"})
+  public int queuedMessages;
+
+  private String pollXml;
+
+  @Override
+  void persistFixtures() {
+    Domain domain = persistActiveDomain("poll." + TLD);
+    HistoryEntry historyEntry = createHistoryEntryForEppResource(domain);
+    ImmutableList.Builder<PollMessage> messages = new ImmutableList.Builder<>();
+    for (int i = 0; i < queuedMessages; i++) {
+      messages.add(
+          new PollMessage.OneTime.Builder()
+              .setRegistrarId(REGISTRAR_ID)
+              .setEventTime(clock.nowUtc().minusDays(1).plusMillis(i))
+              .setMsg("Benchmark message " + i)
+              .setHistoryEntry(historyEntry)
+              .build());
+    }
+    persistResources(messages.build());
+    pollXml = TestDataHelper.loadFile(EppFlowBenchmark.class, "poll.xml");
+  }
+
+  @Benchmark
+  public String poll() {
+    return checkSuccess(runCommand(pollXml));
+  }
+}
@@ -0,0 +1,40 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks the {@link Ghostryde} encoder, which encrypts deposits as they are staged.
+ *
+ * <p>This is the baseline for {@link RydeEncoderBenchmark}: both compress and encrypt the deposit,
+ * but Ghostryde doesn't sign it or wrap it in a tar file.
+ */
+public class GhostrydeBenchmark extends RdeEncodingBenchmark {
+
+  @Benchmark
+  public long encode() throws IOException {
+    CountingOutputStream output = new CountingOutputStream(ByteStreams.nullOutputStream());
+    try (OutputStream encoder = Ghostryde.encoder(output, stagingKey)) {
+      ByteStreams.copy(new ByteArrayInputStream(deposit), encoder);
+    }
+    return output.getCount();
+  }
+}
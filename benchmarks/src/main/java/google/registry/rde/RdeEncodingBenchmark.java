@@ -0,0 +1,108 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import google.registry.keyring.api.Keyring;
+import google.registry.testing.FakeKeyringModule;
+import java.security.Security;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.openpgp.PGPKeyPair;
+import org.bouncycastle.openpgp.PGPPublicKey;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base class for JMH benchmarks that encode an escrow deposit.
+ *
+ * <p>The deposit is synthetic domain XML with random names, ids and dates, so that it compresses
+ * about as well as a real one. Each operation encodes the whole deposit into a null stream, so the
+ * throughput in bytes per second is the deposit size divided by the reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public abstract class RdeEncodingBenchmark {
+
+  /** The size of the deposit, 64 MiB by default. */
+  @Param({"67108864"})
+  public int depositBytes;
+
+  byte[] deposit;
+  PGPPublicKey stagingKey;
+  PGPPublicKey receiverKey;
+  PGPKeyPair signingKey;
+
+  @Setup
+  public void setUp() {
+    Security.addProvider(new BouncyCastleProvider());
+    try (Keyring keyring = new FakeKeyringModule().get()) {
+      stagingKey = keyring.getRdeStagingEncryptionKey();
+      receiverKey = keyring.getRdeReceiverKey();
+      signingKey = keyring.getRdeSigningKey();
+    }
+    deposit = makeDeposit(depositBytes);
+  }
+
+  private static byte[] makeDeposit(int size) {
+    Random random = new Random(42);
+    StringBuilder xml = new StringBuilder(size + 1024);
+    while (xml.length() < size) {
+      xml.append(
+          String.format(
+              """
+              <rdeDomain:domain>
+                <rdeDomain:name>%s.example</rdeDomain:name>
+                <rdeDomain:roid>%X-EXAMPLE</rdeDomain:roid>
+                <rdeDomain:status s="ok"/>
+                <rdeDomain:registrant>%08x</rdeDomain:registrant>
+                <rdeDomain:ns>
+                  <domain:hostObj>ns%d.%s.example</domain:hostObj>
+                </rdeDomain:ns>
+                <rdeDomain:clID>registrar-%d</rdeDomain:clID>
+                <rdeDomain:crDate>20%02d-%02d-%02dT%02d:%02d:%02d.000Z</rdeDomain:crDate>
+              </rdeDomain:domain>
+              """,
+              Long.toString(random.nextLong() >>> 20, 36),
+              random.nextInt(1 << 30),
+              random.nextInt(),
+              random.nextInt(4),
+              Long.toString(random.nextLong() >>> 30, 36),
+              random.nextInt(500),
+              random.nextInt(25),
+              random.nextInt(12) + 1,
+              random.nextInt(28) + 1,
+              random.nextInt(24),
+              random.nextInt(60),
+              random.nextInt(60)));
+    }
+    xml.setLength(size);
+    return xml.toString().getBytes(UTF_8);
+  }
+}
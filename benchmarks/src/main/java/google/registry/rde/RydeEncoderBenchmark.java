@@ -0,0 +1,51 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks {@link RydeEncoder}, as used to upload RDE deposits and copy BRDA deposits, in both
+ * the sequential and the pipelined mode.
+ */
+public class RydeEncoderBenchmark extends RdeEncodingBenchmark {
+
+  private static final DateTime WATERMARK = DateTime.parse("2024-06-01T00:00:00Z");
+
+  @Param({"false", "true"})
+  public boolean pipelined;
+
+  @Benchmark
+  public long encode() throws IOException {
+    CountingOutputStream rydeOutput = new CountingOutputStream(ByteStreams.nullOutputStream());
+    try (RydeEncoder encoder =
+        new RydeEncoder.Builder()
+            .setRydeOutput(rydeOutput, receiverKey)
+            .setSignatureOutput(ByteStreams.nullOutputStream(), signingKey)
+            .setFileMetadata("example_2024-06-01_full_S1_R0", deposit.length, WATERMARK)
+            .setPipelined(pipelined)
+            .build()) {
+      // Copy the way the actions do, in small chunks.
+      ByteStreams.copy(new ByteArrayInputStream(deposit), encoder);
+    }
+    return rydeOutput.getCount();
+  }
+}
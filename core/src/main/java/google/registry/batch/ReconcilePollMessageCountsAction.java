@@ -0,0 +1,87 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.batch;
+
+import static com.google.common.net.MediaType.PLAIN_TEXT_UTF_8;
+import static google.registry.config.RegistryConfig.arePollMessageCountsEnabled;
+import static google.registry.persistence.PersistenceModule.TransactionIsolationLevel.TRANSACTION_REPEATABLE_READ;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static jakarta.servlet.http.HttpServletResponse.SC_OK;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.flogger.FluentLogger;
+import google.registry.config.RegistryConfig;
+import google.registry.model.poll.PollMessageCounts;
+import google.registry.request.Action;
+import google.registry.request.Response;
+import google.registry.request.auth.Auth;
+import jakarta.inject.Inject;
+import java.util.logging.Level;
+
+/**
+ * An action that adds up the {@link PollMessageCounts poll message counts} of every registrar and
+ * checks them against its poll messages.
+ *
+ * <p>The counts are kept up to date by database triggers, so once they have been filled in this
+ * should never find anything to fix. Drift is then logged as an error, since it means that poll
+ * messages were written with the triggers disabled.
+ *
+ * <p>This is also what fills in the counts of the messages that existed before the triggers were
+ * created, one registrar per transaction, before the poll flows are switched over to reading them
+ * (see {@link RegistryConfig#arePollMessageCountsEnabled}).
+ */
+@Action(
+    service = Action.Service.BACKEND,
+    path = ReconcilePollMessageCountsAction.PATH,
+    auth = Auth.AUTH_ADMIN)
+public class ReconcilePollMessageCountsAction implements Runnable {
+
+  public static final String PATH = "/_dr/task/reconcilePollMessageCounts";
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final Response response;
+
+  @Inject
+  ReconcilePollMessageCountsAction(Response response) {
+    this.response = response;
+  }
+
+  @Override
+  public void run() {
+    ImmutableList<String> registrarIds = tm().transact(PollMessageCounts::getRegistrarIds);
+    int driftedRegistrars = 0;
+    for (String registrarId : registrarIds) {
+      // One transaction per registrar, at repeatable read so that it doesn't conflict with the
+      // poll message writes made in the meantime.
+      int drift =
+          tm().transact(
+                  TRANSACTION_REPEATABLE_READ, () -> PollMessageCounts.reconcile(registrarId));
+      if (drift > 0) {
+        driftedRegistrars++;
+        logger.at(arePollMessageCountsEnabled() ? Level.SEVERE : Level.INFO).log(
+            "Fixed %d drifted poll message counts of registrar %s.", drift, registrarId);
+      }
+    }
+    String message =
+        String.format(
+            "Reconciled poll message counts of %d registrars, %d of which had drifted.",
+            registrarIds.size(), driftedRegistrars);
+    logger.atInfo().log(message);
+    response.setContentType(PLAIN_TEXT_UTF_8);
+    response.setStatus(SC_OK);
+    response.setPayload(message);
+  }
+}
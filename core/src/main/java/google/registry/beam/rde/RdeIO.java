@@ -51,10 +51,9 @@ import google.registry.xjc.rdeheader.XjcRdeHeader;
 import google.registry.xjc.rdeheader.XjcRdeHeaderElement;
 import google.registry.xml.ValidationMode;
 import google.registry.xml.XmlException;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.security.Security;
 import java.util.Optional;
 import org.apache.beam.sdk.options.PipelineOptions;
@@ -195,15 +194,17 @@ public class RdeIO {
       try (OutputStream gcsOutput = gcsUtils.openOutputStream(xmlFilename);
           OutputStream lengthOutput = gcsUtils.openOutputStream(xmlLengthFilename);
           OutputStream ghostrydeEncoder = Ghostryde.encoder(gcsOutput, stagingKey, lengthOutput);
-          Writer output = new OutputStreamWriter(ghostrydeEncoder, UTF_8)) {
+          OutputStream output = new BufferedOutputStream(ghostrydeEncoder)) {
 
         // Output the top portion of the XML document.
-        output.write(marshaller.makeHeader(id, watermark, RdeResourceType.getUris(mode), revision));
+        write(
+            output, marshaller.makeHeader(id, watermark, RdeResourceType.getUris(mode), revision));
 
-        // Output XML fragments while counting them.
+        // Output XML fragments while counting them. The fragments are inflated directly into the
+        // deposit stream, so that no fragment is ever decoded into a string here.
         for (DepositFragment fragment : fragments) {
-          if (!fragment.xml().isEmpty()) {
-            output.write(fragment.xml());
+          if (fragment.hasXml()) {
+            fragment.writeXmlTo(output);
             counter.increment(fragment.type());
           }
           if (!fragment.error().isEmpty()) {
@@ -215,17 +216,17 @@ public class RdeIO {
         // Don't write the IDN elements for BRDA.
         if (mode == RdeMode.FULL) {
           for (IdnTableEnum idn : IdnTableEnum.values()) {
-            output.write(marshaller.marshalIdn(idn.getTable()));
+            write(output, marshaller.marshalIdn(idn.getTable()));
             counter.increment(RdeResourceType.IDN);
           }
         }
 
         // Output XML that says how many resources were emitted.
         header = counter.makeHeader(tld, mode);
-        output.write(marshaller.marshalOrDie(new XjcRdeHeaderElement(header)));
+        write(output, marshaller.marshalOrDie(new XjcRdeHeaderElement(header)));
 
         // Output the bottom of the XML document.
-        output.write(marshaller.makeFooter());
+        write(output, marshaller.makeFooter());
 
       } catch (IOException e) {
         throw new RuntimeException(e);
@@ -255,6 +256,10 @@ public class RdeIO {
     }
   }
 
+  private static void write(OutputStream output, String xml) throws IOException {
+    output.write(xml.getBytes(UTF_8));
+  }
+
   private static class CursorUpdater extends DoFn<KV<PendingDeposit, Integer>, Void> {
 
     private static final FluentLogger logger = FluentLogger.forEnclosingClass();
@@ -62,6 +62,7 @@ import google.registry.model.reporting.HistoryEntry.HistoryEntryId;
 import google.registry.persistence.PersistenceModule.TransactionIsolationLevel;
 import google.registry.persistence.VKey;
 import google.registry.rde.DepositFragment;
+import google.registry.rde.DepositFragment.DepositFragmentCoder;
 import google.registry.rde.PendingDeposit;
 import google.registry.rde.PendingDeposit.PendingDepositCoder;
 import google.registry.rde.RdeMarshaller;
@@ -74,7 +75,6 @@ import java.io.Serializable;
 import org.apache.beam.sdk.Pipeline;
 import org.apache.beam.sdk.PipelineResult;
 import org.apache.beam.sdk.coders.KvCoder;
-import org.apache.beam.sdk.coders.SerializableCoder;
 import org.apache.beam.sdk.coders.StringUtf8Coder;
 import org.apache.beam.sdk.coders.VarLongCoder;
 import org.apache.beam.sdk.metrics.Counter;
@@ -247,7 +247,7 @@ public class RdePipeline implements Serializable {
         .apply(
             "Combine PendingDeposit:DepositFragment pairs from all entities",
             Flatten.pCollections())
-        .setCoder(KvCoder.of(PendingDepositCoder.of(), SerializableCoder.of(DepositFragment.class)))
+        .setCoder(KvCoder.of(PendingDepositCoder.of(), DepositFragmentCoder.of()))
         .apply("Group DepositFragment by PendingDeposit", GroupByKey.create());
   }
 
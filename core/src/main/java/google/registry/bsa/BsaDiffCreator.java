@@ -17,18 +17,15 @@ package google.registry.bsa;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
-import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Multimaps.newListMultimap;
-import static com.google.common.collect.Multimaps.toMultimap;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import google.registry.bsa.api.BlockLabel;
 import google.registry.bsa.api.BlockLabel.LabelType;
@@ -36,12 +33,15 @@ import google.registry.bsa.api.BlockOrder;
 import google.registry.bsa.api.BlockOrder.OrderType;
 import google.registry.bsa.persistence.DownloadSchedule;
 import google.registry.bsa.persistence.DownloadSchedule.CompletedJob;
+import google.registry.config.RegistryConfig.Config;
 import google.registry.tldconfig.idn.IdnTableEnum;
 import jakarta.inject.Inject;
-import java.util.HashMap;
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /** Creates diffs between the most recent download and the previous one. */
@@ -49,97 +49,138 @@ class BsaDiffCreator {
 
   private static final Splitter LINE_SPLITTER = Splitter.on(',').trimResults();
   private static final Splitter ORDER_SPLITTER = Splitter.on(';').trimResults();
+  private static final Joiner ORDER_JOINER = Joiner.on(';');
 
   private static final String BSA_CSV_HEADER = "domainLabel,orderIDs";
 
-  /** An impossible value for order ID. See {@link #createDiff} for usage. */
+  /** Orders block list lines by label only, so that all lines of a label are adjacent. */
+  private static final Comparator<String> BY_LABEL =
+      Comparator.comparing(line -> line.substring(0, line.indexOf(',')));
+
+  /** An impossible value for order ID. Rejected when parsing block lists. */
   static final Long ORDER_ID_SENTINEL = Long.MIN_VALUE;
 
   private final GcsClient gcsClient;
+  private final int sortRunSize;
 
   @Inject
-  BsaDiffCreator(GcsClient gcsClient) {
+  BsaDiffCreator(GcsClient gcsClient, @Config("bsaDiffSortRunSize") int sortRunSize) {
     this.gcsClient = gcsClient;
+    this.sortRunSize = sortRunSize;
   }
 
-  private <K, V extends Comparable<?>> Multimap<K, V> listBackedMultiMap() {
-    return newListMultimap(newHashMap(), Lists::newArrayList);
-  }
-
+  /**
+   * Creates the diff between the current download and the latest completed one.
+   *
+   * <p>The returned {@link BsaDiff} is backed by local files and must be closed.
+   */
   BsaDiff createDiff(DownloadSchedule schedule, IdnChecker idnChecker) {
     String currentJobName = schedule.jobName();
     Optional<String> previousJobName = schedule.latestCompleted().map(CompletedJob::jobName);
     /*
-     * Memory usage is a concern when creating a diff, when the newest download needs to be held in
-     * memory in its entirety. Assuming 400K labels, each of which on average included in 5 orders,
-     * the memory footprint is at least 300MB when loaded into a Hashset-backed Multimap (64-bit
-     * JVM, with 12-byte object header, 16-byte array header, and 16-byte alignment).
+     * Block lists keep growing, so neither download is ever held in memory in its entirety. Each
+     * one is sorted by label in runs of at most `sortRunSize` lines on local disk, and the two are
+     * then merged in a single pass that compares the orders of one label at a time. The label and
+     * order diffs are written to sorters of their own, which also removes duplicate orders.
      *
-     * <p>The memory footprint can be reduced in two ways, by using a canonical instance for each
-     * order ID value, and by using a ArrayList-backed Multimap. Together they reduce memory size to
-     * well below 100MB for the scenario above.
-     *
-     * <p>We need to watch out for the download sizes even after the migration to GKE. However, at
-     * that point we will have a wider selection of hardware.
+     * <p>Memory usage is therefore bounded by `sortRunSize` lines per sorter, regardless of the
+     * size of the block lists.
      *
      * <p>Beam pipeline is not a good option. It has to be launched as a separate, asynchronous job,
      * and there is no guaranteed limit to launch delay. Both issues would increase code complexity.
      */
-    Canonicals<Long> canonicals = new Canonicals<>();
-    try (Stream<Line> currentStream = loadBlockLists(currentJobName);
-        Stream<Line> previousStream =
-            previousJobName.map(this::loadBlockLists).orElseGet(Stream::of)) {
-      /*
-       * Load current label/order pairs into a multimap, which will contain both new labels and
-       * those that stay on when processing is done.
-       */
-      Multimap<String, Long> newAndRemaining =
-          currentStream
-              .map(line -> line.labelOrderPairs(canonicals))
-              .flatMap(x -> x)
-              .collect(
-                  toMultimap(
-                      LabelOrderPair::label, LabelOrderPair::orderId, this::listBackedMultiMap));
-
-      Multimap<String, Long> deleted =
-          previousStream
-              .map(
-                  line -> {
-                    // Mark labels that exist in both downloads with the SENTINEL id. This helps
-                    // distinguish existing label with new order from new labels.
-                    if (newAndRemaining.containsKey(line.label())
-                        && !newAndRemaining.containsEntry(line.label(), ORDER_ID_SENTINEL)) {
-                      newAndRemaining.put(line.label(), ORDER_ID_SENTINEL);
-                    }
-                    return line;
-                  })
-              .map(line -> line.labelOrderPairs(canonicals))
-              .flatMap(x -> x)
-              .filter(kv -> !newAndRemaining.remove(kv.label(), kv.orderId()))
-              .collect(
-                  toMultimap(
-                      LabelOrderPair::label, LabelOrderPair::orderId, this::listBackedMultiMap));
+    ExternalSorter orders = new ExternalSorter(Comparator.naturalOrder(), sortRunSize);
+    ExternalSorter labels = new ExternalSorter(Comparator.naturalOrder(), sortRunSize);
+    try (ExternalSorter current = sortBlockLists(Optional.of(currentJobName));
+        ExternalSorter previous = sortBlockLists(previousJobName);
+        Stream<String> currentLines = current.sorted();
+        Stream<String> previousLines = previous.sorted()) {
+      PeekingIterator<Line> currentLabels = groupByLabel(currentLines);
+      PeekingIterator<Line> previousLabels = groupByLabel(previousLines);
+      while (currentLabels.hasNext() || previousLabels.hasNext()) {
+        int comparison =
+            !previousLabels.hasNext()
+                ? -1
+                : !currentLabels.hasNext()
+                    ? 1
+                    : currentLabels.peek().label().compareTo(previousLabels.peek().label());
+        if (comparison < 0) {
+          Line line = currentLabels.next();
+          addLabel(labels, line.label(), LabelType.CREATE);
+          addOrders(orders, line.orderIds(), OrderType.CREATE);
+        } else if (comparison > 0) {
+          Line line = previousLabels.next();
+          addLabel(labels, line.label(), LabelType.DELETE);
+          addOrders(orders, line.orderIds(), OrderType.DELETE);
+        } else {
+          Line currentLine = currentLabels.next();
+          Line previousLine = previousLabels.next();
+          ImmutableSet<Long> currentOrders = ImmutableSet.copyOf(currentLine.orderIds());
+          ImmutableSet<Long> previousOrders = ImmutableSet.copyOf(previousLine.orderIds());
+          Set<Long> newOrders = Sets.difference(currentOrders, previousOrders);
+          if (!newOrders.isEmpty()) {
+            addLabel(labels, currentLine.label(), LabelType.NEW_ORDER_ASSOCIATION);
+          }
+          addOrders(orders, newOrders, OrderType.CREATE);
+          addOrders(orders, Sets.difference(previousOrders, currentOrders), OrderType.DELETE);
+        }
+      }
+    } catch (RuntimeException e) {
+      orders.close();
+      labels.close();
+      throw e;
+    }
+    return new BsaDiff(orders, labels, idnChecker);
+  }
 
-      /*
-       * Labels in `newAndRemaining`:
-       *
-       * <ul>
-       *   <li>Mapped to `sentinel` only: Labels without change, ignore
-       *   <li>Mapped to `sentinel` and some orders: Existing labels with new order mapping. Those
-       *       orders are new orders.
-       *   <li>Mapped to some orders but not `sentinel`: New labels and new orders.
-       * </ul>
-       *
-       * <p>The `deleted` map has
-       *
-       * <ul>
-       *   <li>Deleted labels: the keyset of deleted minus the keyset of the newAndRemaining
-       *   <li>Deleted orders: the union of values.
-       * </ul>
-       */
-      return new BsaDiff(
-          ImmutableMultimap.copyOf(newAndRemaining), ImmutableMultimap.copyOf(deleted), idnChecker);
+  /** Sorts the block lists of a job by label. Returns an empty sorter if there is no job. */
+  private ExternalSorter sortBlockLists(Optional<String> jobName) {
+    ExternalSorter sorter = new ExternalSorter(BY_LABEL, sortRunSize);
+    if (jobName.isPresent()) {
+      try (Stream<Line> lines = loadBlockLists(jobName.get())) {
+        lines.forEach(
+            line -> sorter.add(line.label() + "," + ORDER_JOINER.join(line.orderIds())));
+      } catch (RuntimeException e) {
+        sorter.close();
+        throw e;
+      }
     }
+    return sorter;
+  }
+
+  /**
+   * Merges adjacent lines of the same label, which come from different block lists, into one line
+   * with distinct order IDs.
+   */
+  private static PeekingIterator<Line> groupByLabel(Stream<String> sortedLines) {
+    PeekingIterator<Line> lines =
+        Iterators.peekingIterator(sortedLines.map(BsaDiffCreator::parseLine).iterator());
+    return Iterators.peekingIterator(
+        new AbstractIterator<Line>() {
+          @Override
+          protected Line computeNext() {
+            if (!lines.hasNext()) {
+              return endOfData();
+            }
+            Line first = lines.next();
+            ImmutableSet.Builder<Long> orderIds =
+                new ImmutableSet.Builder<Long>().addAll(first.orderIds());
+            while (lines.hasNext() && lines.peek().label().equals(first.label())) {
+              orderIds.addAll(lines.next().orderIds());
+            }
+            return Line.of(first.label(), orderIds.build().asList());
+          }
+        });
+  }
+
+  private static void addLabel(ExternalSorter labels, String label, LabelType labelType) {
+    // IDN tables are filled in when the diff is read.
+    labels.add(BlockLabel.create(label, labelType, ImmutableSet.of()).serialize());
+  }
+
+  private static void addOrders(
+      ExternalSorter orders, Collection<Long> orderIds, OrderType orderType) {
+    orderIds.forEach(id -> orders.add(BlockOrder.create(id, orderType).serialize()));
   }
 
   Stream<Line> loadBlockLists(String jobName) {
@@ -169,55 +210,32 @@ class BsaDiffCreator {
     }
   }
 
-  static class BsaDiff {
-    private final ImmutableMultimap<String, Long> newAndRemaining;
-
-    private final ImmutableMultimap<String, Long> deleted;
+  /** The label and order diffs of a download, backed by local files until closed. */
+  static class BsaDiff implements Closeable {
+    private final ExternalSorter orders;
+    private final ExternalSorter labels;
     private final IdnChecker idnChecker;
 
-    BsaDiff(
-        ImmutableMultimap<String, Long> newAndRemaining,
-        ImmutableMultimap<String, Long> deleted,
-        IdnChecker idnChecker) {
-      this.newAndRemaining = newAndRemaining;
-      this.deleted = deleted;
+    BsaDiff(ExternalSorter orders, ExternalSorter labels, IdnChecker idnChecker) {
+      this.orders = orders;
+      this.labels = labels;
       this.idnChecker = idnChecker;
     }
 
+    /** Returns the new and deleted orders. The returned stream must be closed. */
     Stream<BlockOrder> getOrders() {
-      return Stream.concat(
-          newAndRemaining.values().stream()
-              .filter(value -> !Objects.equals(ORDER_ID_SENTINEL, value))
-              .distinct()
-              .map(id -> BlockOrder.create(id, OrderType.CREATE)),
-          deleted.values().stream().distinct().map(id -> BlockOrder.create(id, OrderType.DELETE)));
+      return orders.sortedDistinct().map(BlockOrder::deserialize);
     }
 
+    /** Returns the new, deleted and newly-ordered labels. The returned stream must be closed. */
     Stream<BlockLabel> getLabels() {
-      return Stream.of(
-              newAndRemaining.asMap().entrySet().stream()
-                  .filter(e -> e.getValue().size() > 1 || !e.getValue().contains(ORDER_ID_SENTINEL))
-                  .filter(entry -> entry.getValue().contains(ORDER_ID_SENTINEL))
-                  .map(
-                      entry ->
-                          BlockLabel.create(
-                              entry.getKey(),
-                              LabelType.NEW_ORDER_ASSOCIATION,
-                              getAllValidIdnNames(entry.getKey()))),
-              newAndRemaining.asMap().entrySet().stream()
-                  .filter(e -> e.getValue().size() > 1 || !e.getValue().contains(ORDER_ID_SENTINEL))
-                  .filter(entry -> !entry.getValue().contains(ORDER_ID_SENTINEL))
-                  .map(
-                      entry ->
-                          BlockLabel.create(
-                              entry.getKey(),
-                              LabelType.CREATE,
-                              getAllValidIdnNames(entry.getKey()))),
-              Sets.difference(deleted.keySet(), newAndRemaining.keySet()).stream()
-                  .map(
-                      label ->
-                          BlockLabel.create(label, LabelType.DELETE, getAllValidIdnNames(label))))
-          .flatMap(x -> x);
+      return labels
+          .sorted()
+          .map(BlockLabel::deserialize)
+          .map(
+              label ->
+                  BlockLabel.create(
+                      label.label(), label.labelType(), getAllValidIdnNames(label.label())));
     }
 
     ImmutableSet<String> getAllValidIdnNames(String label) {
@@ -225,34 +243,19 @@ class BsaDiffCreator {
           .map(IdnTableEnum::name)
           .collect(toImmutableSet());
     }
-  }
-
-  static class Canonicals<T> {
-    private final HashMap<T, T> cache;
-
-    Canonicals() {
-      cache = Maps.newHashMap();
-    }
 
-    T get(T value) {
-      cache.putIfAbsent(value, value);
-      return cache.get(value);
-    }
-  }
-
-  record LabelOrderPair(String label, Long orderId) {
-
-    static LabelOrderPair of(String key, Long value) {
-      return new LabelOrderPair(key, value);
+    @Override
+    public void close() {
+      try {
+        orders.close();
+      } finally {
+        labels.close();
+      }
     }
   }
 
   record Line(String label, ImmutableList<Long> orderIds) {
 
-    Stream<LabelOrderPair> labelOrderPairs(Canonicals<Long> canonicals) {
-      return orderIds().stream().map(id -> LabelOrderPair.of(label(), canonicals.get(id)));
-    }
-
     static Line of(String label, ImmutableList<Long> orderIds) {
       return new Line(label, orderIds);
     }
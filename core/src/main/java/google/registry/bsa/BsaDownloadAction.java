@@ -125,7 +125,6 @@ public class BsaDownloadAction implements Runnable {
       logger.atInfo().log("Nothing to do.");
       return null;
     }
-    BsaDiff diff = null;
     DownloadSchedule schedule = scheduleOptional.get();
     switch (schedule.stage()) {
       case DOWNLOAD_BLOCK_LISTS:
@@ -166,15 +165,17 @@ public class BsaDownloadAction implements Runnable {
         }
         // Fall through
       case MAKE_ORDER_AND_LABEL_DIFF:
-        diff = diffCreator.createDiff(schedule, lazyIdnChecker.get());
-        // TODO(weiminyu): log the diff stats
-        gcsClient.writeOrderDiffs(schedule.jobName(), diff.getOrders());
-        gcsClient.writeLabelDiffs(schedule.jobName(), diff.getLabels());
+        try (BsaDiff diff = diffCreator.createDiff(schedule, lazyIdnChecker.get());
+            Stream<BlockOrder> orders = diff.getOrders();
+            Stream<BlockLabel> labels = diff.getLabels()) {
+          // TODO(weiminyu): log the diff stats
+          gcsClient.writeOrderDiffs(schedule.jobName(), orders);
+          gcsClient.writeLabelDiffs(schedule.jobName(), labels);
+        }
         schedule.updateJobStage(DownloadStage.APPLY_ORDER_AND_LABEL_DIFF);
         // Fall through
       case APPLY_ORDER_AND_LABEL_DIFF:
-        try (Stream<BlockLabel> labels =
-            diff != null ? diff.getLabels() : gcsClient.readLabelDiffs(schedule.jobName())) {
+        try (Stream<BlockLabel> labels = gcsClient.readLabelDiffs(schedule.jobName())) {
           Stream<ImmutableList<BlockLabel>> batches = toBatches(labels, transactionBatchSize);
           gcsClient.writeUnblockableDomains(
               schedule.jobName(),
@@ -56,6 +56,7 @@ public class BsaRefreshAction implements Runnable {
   private final BsaReportSender bsaReportSender;
   private final int transactionBatchSize;
   private final Duration domainCreateTxnCommitTimeLag;
+  private final boolean setBasedRefresh;
   private final BsaEmailSender emailSender;
   private final BsaLock bsaLock;
   private final Clock clock;
@@ -68,6 +69,7 @@ public class BsaRefreshAction implements Runnable {
       BsaReportSender bsaReportSender,
       @Config("bsaTxnBatchSize") int transactionBatchSize,
       @Config("domainCreateTxnCommitTimeLag") Duration domainCreateTxnCommitTimeLag,
+      @Config("bsaSetBasedRefresh") boolean setBasedRefresh,
       BsaEmailSender emailSender,
       BsaLock bsaLock,
       Clock clock,
@@ -77,6 +79,7 @@ public class BsaRefreshAction implements Runnable {
     this.bsaReportSender = bsaReportSender;
     this.transactionBatchSize = transactionBatchSize;
     this.domainCreateTxnCommitTimeLag = domainCreateTxnCommitTimeLag;
+    this.setBasedRefresh = setBasedRefresh;
     this.emailSender = emailSender;
     this.bsaLock = bsaLock;
     this.clock = clock;
@@ -118,7 +121,8 @@ public class BsaRefreshAction implements Runnable {
             schedule.prevRefreshTime(),
             clock.nowUtc(),
             domainCreateTxnCommitTimeLag,
-            transactionBatchSize);
+            transactionBatchSize,
+            setBasedRefresh);
     switch (schedule.stage()) {
       case CHECK_FOR_CHANGES:
         ImmutableList<UnblockableDomainChange> blockabilityChanges =
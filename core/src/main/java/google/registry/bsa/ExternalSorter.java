@@ -0,0 +1,247 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.bsa;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Streams;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorts lines of text that may not fit in memory, using sorted runs on local disk.
+ *
+ * <p>Lines are buffered up to {@code maxLinesPerRun} at a time. Each full buffer is sorted and
+ * written to a temporary file, and {@link #sorted} merges all runs in a single pass that holds
+ * one line per run in memory. Input that fits in one run is sorted in memory and never touches
+ * the disk.
+ *
+ * <p>Once {@link #sorted} has been called no more lines may be added, but the sorted lines may be
+ * streamed any number of times until the sorter is closed. Closing the sorter deletes its files.
+ */
+final class ExternalSorter implements Closeable {
+
+  private final Comparator<String> comparator;
+  private final int maxLinesPerRun;
+
+  private final List<Path> runs = new ArrayList<>();
+  private ImmutableList<String> lastRun = null;
+  private List<String> buffer = new ArrayList<>();
+  private Path directory = null;
+
+  ExternalSorter(Comparator<String> comparator, int maxLinesPerRun) {
+    checkArgument(maxLinesPerRun > 0, "maxLinesPerRun must be positive: %s", maxLinesPerRun);
+    this.comparator = comparator;
+    this.maxLinesPerRun = maxLinesPerRun;
+  }
+
+  /** Adds a line, which must not contain line breaks. */
+  void add(String line) {
+    checkState(lastRun == null, "Cannot add lines after sorting");
+    buffer.add(line);
+    if (buffer.size() >= maxLinesPerRun) {
+      spill();
+    }
+  }
+
+  /** Returns the number of runs written to disk so far. */
+  int getRunCount() {
+    return runs.size();
+  }
+
+  /**
+   * Returns all lines added to this sorter in sorted order.
+   *
+   * <p>The returned stream must be closed when it is backed by runs on disk.
+   */
+  Stream<String> sorted() {
+    if (lastRun == null) {
+      buffer.sort(comparator);
+      lastRun = ImmutableList.copyOf(buffer);
+      buffer = null;
+    }
+    if (runs.isEmpty()) {
+      return lastRun.stream();
+    }
+    List<RunReader> readers = new ArrayList<>(runs.size() + 1);
+    try {
+      for (Path run : runs) {
+        readers.add(new RunReader(Files.newBufferedReader(run, UTF_8)));
+      }
+    } catch (IOException e) {
+      readers.forEach(RunReader::close);
+      throw new UncheckedIOException(e);
+    }
+    readers.add(new RunReader(lastRun.iterator()));
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                new MergingIterator(readers),
+                Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(() -> readers.forEach(RunReader::close));
+  }
+
+  /** Returns the distinct lines added to this sorter in sorted order. See {@link #sorted}. */
+  Stream<String> sortedDistinct() {
+    Stream<String> sorted = sorted();
+    PeekingIterator<String> lines = Iterators.peekingIterator(sorted.iterator());
+    return Streams.stream(
+            new AbstractIterator<String>() {
+              @Override
+              protected String computeNext() {
+                if (!lines.hasNext()) {
+                  return endOfData();
+                }
+                String line = lines.next();
+                while (lines.hasNext() && lines.peek().equals(line)) {
+                  lines.next();
+                }
+                return line;
+              }
+            })
+        .onClose(sorted::close);
+  }
+
+  @Override
+  public void close() {
+    try {
+      for (Path run : runs) {
+        Files.deleteIfExists(run);
+      }
+      if (directory != null) {
+        Files.deleteIfExists(directory);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void spill() {
+    buffer.sort(comparator);
+    try {
+      if (directory == null) {
+        directory = Files.createTempDirectory("bsa-sort");
+      }
+      Path run = directory.resolve(String.format("run-%05d", runs.size()));
+      runs.add(run);
+      try (BufferedWriter writer = Files.newBufferedWriter(run, UTF_8)) {
+        for (String line : buffer) {
+          writer.write(line);
+          writer.newLine();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    buffer.clear();
+  }
+
+  /** Merges sorted runs, each of which is positioned at its smallest unconsumed line. */
+  private final class MergingIterator implements Iterator<String> {
+
+    private final PriorityQueue<RunReader> queue;
+
+    MergingIterator(List<RunReader> readers) {
+      queue =
+          new PriorityQueue<>(
+              readers.size(), Comparator.comparing(RunReader::peek, comparator));
+      readers.stream().filter(RunReader::hasNext).forEach(queue::add);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public String next() {
+      RunReader reader = queue.poll();
+      if (reader == null) {
+        throw new NoSuchElementException();
+      }
+      String line = reader.next();
+      if (reader.hasNext()) {
+        queue.add(reader);
+      }
+      return line;
+    }
+  }
+
+  /** A sorted run, read from either disk or memory, with one line of look-ahead. */
+  private static final class RunReader implements Closeable {
+
+    private final Iterator<String> lines;
+    private final Closeable closeable;
+    private String head;
+
+    RunReader(BufferedReader reader) {
+      this(reader.lines().iterator(), reader);
+    }
+
+    RunReader(Iterator<String> lines) {
+      this(lines, () -> {});
+    }
+
+    private RunReader(Iterator<String> lines, Closeable closeable) {
+      this.lines = lines;
+      this.closeable = closeable;
+      this.head = lines.hasNext() ? lines.next() : null;
+    }
+
+    boolean hasNext() {
+      return head != null;
+    }
+
+    String peek() {
+      return head;
+    }
+
+    String next() {
+      String line = head;
+      head = lines.hasNext() ? lines.next() : null;
+      return line;
+    }
+
+    @Override
+    public void close() {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
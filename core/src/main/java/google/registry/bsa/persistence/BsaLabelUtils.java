@@ -80,7 +80,7 @@ public final class BsaLabelUtils {
 
   private static LoadingCache<VKey<BsaLabel>, Optional<BsaLabel>> createBsaLabelsCache(
       Duration expiry) {
-    return newCacheBuilder(expiry)
+    return newCacheBuilder("BsaLabel", expiry)
         .maximumSize(getEppResourceMaxCachedEntries())
         .build(CACHE_LOADER);
   }
@@ -19,9 +19,12 @@ import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static google.registry.bsa.BsaTransactions.bsaQuery;
 import static google.registry.bsa.BsaTransactions.bsaTransact;
+import static google.registry.bsa.ReservedDomainsUtils.getAllReservedDomainsInTld;
 import static google.registry.bsa.ReservedDomainsUtils.getAllReservedNames;
 import static google.registry.bsa.ReservedDomainsUtils.isReservedDomain;
 import static google.registry.bsa.persistence.Queries.batchReadUnblockables;
+import static google.registry.bsa.persistence.Queries.batchReadUnblockablesWithRegistration;
+import static google.registry.bsa.persistence.Queries.queryBsaUnblockableDomainByLabels;
 import static google.registry.bsa.persistence.Queries.queryBsaLabelByLabels;
 import static google.registry.bsa.persistence.Queries.queryNewlyCreatedDomains;
 import static google.registry.model.tld.Tld.isEnrolledWithBsa;
@@ -40,11 +43,13 @@ import google.registry.bsa.BsaStringUtils;
 import google.registry.bsa.api.UnblockableDomain;
 import google.registry.bsa.api.UnblockableDomain.Reason;
 import google.registry.bsa.api.UnblockableDomainChange;
+import google.registry.bsa.persistence.Queries.UnblockableRegistration;
 import google.registry.model.ForeignKeyUtils;
 import google.registry.model.domain.Domain;
 import google.registry.model.tld.Tld;
 import google.registry.model.tld.Tld.TldType;
 import google.registry.util.BatchedStreams;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -91,21 +96,33 @@ public final class DomainsRefresher {
 
   private final DateTime prevRefreshStartTime;
   private final int transactionBatchSize;
+  private final boolean setBasedRefresh;
   private final DateTime now;
 
+  /**
+   * Creates a refresher.
+   *
+   * @param setBasedRefresh whether to use {@link #refreshStaleUnblockablesInBulk} and {@link
+   *     #getNewUnblockablesInBulk}, which look up the status of domains in bulk instead of visiting
+   *     every unblockable domain with per-name checks
+   */
   public DomainsRefresher(
       DateTime prevRefreshStartTime,
       DateTime now,
       Duration domainTxnMaxDuration,
-      int transactionBatchSize) {
+      int transactionBatchSize,
+      boolean setBasedRefresh) {
     this.prevRefreshStartTime = prevRefreshStartTime.minus(domainTxnMaxDuration);
     this.now = now;
     this.transactionBatchSize = transactionBatchSize;
+    this.setBasedRefresh = setBasedRefresh;
   }
 
   public ImmutableList<UnblockableDomainChange> checkForBlockabilityChanges() {
-    ImmutableList<UnblockableDomainChange> downgrades = refreshStaleUnblockables();
-    ImmutableList<UnblockableDomainChange> upgrades = getNewUnblockables();
+    ImmutableList<UnblockableDomainChange> downgrades =
+        setBasedRefresh ? refreshStaleUnblockablesInBulk() : refreshStaleUnblockables();
+    ImmutableList<UnblockableDomainChange> upgrades =
+        setBasedRefresh ? getNewUnblockablesInBulk() : getNewUnblockables();
 
     ImmutableSet<String> upgradedDomains =
         upgrades.stream().map(UnblockableDomainChange::domainName).collect(toImmutableSet());
@@ -201,6 +218,61 @@ public final class DomainsRefresher {
     return changes.build();
   }
 
+  /**
+   * Set-based equivalent of {@link #refreshStaleUnblockables}.
+   *
+   * <p>Unblockable domains are paged through by keyset, and each page is read together with the
+   * current registration status of its domains in a single query. Reserved status is checked
+   * against the reserved names of each TLD, which are computed once per refresh instead of once per
+   * domain.
+   */
+  public ImmutableList<UnblockableDomainChange> refreshStaleUnblockablesInBulk() {
+    Map<String, ImmutableSet<String>> reservedNamesByTld = new HashMap<>();
+    ImmutableList.Builder<UnblockableDomainChange> changes = new ImmutableList.Builder<>();
+    ImmutableList<UnblockableRegistration> batch;
+    Optional<BsaUnblockableDomain> lastRead = Optional.empty();
+    do {
+      batch = batchReadUnblockablesWithRegistration(lastRead, now, transactionBatchSize);
+      for (UnblockableRegistration registration : batch) {
+        BsaUnblockableDomain domain = registration.unblockable();
+        boolean reserved =
+            reservedNamesByTld
+                .computeIfAbsent(
+                    domain.tld, tld -> getAllReservedDomainsInTld(Tld.get(tld), now))
+                .contains(domain.domainName());
+        recheckStaleDomain(domain, registration.registered(), reserved).ifPresent(changes::add);
+      }
+      if (!batch.isEmpty()) {
+        lastRead = Optional.of(batch.get(batch.size() - 1).unblockable());
+      }
+    } while (batch.size() == transactionBatchSize);
+    return changes.build();
+  }
+
+  /**
+   * Returns the change to an unblockable domain given its current status, following the same rules
+   * as {@link #recheckStaleDomainsBatch}.
+   */
+  static Optional<UnblockableDomainChange> recheckStaleDomain(
+      BsaUnblockableDomain domain, boolean registered, boolean reserved) {
+    UnblockableDomain unblockable = domain.toUnblockableDomain();
+    if (domain.reason.equals(BsaUnblockableDomain.Reason.REGISTERED)) {
+      if (registered) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          reserved
+              ? UnblockableDomainChange.createChanged(unblockable, Reason.RESERVED)
+              : UnblockableDomainChange.createDeleted(unblockable));
+    }
+    if (registered) {
+      return Optional.of(UnblockableDomainChange.createChanged(unblockable, Reason.REGISTERED));
+    }
+    return reserved
+        ? Optional.empty()
+        : Optional.of(UnblockableDomainChange.createDeleted(unblockable));
+  }
+
   public ImmutableList<UnblockableDomainChange> getNewUnblockables() {
     // TODO(weiminyu): both methods below use `queryBsaLabelByLabels`. Should combine in a single
     // query.
@@ -248,6 +320,55 @@ public final class DomainsRefresher {
     return changes.build();
   }
 
+  /**
+   * Set-based equivalent of {@link #getNewUnblockables}.
+   *
+   * <p>Instead of visiting every unblockable domain to find out which candidates are already
+   * recorded, only the labels of the newly created and reserved candidates are looked up, in
+   * batches.
+   */
+  public ImmutableList<UnblockableDomainChange> getNewUnblockablesInBulk() {
+    ImmutableSet<String> newCreated =
+        bsaQuery(() -> getNewlyCreatedUnblockables(prevRefreshStartTime, now));
+    ImmutableSet<String> allReserved =
+        bsaQuery(() -> getAllReservedUnblockables(now, transactionBatchSize));
+    ImmutableMap<String, BsaUnblockableDomain> existing =
+        BatchedStreams.toBatches(
+                Stream.concat(newCreated.stream(), allReserved.stream())
+                    .map(BsaStringUtils::getLabelInDomain)
+                    .distinct(),
+                transactionBatchSize)
+            .flatMap(
+                labels ->
+                    bsaQuery(
+                        () ->
+                            queryBsaUnblockableDomainByLabels(ImmutableSet.copyOf(labels))
+                                .collect(toImmutableList()))
+                        .stream())
+            .collect(toImmutableMap(BsaUnblockableDomain::domainName, d -> d));
+
+    ImmutableList.Builder<UnblockableDomainChange> changes = new ImmutableList.Builder<>();
+    for (String domainName : newCreated) {
+      BsaUnblockableDomain unblockable = existing.get(domainName);
+      if (unblockable == null) {
+        changes.add(
+            UnblockableDomainChange.createNew(
+                new UnblockableDomain(domainName, Reason.REGISTERED)));
+      } else if (unblockable.reason.equals(BsaUnblockableDomain.Reason.RESERVED)) {
+        changes.add(
+            UnblockableDomainChange.createChanged(
+                unblockable.toUnblockableDomain(), Reason.REGISTERED));
+      }
+    }
+    for (String domainName : Sets.difference(allReserved, newCreated)) {
+      if (!existing.containsKey(domainName)) {
+        changes.add(
+            UnblockableDomainChange.createNew(new UnblockableDomain(domainName, Reason.RESERVED)));
+      }
+    }
+    return changes.build();
+  }
+
   static ImmutableSet<String> getNewlyCreatedUnblockables(
       DateTime prevRefreshStartTime, DateTime now) {
     ImmutableSet<String> bsaEnabledTlds =
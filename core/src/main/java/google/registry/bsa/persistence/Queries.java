@@ -116,6 +116,47 @@ public final class Queries {
                     .getResultList()));
   }
 
+  /**
+   * Reads a batch of unblockable domains in the same order as {@link #batchReadUnblockables},
+   * along with whether each one is currently registered.
+   *
+   * <p>The registration status is found by a join with the {@code Domain} table in the same query,
+   * which saves a lookup per batch when rechecking all unblockables.
+   */
+  static ImmutableList<UnblockableRegistration> batchReadUnblockablesWithRegistration(
+      Optional<BsaUnblockableDomain> lastRead, DateTime now, int batchSize) {
+    String sql =
+        """
+        SELECT u.label, u.tld, u.reason,
+            EXISTS (SELECT 1 FROM "Domain" d
+                    WHERE d.domain_name = concat(u.label, '.', u.tld)
+                      AND d.deletion_time > :now)
+        FROM "BsaUnblockableDomain" u
+        WHERE (u.label, u.tld) > (:label, :tld)
+        ORDER BY u.label, u.tld
+        """;
+    return bsaQuery(
+        () ->
+            ((Stream<?>)
+                    tm().getEntityManager()
+                        .createNativeQuery(sql)
+                        .setParameter("label", lastRead.map(d -> d.label).orElse(""))
+                        .setParameter("tld", lastRead.map(d -> d.tld).orElse(""))
+                        .setParameter("now", Instant.ofEpochMilli(now.getMillis()))
+                        .setMaxResults(batchSize)
+                        .getResultStream())
+                .map(Object[].class::cast)
+                .map(
+                    row ->
+                        new UnblockableRegistration(
+                            new BsaUnblockableDomain(
+                                (String) row[0],
+                                (String) row[1],
+                                BsaUnblockableDomain.Reason.valueOf((String) row[2])),
+                            (Boolean) row[3]))
+                .collect(toImmutableList()));
+  }
+
   static ImmutableSet<String> queryUnblockablesByNames(ImmutableSet<String> domains) {
     String labelTldParis =
         domains.stream()
@@ -195,5 +236,8 @@ public final class Queries {
     return new DateTime(timestamp.toEpochMilli(), UTC);
   }
 
+  /** An unblockable domain and whether it is currently registered. */
+  record UnblockableRegistration(BsaUnblockableDomain unblockable, boolean registered) {}
+
   public record DomainLifeSpan(String domainName, DateTime creationTime, DateTime deletionTime) {}
 }
@@ -14,6 +14,7 @@
 
 package google.registry.config;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Suppliers.memoize;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableSortedMap.toImmutableSortedMap;
@@ -561,6 +562,42 @@ public final class RegistryConfig {
       return config.registryPolicy.requireSslCertificates;
     }
 
+    /**
+     * Returns the rate at which the full XML of incoming EPP commands is logged, i.e. one in every
+     * N commands.
+     *
+     * @see google.registry.flows.FlowRunner
+     */
+    @Provides
+    @Config("eppCommandLogSamplingRate")
+    public static int provideEppCommandLogSamplingRate(RegistryConfigSettings config) {
+      return config.registryPolicy.eppCommandLogSamplingRate;
+    }
+
+    /**
+     * Returns the maximum replication lag of the read-only replica at which read-only EPP flows
+     * still run on it rather than on the primary database.
+     *
+     * @see google.registry.flows.FlowModule
+     */
+    @Provides
+    @Config("readOnlyFlowMaxReplicaLag")
+    public static Duration provideReadOnlyFlowMaxReplicaLag(RegistryConfigSettings config) {
+      return Duration.standardSeconds(config.registryPolicy.readOnlyFlowMaxReplicaLagSeconds);
+    }
+
+    /**
+     * Returns how long a domain create waits for the lookups it makes concurrently before its
+     * transaction, or zero if it doesn't make them.
+     *
+     * @see google.registry.flows.domain.DomainCreatePrefetcher
+     */
+    @Provides
+    @Config("domainCreatePrefetchTimeout")
+    public static Duration provideDomainCreatePrefetchTimeout(RegistryConfigSettings config) {
+      return Duration.millis(config.registryPolicy.domainCreatePrefetchTimeoutMillis);
+    }
+
     /**
      * Returns the GCE machine type that a CPU-demanding pipeline should use.
      *
@@ -820,6 +857,17 @@ public final class RegistryConfig {
       return config.rde.sshIdentityEmailAddress;
     }
 
+    /**
+     * Returns whether RyDE files are encoded by a pipeline of threads rather than by one thread.
+     *
+     * @see google.registry.rde.RydeEncoder.Builder#setPipelined
+     */
+    @Provides
+    @Config("rdePipelinedRydeEncoding")
+    public static boolean providePipelinedRydeEncoding(RegistryConfigSettings config) {
+      return config.rde.pipelinedRydeEncoding;
+    }
+
     /**
      * Returns SFTP URL containing a username, hostname, port (optional), and directory (optional)
      * to which cloud storage files are uploaded. The password should not be included, as it's
@@ -1340,6 +1388,18 @@ public final class RegistryConfig {
       return config.bsa.bsaTxnBatchSize;
     }
 
+    @Provides
+    @Config("bsaDiffSortRunSize")
+    public static int provideBsaDiffSortRunSize(RegistryConfigSettings config) {
+      return config.bsa.bsaDiffSortRunSize;
+    }
+
+    @Provides
+    @Config("bsaSetBasedRefresh")
+    public static boolean provideBsaSetBasedRefresh(RegistryConfigSettings config) {
+      return config.bsa.bsaSetBasedRefresh;
+    }
+
     @Provides
     @Config("domainCreateTxnCommitTimeLag")
     public static Duration provideDomainCreateTxnCommitTimeLag(RegistryConfigSettings config) {
@@ -1497,6 +1557,16 @@ public final class RegistryConfig {
     return java.time.Duration.ofSeconds(CONFIG_SETTINGS.get().caching.domainLabelCachingSeconds);
   }
 
+  /**
+   * Returns the amount of time TLDs should be cached in memory before expiring.
+   *
+   * @see google.registry.model.tld.Tld
+   * @see google.registry.model.tld.Tlds
+   */
+  public static java.time.Duration getTldCacheDuration() {
+    return java.time.Duration.ofSeconds(CONFIG_SETTINGS.get().caching.tldCachingSeconds);
+  }
+
   /** Returns the amount of time a singleton should be cached in persist mode, before expiring. */
   public static java.time.Duration getSingletonCachePersistDuration() {
     return java.time.Duration.ofSeconds(CONFIG_SETTINGS.get().caching.singletonCachePersistSeconds);
@@ -1509,6 +1579,36 @@ public final class RegistryConfig {
     return CONFIG_SETTINGS.get().caching.staticPremiumListMaxCachedEntries;
   }
 
+  /**
+   * Returns whether premium prices are looked up in a per-revision in-memory index of the whole
+   * premium list, rather than in a cache of individual entries.
+   */
+  public static boolean isStaticPremiumListIndexEnabled() {
+    return CONFIG_SETTINGS.get().caching.staticPremiumListIndexEnabled;
+  }
+
+  /**
+   * Returns the number of threads making the lookups of domain creates before their transaction.
+   *
+   * @see google.registry.flows.domain.DomainCreatePrefetcher
+   */
+  public static int getDomainCreatePrefetchThreads() {
+    return CONFIG_SETTINGS.get().registryPolicy.domainCreatePrefetchThreads;
+  }
+
+  /**
+   * Returns whether the number of pending poll messages is read from the {@code PollMessageCount}
+   * table rather than counted.
+   */
+  public static boolean arePollMessageCountsEnabled() {
+    return CONFIG_SETTINGS.get().registryPolicy.pollMessageCountsEnabled;
+  }
+
+  @VisibleForTesting
+  public static void overridePollMessageCountsEnabledForTesting(boolean enabled) {
+    CONFIG_SETTINGS.get().registryPolicy.pollMessageCountsEnabled = enabled;
+  }
+
   public static boolean isEppResourceCachingEnabled() {
     return CONFIG_SETTINGS.get().caching.eppResourceCachingEnabled;
   }
@@ -1535,6 +1635,27 @@ public final class RegistryConfig {
     return java.time.Duration.ofSeconds(CONFIG_SETTINGS.get().caching.claimsListCachingSeconds);
   }
 
+  /**
+   * Returns how often cached entities are checked for changes made by other servers, or zero if
+   * they aren't.
+   *
+   * @see google.registry.model.CacheInvalidationBus
+   */
+  public static java.time.Duration getCacheInvalidationPollingInterval() {
+    return java.time.Duration.ofSeconds(
+        CONFIG_SETTINGS.get().caching.cacheInvalidationPollingSeconds);
+  }
+
+  /** Returns the amount of time that the response to an RDAP lookup is cached in memory. */
+  public static java.time.Duration getRdapResponseCachingDuration() {
+    return java.time.Duration.ofSeconds(CONFIG_SETTINGS.get().caching.rdapResponseCachingSeconds);
+  }
+
+  /** Returns the maximum number of RDAP lookup responses to cache in memory. */
+  public static int getRdapResponseMaxCachedEntries() {
+    return CONFIG_SETTINGS.get().caching.rdapResponseMaxCachedEntries;
+  }
+
   /** Returns the email address that outgoing emails from the app are sent from. */
   public static InternetAddress getGSuiteOutgoingEmailAddress() {
     return parseEmailAddress(CONFIG_SETTINGS.get().gSuite.outgoingEmailAddress);
@@ -1560,6 +1681,11 @@ public final class RegistryConfig {
     return CONFIG_SETTINGS.get().hibernate.allowNestedTransactions;
   }
 
+  /** Returns the number of IDs reserved at a time from the project-wide ID sequence. */
+  public static int getHibernateIdAllocationBlockSize() {
+    return CONFIG_SETTINGS.get().hibernate.idAllocationBlockSize;
+  }
+
   /** Returns true if hibernate.show_sql is enabled. */
   public static String getHibernateLogSqlQueries() {
     return CONFIG_SETTINGS.get().hibernate.logSqlQueries;
@@ -1655,8 +1781,25 @@ public final class RegistryConfig {
   public static final Supplier<RegistryConfigSettings> CONFIG_SETTINGS =
       memoize(
           () ->
-              RegistryConfig.getEnvironmentConfigSettings(
-                  YAML_CONFIG_DEFAULT, YAML_CONFIG_ENV_TEMPLATE, RegistryConfigSettings.class));
+              validateConfigSettings(
+                  RegistryConfig.getEnvironmentConfigSettings(
+                      YAML_CONFIG_DEFAULT,
+                      YAML_CONFIG_ENV_TEMPLATE,
+                      RegistryConfigSettings.class)));
+
+  /**
+   * Checks the settings that would otherwise only fail once used, e.g. on every EPP command.
+   *
+   * @throws IllegalArgumentException if a setting is invalid
+   */
+  @VisibleForTesting
+  static RegistryConfigSettings validateConfigSettings(RegistryConfigSettings config) {
+    checkArgument(
+        config.registryPolicy.eppCommandLogSamplingRate >= 1,
+        "registryPolicy.eppCommandLogSamplingRate must be at least 1, found %s",
+        config.registryPolicy.eppCommandLogSamplingRate);
+    return config;
+  }
 
   private static InternetAddress parseEmailAddress(String email) {
     try {
@@ -100,6 +100,11 @@ public class RegistryConfigSettings {
     public String registryName;
     public List<String> spec11WebResources;
     public boolean requireSslCertificates;
+    public int eppCommandLogSamplingRate;
+    public boolean pollMessageCountsEnabled;
+    public int readOnlyFlowMaxReplicaLagSeconds;
+    public int domainCreatePrefetchTimeoutMillis;
+    public int domainCreatePrefetchThreads;
     public double sunriseDomainCreateDiscount;
     public Set<String> tieredPricingPromotionRegistrarIds;
     public Set<String> noPollMessageOnDeletionRegistrarIds;
@@ -116,6 +121,7 @@ public class RegistryConfigSettings {
     public String hikariIdleTimeout;
     public int jdbcBatchSize;
     public String jdbcFetchSize;
+    public int idAllocationBlockSize;
   }
 
   /** Configuration for Cloud SQL. */
@@ -145,12 +151,17 @@ public class RegistryConfigSettings {
   public static class Caching {
     public int singletonCacheRefreshSeconds;
     public int domainLabelCachingSeconds;
+    public int tldCachingSeconds;
     public int singletonCachePersistSeconds;
     public int staticPremiumListMaxCachedEntries;
+    public boolean staticPremiumListIndexEnabled;
     public boolean eppResourceCachingEnabled;
     public int eppResourceCachingSeconds;
     public int eppResourceMaxCachedEntries;
     public int claimsListCachingSeconds;
+    public int cacheInvalidationPollingSeconds;
+    public int rdapResponseCachingSeconds;
+    public int rdapResponseMaxCachedEntries;
   }
 
   /** Configuration for ICANN monthly reporting. */
@@ -172,6 +183,7 @@ public class RegistryConfigSettings {
     public String reportUrlPrefix;
     public String uploadUrl;
     public String sshIdentityEmailAddress;
+    public boolean pipelinedRydeEncoding;
   }
 
   /** Configuration for the web-based registrar console. */
@@ -247,6 +259,8 @@ public class RegistryConfigSettings {
     public int bsaDownloadIntervalMinutes;
     public int bsaMaxNopIntervalHours;
     public int bsaTxnBatchSize;
+    public int bsaDiffSortRunSize;
+    public boolean bsaSetBasedRefresh;
     public int domainCreateTxnCommitTimeLagSeconds;
     public int bsaValidationMaxStalenessSeconds;
     public String authUrl;
@@ -17,14 +17,23 @@ package google.registry.dns;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static google.registry.persistence.PersistenceModule.TransactionIsolationLevel.TRANSACTION_REPEATABLE_READ;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static google.registry.util.DateTimeUtils.START_OF_TIME;
 
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.net.InternetDomainName;
 import google.registry.model.common.DnsRefreshRequest;
 import google.registry.model.tld.Tld;
 import google.registry.model.tld.Tlds;
+import jakarta.persistence.Query;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.joda.time.DateTime;
 import org.joda.time.Duration;
@@ -35,30 +44,63 @@ public final class DnsUtils {
   /** The name of the DNS publish push queue. */
   public static final String DNS_PUBLISH_PUSH_QUEUE_NAME = "dns-publish"; // See queue.xml.
 
+  /** The maximum number of requests inserted by a single statement. */
+  private static final int MAX_REQUESTS_PER_INSERT = 1000;
+
+  /**
+   * Inserts pending requests, i.e. ones whose {@code last_process_time} is {@code START_OF_TIME}.
+   *
+   * <p>This is a plain insert that doesn't read any existing requests, so that concurrent flows
+   * requesting refreshes never conflict with each other under serializable isolation. Requests for
+   * the same name are combined when they are read, see {@link ReadDnsRefreshRequestsAction}.
+   */
+  private static final String INSERT_REQUESTS_SQL_TEMPLATE =
+      "INSERT INTO \"DnsRefreshRequest\" (type, name, tld, request_time, last_process_time)"
+          + " VALUES %s";
+
   private DnsUtils() {}
 
   private static void requestDnsRefresh(String name, TargetType type, Duration delay) {
-    tm().assertInTransaction();
-    // Throws an IllegalArgumentException if the name is not under a managed TLD -- we only update
-    // DNS for names that are under our management.
-    String tld = Tlds.findTldForNameOrThrow(InternetDomainName.from(name)).toString();
-    tm().insert(new DnsRefreshRequest(type, name, tld, tm().getTransactionTime().plus(delay)));
+    requestDnsRefresh(ImmutableSet.of(name), type, delay);
   }
 
+  /**
+   * Requests a DNS refresh of the given names, with one multi-row insert per batch of names.
+   *
+   * <p>A name given more than once gets a single request.
+   */
   private static void requestDnsRefresh(
       ImmutableCollection<String> names, TargetType type, Duration delay) {
     tm().assertInTransaction();
     DateTime requestTime = tm().getTransactionTime().plus(delay);
-    tm().insertAll(
-            names.stream()
-                .map(
-                    name ->
-                        new DnsRefreshRequest(
-                            type,
-                            name,
-                            Tlds.findTldForNameOrThrow(InternetDomainName.from(name)).toString(),
-                            requestTime))
-                .collect(toImmutableList()));
+    // Throws an IllegalArgumentException if a name is not under a managed TLD -- we only update
+    // DNS for names that are under our management.
+    ImmutableMap<String, String> namesToTlds =
+        Maps.toMap(
+            ImmutableSet.copyOf(names),
+            name -> Tlds.findTldForNameOrThrow(InternetDomainName.from(name)).toString());
+    for (List<Map.Entry<String, String>> batch :
+        Iterables.partition(namesToTlds.entrySet(), MAX_REQUESTS_PER_INSERT)) {
+      StringBuilder values = new StringBuilder();
+      for (int i = 0; i < batch.size(); i++) {
+        values
+            .append(i == 0 ? "" : ", ")
+            .append(
+                String.format("(:type, :name%d, :tld%d, :requestTime, :lastProcessTime)", i, i));
+      }
+      Query query =
+          tm().getEntityManager()
+              .createNativeQuery(String.format(INSERT_REQUESTS_SQL_TEMPLATE, values))
+              .setParameter("type", type.name())
+              .setParameter("requestTime", Instant.ofEpochMilli(requestTime.getMillis()))
+              .setParameter("lastProcessTime", Instant.ofEpochMilli(START_OF_TIME.getMillis()));
+      for (int i = 0; i < batch.size(); i++) {
+        query
+            .setParameter("name" + i, batch.get(i).getKey())
+            .setParameter("tld" + i, batch.get(i).getValue());
+      }
+      query.executeUpdate();
+    }
   }
 
   public static void requestDomainDnsRefresh(String domainName, Duration delay) {
@@ -128,20 +170,26 @@ public final class DnsUtils {
   }
 
   /**
-   * Removes the requests that have been processed.
+   * Removes the requests that have been processed, with a single statement.
    *
    * <p>Note that if a request entity has already been deleted, the method still succeeds without
    * error because all we care about is that it no longer exists after the method runs.
    */
   public static void deleteRequests(Collection<DnsRefreshRequest> requests) {
+    if (requests.isEmpty()) {
+      return;
+    }
+    ImmutableList<Long> ids =
+        requests.stream()
+            .map(request -> (Long) request.createVKey().getKey())
+            .collect(toImmutableList());
     // It is critical that below query use repeatable-read. See b/337894387.
     tm().transact(
             TRANSACTION_REPEATABLE_READ,
             () ->
-                tm().delete(
-                        requests.stream()
-                            .map(DnsRefreshRequest::createVKey)
-                            .collect(toImmutableList())));
+                tm().query("DELETE FROM DnsRefreshRequest WHERE id IN :ids")
+                    .setParameter("ids", ids)
+                    .executeUpdate());
   }
 
   public static long getDnsAPlusAAAATtlForHost(String host, Duration dnsDefaultATtl) {
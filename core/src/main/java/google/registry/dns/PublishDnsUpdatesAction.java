@@ -385,33 +385,43 @@ public final class PublishDnsUpdatesAction implements Runnable, Callable<Void> {
       return;
     }
 
-    int domainsPublished = 0;
+    // The names are published in bulk, so that the writer can load them from the database in a
+    // few queries rather than one by one.
+    ImmutableList.Builder<String> domainsToPublish = new ImmutableList.Builder<>();
     int domainsRejected = 0;
     for (String domain : nullToEmpty(domains)) {
       if (!DomainNameUtils.isUnder(InternetDomainName.from(domain), InternetDomainName.from(tld))) {
         logger.atSevere().log("%s: skipping domain %s not under TLD.", tld, domain);
         domainsRejected += 1;
       } else {
-        writer.publishDomain(domain);
-        logger.atInfo().log("%s: published domain %s.", tld, domain);
-        domainsPublished += 1;
+        domainsToPublish.add(domain);
       }
     }
+    ImmutableList<String> publishedDomains = domainsToPublish.build();
+    if (!publishedDomains.isEmpty()) {
+      writer.publishDomains(publishedDomains);
+      logger.atInfo().log("%s: published domains %s.", tld, publishedDomains);
+    }
+    int domainsPublished = publishedDomains.size();
     dnsMetrics.incrementPublishDomainRequests(tld, domainsPublished, PublishStatus.ACCEPTED);
     dnsMetrics.incrementPublishDomainRequests(tld, domainsRejected, PublishStatus.REJECTED);
 
-    int hostsPublished = 0;
+    ImmutableList.Builder<String> hostsToPublish = new ImmutableList.Builder<>();
     int hostsRejected = 0;
     for (String host : nullToEmpty(hosts)) {
       if (!DomainNameUtils.isUnder(InternetDomainName.from(host), InternetDomainName.from(tld))) {
         logger.atSevere().log("%s: skipping host %s not under TLD.", tld, host);
         hostsRejected += 1;
       } else {
-        writer.publishHost(host);
-        logger.atInfo().log("%s: published host %s.", tld, host);
-        hostsPublished += 1;
+        hostsToPublish.add(host);
       }
     }
+    ImmutableList<String> publishedHosts = hostsToPublish.build();
+    if (!publishedHosts.isEmpty()) {
+      writer.publishHosts(publishedHosts);
+      logger.atInfo().log("%s: published hosts %s.", tld, publishedHosts);
+    }
+    int hostsPublished = publishedHosts.size();
     dnsMetrics.incrementPublishHostRequests(tld, hostsPublished, PublishStatus.ACCEPTED);
     dnsMetrics.incrementPublishHostRequests(tld, hostsRejected, PublishStatus.REJECTED);
 
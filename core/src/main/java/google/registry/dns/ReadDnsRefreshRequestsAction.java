@@ -36,6 +36,7 @@ import com.google.cloud.tasks.v2.Task;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.flogger.FluentLogger;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
@@ -163,8 +164,10 @@ public final class ReadDnsRefreshRequestsAction implements Runnable {
 
   /** Creates DNS refresh tasks for all writers for the tld within a lock index. */
   void enqueueUpdates(int lockIndex, int numPublishLocks, Collection<DnsRefreshRequest> requests) {
-    ImmutableList.Builder<String> domainsBuilder = new ImmutableList.Builder<>();
-    ImmutableList.Builder<String> hostsBuilder = new ImmutableList.Builder<>();
+    // Every change to a name adds a request for it, so the requests for the same name are
+    // combined here into a single publish of the name.
+    ImmutableSet.Builder<String> domainsBuilder = new ImmutableSet.Builder<>();
+    ImmutableSet.Builder<String> hostsBuilder = new ImmutableSet.Builder<>();
     DateTime earliestRequestTime = END_OF_TIME;
     for (DnsRefreshRequest request : requests) {
       if (request.getRequestTime().isBefore(earliestRequestTime)) {
@@ -177,8 +180,8 @@ public final class ReadDnsRefreshRequestsAction implements Runnable {
         hostsBuilder.add(name);
       }
     }
-    ImmutableList<String> domains = domainsBuilder.build();
-    ImmutableList<String> hosts = hostsBuilder.build();
+    ImmutableSet<String> domains = domainsBuilder.build();
+    ImmutableSet<String> hosts = hostsBuilder.build();
     for (String dnsWriter : Tld.get(tld).getDnsWriters()) {
       Task task =
           cloudTasksUtils.createTaskWithJitter(
@@ -15,16 +15,43 @@
 package google.registry.dns.writer;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.ImmutableSortedMap.toImmutableSortedMap;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Ordering;
+import google.registry.model.ForeignKeyUtils;
+import google.registry.model.domain.Domain;
+import google.registry.model.host.Host;
+import google.registry.persistence.VKey;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.joda.time.DateTime;
 
 /**
  * A base implementation of {@link DnsWriter} that protects against multiple calls to commit().
+ *
+ * <p>It also lets subclasses load the domains to publish, and their nameservers, in bulk: after
+ * {@link #prefetchDomains}, {@link #loadDomain} and {@link #loadNameservers} are served from memory
+ * for the prefetched domains.
  */
 public abstract class BaseDnsWriter implements DnsWriter {
 
   private final AtomicBoolean committedAlready = new AtomicBoolean(false);
 
+  /** The prefetched domains by name, empty for domains that don't exist or are deleted. */
+  private final Map<String, Optional<Domain>> prefetchedDomains = new HashMap<>();
+
+  /** The nameservers of the prefetched domains. */
+  private final Map<VKey<Host>, Host> prefetchedNameservers = new HashMap<>();
+
   @Override
   public final void commit() {
     checkState(committedAlready.compareAndSet(false, true), "commit() has already been called");
@@ -33,4 +60,43 @@ public abstract class BaseDnsWriter implements DnsWriter {
 
   /** Commits DNS updates. This can never be called more than once. */
   protected abstract void commitUnchecked();
+
+  /** Loads the given domains and all of their nameservers from the database in two queries. */
+  protected void prefetchDomains(Collection<String> domainNames, DateTime now) {
+    ImmutableMap<String, Domain> domains =
+        ForeignKeyUtils.loadResources(Domain.class, domainNames, now);
+    for (String domainName : domainNames) {
+      prefetchedDomains.put(domainName, Optional.ofNullable(domains.get(domainName)));
+    }
+    prefetchNameservers(
+        domains.values().stream()
+            .flatMap(domain -> domain.getNameservers().stream())
+            .collect(toImmutableSet()));
+  }
+
+  /** Returns the given domain, unless it doesn't exist or is deleted. */
+  protected Optional<Domain> loadDomain(String domainName, DateTime now) {
+    Optional<Domain> domain = prefetchedDomains.get(domainName);
+    return domain != null ? domain : ForeignKeyUtils.loadResource(Domain.class, domainName, now);
+  }
+
+  /** Returns the nameservers of the given domain by host name, in host name order. */
+  protected ImmutableSortedMap<String, Host> loadNameservers(Domain domain) {
+    prefetchNameservers(domain.getNameservers());
+    return domain.getNameservers().stream()
+        .map(prefetchedNameservers::get)
+        .collect(toImmutableSortedMap(Ordering.natural(), Host::getHostName, Function.identity()));
+  }
+
+  private void prefetchNameservers(ImmutableSet<VKey<Host>> nameservers) {
+    ImmutableSet<VKey<Host>> missing =
+        nameservers.stream()
+            .filter(key -> !prefetchedNameservers.containsKey(key))
+            .collect(toImmutableSet());
+    if (missing.isEmpty()) {
+      return;
+    }
+    tm().reTransact(() -> tm().loadByKeys(missing))
+        .forEach((key, host) -> prefetchedNameservers.put(host.createVKey(), host));
+  }
 }
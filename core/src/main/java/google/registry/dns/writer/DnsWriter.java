@@ -14,6 +14,8 @@
 
 package google.registry.dns.writer;
 
+import java.util.Collection;
+
 /**
  * Transaction object for sending an atomic batch of updates for a single zone to the DNS server.
  *
@@ -27,6 +29,9 @@ package google.registry.dns.writer;
  * writer.publishHost(hostName);
  * writer.commit();
  * </pre>
+ *
+ * <p>Batches of names should be published with {@link #publishDomains} and {@link #publishHosts}
+ * instead, which lets the writer load the resources to publish in bulk.
  */
 public interface DnsWriter {
 
@@ -58,6 +63,30 @@ public interface DnsWriter {
    */
   void publishHost(String hostName);
 
+  /**
+   * Publishes each of the given domains as if by {@link #publishDomain}.
+   *
+   * <p>Writers should override this to load all the domains, and their nameservers, from the
+   * database in bulk rather than one by one.
+   *
+   * @param domainNames the fully qualified domain names, with no trailing dot
+   */
+  default void publishDomains(Collection<String> domainNames) {
+    domainNames.forEach(this::publishDomain);
+  }
+
+  /**
+   * Publishes each of the given hosts as if by {@link #publishHost}.
+   *
+   * <p>Writers should override this to load the superordinate domains of all the hosts, and their
+   * nameservers, from the database in bulk rather than one by one.
+   *
+   * @param hostNames the fully qualified host names, with no trailing dot
+   */
+  default void publishHosts(Collection<String> hostNames) {
+    hostNames.forEach(this::publishHost);
+  }
+
   /**
    * Commits the updates to the DNS server atomically.
    *
@@ -28,6 +28,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Sets;
 import com.google.common.flogger.FluentLogger;
 import com.google.common.net.InternetDomainName;
@@ -36,7 +37,6 @@ import google.registry.config.RegistryConfig.Config;
 import google.registry.dns.writer.BaseDnsWriter;
 import google.registry.dns.writer.DnsWriter;
 import google.registry.dns.writer.DnsWriterZone;
-import google.registry.model.ForeignKeyUtils;
 import google.registry.model.domain.Domain;
 import google.registry.model.domain.secdns.DomainDsData;
 import google.registry.model.host.Host;
@@ -52,6 +52,7 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -123,8 +124,7 @@ public class CloudDnsWriter extends BaseDnsWriter {
     String absoluteDomainName = getAbsoluteHostName(domainName);
 
     // Load the target domain. Note that it can be absent if this domain was just deleted.
-    Optional<Domain> domain =
-        ForeignKeyUtils.loadResource(Domain.class, domainName, clock.nowUtc());
+    Optional<Domain> domain = loadDomain(domainName, clock.nowUtc());
 
     // Return early if no DNS records should be published.
     // desiredRecordsBuilder is populated with an empty set to indicate that all existing records
@@ -155,16 +155,16 @@ public class CloudDnsWriter extends BaseDnsWriter {
     }
 
     // Construct NS records (if any).
-    Set<String> nameserverData = domain.get().loadNameserverHostNames();
+    ImmutableSortedMap<String, Host> nameserverData = loadNameservers(domain.get());
     Set<String> subordinateHosts = domain.get().getSubordinateHosts();
     if (!nameserverData.isEmpty()) {
       HashSet<String> nsRrData = new HashSet<>();
-      for (String hostName : nameserverData) {
-        nsRrData.add(getAbsoluteHostName(hostName));
+      for (Map.Entry<String, Host> nameserver : nameserverData.entrySet()) {
+        nsRrData.add(getAbsoluteHostName(nameserver.getKey()));
 
         // Construct glue records for subordinate NS hostnames (if any)
-        if (subordinateHosts.contains(hostName)) {
-          publishSubordinateHost(hostName);
+        if (subordinateHosts.contains(nameserver.getKey())) {
+          publishSubordinateHost(nameserver.getValue());
         }
       }
 
@@ -182,18 +182,16 @@ public class CloudDnsWriter extends BaseDnsWriter {
         "Will write %d records for domain '%s'.", domainRecords.build().size(), absoluteDomainName);
   }
 
-  private void publishSubordinateHost(String hostName) {
+  private void publishSubordinateHost(Host host) {
+    String hostName = host.getHostName();
     logger.atInfo().log("Publishing glue records for host '%s'.", hostName);
     // Canonicalize name
     String absoluteHostName = getAbsoluteHostName(hostName);
 
-    // Load the target host. Note that it can be absent if this host was just deleted.
+    // Return early if the host is deleted.
     // desiredRecords is populated with an empty set to indicate that all existing records
     // should be deleted.
-    Optional<Host> host = ForeignKeyUtils.loadResource(Host.class, hostName, clock.nowUtc());
-
-    // Return early if the host is deleted.
-    if (host.isEmpty()) {
+    if (!clock.nowUtc().isBefore(host.getDeletionTime())) {
       desiredRecords.put(absoluteHostName, ImmutableSet.of());
       return;
     }
@@ -203,7 +201,7 @@ public class CloudDnsWriter extends BaseDnsWriter {
     // Construct A and AAAA records (if any).
     HashSet<String> aRrData = new HashSet<>();
     HashSet<String> aaaaRrData = new HashSet<>();
-    for (InetAddress ip : host.get().getInetAddresses()) {
+    for (InetAddress ip : host.getInetAddresses()) {
       if (ip instanceof Inet4Address) {
         aRrData.add(ip.getHostAddress());
       } else {
@@ -258,6 +256,26 @@ public class CloudDnsWriter extends BaseDnsWriter {
     publishDomain(getSecondLevelDomain(hostName, tld.get().toString()));
   }
 
+  @Override
+  public void publishDomains(Collection<String> domainNames) {
+    prefetchDomains(domainNames, clock.nowUtc());
+    domainNames.forEach(this::publishDomain);
+  }
+
+  @Override
+  public void publishHosts(Collection<String> hostNames) {
+    prefetchDomains(
+        hostNames.stream()
+            .flatMap(
+                hostName ->
+                    Tlds.findTldForName(InternetDomainName.from(hostName))
+                        .map(tld -> getSecondLevelDomain(hostName, tld.toString()))
+                        .stream())
+            .collect(toImmutableSet()),
+        clock.nowUtc());
+    hostNames.forEach(this::publishHost);
+  }
+
   /**
    * Sync changes in a zone requested by publishDomain and publishHost to Cloud DNS.
    *
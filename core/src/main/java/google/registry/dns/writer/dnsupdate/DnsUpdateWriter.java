@@ -14,9 +14,8 @@
 
 package google.registry.dns.writer.dnsupdate;
 
-import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
-import static com.google.common.collect.Sets.intersection;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Sets.union;
 import static google.registry.dns.DnsUtils.getDnsAPlusAAAATtlForHost;
 
@@ -27,7 +26,6 @@ import com.google.common.net.InternetDomainName;
 import google.registry.config.RegistryConfig.Config;
 import google.registry.dns.writer.BaseDnsWriter;
 import google.registry.dns.writer.DnsWriterZone;
-import google.registry.model.ForeignKeyUtils;
 import google.registry.model.domain.Domain;
 import google.registry.model.domain.secdns.DomainDsData;
 import google.registry.model.host.Host;
@@ -39,6 +37,7 @@ import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.util.Collection;
 import java.util.Optional;
 import org.joda.time.Duration;
 import org.xbill.DNS.AAAARecord;
@@ -129,8 +128,7 @@ public class DnsUpdateWriter extends BaseDnsWriter {
    *     this domain refresh request
    */
   private void publishDomain(String domainName, String requestingHostName) {
-    Optional<Domain> domainOptional =
-        ForeignKeyUtils.loadResource(Domain.class, domainName, clock.nowUtc());
+    Optional<Domain> domainOptional = loadDomain(domainName, clock.nowUtc());
     update.delete(toAbsoluteName(domainName), Type.ANY);
     // If the domain is now deleted, then don't update DNS for it.
     if (domainOptional.isPresent()) {
@@ -152,24 +150,40 @@ public class DnsUpdateWriter extends BaseDnsWriter {
 
   @Override
   public void publishHost(String hostName) {
-    // Get the superordinate domain name of the host.
-    InternetDomainName host = InternetDomainName.from(hostName);
-    ImmutableList<String> hostParts = host.parts();
-    Optional<InternetDomainName> tld = Tlds.findTldForName(host);
+    // Refresh the superordinate domain, always delete the host first to ensure idempotency,
+    // and only publish the host if it is a glue record. Hosts not managed by our registry don't
+    // need any update.
+    getSuperordinateDomainName(hostName).ifPresent(domain -> publishDomain(domain, hostName));
+  }
 
-    // host not managed by our registry, no need to update DNS.
-    if (tld.isEmpty()) {
-      return;
-    }
+  @Override
+  public void publishDomains(Collection<String> domainNames) {
+    prefetchDomains(domainNames, clock.nowUtc());
+    domainNames.forEach(this::publishDomain);
+  }
 
-    ImmutableList<String> tldParts = tld.get().parts();
-    ImmutableList<String> domainParts =
-        hostParts.subList(hostParts.size() - tldParts.size() - 1, hostParts.size());
-    String domain = Joiner.on(".").join(domainParts);
+  @Override
+  public void publishHosts(Collection<String> hostNames) {
+    prefetchDomains(
+        hostNames.stream()
+            .map(DnsUpdateWriter::getSuperordinateDomainName)
+            .flatMap(Optional::stream)
+            .collect(toImmutableSet()),
+        clock.nowUtc());
+    hostNames.forEach(this::publishHost);
+  }
 
-    // Refresh the superordinate domain, always delete the host first to ensure idempotency,
-    // and only publish the host if it is a glue record.
-    publishDomain(domain, hostName);
+  /** Returns the name of the superordinate domain of the host, if it is under one of our TLDs. */
+  private static Optional<String> getSuperordinateDomainName(String hostName) {
+    InternetDomainName host = InternetDomainName.from(hostName);
+    ImmutableList<String> hostParts = host.parts();
+    return Tlds.findTldForName(host)
+        .map(
+            tld ->
+                Joiner.on(".")
+                    .join(
+                        hostParts.subList(
+                            hostParts.size() - tld.parts().size() - 1, hostParts.size())));
   }
 
   @Override
@@ -217,19 +231,20 @@ public class DnsUpdateWriter extends BaseDnsWriter {
   }
 
   private void addInBailiwickNameServerSet(Domain domain, Update update) {
-    for (String hostName :
-        intersection(domain.loadNameserverHostNames(), domain.getSubordinateHosts())) {
-      Optional<Host> host = ForeignKeyUtils.loadResource(Host.class, hostName, clock.nowUtc());
-      checkState(host.isPresent(), "Host %s cannot be loaded", hostName);
-      update.add(makeAddressSet(host.get()));
-      update.add(makeV6AddressSet(host.get()));
+    for (Host host : loadNameservers(domain).values()) {
+      // Hosts are loaded by key, which also returns deleted ones; those get no glue records.
+      if (domain.getSubordinateHosts().contains(host.getHostName())
+          && clock.nowUtc().isBefore(host.getDeletionTime())) {
+        update.add(makeAddressSet(host));
+        update.add(makeV6AddressSet(host));
+      }
     }
   }
 
   private RRset makeNameServerSet(Domain domain) {
     RRset nameServerSet = new RRset();
     Tld tld = Tld.get(domain.getTld());
-    for (String hostName : domain.loadNameserverHostNames()) {
+    for (String hostName : loadNameservers(domain).keySet()) {
       NSRecord record =
           new NSRecord(
               toAbsoluteName(domain.getDomainName()),
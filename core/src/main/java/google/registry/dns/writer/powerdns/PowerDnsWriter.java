@@ -14,6 +14,8 @@
 
 package google.registry.dns.writer.powerdns;
 
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
@@ -37,6 +39,7 @@ import jakarta.inject.Named;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ConcurrentHashMap;
@@ -165,6 +168,20 @@ public class PowerDnsWriter extends DnsUpdateWriter {
     super.publishHost(normalizedHostName);
   }
 
+  @Override
+  public void publishDomains(Collection<String> domainNames) {
+    // Normalize the names first, so that the domains are prefetched under the names they are
+    // published with.
+    super.publishDomains(
+        domainNames.stream().map(this::getHostNameWithoutTrailingDot).collect(toImmutableList()));
+  }
+
+  @Override
+  public void publishHosts(Collection<String> hostNames) {
+    super.publishHosts(
+        hostNames.stream().map(this::getHostNameWithoutTrailingDot).collect(toImmutableList()));
+  }
+
   @Override
   protected void commitUnchecked() {
     try {
@@ -22,6 +22,7 @@ import static google.registry.flows.FlowUtils.unmarshalEpp;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.flogger.FluentLogger;
 import google.registry.flows.FlowModule.EppExceptionInProviderException;
@@ -32,7 +33,9 @@ import google.registry.model.eppoutput.EppResponse;
 import google.registry.model.eppoutput.Result;
 import google.registry.model.eppoutput.Result.Code;
 import google.registry.monitoring.whitebox.EppMetric;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import jakarta.inject.Inject;
+import java.time.Duration;
 import java.util.Optional;
 import org.json.simple.JSONValue;
 
@@ -52,6 +55,12 @@ public final class EppController {
   @Inject ServerTridProvider serverTridProvider;
   @Inject EppController() {}
 
+  /**
+   * The metric of the last command handled, if it was exported, to which phases that happen after
+   * the command was handled (i.e. marshalling its output) are attributed.
+   */
+  private Optional<EppMetric> exportedMetric = Optional.empty();
+
   /** Reads EPP XML, executes the matching flow, and returns an {@link EppOutput}. */
   public EppOutput handleEppCommand(
       SessionMetadata sessionMetadata,
@@ -63,6 +72,7 @@ public final class EppController {
     eppMetricBuilder.setRegistrarId(Optional.ofNullable(sessionMetadata.getRegistrarId()));
     try {
       EppInput eppInput;
+      Stopwatch unmarshalStopwatch = Stopwatch.createStarted();
       try {
         eppInput = unmarshalEpp(EppInput.class, inputXmlBytes);
       } catch (EppException e) {
@@ -89,10 +99,12 @@ public final class EppController {
                         .trim()), // Charset decoding failures are swallowed.
             LOG_SEPARATOR);
         // Return early by sending an error message, with no clTRID since we couldn't unmarshal it.
+        eppMetricBuilder.addPhaseTime(Phase.UNMARSHAL, unmarshalStopwatch.elapsed());
         eppMetricBuilder.setStatus(e.getResult().getCode());
         return getErrorResponse(
             e.getResult(), Trid.create(null, serverTridProvider.createServerTrid()));
       }
+      eppMetricBuilder.addPhaseTime(Phase.UNMARSHAL, unmarshalStopwatch.elapsed());
       if (!eppInput.getTargetIds().isEmpty()) {
         if (eppInput.isDomainType()) {
           eppMetricBuilder.setTlds(extractTlds(eppInput.getTargetIds()));
@@ -118,10 +130,21 @@ public final class EppController {
         EppMetric metric = eppMetricBuilder.build();
         eppMetrics.incrementEppRequests(metric);
         eppMetrics.recordProcessingTime(metric);
+        eppMetrics.recordPhaseTimes(metric);
+        exportedMetric = Optional.of(metric);
+      } else {
+        exportedMetric = Optional.empty();
       }
     }
   }
 
+  /** Records the time it took to marshal the output of the last command handled. */
+  public void recordMarshalTime(Duration time) {
+    exportedMetric.ifPresent(
+        metric ->
+            eppMetrics.recordPhaseTime(metric.getCommandName().orElse(""), Phase.MARSHAL, time));
+  }
+
   /** Runs an EPP flow and converts known exceptions into EPP error responses. */
   private EppOutput runFlowConvertEppErrors(FlowComponent flowComponent) {
     try {
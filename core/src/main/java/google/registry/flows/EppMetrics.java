@@ -17,12 +17,17 @@ package google.registry.flows;
 import static com.google.monitoring.metrics.EventMetric.DEFAULT_FITTER;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.monitoring.metrics.DistributionFitter;
 import com.google.monitoring.metrics.EventMetric;
+import com.google.monitoring.metrics.ExponentialFitter;
 import com.google.monitoring.metrics.IncrementableMetric;
 import com.google.monitoring.metrics.LabelDescriptor;
 import com.google.monitoring.metrics.MetricRegistryImpl;
 import google.registry.monitoring.whitebox.EppMetric;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
 
 /** EPP Instrumentation. */
 public class EppMetrics {
@@ -46,6 +51,15 @@ public class EppMetrics {
               "The traffic type of the command; one of CANARY, PROBER, or REAL."),
           LabelDescriptor.create("status", "The return status of the command."));
 
+  private static final ImmutableSet<LabelDescriptor> LABEL_DESCRIPTORS_BY_PHASE =
+      ImmutableSet.of(
+          LabelDescriptor.create("command", "The name of the command."),
+          LabelDescriptor.create("phase", "The phase of the request, e.g. UNMARSHAL or SQL."));
+
+  /** Phases can take well under a millisecond, so the buckets start at 0.1 ms (up to ~52 s). */
+  private static final DistributionFitter PHASE_TIME_FITTER =
+      ExponentialFitter.create(20, 2.0, 0.1);
+
   private static final IncrementableMetric eppRequestsByRegistrar =
       MetricRegistryImpl.getDefault()
           .newIncrementableMetric(
@@ -71,6 +85,15 @@ public class EppMetrics {
               LABEL_DESCRIPTORS,
               DEFAULT_FITTER);
 
+  private static final EventMetric phaseTime =
+      MetricRegistryImpl.getDefault()
+          .newEventMetric(
+              "/epp/phase_time",
+              "EPP Request Time By Phase",
+              "milliseconds",
+              LABEL_DESCRIPTORS_BY_PHASE,
+              PHASE_TIME_FITTER);
+
   private enum TrafficType {
     CANARY, PROBER, REAL
   }
@@ -104,6 +127,19 @@ public class EppMetrics {
     requestTime.record(processingTime, commandName, getTrafficType(tld).toString(), eppStatusCode);
   }
 
+  /** Records the time of each phase of an EPP request. */
+  public void recordPhaseTimes(EppMetric metric) {
+    String commandName = metric.getCommandName().orElse("");
+    for (Map.Entry<Phase, Duration> entry : metric.getPhaseTimes().entrySet()) {
+      recordPhaseTime(commandName, entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Records the time of one phase of an EPP request with the given command name. */
+  public void recordPhaseTime(String commandName, Phase phase, Duration time) {
+    phaseTime.record(time.toNanos() / 1e6, commandName, phase.name());
+  }
+
   private static TrafficType getTrafficType(String tld) {
     if (tld.endsWith("canary.test")) {
       return TrafficType.CANARY;
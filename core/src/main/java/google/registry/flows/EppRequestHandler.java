@@ -14,13 +14,14 @@
 
 package google.registry.flows;
 
+import static com.google.common.flogger.LazyArgs.lazy;
 import static google.registry.flows.FlowUtils.marshalWithLenientRetry;
 import static google.registry.model.eppoutput.Result.Code.SUCCESS_AND_CLOSE;
-import static google.registry.xml.XmlTransformer.prettyPrint;
 import static jakarta.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static jakarta.servlet.http.HttpServletResponse.SC_OK;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.flogger.FluentLogger;
 import com.google.common.net.MediaType;
 import google.registry.model.eppoutput.EppOutput;
@@ -57,12 +58,15 @@ public class EppRequestHandler {
               sessionMetadata, credentials, eppRequestSource, isDryRun, isSuperuser, inputXmlBytes);
       response.setContentType(APPLICATION_EPP_XML);
       final StopwatchLogger stopwatch = new StopwatchLogger();
+      Stopwatch marshalStopwatch = Stopwatch.createStarted();
       byte[] eppResponseXmlBytes = marshalWithLenientRetry(eppOutput);
+      eppController.recordMarshalTime(marshalStopwatch.elapsed());
       stopwatch.tick("Completed EPP output marshaling.");
 
       response.setPayload(new String(eppResponseXmlBytes, UTF_8));
       logger.atInfo().log(
-          "EPP response: %s", prettyPrint(EppXmlSanitizer.sanitizeEppXml(eppResponseXmlBytes)));
+          "EPP response: %s",
+          lazy(() -> EppXmlSanitizer.sanitizeAndPrettyPrintEppXml(eppResponseXmlBytes)));
       // Note that we always return 200 (OK) even if the EppController returns an error response.
       // This is because returning a non-OK HTTP status code will cause the proxy server to
       // silently close the connection without returning any data. The only time we will ever return
@@ -15,19 +15,26 @@
 package google.registry.flows;
 
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.google.common.base.CharMatcher;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Streams;
 import com.google.common.flogger.FluentLogger;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLEventReader;
@@ -35,8 +42,14 @@ import javax.xml.stream.XMLEventWriter;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.Comment;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.ProcessingInstruction;
 import javax.xml.stream.events.StartDocument;
+import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
 
 /**
@@ -71,6 +84,12 @@ public class EppXmlSanitizer {
   private static final String CTRL_CHAR_MASK = "C";
   private static final String DEFAULT_MASK = "*";
 
+  /** The XML declaration at the start of every pretty-printed message. */
+  private static final String PRETTY_PRINT_XML_DECLARATION =
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
+  private static final String PRETTY_PRINT_INDENT = "  ";
+
   private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
   private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
   private static final XMLEventFactory XML_EVENT_FACTORY = XMLEventFactory.newFactory();
@@ -142,6 +161,153 @@ public class EppXmlSanitizer {
     return outputXmlBytes.toString(inputEncoding);
   }
 
+  /**
+   * Returns the sanitized EPP XML message, pretty-printed for logging. For malformed XML messages,
+   * base64-encoded raw bytes will be returned.
+   *
+   * <p>The output is the same as that of {@code XmlTransformer.prettyPrint(sanitizeEppXml(bytes))}
+   * for EPP messages, which do not have mixed content, but the input is only parsed once: the
+   * masked elements are indented as they are written, instead of re-parsing the sanitized text.
+   * Whitespace between elements is replaced by two-space indentation, and empty elements are
+   * written as {@code <tag/>}.
+   */
+  public static String sanitizeAndPrettyPrintEppXml(byte[] inputXmlBytes) {
+    try {
+      return sanitizeAndPrettyPrint(inputXmlBytes);
+    } catch (XMLStreamException e) {
+      logger.atWarning().withCause(e).log("Failed to sanitize EPP XML message.");
+      return Base64.getMimeEncoder().encodeToString(inputXmlBytes);
+    }
+  }
+
+  private static String sanitizeAndPrettyPrint(byte[] inputXmlBytes) throws XMLStreamException {
+    XMLEventReader xmlEventReader =
+        XML_INPUT_FACTORY.createXMLEventReader(new ByteArrayInputStream(inputXmlBytes));
+    if (!xmlEventReader.hasNext()) {
+      return "";
+    }
+
+    StringWriter output = new StringWriter();
+    output.write(PRETTY_PRINT_XML_DECLARATION);
+    XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(output);
+    // Number of currently open elements.
+    int depth = 0;
+    // Whether the last event opened an element, i.e. the current element has no content yet.
+    boolean elementJustOpened = false;
+    // Whether the content of the current element so far is text rather than child elements.
+    boolean elementHasText = false;
+    // The sensitive element that is currently open, if any.
+    QName sensitiveElementName = null;
+
+    while (xmlEventReader.hasNext()) {
+      XMLEvent xmlEvent = xmlEventReader.nextEvent();
+      switch (xmlEvent.getEventType()) {
+        case XMLEvent.START_ELEMENT -> {
+          StartElement startElement = xmlEvent.asStartElement();
+          writeIndent(xmlStreamWriter, depth);
+          if (xmlEventReader.peek() != null && xmlEventReader.peek().isEndElement()) {
+            xmlEventReader.nextEvent();
+            writeStartElement(xmlStreamWriter, startElement, true);
+            elementJustOpened = false;
+          } else {
+            writeStartElement(xmlStreamWriter, startElement, false);
+            depth++;
+            elementJustOpened = true;
+            if (sensitiveElementName == null && isStartEventForSensitiveData(xmlEvent)) {
+              sensitiveElementName = startElement.getName();
+            }
+          }
+          elementHasText = false;
+        }
+        case XMLEvent.END_ELEMENT -> {
+          depth--;
+          if (!elementJustOpened && !elementHasText) {
+            writeIndent(xmlStreamWriter, depth);
+          }
+          xmlStreamWriter.writeEndElement();
+          if (isMatchingEndEvent(xmlEvent, sensitiveElementName)) {
+            sensitiveElementName = null;
+          }
+          elementJustOpened = false;
+          elementHasText = false;
+        }
+        case XMLEvent.CHARACTERS, XMLEvent.CDATA, XMLEvent.SPACE -> {
+          String text = xmlEvent.asCharacters().getData();
+          if (sensitiveElementName != null) {
+            text = maskSensitiveData(text);
+          }
+          // Whitespace between elements is replaced by indentation. Only keep it if it is the sole
+          // content of a leaf element.
+          if (!text.isBlank()
+              || (elementJustOpened
+                  && xmlEventReader.peek() != null
+                  && xmlEventReader.peek().isEndElement())) {
+            xmlStreamWriter.writeCharacters(text);
+            elementHasText = true;
+          }
+        }
+        case XMLEvent.COMMENT -> {
+          writeIndent(xmlStreamWriter, depth);
+          xmlStreamWriter.writeComment(((Comment) xmlEvent).getText());
+          elementJustOpened = false;
+        }
+        case XMLEvent.PROCESSING_INSTRUCTION -> {
+          writeIndent(xmlStreamWriter, depth);
+          ProcessingInstruction instruction = (ProcessingInstruction) xmlEvent;
+          xmlStreamWriter.writeProcessingInstruction(
+              instruction.getTarget(), instruction.getData());
+          elementJustOpened = false;
+        }
+        default -> {
+          // The XML declaration is replaced by our own, and DTDs are not supported.
+        }
+      }
+    }
+    xmlStreamWriter.writeEndDocument();
+    xmlStreamWriter.flush();
+    return output.append('\n').toString();
+  }
+
+  /** Starts a new line, indented for an element at the given depth. */
+  private static void writeIndent(XMLStreamWriter xmlStreamWriter, int depth)
+      throws XMLStreamException {
+    xmlStreamWriter.writeCharacters("\n" + PRETTY_PRINT_INDENT.repeat(depth));
+  }
+
+  private static void writeStartElement(
+      XMLStreamWriter xmlStreamWriter, StartElement startElement, boolean isEmpty)
+      throws XMLStreamException {
+    QName name = startElement.getName();
+    if (isEmpty) {
+      xmlStreamWriter.writeEmptyElement(
+          name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+    } else {
+      xmlStreamWriter.writeStartElement(
+          name.getPrefix(), name.getLocalPart(), name.getNamespaceURI());
+    }
+    // Declare the namespace of the element itself first, as XmlTransformer.prettyPrint does.
+    ImmutableList<Namespace> namespaces =
+        Streams.stream(startElement.getNamespaces())
+            .sorted(Comparator.comparing(ns -> !ns.getPrefix().equals(name.getPrefix())))
+            .collect(toImmutableList());
+    for (Namespace namespace : namespaces) {
+      if (namespace.isDefaultNamespaceDeclaration()) {
+        xmlStreamWriter.writeDefaultNamespace(namespace.getNamespaceURI());
+      } else {
+        xmlStreamWriter.writeNamespace(namespace.getPrefix(), namespace.getNamespaceURI());
+      }
+    }
+    for (Iterator<Attribute> attributes = startElement.getAttributes(); attributes.hasNext(); ) {
+      Attribute attribute = attributes.next();
+      QName attributeName = attribute.getName();
+      xmlStreamWriter.writeAttribute(
+          attributeName.getPrefix(),
+          attributeName.getNamespaceURI(),
+          attributeName.getLocalPart(),
+          attribute.getValue());
+    }
+  }
+
   private static String maskSensitiveData(String original) {
     return original
         .codePoints()
@@ -155,7 +321,7 @@ public class EppXmlSanitizer {
             xmlEvent.asStartElement().getName().getLocalPart().toLowerCase(Locale.ROOT));
   }
 
-  private static boolean isMatchingEndEvent(XMLEvent xmlEvent, QName startEventName) {
+  private static boolean isMatchingEndEvent(XMLEvent xmlEvent, @Nullable QName startEventName) {
     return xmlEvent.isEndElement() && xmlEvent.asEndElement().getName().equals(startEventName);
   }
 
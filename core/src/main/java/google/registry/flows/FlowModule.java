@@ -21,6 +21,7 @@ import static google.registry.persistence.transaction.TransactionManagerFactory.
 import com.google.common.base.Strings;
 import dagger.Module;
 import dagger.Provides;
+import google.registry.config.RegistryConfig.Config;
 import google.registry.flows.picker.FlowPicker;
 import google.registry.model.domain.DomainHistory;
 import google.registry.model.domain.metadata.MetadataExtension;
@@ -41,6 +42,7 @@ import google.registry.persistence.transaction.JpaTransactionManager;
 import jakarta.inject.Qualifier;
 import java.lang.annotation.Documented;
 import java.util.Optional;
+import org.joda.time.Duration;
 
 /** Module to choose and instantiate an EPP flow. */
 @Module
@@ -199,10 +201,20 @@ public class FlowModule {
     }
   }
 
+  /**
+   * Provides the transaction manager to run the flow with.
+   *
+   * <p>Flows that don't mutate the database run on the read-only replica, unless its replication
+   * lag exceeds the configured maximum. {@link FlowRunner} falls back to the primary if the
+   * replica fails.
+   */
   @Provides
   @FlowScope
-  static JpaTransactionManager provideJpaTm(Class<? extends Flow> flowClass) {
-    if (MutatingFlow.class.isAssignableFrom(flowClass)) {
+  static JpaTransactionManager provideJpaTm(
+      Class<? extends Flow> flowClass,
+      @Config("readOnlyFlowMaxReplicaLag") Duration readOnlyFlowMaxReplicaLag) {
+    if (MutatingFlow.class.isAssignableFrom(flowClass)
+        || !ReplicaStalenessGuard.isReplicaUsable(readOnlyFlowMaxReplicaLag)) {
       return tm();
     } else {
       return replicaTm();
@@ -14,24 +14,35 @@
 
 package google.registry.flows;
 
-import static google.registry.xml.XmlTransformer.prettyPrint;
+import static com.google.common.flogger.LazyArgs.lazy;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.flogger.FluentLogger;
+import google.registry.config.RegistryConfig.Config;
 import google.registry.flows.FlowModule.DryRun;
 import google.registry.flows.FlowModule.InputXml;
 import google.registry.flows.FlowModule.LogSqlStatements;
 import google.registry.flows.FlowModule.RegistrarId;
 import google.registry.flows.FlowModule.Superuser;
 import google.registry.flows.FlowModule.Transactional;
+import google.registry.flows.domain.DomainCreateFlow;
+import google.registry.flows.domain.DomainCreatePrefetcher;
 import google.registry.flows.session.LoginFlow;
 import google.registry.model.eppcommon.Trid;
+import google.registry.model.eppinput.EppInput;
 import google.registry.model.eppoutput.EppOutput;
+import google.registry.monitoring.jfr.EventContext;
+import google.registry.monitoring.jfr.FlowEvent;
 import google.registry.monitoring.whitebox.EppMetric;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import google.registry.persistence.PersistenceModule.TransactionIsolationLevel;
 import google.registry.persistence.transaction.JpaTransactionManager;
+import google.registry.persistence.transaction.TransactionTimer;
 import google.registry.util.StopwatchLogger;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
+import jakarta.persistence.PersistenceException;
 import java.util.Optional;
 
 /** Run a flow, either transactionally or not, with logging and retrying as needed. */
@@ -45,6 +56,7 @@ public class FlowRunner {
   @Inject TransportCredentials credentials;
   @Inject EppRequestSource eppRequestSource;
   @Inject Provider<Flow> flowProvider;
+  @Inject Provider<DomainCreatePrefetcher> domainCreatePrefetcherProvider;
   @Inject Optional<TransactionIsolationLevel> isolationLevelOverride;
   @Inject Class<? extends Flow> flowClass;
   @Inject @InputXml byte[] inputXmlBytes;
@@ -54,21 +66,52 @@ public class FlowRunner {
   @Inject @LogSqlStatements boolean logSqlStatements;
   @Inject SessionMetadata sessionMetadata;
   @Inject Trid trid;
+  @Inject EppInput eppInput;
   @Inject FlowReporter flowReporter;
   @Inject JpaTransactionManager jpaTransactionManager;
+  @Inject @Config("eppCommandLogSamplingRate") int eppCommandLogSamplingRate;
 
   @Inject FlowRunner() {}
 
-  /** Runs the EPP flow, and records metrics on the given builder. */
+  /** Runs the EPP flow, and records metrics on the given builder and as a JFR {@link FlowEvent}. */
   public EppOutput run(final EppMetric.Builder eppMetricBuilder) throws EppException {
-    String prettyXml = prettyPrint(EppXmlSanitizer.sanitizeEppXml(inputXmlBytes));
+    // Flows can run inside other requests and flows, e.g. in DeleteExpiredDomainsAction, so the
+    // context of the caller is restored afterwards.
+    EventContext previousContext =
+        EventContext.setFlow(
+            flowClass,
+            registrarId,
+            () ->
+                eppInput.isDomainType()
+                    ? String.join(",", FlowReporter.extractTlds(eppInput.getTargetIds()))
+                    : "");
+    FlowEvent flowEvent = FlowEvent.start();
+    boolean success = false;
+    try {
+      EppOutput output = runWithLogging(eppMetricBuilder);
+      success = true;
+      return output;
+    } finally {
+      flowEvent.end(success);
+      EventContext.restore(previousContext);
+    }
+  }
 
-    logger.atInfo().log(
+  /** Runs the EPP flow with command logging, in a transaction if needed. */
+  private EppOutput runWithLogging(EppMetric.Builder eppMetricBuilder) throws EppException {
+    // The XML is only sanitized and pretty-printed if this command is actually logged.
+    logger.atInfo().every(eppCommandLogSamplingRate).log(
         COMMAND_LOG_FORMAT,
         trid.getServerTransactionId(),
         registrarId,
         sessionMetadata,
-        prettyXml.replace("\n", "\n\t"),
+        lazy(
+            () -> {
+              Stopwatch sanitizeStopwatch = Stopwatch.createStarted();
+              String xml = EppXmlSanitizer.sanitizeAndPrettyPrintEppXml(inputXmlBytes);
+              eppMetricBuilder.addPhaseTime(Phase.SANITIZE, sanitizeStopwatch.elapsed());
+              return xml.replace("\n", "\n\t");
+            }),
         credentials,
         eppRequestSource,
         isDryRun ? "DRY_RUN" : "LIVE",
@@ -83,17 +126,59 @@ public class FlowRunner {
     // We may already be in a transaction, e.g., when invoked by DeleteExpiredDomainsAction.
     if (!isTransactional || jpaTransactionManager.inTransaction()) {
       stopwatch.tick("We're in transaction, running the flow now.");
-      return EppOutput.create(flowProvider.get().run());
+      return runFlow(eppMetricBuilder);
     }
 
+    if (flowClass.equals(DomainCreateFlow.class)) {
+      // Make the cached lookups of the flow concurrently, rather than one by one in the
+      // transaction.
+      domainCreatePrefetcherProvider.get().prefetch();
+      stopwatch.tick("Prefetched the domain create lookups.");
+    }
     stopwatch.tick("We're not in transaction, calling transact.");
+    TransactionTimer transactionTimer = TransactionTimer.start();
+    try {
+      return runInTransaction(jpaTransactionManager, eppMetricBuilder, stopwatch);
+    } catch (PersistenceException e) {
+      if (jpaTransactionManager == tm()) {
+        throw e;
+      }
+      // The replica is unavailable or failed the query; the primary can serve the flow as well.
+      logger.atWarning().withCause(e).log(
+          "Failed to run %s on the replica, retrying on the primary.", flowClass.getSimpleName());
+      stopwatch.tick("Retrying the flow on the primary.");
+      return runInTransaction(tm(), eppMetricBuilder, stopwatch);
+    } finally {
+      transactionTimer.close();
+      eppMetricBuilder.addPhaseTime(Phase.SQL, transactionTimer.getSqlTime());
+      eppMetricBuilder.addPhaseTime(Phase.COMMIT, transactionTimer.getCommitTime());
+    }
+  }
+
+  /** Runs the flow, recording its time as the {@code SESSION} or {@code FLOW} phase. */
+  private EppOutput runFlow(EppMetric.Builder eppMetricBuilder) throws EppException {
+    Stopwatch flowStopwatch = Stopwatch.createStarted();
+    try {
+      return EppOutput.create(flowProvider.get().run());
+    } finally {
+      eppMetricBuilder.addPhaseTime(
+          flowClass.getPackage().equals(LoginFlow.class.getPackage()) ? Phase.SESSION : Phase.FLOW,
+          flowStopwatch.elapsed());
+    }
+  }
+
+  private EppOutput runInTransaction(
+      JpaTransactionManager transactionManager,
+      EppMetric.Builder eppMetricBuilder,
+      StopwatchLogger stopwatch)
+      throws EppException {
     try {
-      return jpaTransactionManager.transact(
+      return transactionManager.transact(
           isolationLevelOverride.orElse(null),
           () -> {
             try {
               stopwatch.tick("Running the flow in transaction.");
-              EppOutput output = EppOutput.create(flowProvider.get().run());
+              EppOutput output = runFlow(eppMetricBuilder);
               stopwatch.tick("Completed the flow in transaction.");
               if (isDryRun) {
                 throw new DryRunException(output);
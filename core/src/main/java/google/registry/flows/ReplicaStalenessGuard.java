@@ -0,0 +1,158 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static google.registry.persistence.transaction.TransactionManagerFactory.replicaTm;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nullable;
+import org.joda.time.Duration;
+
+/**
+ * Guards read-only flows against running on a replica that has fallen too far behind the primary.
+ *
+ * <p>Read-only flows run on the read-only replica to take load off the primary database, but a
+ * lagging replica would answer with outdated data, e.g. report a domain that was just created as
+ * available. The lag is measured in the background every {@link #LAG_CHECK_INTERVAL}, so that
+ * flows neither pay for an extra query each nor wait on a replica that stopped responding, and
+ * read-only flows go to the primary whenever it exceeds the configured maximum or the last
+ * measurement failed or is too old.
+ */
+final class ReplicaStalenessGuard {
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private static final java.time.Duration LAG_CHECK_INTERVAL = java.time.Duration.ofSeconds(1);
+
+  /** How long the lag query may run before it is cancelled and the lag treated as unknown. */
+  private static final java.time.Duration LAG_QUERY_TIMEOUT = java.time.Duration.ofSeconds(1);
+
+  /**
+   * How old the last measurement may be before the lag is treated as unknown.
+   *
+   * <p>Measurements get this old when the lag query, or getting a connection for it, hangs.
+   */
+  private static final java.time.Duration MAX_MEASUREMENT_AGE = java.time.Duration.ofSeconds(5);
+
+  /**
+   * Returns the replication lag in seconds.
+   *
+   * <p>The lag is zero once the replica has replayed all the WAL it received, since the replay
+   * timestamp doesn't advance while the primary is idle. On a database that isn't a replica, such
+   * as in tests, both WAL positions are null and the lag is zero as well.
+   */
+  private static final String LAG_QUERY =
+      "SELECT CAST(CASE WHEN pg_last_wal_receive_lsn() IS NOT DISTINCT FROM"
+          + " pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END"
+          + " AS double precision)";
+
+  @Nullable private static volatile LagMeasurement lastMeasurement;
+
+  @Nullable private static volatile ScheduledExecutorService refresher;
+
+  private ReplicaStalenessGuard() {}
+
+  /**
+   * Returns whether read-only flows may run on the replica given the maximum tolerated lag.
+   *
+   * <p>This only reads the last measurement, and starts measuring the lag in the background on
+   * first use; until the first measurement completes, the replica is not used.
+   */
+  static boolean isReplicaUsable(Duration maxLag) {
+    if (refresher == null) {
+      startRefreshing();
+    }
+    LagMeasurement measurement = lastMeasurement;
+    return measurement != null
+        && isLagAcceptable(measurement.lagIfRecent(System.nanoTime()), maxLag);
+  }
+
+  private static synchronized void startRefreshing() {
+    if (refresher != null) {
+      return;
+    }
+    ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("replica-lag-refresher")
+                .build());
+    executor.scheduleWithFixedDelay(
+        ReplicaStalenessGuard::refreshReplicaLag, 0, LAG_CHECK_INTERVAL.toMillis(), MILLISECONDS);
+    refresher = executor;
+  }
+
+  @VisibleForTesting
+  static void refreshReplicaLag() {
+    long startNanos = System.nanoTime();
+    lastMeasurement = new LagMeasurement(measureReplicaLag(), startNanos);
+  }
+
+  @VisibleForTesting
+  static boolean isLagAcceptable(Optional<Duration> lag, Duration maxLag) {
+    return lag.map(l -> !l.isLongerThan(maxLag)).orElse(false);
+  }
+
+  @VisibleForTesting
+  static Optional<Duration> measureReplicaLag() {
+    try {
+      Object lagSeconds =
+          replicaTm()
+              .reTransact(
+                  () -> {
+                    // Applies to the rest of this transaction only.
+                    replicaTm()
+                        .getEntityManager()
+                        .createNativeQuery(
+                            "SELECT set_config('statement_timeout', :timeoutMillis, true)")
+                        .setParameter(
+                            "timeoutMillis", String.valueOf(LAG_QUERY_TIMEOUT.toMillis()))
+                        .getSingleResult();
+                    return replicaTm()
+                        .getEntityManager()
+                        .createNativeQuery(LAG_QUERY)
+                        .getSingleResult();
+                  });
+      if (lagSeconds == null) {
+        // The replica hasn't replayed any transaction since it started.
+        logger.atWarning().log("Replication lag of the replica is unknown.");
+        return Optional.empty();
+      }
+      Duration lag = Duration.millis(Math.round(((Number) lagSeconds).doubleValue() * 1000));
+      logger.atFine().log("Replication lag of the replica is %s.", lag);
+      return Optional.of(lag);
+    } catch (RuntimeException e) {
+      logger.atWarning().withCause(e).log("Failed to measure the replication lag of the replica.");
+      return Optional.empty();
+    }
+  }
+
+  /** The replication lag measured by a query that started at the given {@link System#nanoTime}. */
+  @VisibleForTesting
+  record LagMeasurement(Optional<Duration> lag, long measuredAtNanos) {
+
+    /** Returns the lag, or empty if it's unknown or was measured too long before the given time. */
+    Optional<Duration> lagIfRecent(long nowNanos) {
+      return nowNanos - measuredAtNanos > MAX_MEASUREMENT_AGE.toNanos() ? Optional.empty() : lag;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows.domain;
+
+import static google.registry.config.RegistryConfig.getDomainCreatePrefetchThreads;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.net.InternetDomainName;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import google.registry.bsa.persistence.BsaLabelUtils;
+import google.registry.config.RegistryConfig.Config;
+import google.registry.flows.FlowModule.RegistrarId;
+import google.registry.flows.FlowModule.TargetId;
+import google.registry.flows.FlowScope;
+import google.registry.model.domain.token.AllocationToken;
+import google.registry.model.domain.token.AllocationTokenExtension;
+import google.registry.model.eppinput.EppInput;
+import google.registry.model.registrar.Registrar;
+import google.registry.model.tld.Tld;
+import google.registry.model.tld.label.PremiumListDao;
+import google.registry.model.tld.label.ReservedList;
+import google.registry.model.tmch.ClaimsList;
+import google.registry.model.tmch.ClaimsListDao;
+import google.registry.persistence.VKey;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.joda.time.Duration;
+
+/**
+ * Makes the cached lookups of a {@link DomainCreateFlow} concurrently, before its transaction.
+ *
+ * <p>The flow reads the TLD, claims list, BSA labels, reserved and premium lists, allocation tokens
+ * and registrar through in-memory caches, each of which loads from the database on a miss. Made
+ * inside the transaction, these loads run one after another. {@link #prefetch} instead starts them
+ * all at once, so that the flow finds the caches warm, and keeps the TLD and claims list it loaded
+ * as a snapshot for the flow to use.
+ *
+ * <p>The lookups of all domain creates share a fixed number of threads, so that a burst of creates
+ * can't take more than that many database connections away from the flows themselves. Lookups
+ * still queued or running when the flow stops waiting for them are cancelled.
+ *
+ * <p>Only data that the flow already reads from a cache is prefetched, so this never makes the
+ * flow see staler data than it otherwise would. Anything mutable, such as whether the domain exists
+ * or whether a token was redeemed, is still read and validated in the transaction. Failed or slow
+ * lookups are ignored, and the flow then makes them itself.
+ */
+@FlowScope
+public class DomainCreatePrefetcher {
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /** The threads of the lookups of all domain creates, which mostly wait on the database. */
+  private static final ExecutorService executor =
+      Executors.newFixedThreadPool(
+          getDomainCreatePrefetchThreads(),
+          new ThreadFactoryBuilder()
+              .setNameFormat("domain-create-prefetch-%d")
+              .setDaemon(true)
+              .build());
+
+  private final String targetId;
+  private final String registrarId;
+  private final EppInput eppInput;
+  private final Duration timeout;
+
+  private Optional<Tld> tld = Optional.empty();
+  private Optional<ClaimsList> claimsList = Optional.empty();
+
+  /** The lookups started so far, to be cancelled once the flow stops waiting for them. */
+  private final List<CompletableFuture<?>> lookups = new ArrayList<>();
+
+  private boolean cancelled = false;
+
+  @Inject
+  DomainCreatePrefetcher(
+      @TargetId String targetId,
+      @RegistrarId String registrarId,
+      EppInput eppInput,
+      @Config("domainCreatePrefetchTimeout") Duration timeout) {
+    this.targetId = targetId;
+    this.registrarId = registrarId;
+    this.eppInput = eppInput;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Makes the lookups of the flow concurrently, waiting at most for the configured timeout.
+   *
+   * <p>This must be called outside of a transaction, since the lookups run in transactions of their
+   * own on other threads.
+   */
+  public void prefetch() {
+    if (!timeout.isLongerThan(Duration.ZERO)) {
+      return;
+    }
+    InternetDomainName domainName;
+    try {
+      domainName = InternetDomainName.from(targetId);
+    } catch (IllegalArgumentException e) {
+      // The flow rejects the name with a proper error.
+      return;
+    }
+    if (!domainName.hasParent()) {
+      return;
+    }
+    String domainLabel = domainName.parts().getFirst();
+    String tldStr = domainName.parent().toString();
+    Optional<String> token =
+        eppInput
+            .getSingleExtension(AllocationTokenExtension.class)
+            .map(AllocationTokenExtension::getAllocationToken);
+
+    CompletableFuture<Tld> tldFuture = lookup(() -> Tld.get(tldStr));
+    CompletableFuture<ClaimsList> claimsListFuture = lookup(() -> ClaimsListDao.get(tldStr));
+    // These depend on the TLD, but not on each other.
+    CompletableFuture<Void> tldDependentLookups =
+        track(
+            tldFuture.thenComposeAsync(
+                loadedTld ->
+                    CompletableFuture.allOf(
+                        lookup(
+                            () -> ReservedList.loadReservedLists(loadedTld.getReservedListNames())),
+                        lookup(
+                            () ->
+                                loadedTld
+                                    .getPremiumListName()
+                                    .flatMap(
+                                        pl -> PremiumListDao.getPremiumPrice(pl, domainLabel))),
+                        lookup(
+                            () ->
+                                token.isPresent() || loadedTld.getDefaultPromoTokens().isEmpty()
+                                    ? null
+                                    : AllocationToken.getAll(loadedTld.getDefaultPromoTokens()))),
+                executor));
+    CompletableFuture<?> allLookups =
+        CompletableFuture.allOf(
+            tldFuture,
+            claimsListFuture,
+            lookup(() -> BsaLabelUtils.isLabelBlocked(domainLabel)),
+            lookup(
+                () ->
+                    registrarId.isEmpty()
+                        ? null
+                        : Registrar.loadByRegistrarIdCached(registrarId)),
+            lookup(
+                () ->
+                    token.map(t -> AllocationToken.get(VKey.create(AllocationToken.class, t)))),
+            tldDependentLookups);
+    try {
+      allLookups.get(timeout.getMillis(), MILLISECONDS);
+    } catch (TimeoutException e) {
+      logger.atInfo().log("Prefetching the lookups of domain create of %s timed out.", targetId);
+    } catch (ExecutionException e) {
+      logger.atInfo().withCause(e).log(
+          "Failed to prefetch the lookups of domain create of %s.", targetId);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    cancelLookups();
+    tld = getIfDone(tldFuture);
+    claimsList = getIfDone(claimsListFuture);
+  }
+
+  /** Returns the {@link Tld} with the given name, from the snapshot if it was prefetched. */
+  Tld getTld(String tldStr) {
+    return tld.filter(t -> t.getTldStr().equals(tldStr)).orElseGet(() -> Tld.get(tldStr));
+  }
+
+  /** Returns the {@link ClaimsList} of the given TLD, from the snapshot if it was prefetched. */
+  ClaimsList getClaimsList(String tldStr) {
+    return tld.isPresent() && tld.get().getTldStr().equals(tldStr) && claimsList.isPresent()
+        ? claimsList.get()
+        : ClaimsListDao.get(tldStr);
+  }
+
+  private <T> CompletableFuture<T> lookup(Supplier<T> supplier) {
+    return track(CompletableFuture.supplyAsync(supplier, executor));
+  }
+
+  private synchronized <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+    // Lookups that depend on the TLD can be started after the flow stopped waiting.
+    if (cancelled) {
+      future.cancel(true);
+    }
+    lookups.add(future);
+    return future;
+  }
+
+  /**
+   * Cancels the lookups that haven't finished yet.
+   *
+   * <p>Queued lookups are then skipped by the executor. Running ones aren't interrupted, since
+   * that could leave their transaction in an unknown state, but their results are ignored.
+   */
+  private synchronized void cancelLookups() {
+    cancelled = true;
+    lookups.forEach(future -> future.cancel(true));
+  }
+
+  private static <T> Optional<T> getIfDone(CompletableFuture<T> future) {
+    return future.isDone() && !future.isCompletedExceptionally()
+        ? Optional.ofNullable(future.join())
+        : Optional.empty();
+  }
+}
@@ -15,12 +15,14 @@
 package google.registry.flows.poll;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static google.registry.config.RegistryConfig.arePollMessageCountsEnabled;
 import static google.registry.persistence.transaction.QueryComposer.Comparator.EQ;
 import static google.registry.persistence.transaction.QueryComposer.Comparator.LTE;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 import static google.registry.util.DateTimeUtils.isBeforeOrAt;
 
 import google.registry.model.poll.PollMessage;
+import google.registry.model.poll.PollMessageCounts;
 import google.registry.persistence.transaction.QueryComposer;
 import java.util.Optional;
 import org.joda.time.DateTime;
@@ -28,8 +30,16 @@ import org.joda.time.DateTime;
 /** Static utility functions for poll flows. */
 public final class PollFlowUtils {
 
-  /** Returns the number of poll messages for the given registrar that are not in the future. */
+  /**
+   * Returns the number of poll messages for the given registrar that are not in the future.
+   *
+   * <p>Once enabled, this reads the counts maintained in the database, see {@link
+   * PollMessageCounts}.
+   */
   public static int getPollMessageCount(String registrarId, DateTime now) {
+    if (arePollMessageCountsEnabled()) {
+      return PollMessageCounts.getPendingCount(registrarId, now);
+    }
     return (int) createPollMessageQuery(registrarId, now).count();
   }
 
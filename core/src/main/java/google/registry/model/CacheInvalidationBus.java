@@ -0,0 +1,248 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static google.registry.config.RegistryConfig.getCacheInvalidationPollingInterval;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.persistence.Query;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+
+/**
+ * Propagates changes to cached database rows to the in-memory caches of every server.
+ *
+ * <p>Database triggers log each insert, update and delete on the tables of cached entities to the
+ * {@code CacheInvalidation} table, along with the cache key of the changed row (see the {@code
+ * publish_cache_invalidation} function in the schema). Every server polls that table at the
+ * configured interval and passes the keys of new rows to the invalidators subscribed to the table.
+ *
+ * <p>New rows are found by id rather than by time: each poll reads the rows past the highest id it
+ * has seen. Ids are handed out when the rows are inserted, though, not when they are committed, so
+ * a row from a long transaction can become visible after rows with higher ids. The ids skipped
+ * over by a poll are therefore read again by the following polls, until they show up or {@link
+ * #GAP_TIMEOUT} passes (the transaction that took the id may also have rolled back).
+ *
+ * <p>This way changes apply within seconds while the caches themselves can expire after hours,
+ * and each server issues one small indexed query per interval instead of periodically reloading
+ * every cached row. Polling is started by the servlets; other processes, such as the nomulus tool
+ * or Beam pipelines, rely on cache expiry alone.
+ */
+public final class CacheInvalidationBus {
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /**
+   * How long the ids skipped over by a poll are waited for.
+   *
+   * <p>This bounds how long a transaction writing to a cached table can take for its change to be
+   * seen; saving a large premium or reserved list can take minutes. On startup, the changes from
+   * this long ago onwards are processed again, since changes committed out of order around then
+   * may have been missed by the caches loaded before.
+   */
+  private static final Duration GAP_TIMEOUT = Duration.ofHours(1);
+
+  /** How long changes are kept in the table before being deleted. */
+  private static final Duration RETENTION = Duration.ofDays(1);
+
+  /** How often each server deletes changes older than {@link #RETENTION}. */
+  private static final Duration PRUNING_INTERVAL = Duration.ofHours(1);
+
+  /**
+   * The most skipped-over ids that are waited for at once.
+   *
+   * <p>Each poll reads the rows with these ids again, so this bounds the size of the poll query.
+   * Gaps this large only occur when many transactions writing to cached tables roll back, and the
+   * changes in them are then missed, leaving the affected cache entries to expire.
+   */
+  private static final int MAX_MISSING_IDS = 1000;
+
+  private static final ListMultimap<String, Consumer<String>> invalidators =
+      Multimaps.synchronizedListMultimap(MultimapBuilder.hashKeys().arrayListValues().build());
+
+  /** The highest id processed so far, or -1 before the first poll. */
+  private static long lastSeenId = -1;
+
+  /** The ids below {@link #lastSeenId} that haven't shown up yet, and since when. */
+  private static final Map<Long, Stopwatch> missingIds = new HashMap<>();
+
+  @Nullable private static Stopwatch sinceLastPruning;
+
+  @Nullable private static ScheduledExecutorService poller;
+
+  private CacheInvalidationBus() {}
+
+  /**
+   * Subscribes the given invalidator to changes to rows in the table with the given name.
+   *
+   * <p>The invalidator is called with the cache key of each changed row, and must be cheap and
+   * thread-safe; typically it invalidates the key in a {@link
+   * com.github.benmanes.caffeine.cache.Cache}.
+   */
+  public static void subscribe(String tableName, Consumer<String> invalidator) {
+    invalidators.put(tableName, invalidator);
+  }
+
+  @VisibleForTesting
+  static void unsubscribe(String tableName, Consumer<String> invalidator) {
+    invalidators.remove(tableName, invalidator);
+  }
+
+  /**
+   * Starts polling for changes in the background at the configured interval, unless polling is
+   * disabled in the config or has already been started.
+   */
+  public static synchronized void startPolling() {
+    Duration interval = getCacheInvalidationPollingInterval();
+    if (poller != null || interval.isZero()) {
+      return;
+    }
+    poller =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("cache-invalidation-poller")
+                .build());
+    poller.scheduleWithFixedDelay(
+        CacheInvalidationBus::pollAndLogErrors,
+        interval.toMillis(),
+        interval.toMillis(),
+        MILLISECONDS);
+    logger.atInfo().log("Polling for cache invalidations every %s.", interval);
+  }
+
+  private static void pollAndLogErrors() {
+    try {
+      poll();
+    } catch (RuntimeException e) {
+      // Don't let the exception cancel the scheduled polling; the next poll will catch up.
+      logger.atWarning().withCause(e).log("Failed to poll for cache invalidations.");
+    }
+  }
+
+  /** Processes all changes that weren't seen by the previous polls, and prunes old changes. */
+  @VisibleForTesting
+  static synchronized void poll() {
+    ImmutableSet<Long> idsToRecheck = ImmutableSet.copyOf(missingIds.keySet());
+    ImmutableList<CacheInvalidation> changes =
+        tm().transact(
+                () -> {
+                  if (sinceLastPruning == null
+                      || sinceLastPruning.elapsed().compareTo(PRUNING_INTERVAL) > 0) {
+                    tm().getEntityManager()
+                        .createNativeQuery(
+                            "DELETE FROM \"CacheInvalidation\""
+                                + " WHERE invalidation_time < now() - make_interval(secs =>"
+                                + " :retentionSeconds)")
+                        .setParameter("retentionSeconds", RETENTION.toSeconds())
+                        .executeUpdate();
+                    sinceLastPruning = Stopwatch.createStarted();
+                  }
+                  if (lastSeenId < 0) {
+                    // Start just before the oldest recent change or, if there are none, at the last
+                    // id handed out, so that the ids before it are never waited for. The table may
+                    // well be empty, as it is pruned.
+                    lastSeenId =
+                        ((Number)
+                                tm().getEntityManager()
+                                    .createNativeQuery(
+                                        "SELECT coalesce((SELECT min(id) - 1 FROM"
+                                            + " \"CacheInvalidation\" WHERE invalidation_time >="
+                                            + " now() - make_interval(secs =>"
+                                            + " :gapTimeoutSeconds)), (SELECT CASE WHEN is_called"
+                                            + " THEN last_value ELSE last_value - 1 END FROM"
+                                            + " \"CacheInvalidation_id_seq\"))")
+                                    .setParameter("gapTimeoutSeconds", GAP_TIMEOUT.toSeconds())
+                                    .getSingleResult())
+                            .longValue();
+                  }
+                  Query query =
+                      tm().getEntityManager()
+                          .createNativeQuery(
+                              "SELECT id, cache_name, cache_key FROM \"CacheInvalidation\""
+                                  + " WHERE id > :lastSeenId"
+                                  + (idsToRecheck.isEmpty() ? "" : " OR id IN (:idsToRecheck)")
+                                  + " ORDER BY id")
+                          .setParameter("lastSeenId", lastSeenId);
+                  if (!idsToRecheck.isEmpty()) {
+                    query.setParameter("idsToRecheck", idsToRecheck);
+                  }
+                  @SuppressWarnings("unchecked")
+                  List<Object[]> rows = query.getResultList();
+                  return rows.stream()
+                      .map(
+                          row ->
+                              new CacheInvalidation(
+                                  ((Number) row[0]).longValue(), (String) row[1], (String) row[2]))
+                      .collect(toImmutableList());
+                });
+    for (CacheInvalidation change : changes) {
+      if (change.id() > lastSeenId) {
+        long gap = change.id() - lastSeenId - 1;
+        if (missingIds.size() + gap > MAX_MISSING_IDS) {
+          logger.atWarning().log(
+              "Not waiting for the %d cache invalidation ids skipped over before %d; %d are"
+                  + " waited for already, out of at most %d.",
+              gap, change.id(), missingIds.size(), MAX_MISSING_IDS);
+        } else {
+          for (long id = lastSeenId + 1; id < change.id(); id++) {
+            missingIds.put(id, Stopwatch.createStarted());
+          }
+        }
+        lastSeenId = change.id();
+      } else {
+        missingIds.remove(change.id());
+      }
+      ImmutableList<Consumer<String>> subscribers;
+      synchronized (invalidators) {
+        subscribers = ImmutableList.copyOf(invalidators.get(change.tableName()));
+      }
+      subscribers.forEach(invalidator -> invalidator.accept(change.key()));
+    }
+    missingIds.values().removeIf(since -> since.elapsed().compareTo(GAP_TIMEOUT) > 0);
+  }
+
+  @VisibleForTesting
+  static synchronized int getMissingIdCountForTest() {
+    return missingIds.size();
+  }
+
+  /** Forgets the ids seen so far, since they restart when the tables are truncated in tests. */
+  @VisibleForTesting
+  static synchronized void resetForTest() {
+    lastSeenId = -1;
+    missingIds.clear();
+  }
+
+  /** A change to the row with the given cache key in the table with the given name. */
+  private record CacheInvalidation(long id, String tableName, String key) {}
+}
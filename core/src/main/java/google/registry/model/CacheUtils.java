@@ -20,6 +20,7 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Supplier;
+import google.registry.monitoring.jfr.CacheLoadStatsCounter;
 import java.time.Duration;
 
 /** Utility methods related to caching database entities. */
@@ -46,9 +47,14 @@ public class CacheUtils {
         : memoizeWithExpiration(original, expiration.toMillis(), MILLISECONDS);
   }
 
-  /** Creates and returns a new {@link Caffeine} builder. */
-  public static Caffeine<Object, Object> newCacheBuilder() {
-    return Caffeine.newBuilder();
+  /**
+   * Creates and returns a new {@link Caffeine} builder.
+   *
+   * <p>Loads of the cache are recorded as JFR events under the given cache name, see {@link
+   * CacheLoadStatsCounter}.
+   */
+  public static Caffeine<Object, Object> newCacheBuilder(String cacheName) {
+    return Caffeine.newBuilder().recordStats(() -> new CacheLoadStatsCounter(cacheName));
   }
 
   /**
@@ -60,10 +66,15 @@ public class CacheUtils {
    * read) once its full cache duration has elapsed. So you will never get data older than the cache
    * expiration, but for frequently accessed keys it will be refreshed more often than that and the
    * cost of the load will never be incurred during the read.
+   *
+   * <p>Loads of the cache are recorded as JFR events under the given cache name, see {@link
+   * CacheLoadStatsCounter}.
    */
-  public static Caffeine<Object, Object> newCacheBuilder(Duration expireAfterWrite) {
+  public static Caffeine<Object, Object> newCacheBuilder(
+      String cacheName, Duration expireAfterWrite) {
     Duration refreshAfterWrite = expireAfterWrite.dividedBy(2);
-    Caffeine<Object, Object> caffeine = Caffeine.newBuilder().expireAfterWrite(expireAfterWrite);
+    Caffeine<Object, Object> caffeine =
+        newCacheBuilder(cacheName).expireAfterWrite(expireAfterWrite);
     // In tests, the cache duration is usually set to 0, which means the cache load synchronously
     // blocks every time it is called anyway because of the expireAfterWrite() above. Thus, setting
     // the refreshAfterWrite won't do anything, plus it's not legal to call it with a zero value
@@ -365,7 +365,7 @@ public abstract class EppResource extends UpdateAutoTimestampEntity implements B
 
   private static LoadingCache<VKey<? extends EppResource>, EppResource> createEppResourcesCache(
       Duration expiry) {
-    return CacheUtils.newCacheBuilder(expiry)
+    return CacheUtils.newCacheBuilder("EppResource", expiry)
         .maximumSize(getEppResourceMaxCachedEntries())
         .build(CACHE_LOADER);
   }
@@ -240,7 +240,7 @@ public final class ForeignKeyUtils {
 
   private static LoadingCache<VKey<? extends EppResource>, Optional<MostRecentResource>>
       createForeignKeyToRepoIdCache(Duration expiry) {
-    return CacheUtils.newCacheBuilder(expiry)
+    return CacheUtils.newCacheBuilder("ForeignKeyRepoId", expiry)
         .maximumSize(getEppResourceMaxCachedEntries())
         .build(REPO_ID_CACHE_LOADER);
   }
@@ -348,7 +348,7 @@ public final class ForeignKeyUtils {
 
   private static LoadingCache<VKey<? extends EppResource>, Optional<? extends EppResource>>
       createForeignKeyToResourceCache(Duration expiry) {
-    return CacheUtils.newCacheBuilder(expiry)
+    return CacheUtils.newCacheBuilder("ForeignKeyResource", expiry)
         .maximumSize(getEppResourceMaxCachedEntries())
         .build(RESOURCE_CACHE_LOADER);
   }
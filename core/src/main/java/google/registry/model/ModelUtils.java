@@ -47,7 +47,7 @@ public class ModelUtils {
 
   /** Caches all instance fields on an object, including non-public and inherited fields. */
   private static final LoadingCache<Class<?>, ImmutableMap<String, Field>> ALL_FIELDS_CACHE =
-      CacheUtils.newCacheBuilder()
+      CacheUtils.newCacheBuilder("ModelFields")
           .build(
               clazz -> {
                 Deque<Class<?>> hierarchy = new ArrayDeque<>();
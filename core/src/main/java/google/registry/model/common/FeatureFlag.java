@@ -134,7 +134,7 @@ public class FeatureFlag extends ImmutableObject implements Buildable {
 
   /** A cache that loads the {@link FeatureFlag} for a given featureName. */
   private static final LoadingCache<FeatureName, Optional<FeatureFlag>> CACHE =
-      CacheUtils.newCacheBuilder(getSingletonCacheRefreshDuration())
+      CacheUtils.newCacheBuilder("FeatureFlag", getSingletonCacheRefreshDuration())
           .build(
               new CacheLoader<>() {
                 @Override
@@ -369,7 +369,7 @@ public class AllocationToken extends UpdateAutoTimestampEntity implements Builda
   /** A cache that loads the {@link AllocationToken} object for a given AllocationToken VKey. */
   private static final LoadingCache<VKey<AllocationToken>, Optional<AllocationToken>>
       ALLOCATION_TOKENS_CACHE =
-          CacheUtils.newCacheBuilder(getSingletonCacheRefreshDuration())
+          CacheUtils.newCacheBuilder("AllocationToken", getSingletonCacheRefreshDuration())
               .build(
                   new CacheLoader<>() {
                     @Override
@@ -0,0 +1,137 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.poll;
+
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static org.joda.time.DateTimeZone.UTC;
+
+import com.google.common.collect.ImmutableList;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import org.joda.time.DateTime;
+
+/**
+ * Counts of the poll messages of each registrar, kept in the {@code PollMessageCount} table.
+ *
+ * <p>Database triggers on the {@code PollMessage} table append a +1 or -1 row for the registrar and
+ * UTC event date of every message added or removed, in the same transaction, whatever code path
+ * makes the change (see the {@code update_poll_message_count} function in the schema). They never
+ * update existing rows, so concurrent poll message writes don't contend for them. The number of
+ * pending messages of a registrar is then the sum of the rows of all dates before today, plus an
+ * exact count of today's messages whose event time has passed. This reads the count rows of the
+ * registrar and at most a day of messages, instead of every pending message of the registrar.
+ *
+ * <p>{@link #reconcile} adds up the rows of each date of a registrar into one, so that their
+ * number stays small, and corrects the counts that don't match the messages. Counts can only be
+ * off for messages written before the triggers existed, or with the triggers disabled, e.g. for a
+ * bulk data load. The poll flows only read the counts once {@code
+ * registryPolicy.pollMessageCountsEnabled} is set.
+ */
+public final class PollMessageCounts {
+
+  private PollMessageCounts() {}
+
+  /** Returns the number of poll messages of the registrar whose event time is not after now. */
+  public static int getPendingCount(String registrarId, DateTime now) {
+    DateTime startOfToday = now.withZone(UTC).withTimeAtStartOfDay();
+    // The counts are only updated once pending changes to poll messages reach the database.
+    tm().getEntityManager().flush();
+    Object count =
+        tm().getEntityManager()
+            .createNativeQuery(
+                """
+                SELECT
+                  (SELECT COALESCE(SUM(message_count), 0) FROM "PollMessageCount"
+                   WHERE registrar_id = :registrarId AND event_date < :today)
+                  + (SELECT count(*) FROM "PollMessage"
+                     WHERE registrar_id = :registrarId
+                       AND event_time >= :startOfToday AND event_time <= :now)
+                """)
+            .setParameter("registrarId", registrarId)
+            .setParameter(
+                "today",
+                LocalDate.of(
+                    startOfToday.getYear(),
+                    startOfToday.getMonthOfYear(),
+                    startOfToday.getDayOfMonth()))
+            .setParameter("startOfToday", Instant.ofEpochMilli(startOfToday.getMillis()))
+            .setParameter("now", Instant.ofEpochMilli(now.getMillis()))
+            .getSingleResult();
+    return ((Number) count).intValue();
+  }
+
+  /** Returns the ids of all registrars that have poll messages or poll message counts. */
+  public static ImmutableList<String> getRegistrarIds() {
+    @SuppressWarnings("unchecked")
+    List<String> registrarIds =
+        tm().getEntityManager()
+            .createNativeQuery(
+                """
+                SELECT DISTINCT registrar_id FROM "PollMessageCount"
+                UNION
+                SELECT DISTINCT registrar_id FROM "PollMessage"
+                ORDER BY 1
+                """)
+            .getResultList();
+    return ImmutableList.copyOf(registrarIds);
+  }
+
+  /**
+   * Corrects the poll message counts of a registrar to match its poll messages, and adds up the
+   * rows of each date into one. Returns the number of dates whose count was wrong.
+   *
+   * <p>This should run at repeatable read isolation: both steps then work on one snapshot, and
+   * the rows appended by concurrent poll message writes are left for the next run, without either
+   * side waiting on or failing because of the other.
+   */
+  public static int reconcile(String registrarId) {
+    tm().assertInTransaction();
+    int drift =
+        tm().getEntityManager()
+            .createNativeQuery(
+                """
+                INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+                SELECT :registrarId, COALESCE(a.event_date, c.event_date),
+                    COALESCE(a.message_count, 0) - COALESCE(c.message_count, 0)
+                FROM
+                  (SELECT event_date, SUM(message_count) AS message_count
+                   FROM "PollMessageCount" WHERE registrar_id = :registrarId GROUP BY 1) c
+                FULL OUTER JOIN
+                  (SELECT (event_time AT TIME ZONE 'UTC')::date AS event_date,
+                       count(*) AS message_count
+                   FROM "PollMessage" WHERE registrar_id = :registrarId GROUP BY 1) a
+                ON c.event_date = a.event_date
+                WHERE COALESCE(a.message_count, 0) <> COALESCE(c.message_count, 0)
+                """)
+            .setParameter("registrarId", registrarId)
+            .executeUpdate();
+    // Dates whose messages are all gone add up to zero and are dropped.
+    tm().getEntityManager()
+        .createNativeQuery(
+            """
+            WITH deleted AS (
+              DELETE FROM "PollMessageCount" WHERE registrar_id = :registrarId
+              RETURNING event_date, message_count)
+            INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+            SELECT :registrarId, event_date, SUM(message_count) FROM deleted
+            GROUP BY event_date
+            HAVING SUM(message_count) <> 0
+            """)
+        .setParameter("registrarId", registrarId)
+        .executeUpdate();
+    return drift;
+  }
+}
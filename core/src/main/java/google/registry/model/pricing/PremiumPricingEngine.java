@@ -14,6 +14,7 @@
 
 package google.registry.model.pricing;
 
+import com.google.common.collect.ImmutableSet;
 import org.joda.money.Money;
 import org.joda.time.DateTime;
 
@@ -33,6 +34,15 @@ public interface PremiumPricingEngine {
    */
   DomainPrices getDomainPrices(String domainName, DateTime priceTime);
 
+  /**
+   * Loads whatever is needed to price the given fully qualified domain names in bulk, so that
+   * subsequent calls to {@link #getDomainPrices} for them don't each need a round trip.
+   *
+   * <p>This is purely an optimization for commands that price many domains at once, such as domain
+   * checks. The default implementation does nothing.
+   */
+  default void preloadDomainPrices(ImmutableSet<String> domainNames, DateTime priceTime) {}
+
   /**
    * A class containing information on premium prices for a specific domain name.
    *
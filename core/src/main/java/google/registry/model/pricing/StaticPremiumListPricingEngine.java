@@ -15,8 +15,11 @@
 package google.registry.model.pricing;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMultimap;
 import static google.registry.util.DomainNameUtils.getTldFromDomainName;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.net.InternetDomainName;
 import google.registry.model.tld.Tld;
 import google.registry.model.tld.label.PremiumListDao;
@@ -45,4 +48,22 @@ public final class StaticPremiumListPricingEngine implements PremiumPricingEngin
         premiumPrice.orElse(tld.getCreateBillingCost(priceTime)),
         premiumPrice.orElse(tld.getStandardRenewCost(priceTime)));
   }
+
+  @Override
+  public void preloadDomainPrices(ImmutableSet<String> domainNames, DateTime priceTime) {
+    ImmutableSetMultimap<String, String> labelsByTld =
+        domainNames.stream()
+            .collect(
+                toImmutableSetMultimap(
+                    domainName -> checkNotNull(getTldFromDomainName(domainName), "tld"),
+                    domainName -> InternetDomainName.from(domainName).parts().get(0)));
+    // The prices are cached by PremiumListDao, so there is no need to hold on to them here.
+    labelsByTld
+        .asMap()
+        .forEach(
+            (tld, labels) ->
+                Tld.get(tld)
+                    .getPremiumListName()
+                    .ifPresent(pl -> PremiumListDao.getPremiumPrices(pl, labels)));
+  }
 }
@@ -38,7 +38,7 @@ public class ServerSecret extends CrossTldSingleton {
    * Supplier that can be reset for testing purposes.
    */
   private static final LoadingCache<Class<ServerSecret>, ServerSecret> CACHE =
-      CacheUtils.newCacheBuilder().build(singletonClazz -> retrieveAndSaveSecret());
+      CacheUtils.newCacheBuilder("ServerSecret").build(singletonClazz -> retrieveAndSaveSecret());
 
   private static ServerSecret retrieveAndSaveSecret() {
     return tm().transact(
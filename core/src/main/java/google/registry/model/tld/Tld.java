@@ -18,7 +18,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
-import static google.registry.config.RegistryConfig.getSingletonCacheRefreshDuration;
+import static google.registry.config.RegistryConfig.getTldCacheDuration;
 import static google.registry.model.EntityYamlUtils.createObjectMapper;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 import static google.registry.util.CollectionUtils.nullToEmptyImmutableCopy;
@@ -46,6 +46,7 @@ import com.google.common.collect.Ordering;
 import com.google.common.collect.Range;
 import com.google.common.net.InternetDomainName;
 import google.registry.model.Buildable;
+import google.registry.model.CacheInvalidationBus;
 import google.registry.model.CacheUtils;
 import google.registry.model.CreateAutoTimestamp;
 import google.registry.model.EntityYamlUtils.CreateAutoTimestampDeserializer;
@@ -225,7 +226,7 @@ public class Tld extends ImmutableObject implements Buildable, UnsafeSerializabl
 
   /** A cache that loads the {@link Tld} for a given tld. */
   private static final LoadingCache<String, Optional<Tld>> CACHE =
-      CacheUtils.newCacheBuilder(getSingletonCacheRefreshDuration())
+      CacheUtils.newCacheBuilder("Tld", getTldCacheDuration())
           .build(
               new CacheLoader<>() {
                 @Override
@@ -245,6 +246,11 @@ public class Tld extends ImmutableObject implements Buildable, UnsafeSerializabl
                 }
               });
 
+  static {
+    // Changes made by other servers are published by a trigger on the Tld table.
+    CacheInvalidationBus.subscribe("Tld", CACHE::invalidate);
+  }
+
   public static VKey<Tld> createVKey(String tld) {
     return VKey.create(Tld.class, tld);
   }
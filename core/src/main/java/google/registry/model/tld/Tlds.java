@@ -21,7 +21,8 @@ import static com.google.common.base.Predicates.not;
 import static com.google.common.base.Strings.emptyToNull;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.common.collect.Maps.filterValues;
-import static google.registry.model.CacheUtils.memoizeWithShortExpiration;
+import static google.registry.config.RegistryConfig.getTldCacheDuration;
+import static google.registry.model.CacheUtils.tryMemoizeWithExpiration;
 import static google.registry.model.tld.Tld.isEnrolledWithBsa;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 import static google.registry.util.CollectionUtils.entriesToImmutableMap;
@@ -33,6 +34,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import com.google.common.net.InternetDomainName;
+import google.registry.model.CacheInvalidationBus;
 import google.registry.model.tld.Tld.TldType;
 import google.registry.util.DomainNameUtils;
 import jakarta.persistence.EntityManager;
@@ -49,6 +51,11 @@ public final class Tlds {
   /** Supplier of a cached TLDs map. */
   private static Supplier<ImmutableMap<String, TldType>> cache = createFreshCache();
 
+  static {
+    // Any change to a TLD might change the set of TLDs or their types.
+    CacheInvalidationBus.subscribe("Tld", tld -> resetCache());
+  }
+
   /**
    * Returns a newly-created Supplier of a TLDs to types map.
    *
@@ -56,7 +63,8 @@ public final class Tlds {
    * query inside an unrelated client-affecting transaction.
    */
   private static Supplier<ImmutableMap<String, TldType>> createFreshCache() {
-    return memoizeWithShortExpiration(
+    return tryMemoizeWithExpiration(
+        getTldCacheDuration(),
         () ->
             tm().reTransact(
                     () -> {
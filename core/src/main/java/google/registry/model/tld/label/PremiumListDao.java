@@ -16,23 +16,35 @@ package google.registry.model.tld.label;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMultimap;
 import static google.registry.config.RegistryConfig.getDomainLabelListCacheDuration;
 import static google.registry.config.RegistryConfig.getSingletonCachePersistDuration;
 import static google.registry.config.RegistryConfig.getStaticPremiumListMaxCachedEntries;
+import static google.registry.config.RegistryConfig.isStaticPremiumListIndexEnabled;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 import static google.registry.util.CollectionUtils.isNullOrEmpty;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import google.registry.model.CacheInvalidationBus;
 import google.registry.model.CacheUtils;
 import google.registry.model.tld.label.PremiumList.PremiumEntry;
 import google.registry.util.NonFinalForTesting;
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.joda.money.CurrencyUnit;
 import org.joda.money.Money;
 
@@ -49,8 +61,8 @@ public final class PremiumListDao {
   /**
    * In-memory cache for premium lists.
    *
-   * <p>This is cached for a shorter duration because we need to periodically reload this entity to
-   * check if a new revision has been published, and if so, then use that.
+   * <p>New revisions are picked up as soon as the {@link CacheInvalidationBus} reports them; the
+   * expiry only bounds how long processes that don't poll for invalidations use an old revision.
    *
    * <p>We also cache the absence of premium lists with a given name to avoid pointless lookups.
    */
@@ -58,6 +70,11 @@ public final class PremiumListDao {
   static LoadingCache<String, Optional<PremiumList>> premiumListCache =
       createPremiumListCache(getDomainLabelListCacheDuration());
 
+  static {
+    // Changes made by other servers are published by a trigger on the PremiumList table.
+    CacheInvalidationBus.subscribe("PremiumList", name -> premiumListCache.invalidate(name));
+  }
+
   @VisibleForTesting
   public static void setPremiumListCacheForTest(Optional<Duration> expiry) {
     Duration effectiveExpiry = expiry.orElse(getDomainLabelListCacheDuration());
@@ -67,10 +84,26 @@ public final class PremiumListDao {
   @VisibleForTesting
   public static LoadingCache<String, Optional<PremiumList>> createPremiumListCache(
       Duration cachePersistDuration) {
-    return CacheUtils.newCacheBuilder(cachePersistDuration)
+    return CacheUtils.newCacheBuilder("PremiumList", cachePersistDuration)
         .build(PremiumListDao::getLatestRevisionUncached);
   }
 
+  /** Cache loader for premium prices that loads many labels of a revision in one query. */
+  private static final CacheLoader<RevisionIdAndLabel, Optional<BigDecimal>>
+      PREMIUM_ENTRY_CACHE_LOADER =
+          new CacheLoader<>() {
+            @Override
+            public Optional<BigDecimal> load(RevisionIdAndLabel revisionIdAndLabel) {
+              return getPriceForLabelUncached(revisionIdAndLabel);
+            }
+
+            @Override
+            public Map<RevisionIdAndLabel, Optional<BigDecimal>> loadAll(
+                Set<? extends RevisionIdAndLabel> revisionIdsAndLabels) {
+              return getPricesForLabelsUncached(ImmutableSet.copyOf(revisionIdsAndLabels));
+            }
+          };
+
   /**
    * In-memory price cache for a given premium list revision and domain label.
    *
@@ -93,9 +126,25 @@ public final class PremiumListDao {
   @VisibleForTesting
   static LoadingCache<RevisionIdAndLabel, Optional<BigDecimal>> createPremiumEntryCache(
       Duration cachePersistDuration) {
-    return CacheUtils.newCacheBuilder(cachePersistDuration)
+    return CacheUtils.newCacheBuilder("PremiumEntry", cachePersistDuration)
         .maximumSize(getStaticPremiumListMaxCachedEntries())
-        .build(PremiumListDao::getPriceForLabelUncached);
+        .build(PREMIUM_ENTRY_CACHE_LOADER);
+  }
+
+  /**
+   * In-memory cache of the full price indexes of premium list revisions, keyed by revision id.
+   *
+   * <p>This is used instead of {@link #premiumEntryCache} when the index is enabled. Revisions are
+   * immutable, so an index never needs to be refreshed; entries expire once their revision hasn't
+   * been used for a while, which happens soon after a new revision of the list is published.
+   */
+  @NonFinalForTesting
+  static Cache<Long, PremiumPriceIndex> premiumPriceIndexCache =
+      createPremiumPriceIndexCache(getDomainLabelListCacheDuration());
+
+  @VisibleForTesting
+  static Cache<Long, PremiumPriceIndex> createPremiumPriceIndexCache(Duration expiry) {
+    return CacheUtils.newCacheBuilder("PremiumPriceIndex").expireAfterAccess(expiry).build();
   }
 
   /**
@@ -118,6 +167,9 @@ public final class PremiumListDao {
       return Optional.empty();
     }
     PremiumList loadedList = maybeLoadedList.get();
+    if (isStaticPremiumListIndexEnabled()) {
+      return getPriceIndex(loadedList).getPrice(label);
+    }
     // Consult the bloom filter and immediately return if the label definitely isn't premium.
     if (!loadedList.getBloomFilter().mightContain(label)) {
       return Optional.empty();
@@ -127,6 +179,41 @@ public final class PremiumListDao {
     return premiumEntryCache.get(revisionIdAndLabel).map(loadedList::convertAmountToMoney);
   }
 
+  /**
+   * Returns the premium prices for those of the specified labels that are premium on the list with
+   * the specified name.
+   *
+   * <p>All labels that aren't cached yet are loaded with a single query, so this should be
+   * preferred over repeated calls to {@link #getPremiumPrice} when pricing many labels at once.
+   */
+  public static ImmutableMap<String, Money> getPremiumPrices(
+      String premiumListName, Collection<String> labels) {
+    Optional<PremiumList> maybeLoadedList = getLatestRevision(premiumListName);
+    if (maybeLoadedList.isEmpty()) {
+      return ImmutableMap.of();
+    }
+    PremiumList loadedList = maybeLoadedList.get();
+    if (isStaticPremiumListIndexEnabled()) {
+      PremiumPriceIndex index = getPriceIndex(loadedList);
+      ImmutableMap.Builder<String, Money> prices = new ImmutableMap.Builder<>();
+      ImmutableSet.copyOf(labels)
+          .forEach(label -> index.getPrice(label).ifPresent(price -> prices.put(label, price)));
+      return prices.build();
+    }
+    // Consult the bloom filter so that only labels that might be premium are looked up.
+    ImmutableSet<RevisionIdAndLabel> revisionIdsAndLabels =
+        labels.stream()
+            .filter(loadedList.getBloomFilter()::mightContain)
+            .map(label -> RevisionIdAndLabel.create(loadedList.getRevisionId(), label))
+            .collect(toImmutableSet());
+    return premiumEntryCache.getAll(revisionIdsAndLabels).entrySet().stream()
+        .filter(entry -> entry.getValue().isPresent())
+        .collect(
+            toImmutableMap(
+                entry -> entry.getKey().label(),
+                entry -> loadedList.convertAmountToMoney(entry.getValue().get())));
+  }
+
   public static PremiumList save(String name, CurrencyUnit currencyUnit, List<String> inputData) {
     checkArgument(!inputData.isEmpty(), "New premium list data cannot be empty");
     return save(PremiumListUtils.parseToPremiumList(name, currencyUnit, inputData));
@@ -200,6 +287,32 @@ public final class PremiumListDao {
                     .getResultList());
   }
 
+  private static PremiumPriceIndex getPriceIndex(PremiumList premiumList) {
+    return premiumPriceIndexCache.get(
+        premiumList.getRevisionId(), revisionId -> loadPriceIndexUncached(premiumList));
+  }
+
+  /**
+   * Loads all entries of the given premium list revision into a new {@link PremiumPriceIndex}. Note
+   * that this does a database retrieval of the entire list, so it should only be done in a cached
+   * context.
+   */
+  static PremiumPriceIndex loadPriceIndexUncached(PremiumList premiumList) {
+    ImmutableMap<String, BigDecimal> labelsToPrices =
+        tm().reTransact(
+                () ->
+                    tm().query(
+                            "FROM PremiumEntry pe WHERE pe.revisionId = :revisionId",
+                            PremiumEntry.class)
+                        .setParameter("revisionId", premiumList.getRevisionId())
+                        .getResultStream()
+                        .collect(
+                            toImmutableMap(
+                                PremiumEntry::getDomainLabel, PremiumEntry::getValue)));
+    return PremiumPriceIndex.create(
+        premiumList.getCurrency(), labelsToPrices, premiumList::convertAmountToMoney);
+  }
+
   /**
    * Loads the price for the given revisionId + label combination. Note that this does a database
    * retrieval, so it should only be done in a cached context.
@@ -218,6 +331,43 @@ public final class PremiumListDao {
                     .findFirst());
   }
 
+  /**
+   * Loads the prices for the given revisionId + label combinations, issuing one query per revision.
+   * Note that this does a database retrieval, so it should only be done in a cached context.
+   */
+  static ImmutableMap<RevisionIdAndLabel, Optional<BigDecimal>> getPricesForLabelsUncached(
+      ImmutableSet<RevisionIdAndLabel> revisionIdsAndLabels) {
+    ImmutableMap.Builder<RevisionIdAndLabel, Optional<BigDecimal>> prices =
+        new ImmutableMap.Builder<>();
+    ImmutableSetMultimap<Long, String> labelsByRevisionId =
+        revisionIdsAndLabels.stream()
+            .collect(
+                toImmutableSetMultimap(RevisionIdAndLabel::revisionId, RevisionIdAndLabel::label));
+    for (long revisionId : labelsByRevisionId.keySet()) {
+      ImmutableSet<String> labels = labelsByRevisionId.get(revisionId);
+      ImmutableMap<String, BigDecimal> existingPrices =
+          tm().reTransact(
+                  () ->
+                      tm().query(
+                              "FROM PremiumEntry pe WHERE pe.revisionId = :revisionId"
+                                  + " AND pe.domainLabel IN :labels",
+                              PremiumEntry.class)
+                          .setParameter("revisionId", revisionId)
+                          .setParameter("labels", labels)
+                          .getResultStream()
+                          .collect(
+                              toImmutableMap(
+                                  PremiumEntry::getDomainLabel, PremiumEntry::getValue)));
+      // Labels that aren't on the list are cached as absent, just like in the single-label path.
+      labels.forEach(
+          label ->
+              prices.put(
+                  RevisionIdAndLabel.create(revisionId, label),
+                  Optional.ofNullable(existingPrices.get(label))));
+    }
+    return prices.build();
+  }
+
   /**
    * Returns all {@link PremiumEntry PremiumEntries} in the list with the given name.
    *
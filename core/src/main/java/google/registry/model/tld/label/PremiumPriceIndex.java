@@ -0,0 +1,133 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.tld.label;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.concurrent.ThreadSafe;
+import org.joda.money.CurrencyUnit;
+import org.joda.money.Money;
+
+/**
+ * An immutable, off-heap index of all the prices on a single {@link PremiumList} revision.
+ *
+ * <p>The labels are stored sorted by their UTF-8 bytes in one direct {@link ByteBuffer}, next to
+ * their prices in minor units of the list's currency. A lookup is a binary search using absolute
+ * reads only, so it takes no locks and never touches the database. Keeping the entries off-heap
+ * means even lists with hundreds of thousands of labels add almost nothing to the garbage
+ * collector's workload.
+ *
+ * <p>The buffer is laid out as {@code size + 1} int offsets of the labels (relative to the start
+ * of the label bytes, with a final offset marking their end), then {@code size} long prices, then
+ * the concatenated label bytes.
+ */
+@ThreadSafe
+final class PremiumPriceIndex {
+
+  private final CurrencyUnit currency;
+  private final int size;
+  private final int pricesStart;
+  private final int labelsStart;
+  private final ByteBuffer buffer;
+
+  private PremiumPriceIndex(CurrencyUnit currency, int size, ByteBuffer buffer) {
+    this.currency = currency;
+    this.size = size;
+    this.pricesStart = Integer.BYTES * (size + 1);
+    this.labelsStart = pricesStart + Long.BYTES * size;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Builds the index for the given labels and prices, using {@code toMoney} to round each price to
+   * the currency of the list.
+   */
+  static PremiumPriceIndex create(
+      CurrencyUnit currency,
+      Map<String, BigDecimal> labelsToPrices,
+      Function<BigDecimal, Money> toMoney) {
+    int size = labelsToPrices.size();
+    byte[][] labels = new byte[size][];
+    int i = 0;
+    for (String label : labelsToPrices.keySet()) {
+      labels[i++] = label.getBytes(UTF_8);
+    }
+    Arrays.sort(labels, UnsignedBytes.lexicographicalComparator());
+    long labelBytes = Arrays.stream(labels).mapToLong(label -> label.length).sum();
+    long capacity = (long) Integer.BYTES * (size + 1) + (long) Long.BYTES * size + labelBytes;
+    checkArgument(capacity <= Integer.MAX_VALUE, "Premium list is too large to index");
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect((int) capacity);
+    PremiumPriceIndex index = new PremiumPriceIndex(currency, size, buffer);
+    int offset = 0;
+    for (i = 0; i < size; i++) {
+      Money price = toMoney.apply(labelsToPrices.get(new String(labels[i], UTF_8)));
+      checkArgument(
+          price.getCurrencyUnit().equals(currency), "Price %s is not in %s", price, currency);
+      buffer.putInt(Integer.BYTES * i, offset);
+      buffer.putLong(index.pricesStart + Long.BYTES * i, price.getAmountMinorLong());
+      buffer.put(index.labelsStart + offset, labels[i]);
+      offset += labels[i].length;
+    }
+    buffer.putInt(Integer.BYTES * size, offset);
+    return index;
+  }
+
+  /** Returns the price of the given label, or absent if the label is not on the list. */
+  Optional<Money> getPrice(String label) {
+    byte[] key = label.getBytes(UTF_8);
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison = compareLabelTo(mid, key);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return Optional.of(
+            Money.ofMinor(currency, buffer.getLong(pricesStart + Long.BYTES * mid)));
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Returns the number of labels in the index. */
+  int size() {
+    return size;
+  }
+
+  /** Compares the UTF-8 bytes of the label at the given position with the given key. */
+  private int compareLabelTo(int position, byte[] key) {
+    int start = labelsStart + buffer.getInt(Integer.BYTES * position);
+    int length = labelsStart + buffer.getInt(Integer.BYTES * (position + 1)) - start;
+    for (int i = 0; i < Math.min(length, key.length); i++) {
+      int comparison = UnsignedBytes.compare(buffer.get(start + i), key[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(length, key.length);
+  }
+}
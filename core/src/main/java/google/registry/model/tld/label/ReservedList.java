@@ -32,6 +32,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import google.registry.model.Buildable;
+import google.registry.model.CacheInvalidationBus;
 import google.registry.model.CacheUtils;
 import google.registry.model.tld.Tld;
 import google.registry.model.tld.label.DomainLabelMetrics.MetricsReservedListMatch;
@@ -268,9 +269,14 @@ public final class ReservedList
   }
 
   private static final LoadingCache<String, Optional<ReservedList>> cache =
-      CacheUtils.newCacheBuilder(getDomainLabelListCacheDuration())
+      CacheUtils.newCacheBuilder("ReservedList", getDomainLabelListCacheDuration())
           .build(ReservedListDao::getLatestRevision);
 
+  static {
+    // Changes made by other servers are published by a trigger on the ReservedList table.
+    CacheInvalidationBus.subscribe("ReservedList", cache::invalidate);
+  }
+
   /**
    * Gets the {@link ReservationType} of a label in a single ReservedList, or returns an absent
    * Optional if none exists in the list.
@@ -40,6 +40,7 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import org.joda.time.DateTime;
 
 /**
@@ -100,7 +101,15 @@ public class ClaimsList extends ImmutableObject {
    */
   @Insignificant @Transient @VisibleForTesting
   final LoadingCache<String, Optional<String>> claimKeyCache =
-      CacheUtils.newCacheBuilder().build(this::getClaimKeyUncached);
+      CacheUtils.newCacheBuilder("ClaimKey").build(this::getClaimKeyUncached);
+
+  /**
+   * A compact index of all mappings from labels to claim keys, if it has been loaded.
+   *
+   * <p>Once this is set, {@link #getClaimKey(String)} and {@link #size()} never query the database.
+   * The instances returned by {@link ClaimsListDao} always have it loaded.
+   */
+  @Insignificant @Transient @Nullable @VisibleForTesting volatile ClaimsListIndex index;
 
   @PreRemove
   void preRemove() {
@@ -151,12 +160,21 @@ public class ClaimsList extends ImmutableObject {
   /**
    * Returns the claim key for a given domain if there is one, empty otherwise.
    *
-   * <p>Note that this may do a database query. For checking multiple keys against the claims list
-   * it may be more efficient to use {@link #getLabelsToKeys()} first, as this will prefetch all
-   * entries and cache them locally.
+   * <p>Note that this may do a database query, unless the index of this list has been loaded.
    */
   public Optional<String> getClaimKey(String label) {
-    return claimKeyCache.get(label);
+    ClaimsListIndex loadedIndex = index;
+    return loadedIndex == null ? claimKeyCache.get(label) : loadedIndex.getClaimKey(label);
+  }
+
+  /**
+   * Loads the compact in-memory index of all labels in this claims list, and returns this list.
+   *
+   * <p>This fetches the entire list in one query if its entries are not already in memory.
+   */
+  ClaimsList loadIndex() {
+    index = ClaimsListIndex.create(labelsToKeys == null ? loadLabelsToKeys() : labelsToKeys);
+    return this;
   }
 
   /**
@@ -167,27 +185,32 @@ public class ClaimsList extends ImmutableObject {
    */
   public ImmutableMap<String, String> getLabelsToKeys() {
     if (labelsToKeys == null) {
-      labelsToKeys =
-          tm().transact(
-                  () ->
-                      tm()
-                          .createQueryComposer(ClaimsEntry.class)
-                          .where("revisionId", EQ, revisionId)
-                          .stream()
-                          .collect(
-                              toImmutableMap(
-                                  ClaimsEntry::getDomainLabel, ClaimsEntry::getClaimKey)));
+      labelsToKeys = loadLabelsToKeys();
     }
     return labelsToKeys;
   }
 
+  private ImmutableMap<String, String> loadLabelsToKeys() {
+    return tm().reTransact(
+            () ->
+                tm().createQueryComposer(ClaimsEntry.class)
+                    .where("revisionId", EQ, revisionId)
+                    .stream()
+                    .collect(
+                        toImmutableMap(ClaimsEntry::getDomainLabel, ClaimsEntry::getClaimKey)));
+  }
+
   /**
    * Returns the number of claims.
    *
-   * <p>Note that this will perform a database "count" query if the label to key map has not been
-   * previously cached by calling {@link #getLabelsToKeys()}.
+   * <p>Note that this will perform a database "count" query if neither the label to key map nor the
+   * index has been previously loaded.
    */
   public long size() {
+    ClaimsListIndex loadedIndex = index;
+    if (loadedIndex != null) {
+      return loadedIndex.size();
+    }
     if (labelsToKeys == null) {
       return tm().createQueryComposer(ClaimsEntry.class)
           .where("revisionId", EQ, revisionId)
@@ -46,7 +46,8 @@ public class ClaimsListDao {
   }
 
   private static LoadingCache<Class<ClaimsListDao>, ClaimsList> createCache(Duration expiry) {
-    return CacheUtils.newCacheBuilder(expiry).build(ignored -> ClaimsListDao.getUncached());
+    return CacheUtils.newCacheBuilder("ClaimsList", expiry)
+        .build(ignored -> ClaimsListDao.getUncached());
   }
 
   /**
@@ -64,7 +65,7 @@ public class ClaimsListDao {
                   tm().insert(entity);
                   return entity;
                 });
-    CACHE.put(ClaimsListDao.class, persisted);
+    CACHE.put(ClaimsListDao.class, persisted.loadIndex());
     return persisted;
   }
 
@@ -81,6 +82,10 @@ public class ClaimsListDao {
   /**
    * Returns the most recent revision of the {@link ClaimsList} in SQL or an empty list if it
    * doesn't exist.
+   *
+   * <p>The whole list is loaded into its index up front, so that claims lookups against the cached
+   * instance never hit the database. When the cache is refreshed, the new instance (and index)
+   * replaces the old one atomically.
    */
   private static ClaimsList getUncached() {
     return tm().reTransact(
@@ -88,8 +93,9 @@ public class ClaimsListDao {
                 tm().query("FROM ClaimsList ORDER BY revisionId DESC", ClaimsList.class)
                     .setMaxResults(1)
                     .getResultStream()
-                    .findFirst())
-        .orElse(ClaimsList.create(START_OF_TIME, ImmutableMap.of()));
+                    .findFirst()
+                    .map(ClaimsList::loadIndex))
+        .orElse(ClaimsList.create(START_OF_TIME, ImmutableMap.of()).loadIndex());
   }
 
   private ClaimsListDao() {}
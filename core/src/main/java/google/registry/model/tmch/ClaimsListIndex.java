@@ -0,0 +1,98 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.tmch;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.UnsignedBytes;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A compact, immutable index of the labels and claim keys on a single {@link ClaimsList} revision.
+ *
+ * <p>All labels are stored back to back as UTF-8 in one byte array, sorted bytewise, so a lookup
+ * is a binary search that never touches the database and doesn't need an object per label. The
+ * claim keys are held in a parallel array.
+ */
+@ThreadSafe
+final class ClaimsListIndex {
+
+  /** The UTF-8 bytes of all labels, concatenated in sorted order. */
+  private final byte[] labels;
+
+  /** The start of each label in {@link #labels}, plus a final entry marking the end. */
+  private final int[] labelOffsets;
+
+  /** The claim key of each label, in the same order as the labels. */
+  private final String[] claimKeys;
+
+  private ClaimsListIndex(byte[] labels, int[] labelOffsets, String[] claimKeys) {
+    this.labels = labels;
+    this.labelOffsets = labelOffsets;
+    this.claimKeys = claimKeys;
+  }
+
+  /** Builds the index for the given map of labels to claim keys. */
+  static ClaimsListIndex create(Map<String, String> labelsToKeys) {
+    int size = labelsToKeys.size();
+    byte[][] sortedLabels = new byte[size][];
+    int i = 0;
+    for (String label : labelsToKeys.keySet()) {
+      sortedLabels[i++] = label.getBytes(UTF_8);
+    }
+    Arrays.sort(sortedLabels, UnsignedBytes.lexicographicalComparator());
+
+    int[] labelOffsets = new int[size + 1];
+    for (i = 0; i < size; i++) {
+      labelOffsets[i + 1] = Math.addExact(labelOffsets[i], sortedLabels[i].length);
+    }
+    byte[] labels = new byte[labelOffsets[size]];
+    String[] claimKeys = new String[size];
+    for (i = 0; i < size; i++) {
+      System.arraycopy(sortedLabels[i], 0, labels, labelOffsets[i], sortedLabels[i].length);
+      claimKeys[i] = labelsToKeys.get(new String(sortedLabels[i], UTF_8));
+    }
+    return new ClaimsListIndex(labels, labelOffsets, claimKeys);
+  }
+
+  /** Returns the claim key for the given label, or absent if the label is not on the list. */
+  Optional<String> getClaimKey(String label) {
+    byte[] key = label.getBytes(UTF_8);
+    int low = 0;
+    int high = claimKeys.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int comparison =
+          Arrays.compareUnsigned(
+              labels, labelOffsets[mid], labelOffsets[mid + 1], key, 0, key.length);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return Optional.of(claimKeys[mid]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Returns the number of labels in the index. */
+  int size() {
+    return claimKeys.length;
+  }
+}
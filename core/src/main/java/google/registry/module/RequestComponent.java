@@ -23,6 +23,7 @@ import google.registry.batch.DeleteExpiredDomainsAction;
 import google.registry.batch.DeleteLoadTestDataAction;
 import google.registry.batch.DeleteProberDataAction;
 import google.registry.batch.ExpandBillingRecurrencesAction;
+import google.registry.batch.ReconcilePollMessageCountsAction;
 import google.registry.batch.RelockDomainAction;
 import google.registry.batch.ResaveAllEppResourcesPipelineAction;
 import google.registry.batch.ResaveEntityAction;
@@ -306,6 +307,8 @@ interface RequestComponent {
 
   ReadDnsRefreshRequestsAction readDnsRefreshRequestsAction();
 
+  ReconcilePollMessageCountsAction reconcilePollMessageCountsAction();
+
   RefreshDnsAction refreshDnsAction();
 
   RefreshDnsForAllDomainsAction refreshDnsForAllDomainsAction();
@@ -17,6 +17,7 @@ package google.registry.module;
 import com.google.common.flogger.FluentLogger;
 import com.google.monitoring.metrics.MetricReporter;
 import dagger.Lazy;
+import google.registry.model.CacheInvalidationBus;
 import google.registry.request.RequestHandler;
 import google.registry.util.SystemClock;
 import jakarta.servlet.http.HttpServlet;
@@ -44,6 +45,7 @@ public class ServletBase extends HttpServlet {
   @Override
   public void init() {
     Security.addProvider(new BouncyCastleProvider());
+    CacheInvalidationBus.startPolling();
 
     // If the metric reporter failed to instantiate for any reason (bad keyring, bad json
     // credential, etc.), we log the error but keep the main thread running. Also, the shutdown hook
@@ -0,0 +1,57 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A load of a cache entry, on a cache miss or a refresh.
+ *
+ * <p>Caffeine reports loads after the fact, so the event is committed with the load time as a field
+ * rather than as its duration. The cache is identified by name, since refreshes and asynchronous
+ * loads are reported from a pool thread whose stack trace doesn't lead back to it.
+ */
+@Name("google.registry.CacheLoad")
+@Label("Cache Load")
+@Description("A load of a cache entry, on a cache miss or a refresh")
+@StackTrace(false)
+public final class CacheLoadEvent extends RegistryEvent {
+
+  @Label("Cache Name")
+  String cacheName;
+
+  @Label("Load Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long loadTime;
+
+  @Label("Success")
+  boolean success;
+
+  /** Commits an event for a load of the named cache that took the given time, if enabled. */
+  static void record(String cacheName, long loadTimeNanos, boolean success) {
+    CacheLoadEvent event = new CacheLoadEvent();
+    if (event.isEnabled()) {
+      event.cacheName = cacheName;
+      event.loadTime = loadTimeNanos;
+      event.success = success;
+      event.fillFromContext();
+      event.commit();
+    }
+  }
+}
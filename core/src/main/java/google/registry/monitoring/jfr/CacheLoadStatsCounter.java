@@ -0,0 +1,58 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+/**
+ * A Caffeine {@link StatsCounter} that records each cache load as a {@link CacheLoadEvent}.
+ *
+ * <p>It doesn't keep any statistics itself, so {@link #snapshot} is always empty.
+ */
+public final class CacheLoadStatsCounter implements StatsCounter {
+
+  private final String cacheName;
+
+  /** Creates a counter for the cache with the given name, which the events are labeled with. */
+  public CacheLoadStatsCounter(String cacheName) {
+    this.cacheName = cacheName;
+  }
+
+  @Override
+  public void recordHits(int count) {}
+
+  @Override
+  public void recordMisses(int count) {}
+
+  @Override
+  public void recordLoadSuccess(long loadTime) {
+    CacheLoadEvent.record(cacheName, loadTime, true);
+  }
+
+  @Override
+  public void recordLoadFailure(long loadTime) {
+    CacheLoadEvent.record(cacheName, loadTime, false);
+  }
+
+  @Override
+  public void recordEviction(int weight, RemovalCause cause) {}
+
+  @Override
+  public CacheStats snapshot() {
+    return CacheStats.empty();
+  }
+}
@@ -0,0 +1,115 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import javax.annotation.Nullable;
+
+/**
+ * The EPP command that the current thread is running, as attached to the events of this package.
+ *
+ * <p>The context is set by the flow runner before a flow starts, counts the transaction retries
+ * and the rows written while it runs, and is restored to what it was before once the flow is done.
+ * The request handler also clears it around each request, in case a thread is reused. Events
+ * recorded outside of any flow (e.g. by a backend action) have empty flow fields.
+ *
+ * <p>The TLD is only computed when an event is actually committed, so that a flow run with the
+ * events turned off doesn't pay for it.
+ */
+public final class EventContext {
+
+  private static final ThreadLocal<EventContext> CURRENT = new ThreadLocal<>();
+
+  private final String flowClass;
+  private final String registrarId;
+  private final Supplier<String> tld;
+  private int retryCount;
+  private int rowsTouched;
+
+  private EventContext(String flowClass, String registrarId, Supplier<String> tld) {
+    this.flowClass = flowClass;
+    this.registrarId = registrarId;
+    this.tld = Suppliers.memoize(tld);
+  }
+
+  /**
+   * Sets the flow that the current thread is about to run, with fresh counters, and returns the
+   * previous context so that it can be {@link #restore restored} once the flow is done.
+   */
+  @Nullable
+  public static EventContext setFlow(
+      Class<?> flowClass, String registrarId, Supplier<String> tld) {
+    EventContext previous = CURRENT.get();
+    CURRENT.set(new EventContext(flowClass.getSimpleName(), registrarId, tld));
+    return previous;
+  }
+
+  /** Restores the context returned by {@link #setFlow}, clearing it if there was none. */
+  public static void restore(@Nullable EventContext previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /** Records that a transaction of the current flow is being retried. */
+  public static void addRetry() {
+    EventContext context = CURRENT.get();
+    if (context != null) {
+      context.retryCount++;
+    }
+  }
+
+  /** Records that a committed transaction of the current flow wrote the given number of rows. */
+  public static void addRowsTouched(int rows) {
+    EventContext context = CURRENT.get();
+    if (context != null) {
+      context.rowsTouched += rows;
+    }
+  }
+
+  /** Clears the context of the current thread. */
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  /** Returns the context of the current thread, or null if it isn't running a flow. */
+  @Nullable
+  static EventContext current() {
+    return CURRENT.get();
+  }
+
+  String getFlowClass() {
+    return flowClass;
+  }
+
+  String getRegistrarId() {
+    return registrarId;
+  }
+
+  String getTld() {
+    return tld.get();
+  }
+
+  int getRetryCount() {
+    return retryCount;
+  }
+
+  int getRowsTouched() {
+    return rowsTouched;
+  }
+}
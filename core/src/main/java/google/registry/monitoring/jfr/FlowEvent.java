@@ -0,0 +1,48 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** An EPP flow run, from the start of the flow to its output or failure. */
+@Name("google.registry.Flow")
+@Label("EPP Flow")
+@Description("An EPP flow, including its transaction and retries")
+@StackTrace(false)
+public final class FlowEvent extends RegistryEvent {
+
+  @Label("Success")
+  boolean success;
+
+  /** Begins the event, or returns a disabled one if the event is turned off. */
+  public static FlowEvent start() {
+    FlowEvent event = new FlowEvent();
+    event.begin();
+    return event;
+  }
+
+  /** Ends and commits the event, if it's enabled and passes the recording's threshold. */
+  public void end(boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.success = success;
+      fillFromContext();
+      commit();
+    }
+  }
+}
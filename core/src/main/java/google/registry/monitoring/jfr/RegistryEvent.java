@@ -0,0 +1,51 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/** Base class of the Nomulus events, with the fields taken from the {@link EventContext}. */
+@Category("Nomulus")
+abstract class RegistryEvent extends Event {
+
+  @Label("Flow Class")
+  String flowClass = "";
+
+  @Label("Registrar ID")
+  String registrarId = "";
+
+  @Label("TLD")
+  String tld = "";
+
+  @Label("Retry Count")
+  int retryCount;
+
+  @Label("Rows Touched")
+  int rowsTouched;
+
+  /** Fills in the fields from the context of the current thread, if there is one. */
+  void fillFromContext() {
+    EventContext context = EventContext.current();
+    if (context != null) {
+      flowClass = context.getFlowClass();
+      registrarId = context.getRegistrarId();
+      tld = context.getTld();
+      retryCount = context.getRetryCount();
+      rowsTouched = context.getRowsTouched();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** An HTTP request handled by an action, from authorization to the end of the action. */
+@Name("google.registry.Request")
+@Label("Request")
+@Description("An HTTP request handled by a Nomulus action")
+@StackTrace(false)
+public final class RequestEvent extends RegistryEvent {
+
+  @Label("Path")
+  String path;
+
+  @Label("Method")
+  String method;
+
+  @Label("Success")
+  boolean success;
+
+  /** Begins the event, or returns a disabled one if the event is turned off. */
+  public static RequestEvent start(String path, String method) {
+    RequestEvent event = new RequestEvent();
+    event.path = path;
+    event.method = method;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends and commits the event, if it's enabled and passes the recording's threshold.
+   *
+   * <p>The flow fields are those of the last flow the request ran, if any.
+   */
+  public void end(boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.success = success;
+      fillFromContext();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A top-level database transaction attempt.
+ *
+ * <p>Unlike the other events, the retry count and rows touched are those of the transaction
+ * itself, rather than the totals of the enclosing flow.
+ */
+@Name("google.registry.Transaction")
+@Label("Database Transaction")
+@Description("A top-level database transaction attempt, from begin to commit or rollback")
+@StackTrace(false)
+public final class TransactionEvent extends RegistryEvent {
+
+  @Label("Read Only")
+  boolean readOnly;
+
+  @Label("Committed")
+  boolean committed;
+
+  /** Begins the event, or returns a disabled one if the event is turned off. */
+  public static TransactionEvent start(boolean readOnly) {
+    TransactionEvent event = new TransactionEvent();
+    event.readOnly = readOnly;
+    event.begin();
+    return event;
+  }
+
+  /** Ends and commits the event, if it's enabled and passes the recording's threshold. */
+  public void end(boolean committed, int retryCount, int rowsTouched) {
+    end();
+    if (shouldCommit()) {
+      fillFromContext();
+      this.committed = committed;
+      this.retryCount = retryCount;
+      this.rowsTouched = rowsTouched;
+      commit();
+    }
+  }
+}
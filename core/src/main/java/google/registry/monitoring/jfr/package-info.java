@@ -0,0 +1,30 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+/**
+ * JDK Flight Recorder events for EPP flows, transactions, cache loads and requests.
+ *
+ * <p>The events are meant to be recorded continuously in production, so that GC, lock and I/O
+ * stalls in a recording can be traced to the EPP commands they held up. Each event carries the
+ * flow class, registrar and TLD of the command that its thread is running, if any, along with a
+ * retry count and a number of rows touched (see {@link EventContext}).
+ *
+ * <p>Like any JFR event, each of them can be turned on or off, or given a duration threshold, at
+ * runtime through the settings of a recording (e.g. with {@code jcmd <pid> JFR.start settings=...}
+ * or the {@code FlightRecorderMXBean}). Their names are {@code google.registry.Flow}, {@code
+ * google.registry.Transaction}, {@code google.registry.CacheLoad} and {@code
+ * google.registry.Request}. An event that is turned off costs next to nothing.
+ */
+@javax.annotation.ParametersAreNonnullByDefault
+package google.registry.monitoring.jfr;
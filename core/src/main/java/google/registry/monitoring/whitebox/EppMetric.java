@@ -17,11 +17,14 @@ package google.registry.monitoring.whitebox;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.auto.value.AutoBuilder;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import google.registry.model.eppoutput.Result.Code;
 import google.registry.model.tld.Tlds;
 import google.registry.util.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Optional;
 import org.joda.time.DateTime;
 
@@ -32,7 +35,32 @@ public record EppMetric(
     Optional<String> commandName,
     Optional<String> registrarId,
     Optional<String> tld,
-    Optional<Code> status) {
+    Optional<Code> status,
+    ImmutableMap<Phase, Duration> phaseTimes) {
+
+  /**
+   * The phases of an EPP request whose latency is recorded separately.
+   *
+   * <p>The {@link #SQL} and {@link #COMMIT} phases happen while the command runs, and overlap with
+   * each other and with {@link #SESSION} or {@link #FLOW}. The time spent in Java and Hibernate is
+   * thus about {@code FLOW - SQL}.
+   */
+  public enum Phase {
+    /** Sanitizing and pretty-printing the input XML for logging. */
+    SANITIZE,
+    /** Unmarshalling the input XML into an {@code EppInput}. */
+    UNMARSHAL,
+    /** Running a session command, i.e. authenticating a login or ending a session. */
+    SESSION,
+    /** Running any other command, including its SQL statements and commit. */
+    FLOW,
+    /** Executing the SQL statements of the command, including those flushed on commit. */
+    SQL,
+    /** Committing the transaction of the command, including flushing its pending changes. */
+    COMMIT,
+    /** Marshalling the output of the command into XML. */
+    MARSHAL
+  }
 
   /** Create an {@link Builder}. */
   public static Builder builder() {
@@ -75,6 +103,10 @@ public record EppMetric(
     return status;
   }
 
+  public ImmutableMap<Phase, Duration> getPhaseTimes() {
+    return phaseTimes;
+  }
+
   /** A builder to create instances of {@link EppMetric}. */
   @AutoBuilder
   public abstract static class Builder {
@@ -82,6 +114,9 @@ public record EppMetric(
     /** Builder-only clock to support automatic recording of endTimestamp on {@link #build()}. */
     private Clock clock = null;
 
+    /** The times of the phases recorded so far, which are added up if a phase is repeated. */
+    private final EnumMap<Phase, Duration> phaseTimes = new EnumMap<>(Phase.class);
+
     abstract Builder setStartTimestamp(DateTime startTimestamp);
 
     abstract Builder setEndTimestamp(DateTime endTimestamp);
@@ -128,6 +163,19 @@ public record EppMetric(
 
     public abstract Builder setStatus(Code code);
 
+    abstract Builder setPhaseTimes(ImmutableMap<Phase, Duration> phaseTimes);
+
+    /**
+     * Adds the given time to a phase of the request.
+     *
+     * <p>A phase can be recorded several times, e.g. when a flow is retried, in which case the
+     * times are added up.
+     */
+    public Builder addPhaseTime(Phase phase, Duration time) {
+      phaseTimes.merge(phase, time, Duration::plus);
+      return this;
+    }
+
     Builder setClock(Clock clock) {
       this.clock = clock;
       return this;
@@ -143,6 +191,7 @@ public record EppMetric(
       if (clock != null) {
         setEndTimestamp(clock.nowUtc());
       }
+      setPhaseTimes(ImmutableMap.copyOf(phaseTimes));
       return autoBuild();
     }
 
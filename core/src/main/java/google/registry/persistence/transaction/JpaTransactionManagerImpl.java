@@ -20,6 +20,7 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static google.registry.config.RegistryConfig.getHibernateAllowNestedTransactions;
+import static google.registry.config.RegistryConfig.getHibernateIdAllocationBlockSize;
 import static google.registry.persistence.transaction.DatabaseException.throwIfSqlException;
 import static google.registry.util.PreconditionsUtils.checkArgumentNotNull;
 import static java.util.AbstractMap.SimpleEntry;
@@ -34,6 +35,8 @@ import com.google.common.collect.Streams;
 import com.google.common.flogger.FluentLogger;
 import com.google.common.flogger.StackSize;
 import google.registry.model.ImmutableObject;
+import google.registry.monitoring.jfr.EventContext;
+import google.registry.monitoring.jfr.TransactionEvent;
 import google.registry.persistence.JpaRetries;
 import google.registry.persistence.PersistenceModule.TransactionIsolationLevel;
 import google.registry.persistence.VKey;
@@ -96,6 +99,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
   private final EntityManagerFactory emf;
   private final Clock clock;
   private final boolean readOnly;
+  private final SequenceIdPool idPool = new SequenceIdPool(getHibernateIdAllocationBlockSize());
 
   private static final ThreadLocal<TransactionInfo> transactionInfo =
       ThreadLocal.withInitial(TransactionInfo::new);
@@ -170,8 +174,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
     if (inTransaction()) {
       return transactNoRetry(null, work);
     }
-    return retrier.callWithRetry(
-        () -> transactNoRetry(null, work), JpaRetries::isFailedTxnRetriable);
+    return transactWithRetry(() -> transactNoRetry(null, work));
   }
 
   @Override
@@ -193,9 +196,24 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
       // This prevents inner transaction from retrying, thus avoiding a cascade retry effect.
       return transactNoRetry(isolationLevel, work);
     }
-    return retrier.callWithRetry(
-        () -> transactNoRetry(isolationLevel, work, logSqlStatements),
-        JpaRetries::isFailedTxnRetriable);
+    return transactWithRetry(() -> transactNoRetry(isolationLevel, work, logSqlStatements));
+  }
+
+  /** Runs the given top-level transaction with retries, counting its attempts for JFR events. */
+  private <T> T transactWithRetry(Callable<T> transaction) {
+    TransactionInfo txnInfo = transactionInfo.get();
+    try {
+      return retrier.callWithRetry(
+          () -> {
+            if (txnInfo.attempts++ > 0) {
+              EventContext.addRetry();
+            }
+            return transaction.call();
+          },
+          JpaRetries::isFailedTxnRetriable);
+    } finally {
+      txnInfo.attempts = 0;
+    }
   }
 
   @Override
@@ -257,10 +275,15 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
       // Disable Hibernate's dirty object check on flushing, it has become more aggressive in v6.
       txnInfo.entityManager.unwrap(Session.class).setDefaultReadOnly(true);
     }
+    TransactionTimer.createSessionListener()
+        .ifPresent(
+            listener -> txnInfo.entityManager.unwrap(Session.class).addEventListeners(listener));
     EntityTransaction txn = txnInfo.entityManager.getTransaction();
+    TransactionEvent event = TransactionEvent.start(readOnly);
+    boolean committed = false;
     try {
       txn.begin();
-      txnInfo.start(clock, readOnly ? ReplicaDbIdService::allocateId : this::fetchIdFromSequence);
+      txnInfo.start(clock, readOnly ? ReplicaDbIdService::allocateId : this::allocateIdFromSequence);
       if (readOnly) {
         getEntityManager().createNativeQuery("SET TRANSACTION READ ONLY").executeUpdate();
         logger.atInfo().log("Using read-only SQL replica");
@@ -275,7 +298,11 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
             getDefaultTransactionIsolationLevel(), isolationLevel);
       }
       T result = work.call();
+      long commitStartNanos = System.nanoTime();
       txn.commit();
+      TransactionTimer.recordCommit(System.nanoTime() - commitStartNanos);
+      committed = true;
+      EventContext.addRowsTouched(txnInfo.rowsTouched);
       return result;
     } catch (Throwable e) {
       // Catch a Throwable here so even Errors would lead to a rollback.
@@ -289,6 +316,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
       throwIfUnchecked(e);
       throw new RuntimeException(e);
     } finally {
+      event.end(committed, Math.max(txnInfo.attempts - 1, 0), txnInfo.rowsTouched);
       txnInfo.clear();
     }
   }
@@ -561,7 +589,9 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
         String.format("DELETE FROM %s WHERE %s", entityType.getName(), getAndClause(entityIds));
     Query query = query(sql);
     entityIds.forEach(entityId -> query.setParameter(entityId.name, entityId.value));
-    return query.executeUpdate();
+    int rows = query.executeUpdate();
+    transactionInfo.get().rowsTouched += rows;
+    return rows;
   }
 
   @Override
@@ -586,6 +616,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
       managedEntity = getEntityManager().merge(entity);
     }
     getEntityManager().remove(managedEntity);
+    transactionInfo.get().rowsTouched++;
     return managedEntity;
   }
 
@@ -607,16 +638,26 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
   }
 
   /**
-   * A SQL Sequence based ID allocator that generates an ID from a monotonically increasing {@link
-   * AtomicLong}
+   * A SQL Sequence based ID allocator that hands out IDs from blocks reserved by {@link
+   * #fetchIdsFromSequence}, see {@link SequenceIdPool}.
    *
    * <p>The generated IDs are project-wide unique.
    */
-  private long fetchIdFromSequence() {
-    return (Long)
+  private long allocateIdFromSequence() {
+    return idPool.allocateId(this::fetchIdsFromSequence);
+  }
+
+  /** Reserves {@code count} values of the ID sequence with a single query. */
+  private long[] fetchIdsFromSequence(int count) {
+    List<?> ids =
         getEntityManager()
-            .createNativeQuery("SELECT nextval('project_wide_unique_id_seq')")
-            .getSingleResult();
+            .createNativeQuery(
+                String.format(
+                    "SELECT nextval('project_wide_unique_id_seq') FROM generate_series(1, %d)"
+                        + " ORDER BY 1",
+                    count))
+            .getResultList();
+    return ids.stream().mapToLong(Long.class::cast).toArray();
   }
 
   private record EntityId(String name, Object value) {}
@@ -745,6 +786,13 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
     DateTime transactionTime;
     Supplier<Long> idProvider;
 
+    // The number of the current attempt of a retried top-level transaction, or 0 outside of one.
+    int attempts = 0;
+
+    // The number of entities inserted, updated or deleted through this transaction manager, not
+    // counting native queries. Reported in the JFR transaction event.
+    int rowsTouched = 0;
+
     // The set of entity objects that have been either persisted (via insert()) or merged (via
     // put()/update()). If the entity manager returns these as a result of a find() or query
     // operation, we can not detach them -- detaching removes them from the transaction and causes
@@ -757,6 +805,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
       inTransaction = true;
       transactionTime = clock.nowUtc();
       this.idProvider = idProvider;
+      rowsTouched = 0;
     }
 
     private void clear() {
@@ -776,12 +825,14 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
     private void updateObject(Object object) {
       Object merged = entityManager.merge(object);
       objectsToSave.add(merged);
+      rowsTouched++;
     }
 
     /** Does the full "insert" on a new object including all internal housekeeping. */
     private void insertObject(Object object) {
       entityManager.persist(object);
       objectsToSave.add(object);
+      rowsTouched++;
     }
 
     /** Returns true if the object has been persisted/merged and will be saved on commit. */
@@ -1104,7 +1155,7 @@ public class JpaTransactionManagerImpl implements JpaTransactionManager {
    * Provides {@code long} values for use as {@code id} by JPA model entities in (read-only)
    * transactions in the replica database. Each id is only unique in the JVM instance.
    *
-   * <p>The {@link #fetchIdFromSequence database sequence-based id allocator} cannot be used with
+   * <p>The {@link #allocateIdFromSequence database sequence-based id allocator} cannot be used with
    * the replica because id generation is a write operation.
    */
   private static final class ReplicaDbIdService {
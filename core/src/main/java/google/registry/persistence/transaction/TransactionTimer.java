@@ -0,0 +1,114 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.persistence.transaction;
+
+import java.time.Duration;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures how long the transactions of a thread spend executing SQL statements and committing.
+ *
+ * <p>Timing is off unless a timer is {@link #start started} on the thread, so that other
+ * transactions don't pay for it. While a timer is active, {@link JpaTransactionManagerImpl} adds up
+ * the times of every transaction it runs on the thread, including retried attempts.
+ */
+public final class TransactionTimer implements AutoCloseable {
+
+  private static final ThreadLocal<TransactionTimer> activeTimer = new ThreadLocal<>();
+
+  @Nullable private final TransactionTimer previousTimer;
+  private long sqlNanos;
+  private long commitNanos;
+
+  private TransactionTimer(@Nullable TransactionTimer previousTimer) {
+    this.previousTimer = previousTimer;
+  }
+
+  /** Starts timing the transactions of the current thread, until the returned timer is closed. */
+  public static TransactionTimer start() {
+    TransactionTimer timer = new TransactionTimer(activeTimer.get());
+    activeTimer.set(timer);
+    return timer;
+  }
+
+  /** Returns the time spent executing SQL statements, including those flushed on commit. */
+  public Duration getSqlTime() {
+    return Duration.ofNanos(sqlNanos);
+  }
+
+  /** Returns the time spent committing, including flushing pending changes. */
+  public Duration getCommitTime() {
+    return Duration.ofNanos(commitNanos);
+  }
+
+  @Override
+  public void close() {
+    if (previousTimer == null) {
+      activeTimer.remove();
+    } else {
+      activeTimer.set(previousTimer);
+    }
+  }
+
+  /**
+   * Returns a listener that times the SQL statements of a Hibernate session, or empty if no timer
+   * is active on the current thread.
+   */
+  static Optional<SessionEventListener> createSessionListener() {
+    TransactionTimer timer = activeTimer.get();
+    return timer == null ? Optional.empty() : Optional.of(new StatementListener(timer));
+  }
+
+  /** Adds the time of a commit to the active timer of the current thread, if there is one. */
+  static void recordCommit(long nanos) {
+    TransactionTimer timer = activeTimer.get();
+    if (timer != null) {
+      timer.commitNanos += nanos;
+    }
+  }
+
+  /** Times the statements and batches of a session, which is only ever used by one thread. */
+  private static final class StatementListener implements SessionEventListener {
+
+    private final TransactionTimer timer;
+    private long startNanos;
+
+    StatementListener(TransactionTimer timer) {
+      this.timer = timer;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+      startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+      timer.sqlNanos += System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+      startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+      timer.sqlNanos += System.nanoTime() - startNanos;
+    }
+  }
+}
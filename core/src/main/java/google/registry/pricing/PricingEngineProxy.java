@@ -16,8 +16,11 @@ package google.registry.pricing;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMultimap;
 import static google.registry.util.DomainNameUtils.getTldFromDomainName;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import google.registry.model.pricing.PremiumPricingEngine;
 import google.registry.model.pricing.PremiumPricingEngine.DomainPrices;
 import google.registry.model.tld.Tld;
@@ -64,5 +67,25 @@ public final class PricingEngineProxy {
     return engine.getDomainPrices(domainName, priceTime);
   }
 
+  /**
+   * Lets the {@link PremiumPricingEngine} of each domain's TLD load the prices of all the given
+   * domain names in bulk, so that pricing them one at a time afterwards is cheap.
+   */
+  public static void preloadPricesForDomainNames(
+      ImmutableSet<String> domainNames, DateTime priceTime) {
+    ImmutableSetMultimap<String, String> domainNamesByEngine =
+        domainNames.stream()
+            .collect(
+                toImmutableSetMultimap(
+                    domainName ->
+                        Tld.get(getTldFromDomainName(domainName)).getPricingEngineClassName(),
+                    domainName -> domainName));
+    for (String clazz : domainNamesByEngine.keySet()) {
+      PremiumPricingEngine engine = premiumPricingEngines.get(clazz);
+      checkState(engine != null, "Could not load pricing engine %s", clazz);
+      engine.preloadDomainPrices(domainNamesByEngine.get(clazz), priceTime);
+    }
+  }
+
   private PricingEngineProxy() {}
 }
@@ -30,9 +30,13 @@ import com.google.gson.JsonPrimitive;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -43,6 +47,9 @@ import org.joda.time.DateTime;
 /**
  * An Jsonable that can turn itself into a JSON object using reflection.
  *
+ * <p>The reflective lookup of the annotated members is done once per class and cached, so that
+ * serializing an object only costs a method handle call per member.
+ *
  * <p>This can only be used to create JSON *objects*, so if your class needs a different JSON type,
  * you'll have to implement Jsonable yourself. (for example, VCards objects are represented as a
  * list rather than an object)
@@ -226,41 +233,46 @@ abstract class AbstractJsonableObject implements Jsonable {
     String[] value();
   }
 
+  /**
+   * The members of each class that are annotated with {@link JsonableElement}, in the order they
+   * are added to the JSON object.
+   *
+   * <p>Finding the members means walking the class hierarchy and its annotations, so it is only
+   * done once per class. The members are then read through method handles, which skip the access
+   * checks that reflective reads go through every time.
+   */
+  private static final ClassValue<ImmutableList<JsonableMember>> JSONABLE_MEMBERS =
+      new ClassValue<>() {
+        @Override
+        protected ImmutableList<JsonableMember> computeValue(Class<?> clazz) {
+          ImmutableList.Builder<JsonableMember> builder = new ImmutableList.Builder<>();
+          for (Field field : getAllJsonableElementFields(clazz)) {
+            builder.add(JsonableMember.create(field));
+          }
+          for (Method method : getAllJsonableElementMethods(clazz)) {
+            builder.add(JsonableMember.create(method));
+          }
+          return builder.build();
+        }
+      };
+
+  /** The name restrictions of each class, see {@link #getNameRestriction}. */
+  private static final ClassValue<Optional<ImmutableSet<String>>> NAME_RESTRICTIONS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<ImmutableSet<String>> computeValue(Class<?> clazz) {
+          return findNameRestriction(clazz);
+        }
+      };
+
   @Override
   public final JsonObject toJson() {
     try {
       JsonObjectBuilder builder = new JsonObjectBuilder();
-
-      for (Field field : getAllJsonableElementFields()) {
-        JsonableElement jsonableElement = field.getAnnotation(JsonableElement.class);
-        Object object;
-        try {
-          field.setAccessible(true);
-          object = field.get(this);
-        } catch (IllegalAccessException e) {
-          throw new IllegalStateException(
-              String.format("Error reading value of field '%s'", field), e);
-        } finally {
-          field.setAccessible(false);
-        }
-        builder.add(jsonableElement, field, object);
+      for (JsonableMember jsonableMember : JSONABLE_MEMBERS.get(getClass())) {
+        builder.add(
+            jsonableMember.jsonableElement(), jsonableMember.member(), jsonableMember.get(this));
       }
-
-      for (Method method : getAllJsonableElementMethods()) {
-        JsonableElement jsonableElement = method.getAnnotation(JsonableElement.class);
-        Object object;
-        try {
-          method.setAccessible(true);
-          object = method.invoke(this);
-        } catch (ReflectiveOperationException e) {
-          throw new IllegalStateException(
-              String.format("Error reading value of method '%s'", method), e);
-        } finally {
-          method.setAccessible(false);
-        }
-        builder.add(jsonableElement, method, object);
-      }
-
       return builder.build();
     } catch (Throwable e) {
       throw new JsonableException(
@@ -268,16 +280,68 @@ abstract class AbstractJsonableObject implements Jsonable {
     }
   }
 
+  /** A {@link JsonableElement} field or method, along with a handle that reads its value. */
+  private record JsonableMember(
+      JsonableElement jsonableElement, Member member, MethodHandle getter) {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    static JsonableMember create(Field field) {
+      try {
+        field.setAccessible(true);
+        return create(
+            field.getAnnotation(JsonableElement.class),
+            field,
+            MethodHandles.lookup().unreflectGetter(field));
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(
+            String.format("Error reading value of field '%s'", field), e);
+      }
+    }
+
+    static JsonableMember create(Method method) {
+      try {
+        method.setAccessible(true);
+        return create(
+            method.getAnnotation(JsonableElement.class),
+            method,
+            MethodHandles.lookup().unreflect(method));
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(
+            String.format("Error reading value of method '%s'", method), e);
+      }
+    }
+
+    private static JsonableMember create(
+        JsonableElement jsonableElement, Member member, MethodHandle handle) {
+      if (Modifier.isStatic(member.getModifiers())) {
+        // Static members take no receiver, so ignore the one we pass in.
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return new JsonableMember(jsonableElement, member, handle.asType(GETTER_TYPE));
+    }
+
+    Object get(Object object) {
+      try {
+        return getter.invokeExact(object);
+      } catch (Throwable e) {
+        throw new IllegalStateException(
+            String.format(
+                "Error reading value of %s '%s'",
+                member instanceof Field ? "field" : "method", member),
+            e);
+      }
+    }
+  }
+
   /**
    * Get all the fields declared on this class.
    *
    * <p>We aren't using {@link Class#getFields} because that would return only the public fields.
    */
-  private Iterable<Field> getAllJsonableElementFields() {
+  private static ImmutableList<Field> getAllJsonableElementFields(Class<?> objectClass) {
     ImmutableList.Builder<Field> builder = new ImmutableList.Builder<>();
-    for (Class<?> clazz = this.getClass();
-        clazz != null;
-        clazz = clazz.getSuperclass()) {
+    for (Class<?> clazz = objectClass; clazz != null; clazz = clazz.getSuperclass()) {
       for (Field field : clazz.getDeclaredFields()) {
         if (!field.isAnnotationPresent(JsonableElement.class)) {
           continue;
@@ -286,7 +350,7 @@ abstract class AbstractJsonableObject implements Jsonable {
       }
     }
     // Sorting for test consistency
-    return Ordering.natural().onResultOf(Field::getName).sortedCopy(builder.build());
+    return Ordering.natural().onResultOf(Field::getName).immutableSortedCopy(builder.build());
   }
 
   /**
@@ -294,12 +358,10 @@ abstract class AbstractJsonableObject implements Jsonable {
    *
    * <p>We aren't using {@link Class#getMethods} because that would return only the public methods.
    */
-  private Iterable<Method> getAllJsonableElementMethods() {
+  private static ImmutableList<Method> getAllJsonableElementMethods(Class<?> objectClass) {
     ImmutableList.Builder<Method> builder = new ImmutableList.Builder<>();
     HashSet<String> seenNames = new HashSet<>();
-    for (Class<?> clazz = this.getClass();
-        clazz != null;
-        clazz = clazz.getSuperclass()) {
+    for (Class<?> clazz = objectClass; clazz != null; clazz = clazz.getSuperclass()) {
       for (Method method : clazz.getDeclaredMethods()) {
         if (!method.isAnnotationPresent(JsonableElement.class)) {
           continue;
@@ -314,7 +376,7 @@ abstract class AbstractJsonableObject implements Jsonable {
       }
     }
     // Sorting for test consistency
-    return Ordering.natural().onResultOf(Method::getName).sortedCopy(builder.build());
+    return Ordering.natural().onResultOf(Method::getName).immutableSortedCopy(builder.build());
   }
 
   /** Converts an Object to a JsonElement. */
@@ -356,6 +418,10 @@ abstract class AbstractJsonableObject implements Jsonable {
    * the class is an element in a array with this name.
    */
   static Optional<ImmutableSet<String>> getNameRestriction(Class<?> clazz) {
+    return NAME_RESTRICTIONS.get(clazz);
+  }
+
+  private static Optional<ImmutableSet<String>> findNameRestriction(Class<?> clazz) {
     // Find the first superclass that has an RestrictJsonNames annotation.
     //
     // The reason we don't use @Inherited on the annotation instead is that we want a good error
@@ -129,6 +129,16 @@ public abstract class RdapActionBase implements Runnable {
   abstract ReplyPayloadBase getJsonObjectForResource(
       String pathSearchString, boolean isHeadRequest);
 
+  /**
+   * Returns the canonical name of the object looked up by the given path search string, if the
+   * response may be served from the {@link RdapResponseCache}.
+   *
+   * <p>Only lookups of a single object can be cached, so this is empty for searches.
+   */
+  Optional<String> getCacheableObjectName(String pathSearchString) {
+    return Optional.empty();
+  }
+
   @Override
   public void run() {
     metricInformationBuilder.setIncludeDeleted(includeDeletedParam.orElse(false));
@@ -154,16 +164,29 @@ public abstract class RdapActionBase implements Runnable {
       String pathSearchString = pathProper.substring(getActionPath().length());
       logger.atInfo().log("path search string: '%s'.", pathSearchString);
 
-      ReplyPayloadBase replyObject =
-          getJsonObjectForResource(pathSearchString, requestMethod == Action.Method.HEAD);
-      if (replyObject instanceof BaseSearchResponse) {
-        metricInformationBuilder.setIncompletenessWarningType(
-            ((BaseSearchResponse) replyObject).incompletenessWarningType());
+      Optional<RdapResponseCache.Key> cacheKey = getResponseCacheKey(pathSearchString);
+      Optional<String> cachedPayload = cacheKey.flatMap(RdapResponseCache::get);
+      if (cachedPayload.isPresent()) {
+        response.setStatus(SC_OK);
+        response.setPayload(cachedPayload.get());
+      } else {
+        ReplyPayloadBase replyObject =
+            getJsonObjectForResource(pathSearchString, requestMethod == Action.Method.HEAD);
+        if (replyObject instanceof BaseSearchResponse) {
+          metricInformationBuilder.setIncompletenessWarningType(
+              ((BaseSearchResponse) replyObject).incompletenessWarningType());
+        }
+        // RFC7480 5.1 - if the server has the information requested and wishes to respond, it
+        // returns that answer in the body of a 200 (OK) response
+        response.setStatus(SC_OK);
+        if (cacheKey.isPresent()) {
+          String payload = toPayload(replyObject);
+          response.setPayload(payload);
+          RdapResponseCache.put(cacheKey.get(), payload);
+        } else {
+          setPayload(replyObject);
+        }
       }
-      // RFC7480 5.1 - if the server has the information requested and wishes to respond, it returns
-      // that answer in the body of a 200 (OK) response
-      response.setStatus(SC_OK);
-      setPayload(replyObject);
       metricInformationBuilder.setStatusCode(SC_OK);
     } catch (RdapDomainAction.DomainBlockedByBsaException e) {
       logger.atInfo().withCause(e).log("Domain blocked by BSA");
@@ -201,12 +224,37 @@ public abstract class RdapActionBase implements Runnable {
     if (requestMethod == Action.Method.HEAD) {
       return;
     }
+    response.setPayload(toPayload(replyObject));
+  }
+
+  private String toPayload(ReplyPayloadBase replyObject) {
     TopLevelReplyObject topLevelObject =
         TopLevelReplyObject.create(replyObject, rdapJsonFormatter.createTosNotice());
     Gson gson = formatOutputParam.orElse(false) ? FORMATTED_OUTPUT_GSON : GSON;
     JsonObject jsonResult = topLevelObject.toJson();
     addLinkValuesRecursively(jsonResult);
-    response.setPayload(gson.toJson(jsonResult));
+    return gson.toJson(jsonResult);
+  }
+
+  /**
+   * Returns the key of the response in the {@link RdapResponseCache}, or empty if the response
+   * must not be cached.
+   *
+   * <p>HEAD requests bypass the cache, so that they still fail wherever a GET request would.
+   */
+  private Optional<RdapResponseCache.Key> getResponseCacheKey(String pathSearchString) {
+    if (requestMethod != Action.Method.GET || !RdapResponseCache.isEnabled()) {
+      return Optional.empty();
+    }
+    return getCacheableObjectName(pathSearchString)
+        .map(
+            name ->
+                new RdapResponseCache.Key(
+                    new RdapResponseCache.ObjectKey(endpointType, name),
+                    rdapAuthorization,
+                    requestUrl,
+                    includeDeletedParam.orElse(false),
+                    formatOutputParam.orElse(false)));
   }
 
   /**
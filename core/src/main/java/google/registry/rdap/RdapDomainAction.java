@@ -48,6 +48,11 @@ public class RdapDomainAction extends RdapActionBase {
     super("domain name", EndpointType.DOMAIN);
   }
 
+  @Override
+  Optional<String> getCacheableObjectName(String pathSearchString) {
+    return Optional.of(canonicalizeName(pathSearchString));
+  }
+
   @Override
   public RdapDomain getJsonObjectForResource(String pathSearchString, boolean isHeadRequest) {
     // RDAP Technical Implementation Guide 2.1.1 - we must support A-label (Punycode) and U-label
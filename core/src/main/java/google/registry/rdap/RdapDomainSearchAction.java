@@ -191,15 +191,10 @@ public class RdapDomainSearchAction extends RdapSearchActionBase {
   /** Searches for domains by domain name with an initial string, wildcard and possible suffix. */
   private DomainSearchResponse searchByDomainNameWithInitialString(
       final RdapSearchPattern partialStringQuery) {
-    // We can't query for undeleted domains as part of the query itself; that would require an
-    // inequality query on deletion time, and we are already using inequality queries on
-    // domainName. So we instead pick an arbitrary limit of RESULT_SET_SIZE_SCALING_FACTOR times the
-    // result set size limit, fetch up to that many, and weed out all deleted domains. If there
-    // still isn't a full result set's worth of domains, we give up and return just the ones we
-    // found. Don't use queryItems, because it checks that the initial string is at least a certain
-    // length, which we don't need in this case. Query the domains directly, rather than the foreign
-    // keys, because then we have an index on TLD if we need it.
-    int querySizeLimit = RESULT_SET_SIZE_SCALING_FACTOR * rdapResultSetMaxSize;
+    // Don't use queryItems, because it checks that the initial string is at least a certain length,
+    // which we don't need in this case. Query the domains directly, rather than the foreign keys,
+    // because then we have an index on TLD if we need it. The LIKE clause is served by the trigram
+    // index on domain name.
     RdapResultSet<Domain> resultSet;
     resultSet =
         replicaTm()
@@ -212,49 +207,64 @@ public class RdapDomainSearchAction extends RdapSearchActionBase {
                           .where(
                               "domainName",
                               criteriaBuilder::like,
-                              String.format("%s%%", partialStringQuery.getInitialString()))
-                          .orderByAsc("domainName");
-                  if (cursorString.isPresent()) {
-                    queryBuilder =
-                        queryBuilder.where(
-                            "domainName", criteriaBuilder::greaterThan, cursorString.get());
-                  }
+                              String.format("%s%%", partialStringQuery.getInitialString()));
                   if (partialStringQuery.getSuffix() != null) {
                     queryBuilder =
                         queryBuilder.where(
                             "tld", criteriaBuilder::equal, partialStringQuery.getSuffix());
                   }
-                  return getMatchingResources(queryBuilder, true, querySizeLimit);
+                  return getMatchingDomainsByName(queryBuilder);
                 });
     return makeSearchResults(resultSet);
   }
 
   /** Searches for domains by domain name with a TLD suffix. */
   private DomainSearchResponse searchByDomainNameByTld(String tld) {
-    // Even though we are not searching on domainName, we want the results to come back ordered by
-    // name, so we are still in the same boat as searchByDomainNameWithInitialString, unable to
-    // perform an inequality query on deletion time. Don't use queryItems, because it doesn't handle
-    // pending deletes.
-    int querySizeLimit = RESULT_SET_SIZE_SCALING_FACTOR * rdapResultSetMaxSize;
+    // Don't use queryItems, because it doesn't handle pending deletes.
     RdapResultSet<Domain> resultSet;
     resultSet =
         replicaTm()
             .transact(
-                () -> {
-                  CriteriaQueryBuilder<Domain> builder =
-                      queryItems(
-                              Domain.class,
-                              "tld",
-                              tld,
-                              Optional.of("domainName"),
-                              cursorString,
-                              DeletedItemHandling.INCLUDE)
-                          .orderByAsc("domainName");
-                  return getMatchingResources(builder, true, querySizeLimit);
-                });
+                () ->
+                    getMatchingDomainsByName(
+                        CriteriaQueryBuilder.create(replicaTm(), Domain.class)
+                            .where(
+                                "tld",
+                                replicaTm().getEntityManager().getCriteriaBuilder()::equal,
+                                tld)));
     return makeSearchResults(resultSet);
   }
 
+  /**
+   * Runs a domain query one page at a time, ordered by domain name.
+   *
+   * <p>The page starts after the cursor, and its size is enforced by the query itself. If deleted
+   * domains are not requested, the deletion time is checked by the query too, so exactly one more
+   * domain than the result set size is fetched, which tells us whether there is a next page.
+   *
+   * <p>Otherwise, whether a deleted domain may be shown depends on its sponsoring registrar, which
+   * can only be checked after loading it. In that case we fetch up to
+   * RESULT_SET_SIZE_SCALING_FACTOR times the result set size limit, and weed out the domains that
+   * the request is not authorized to see. If there still isn't a full result set's worth of
+   * domains, we give up and return just the ones we found.
+   */
+  private RdapResultSet<Domain> getMatchingDomainsByName(
+      CriteriaQueryBuilder<Domain> queryBuilder) {
+    CriteriaBuilder criteriaBuilder = replicaTm().getEntityManager().getCriteriaBuilder();
+    if (cursorString.isPresent()) {
+      queryBuilder =
+          queryBuilder.where("domainName", criteriaBuilder::greaterThan, cursorString.get());
+    }
+    queryBuilder = queryBuilder.orderByAsc("domainName");
+    if (shouldIncludeDeleted()) {
+      return getMatchingResources(
+          queryBuilder, true, RESULT_SET_SIZE_SCALING_FACTOR * rdapResultSetMaxSize);
+    }
+    queryBuilder =
+        queryBuilder.where("deletionTime", criteriaBuilder::greaterThan, getRequestTime());
+    return getMatchingResources(queryBuilder, false, rdapResultSetMaxSize + 1);
+  }
+
   /**
    * Searches for domains by nameserver name, returning a JSON array of domain info maps.
    *
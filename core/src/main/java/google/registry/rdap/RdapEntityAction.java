@@ -50,6 +50,11 @@ public class RdapEntityAction extends RdapActionBase {
     super("entity", EndpointType.ENTITY);
   }
 
+  @Override
+  Optional<String> getCacheableObjectName(String pathSearchString) {
+    return Optional.of(pathSearchString);
+  }
+
   @Override
   public RdapEntity getJsonObjectForResource(
       String pathSearchString, boolean isHeadRequest) {
@@ -97,7 +97,8 @@ public class RdapJsonFormatter {
 
   private static final LoadingCache<String, ImmutableMap<EventAction, HistoryTimeAndRegistrar>>
       DOMAIN_HISTORIES_BY_REPO_ID =
-          CacheUtils.newCacheBuilder(RegistryConfig.getEppResourceCachingDuration())
+          CacheUtils.newCacheBuilder(
+                  "RdapDomainHistories", RegistryConfig.getEppResourceCachingDuration())
               // Cache more than the EPP resource cache because we're only caching small objects
               .maximumSize(RegistryConfig.getEppResourceMaxCachedEntries() * 4L)
               .build(repoId -> getLastHistoryByType(repoId, Domain.class));
@@ -45,6 +45,11 @@ public class RdapNameserverAction extends RdapActionBase {
     super("nameserver", EndpointType.NAMESERVER);
   }
 
+  @Override
+  Optional<String> getCacheableObjectName(String pathSearchString) {
+    return Optional.of(canonicalizeName(pathSearchString));
+  }
+
   @Override
   public RdapNameserver getJsonObjectForResource(String pathSearchString, boolean isHeadRequest) {
     // RDAP Technical Implementation Guide 2.1.1 - we must support A-label (Punycode) and U-label
@@ -0,0 +1,96 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rdap;
+
+import static google.registry.config.RegistryConfig.getRdapResponseCachingDuration;
+import static google.registry.config.RegistryConfig.getRdapResponseMaxCachedEntries;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import google.registry.model.CacheUtils;
+import google.registry.rdap.RdapMetrics.EndpointType;
+import google.registry.util.NonFinalForTesting;
+import java.time.Duration;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/**
+ * In-memory cache of the serialized responses to RDAP domain, nameserver and entity lookups.
+ *
+ * <p>The same few objects tend to be looked up over and over, and building a response loads the
+ * object along with its nameservers and registrar, and then serializes the whole tree. What is
+ * shown depends on who is asking and on the request URL (which is echoed in every link), so both
+ * are part of the key.
+ *
+ * <p>Cached responses are never invalidated; changes apply once the responses expire, after a
+ * short configured duration. RDAP is served by its own servers, which don't see the changes made
+ * by EPP flows, and publishing every domain, host and registrar change to them would put a cost on
+ * the busiest write paths of the registry for little gain over the expiry.
+ */
+final class RdapResponseCache {
+
+  /** An object that can be looked up, identified by its canonical name. */
+  record ObjectKey(EndpointType endpointType, String name) {}
+
+  /** The object looked up, and everything besides the object that the response depends on. */
+  record Key(
+      ObjectKey objectKey,
+      RdapAuthorization authorization,
+      String requestUrl,
+      boolean includeDeleted,
+      boolean formatOutput) {}
+
+  @NonFinalForTesting
+  @Nullable
+  private static Cache<Key, String> cache =
+      createCache(getRdapResponseCachingDuration(), Ticker.systemTicker());
+
+  private RdapResponseCache() {}
+
+  @Nullable
+  private static Cache<Key, String> createCache(Duration expiry, Ticker ticker) {
+    if (expiry.isZero()) {
+      return null;
+    }
+    return CacheUtils.newCacheBuilder("RdapResponse")
+        .ticker(ticker)
+        .expireAfterWrite(expiry)
+        .maximumSize(getRdapResponseMaxCachedEntries())
+        .build();
+  }
+
+  @VisibleForTesting
+  static void setCacheForTest(Optional<Duration> expiry, Ticker ticker) {
+    cache = createCache(expiry.orElse(getRdapResponseCachingDuration()), ticker);
+  }
+
+  /** Returns whether responses are cached at all. */
+  static boolean isEnabled() {
+    return cache != null;
+  }
+
+  /** Returns the cached response for the given key, if there is one. */
+  static Optional<String> get(Key key) {
+    return cache == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(key));
+  }
+
+  /** Caches the response for the given key. */
+  static void put(Key key, String response) {
+    if (cache != null) {
+      cache.put(key, response);
+    }
+  }
+}
@@ -76,6 +76,7 @@ public final class BrdaCopyAction implements Runnable {
   @Inject GcsUtils gcsUtils;
   @Inject @Config("brdaBucket") String brdaBucket;
   @Inject @Config("rdeBucket") String stagingBucket;
+  @Inject @Config("rdePipelinedRydeEncoding") boolean pipelinedRydeEncoding;
   @Inject @Parameter(RequestParameters.PARAM_TLD) String tld;
   @Inject @Parameter(RdeModule.PARAM_WATERMARK) DateTime watermark;
   @Inject @Parameter(RdeModule.PARAM_PREFIX) Optional<String> prefix;
@@ -129,6 +130,7 @@ public final class BrdaCopyAction implements Runnable {
                 .setRydeOutput(rydeOut, receiverKey)
                 .setSignatureOutput(sigOut, signingKey)
                 .setFileMetadata(nameWithoutPrefix, xmlLength, watermark)
+                .setPipelined(pipelinedRydeEncoding)
                 .build()) {
       ByteStreams.copy(ghostrydeDecoder, rydeEncoder);
     }
@@ -14,16 +14,134 @@
 
 package google.registry.rde;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.beam.sdk.coders.AtomicCoder;
+import org.apache.beam.sdk.coders.ByteArrayCoder;
+import org.apache.beam.sdk.coders.StringUtf8Coder;
+
+/**
+ * Container of RDE resource marshalled by {@link RdeMarshaller}.
+ *
+ * <p>The XML is held as DEFLATE-compressed UTF-8. The RDE pipeline shuffles every domain, host and
+ * registrar of a deposit as a fragment, so this cuts the shuffled bytes several-fold, and the XML
+ * is inflated straight into the deposit stream by {@link #writeXmlTo} without being decoded back
+ * into a string.
+ */
+public final class DepositFragment implements Serializable {
+
+  @Serial private static final long serialVersionUID = 4738211062837014721L;
 
-/** Container of RDE resource marshalled by {@link RdeMarshaller}. */
-public record DepositFragment(RdeResourceType type, String xml, String error)
-    implements Serializable {
+  private static final byte[] EMPTY = new byte[0];
 
-  @Serial private static final long serialVersionUID = -5241410684255467454L;
+  private final RdeResourceType type;
+  private final byte[] compressedXml;
+  private final String error;
+
+  private DepositFragment(RdeResourceType type, byte[] compressedXml, String error) {
+    this.type = checkNotNull(type, "type");
+    this.compressedXml = checkNotNull(compressedXml, "compressedXml");
+    this.error = checkNotNull(error, "error");
+  }
 
   public static DepositFragment create(RdeResourceType type, String xml, String error) {
-    return new DepositFragment(type, xml, error);
+    return new DepositFragment(type, compress(xml), error);
+  }
+
+  public RdeResourceType type() {
+    return type;
+  }
+
+  public String error() {
+    return error;
+  }
+
+  /** Returns true if the fragment has XML to write, i.e. if marshalling didn't fail. */
+  public boolean hasXml() {
+    return compressedXml.length > 0;
+  }
+
+  /** Returns the XML of the fragment, decompressing it. */
+  public String xml() {
+    ByteArrayOutputStream xml = new ByteArrayOutputStream();
+    try {
+      writeXmlTo(xml);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return xml.toString(UTF_8);
+  }
+
+  /** Writes the XML of the fragment to the given stream as UTF-8. */
+  public void writeXmlTo(OutputStream output) throws IOException {
+    if (!hasXml()) {
+      return;
+    }
+    try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(compressedXml))) {
+      input.transferTo(output);
+    }
+  }
+
+  private static byte[] compress(String xml) {
+    if (xml.isEmpty()) {
+      return EMPTY;
+    }
+    // Fragments are small and numerous, so favor speed; XML still compresses several-fold.
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(xml.length() / 4);
+    try (OutputStream output = new DeflaterOutputStream(compressed, deflater)) {
+      output.write(xml.getBytes(UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * A compact coder for {@link DepositFragment} used when shuffling fragments in Beam pipelines.
+   *
+   * <p>Unlike a {@code SerializableCoder}, this doesn't write a class descriptor with every
+   * element, and copies the compressed XML as is.
+   */
+  public static class DepositFragmentCoder extends AtomicCoder<DepositFragment> {
+
+    private DepositFragmentCoder() {
+      super();
+    }
+
+    private static final DepositFragmentCoder INSTANCE = new DepositFragmentCoder();
+
+    public static DepositFragmentCoder of() {
+      return INSTANCE;
+    }
+
+    @Override
+    public void encode(DepositFragment value, OutputStream outStream) throws IOException {
+      StringUtf8Coder.of().encode(value.type.name(), outStream);
+      ByteArrayCoder.of().encode(value.compressedXml, outStream);
+      StringUtf8Coder.of().encode(value.error, outStream);
+    }
+
+    @Override
+    public DepositFragment decode(InputStream inStream) throws IOException {
+      return new DepositFragment(
+          RdeResourceType.valueOf(StringUtf8Coder.of().decode(inStream)),
+          ByteArrayCoder.of().decode(inStream),
+          StringUtf8Coder.of().decode(inStream));
+    }
   }
 }
@@ -0,0 +1,212 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * {@link OutputStream} that hands the bytes written to it over to its own thread, which writes
+ * them to the wrapped stream.
+ *
+ * <p>This lets consecutive layers of a chain of streams, such as the compression, encryption and
+ * signing layers of {@link RydeEncoder}, run on separate cores. Bytes are copied into a fixed ring
+ * of buffers, so a slow downstream layer blocks the writer rather than letting data pile up. The
+ * wrapped stream receives exactly the same bytes, in the same order and with flushes at the same
+ * positions, so its output is byte-identical to writing to it directly.
+ *
+ * <p>Only one thread may write at a time. It doesn't have to be the same one throughout, as long as
+ * the threads hand the stream over safely, e.g. by joining the previous writer. {@link #close}
+ * waits until everything has been written to the wrapped stream, but doesn't close it. A failure of
+ * the wrapped stream is rethrown by the next write, flush or close.
+ */
+@NotThreadSafe
+final class PipelinedOutputStream extends OutputStream {
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+  private static final int DEFAULT_BUFFER_COUNT = 4;
+
+  /** A filled buffer, or a request to flush ({@code flushed} is set) or to stop (both are null). */
+  private static final class Chunk {
+    @Nullable final byte[] buffer;
+    final int length;
+    @Nullable final CountDownLatch flushed;
+
+    Chunk(@Nullable byte[] buffer, int length, @Nullable CountDownLatch flushed) {
+      this.buffer = buffer;
+      this.length = length;
+      this.flushed = flushed;
+    }
+  }
+
+  private static final Chunk END = new Chunk(null, 0, null);
+
+  private final String name;
+  private final OutputStream out;
+  private final BlockingQueue<byte[]> freeBuffers;
+  private final BlockingQueue<Chunk> chunks;
+  private final Thread writer;
+
+  /** The first failure of the wrapped stream, after which chunks are dropped. */
+  @Nullable private volatile Throwable failure;
+
+  @Nullable private byte[] buffer;
+  private int position;
+  private boolean closed;
+
+  PipelinedOutputStream(String name, @WillNotClose OutputStream out) {
+    this(name, out, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+  }
+
+  PipelinedOutputStream(
+      String name, @WillNotClose OutputStream out, int bufferSize, int bufferCount) {
+    checkArgument(bufferSize > 0, "bufferSize must be positive");
+    checkArgument(bufferCount > 1, "bufferCount must be at least 2");
+    this.name = name;
+    this.out = checkNotNull(out, "out");
+    freeBuffers = new ArrayBlockingQueue<>(bufferCount);
+    for (int i = 0; i < bufferCount; i++) {
+      freeBuffers.add(new byte[bufferSize]);
+    }
+    // Besides the buffers, there is at most one flush request and the end marker in flight.
+    chunks = new ArrayBlockingQueue<>(bufferCount + 2);
+    writer = Thread.ofPlatform().name(name).daemon().start(this::writeChunks);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkOpen();
+    if (buffer == null) {
+      buffer = takeFreeBuffer();
+    }
+    buffer[position++] = (byte) b;
+    if (position == buffer.length) {
+      handOver();
+    }
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkOpen();
+    while (len > 0) {
+      if (buffer == null) {
+        buffer = takeFreeBuffer();
+      }
+      int count = Math.min(len, buffer.length - position);
+      System.arraycopy(b, off, buffer, position, count);
+      position += count;
+      off += count;
+      len -= count;
+      if (position == buffer.length) {
+        handOver();
+      }
+    }
+  }
+
+  /** Waits until everything written so far has been written and flushed to the wrapped stream. */
+  @Override
+  public void flush() throws IOException {
+    checkOpen();
+    if (position > 0) {
+      handOver();
+    }
+    CountDownLatch flushed = new CountDownLatch(1);
+    Uninterruptibles.putUninterruptibly(chunks, new Chunk(null, 0, flushed));
+    Uninterruptibles.awaitUninterruptibly(flushed);
+    checkFailure();
+  }
+
+  /** Waits until everything has been written to the wrapped stream, and stops the thread. */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (position > 0) {
+      Uninterruptibles.putUninterruptibly(chunks, new Chunk(buffer, position, null));
+    }
+    buffer = null;
+    Uninterruptibles.putUninterruptibly(chunks, END);
+    Uninterruptibles.joinUninterruptibly(writer);
+    checkFailure();
+  }
+
+  private void handOver() throws IOException {
+    Uninterruptibles.putUninterruptibly(chunks, new Chunk(buffer, position, null));
+    buffer = null;
+    position = 0;
+    checkFailure();
+  }
+
+  private byte[] takeFreeBuffer() throws IOException {
+    byte[] freeBuffer = Uninterruptibles.takeUninterruptibly(freeBuffers);
+    checkFailure();
+    return freeBuffer;
+  }
+
+  private void checkOpen() {
+    checkState(!closed, "%s is closed", name);
+  }
+
+  private void checkFailure() throws IOException {
+    Throwable cause = failure;
+    if (cause != null) {
+      throw new IOException(name + " failed to write", cause);
+    }
+  }
+
+  /**
+   * Writes the chunks to the wrapped stream, until the end marker.
+   *
+   * <p>After a failure the chunks are still taken and their buffers recycled, so that the writing
+   * thread never blocks on a dead stream.
+   */
+  private void writeChunks() {
+    while (true) {
+      Chunk chunk = Uninterruptibles.takeUninterruptibly(chunks);
+      if (chunk == END) {
+        return;
+      }
+      if (failure == null) {
+        try {
+          if (chunk.flushed != null) {
+            out.flush();
+          } else {
+            out.write(chunk.buffer, 0, chunk.length);
+          }
+        } catch (Throwable t) {
+          failure = t;
+        }
+      }
+      if (chunk.flushed != null) {
+        chunk.flushed.countDown();
+      } else {
+        freeBuffers.add(chunk.buffer);
+      }
+    }
+  }
+}
@@ -117,6 +117,7 @@ public final class RdeUploadAction implements Runnable, EscrowTask {
   @Inject @Config("rdeUploadLockTimeout") Duration timeout;
   @Inject @Config("rdeUploadSftpCooldown") Duration sftpCooldown;
   @Inject @Config("rdeUploadUrl") URI uploadUrl;
+  @Inject @Config("rdePipelinedRydeEncoding") boolean pipelinedRydeEncoding;
   @Inject @Key("rdeReceiverKey") PGPPublicKey receiverKey;
   @Inject @Key("rdeSigningKey") PGPKeyPair signingKey;
   @Inject @Key("rdeStagingDecryptionKey") PGPPrivateKey stagingDecryptionKey;
@@ -242,6 +243,7 @@ public final class RdeUploadAction implements Runnable, EscrowTask {
                     .setRydeOutput(teeOutput, receiverKey)
                     .setSignatureOutput(sigOut, signingKey)
                     .setFileMetadata(nameWithoutPrefix, xmlLength, watermark)
+                    .setPipelined(pipelinedRydeEncoding)
                     .build()) {
           long bytesCopied = ByteStreams.copy(ghostrydeDecoder, rydeEncoder);
           logger.atInfo().log("Uploaded %,d bytes to path '%s'.", bytesCopied, rydeFilename);
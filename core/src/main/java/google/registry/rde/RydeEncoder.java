@@ -48,6 +48,10 @@ import org.joda.time.DateTime;
  *
  * <p>Because of the external tar file encoding - the encoder must know the total length of the data
  * from the start. This is a bit annoying, but necessary.
+ *
+ * <p>In pipelined mode, the compression, encryption and signing layers each run on their own
+ * thread, connected by {@link PipelinedOutputStream}s, so that a large deposit is encoded on four
+ * cores instead of one. The output is byte-identical to the sequential mode's.
  */
 @NotThreadSafe
 public final class RydeEncoder extends FilterOutputStream {
@@ -56,6 +60,7 @@ public final class RydeEncoder extends FilterOutputStream {
   private final RydePgpSigningOutputStream signer;
   // We use a Closer to handle the stream .close, to make sure it's done correctly.
   private final Closer closer = Closer.create();
+  private final boolean pipelined;
   private boolean isClosed = false;
 
   private RydeEncoder(
@@ -65,19 +70,33 @@ public final class RydeEncoder extends FilterOutputStream {
       String filenamePrefix,
       DateTime modified,
       PGPKeyPair signingKey,
-      Collection<PGPPublicKey> receiverKeys) {
+      Collection<PGPPublicKey> receiverKeys,
+      boolean pipelined) {
     super(null);
     this.sigOutput = sigOutput;
+    this.pipelined = pipelined;
+    // The Closer closes the layers in reverse order, so each pipe is drained before the layer it
+    // writes to is closed.
     signer = closer.register(new RydePgpSigningOutputStream(checkNotNull(rydeOutput), signingKey));
     OutputStream encryptLayer =
-        closer.register(openEncryptor(signer, RYDE_USE_INTEGRITY_PACKET, receiverKeys));
-    OutputStream kompressor = closer.register(openCompressor(encryptLayer));
+        closer.register(
+            openEncryptor(
+                pipe(signer, "RydeSigningPipe"), RYDE_USE_INTEGRITY_PACKET, receiverKeys));
+    OutputStream kompressor =
+        closer.register(openCompressor(pipe(encryptLayer, "RydeEncryptionPipe")));
     OutputStream fileLayer =
-        closer.register(openPgpFileWriter(kompressor, filenamePrefix + ".tar", modified));
+        closer.register(
+            openPgpFileWriter(
+                pipe(kompressor, "RydeCompressionPipe"), filenamePrefix + ".tar", modified));
     this.out =
         closer.register(openTarWriter(fileLayer, dataLength, filenamePrefix + ".xml", modified));
   }
 
+  /** Returns a stream that writes to {@code os} on its own thread in pipelined mode. */
+  private OutputStream pipe(OutputStream os, String name) {
+    return pipelined ? closer.register(new PipelinedOutputStream(name, os)) : os;
+  }
+
   /**
    * Call the underlying 3 input write.
    *
@@ -113,6 +132,7 @@ public final class RydeEncoder extends FilterOutputStream {
     DateTime modified;
     PGPKeyPair signingKey;
     ImmutableList<PGPPublicKey> receiverKeys;
+    boolean pipelined;
 
     /** Sets the OutputStream for the Ryde-encoded data, and the keys used for the encryption. */
     public Builder setRydeOutput(
@@ -138,6 +158,17 @@ public final class RydeEncoder extends FilterOutputStream {
       return this;
     }
 
+    /**
+     * Sets whether the compression, encryption and signing layers run on separate threads.
+     *
+     * <p>The builder leaves this off unless it's set. RDE uploads and BRDA copies set it from the
+     * {@code rde.pipelinedRydeEncoding} setting, which is on by default.
+     */
+    public Builder setPipelined(boolean pipelined) {
+      this.pipelined = pipelined;
+      return this;
+    }
+
     /** Returns the built {@link RydeEncoder}. */
     public RydeEncoder build() {
       return new RydeEncoder(
@@ -147,7 +178,8 @@ public final class RydeEncoder extends FilterOutputStream {
           checkNotNull(filenamePrefix, "Must call 'setFileMetadata'"),
           checkNotNull(modified, "Must call 'setFileMetadata'"),
           checkNotNull(signingKey, "Must call 'setSignatureOutput'"),
-          checkNotNull(receiverKeys, "Must call 'setRydeOutput'"));
+          checkNotNull(receiverKeys, "Must call 'setRydeOutput'"),
+          pipelined);
     }
   }
 }
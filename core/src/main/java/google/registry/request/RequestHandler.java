@@ -23,6 +23,8 @@ import static jakarta.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 
 import com.google.common.flogger.FluentLogger;
 import google.registry.config.RegistryConfig;
+import google.registry.monitoring.jfr.EventContext;
+import google.registry.monitoring.jfr.RequestEvent;
 import google.registry.request.Action.Service;
 import google.registry.request.auth.AuthResult;
 import google.registry.request.auth.RequestAuthenticator;
@@ -173,6 +175,8 @@ public class RequestHandler<C> {
     // Apply the selected Route to the component to produce an Action instance, and run it.
     boolean success = true;
     DateTime startTime = clock.nowUtc();
+    EventContext.clear();
+    RequestEvent requestEvent = RequestEvent.start(path, method.name());
     try {
       route.get().instantiator().apply(component).run();
       if (route.get().action().automaticallyPrintOk()) {
@@ -193,6 +197,8 @@ public class RequestHandler<C> {
           method,
           authResult.get().authLevel(),
           success);
+      requestEvent.end(success);
+      EventContext.clear();
     }
   }
 }
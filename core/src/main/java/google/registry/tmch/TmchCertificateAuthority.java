@@ -78,7 +78,7 @@ public final class TmchCertificateAuthority {
    * persist the correct one for this given environment.
    */
   private static final LoadingCache<TmchCaMode, X509CRL> CRL_CACHE =
-      CacheUtils.newCacheBuilder(getSingletonCacheRefreshDuration())
+      CacheUtils.newCacheBuilder("TmchCrl", getSingletonCacheRefreshDuration())
           .build(
               new CacheLoader<>() {
                 @Override
@@ -0,0 +1,100 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.xml;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.monitoring.metrics.IncrementableMetric;
+import com.google.monitoring.metrics.LabelDescriptor;
+import com.google.monitoring.metrics.MetricRegistryImpl;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded pool of JAXB {@link Marshaller} or {@link Unmarshaller} instances.
+ *
+ * <p>Neither class is thread-safe, but both are costly to create once a schema is attached, since
+ * every instance builds its own schema validator. Objects are borrowed for the duration of a
+ * single call and then released, so the pool never holds more than {@code maxIdle} instances no
+ * matter how many (possibly virtual) threads use it.
+ *
+ * <p>Objects should only be released after successful use. An object whose last use threw is
+ * simply dropped, since JAXB makes no promises about its state afterwards.
+ */
+@ThreadSafe
+final class JaxbObjectPool<T> {
+
+  /** The kinds of objects that are pooled, used as the {@code type} metric label. */
+  enum Type {
+    MARSHALLER,
+    UNMARSHALLER
+  }
+
+  /** Factory for new pool objects, used on a pool miss. */
+  @FunctionalInterface
+  interface Factory<T> {
+    T create() throws JAXBException;
+  }
+
+  private static final ImmutableSet<LabelDescriptor> LABEL_DESCRIPTORS =
+      ImmutableSet.of(
+          LabelDescriptor.create("type", "Type of the pooled JAXB object."),
+          LabelDescriptor.create("outcome", "Whether the request was served from the pool."));
+
+  /** Metric counting pool requests, by object type and hit or miss. */
+  @VisibleForTesting
+  static final IncrementableMetric poolRequests =
+      MetricRegistryImpl.getDefault()
+          .newIncrementableMetric(
+              "/xml/jaxb_pool/requests",
+              "Count of requests for pooled JAXB marshallers and unmarshallers",
+              "count",
+              LABEL_DESCRIPTORS);
+
+  private final Type type;
+  private final Factory<T> factory;
+  private final BlockingQueue<T> idleObjects;
+
+  JaxbObjectPool(Type type, int maxIdle, Factory<T> factory) {
+    this.type = type;
+    this.factory = factory;
+    this.idleObjects = new ArrayBlockingQueue<>(maxIdle);
+  }
+
+  /** Returns an idle object from the pool, or a new one if the pool is empty. */
+  T borrow() throws JAXBException {
+    T object = idleObjects.poll();
+    if (object != null) {
+      poolRequests.increment(type.name(), "hit");
+      return object;
+    }
+    poolRequests.increment(type.name(), "miss");
+    return factory.create();
+  }
+
+  /** Returns an object to the pool, dropping it if the pool is already full. */
+  void release(T object) {
+    idleObjects.offer(object);
+  }
+
+  @VisibleForTesting
+  int idleCount() {
+    return idleObjects.size();
+  }
+}
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closer;
 import com.google.common.io.Resources;
+import google.registry.xml.JaxbObjectPool.Type;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
@@ -39,6 +40,7 @@ import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import javax.xml.XMLConstants;
 import javax.xml.stream.FactoryConfigurationError;
@@ -74,6 +76,17 @@ public class XmlTransformer {
   /** A {@link Schema} to validate XML. */
   private final Schema schema;
 
+  /** Maximum number of idle marshallers or unmarshallers kept by each pool. */
+  private static final int MAX_IDLE_POOLED_OBJECTS = 64;
+
+  /** Pool of {@link Unmarshaller}s with {@link #schema} and the event handler attached. */
+  private final JaxbObjectPool<Unmarshaller> unmarshallerPool =
+      new JaxbObjectPool<>(Type.UNMARSHALLER, MAX_IDLE_POOLED_OBJECTS, this::createUnmarshaller);
+
+  /** Pools of {@link Marshaller}s, one for each distinct marshaller configuration. */
+  private final ConcurrentHashMap<MarshallerConfig, JaxbObjectPool<Marshaller>> marshallerPools =
+      new ConcurrentHashMap<>();
+
   /**
    * Create a new XmlTransformer that validates using the given schemas, but uses the given classes
    * (rather than generated ones) for marshaling and unmarshaling.
@@ -143,8 +156,14 @@ public class XmlTransformer {
    */
   public <T> T unmarshal(Class<T> clazz, InputStream stream) throws XmlException {
     try (InputStream autoClosingStream = stream) {
-      return clazz.cast(getUnmarshaller().unmarshal(
-          XML_INPUT_FACTORY.createXMLStreamReader(new StreamSource(autoClosingStream, SYSTEM_ID))));
+      Unmarshaller unmarshaller = unmarshallerPool.borrow();
+      Object result =
+          unmarshaller.unmarshal(
+              XML_INPUT_FACTORY.createXMLStreamReader(
+                  new StreamSource(autoClosingStream, SYSTEM_ID)));
+      // Only unmarshallers that completed successfully go back into the pool.
+      unmarshallerPool.release(unmarshaller);
+      return clazz.cast(result);
     } catch (UnmarshalException e) {
       // Plain old parsing exceptions have a SAXParseException with no further cause.
       if (e.getLinkedException() instanceof SAXParseException sae
@@ -186,11 +205,13 @@ public class XmlTransformer {
    */
   public void marshal(Object root, Writer writer, ValidationMode validation) throws XmlException {
     try {
+      checkNotNull(root, "root");
+      checkNotNull(writer, "writer");
       // Omit XML declaration because character-oriented output prevents us from knowing.
-      getMarshaller(
-          STRICT.equals(validation) ? schema : null,
-          ImmutableMap.of(Marshaller.JAXB_FRAGMENT, true)).marshal(
-              checkNotNull(root, "root"), checkNotNull(writer, "writer"));
+      marshalWithPooledMarshaller(
+          STRICT.equals(validation),
+          ImmutableMap.of(Marshaller.JAXB_FRAGMENT, true),
+          marshaller -> marshaller.marshal(root, writer));
     } catch (JAXBException e) {
       throw new XmlException(e);
     }
@@ -214,10 +235,12 @@ public class XmlTransformer {
   public void marshal(Object root, OutputStream out, Charset charset, ValidationMode validation)
       throws XmlException {
     try {
-      getMarshaller(
-          STRICT.equals(validation) ? schema : null,
-          ImmutableMap.of(Marshaller.JAXB_ENCODING, charset.toString())).marshal(
-              checkNotNull(root, "root"), checkNotNull(out, "out"));
+      checkNotNull(root, "root");
+      checkNotNull(out, "out");
+      marshalWithPooledMarshaller(
+          STRICT.equals(validation),
+          ImmutableMap.of(Marshaller.JAXB_ENCODING, charset.toString()),
+          marshaller -> marshaller.marshal(root, out));
     } catch (JAXBException e) {
       throw new XmlException(e);
     }
@@ -237,8 +260,10 @@ public class XmlTransformer {
    */
   public void marshalStrict(Object root, Result result) throws XmlException {
     try {
-      getMarshaller(schema, ImmutableMap.of())
-          .marshal(checkNotNull(root, "root"), checkNotNull(result, "result"));
+      checkNotNull(root, "root");
+      checkNotNull(result, "result");
+      marshalWithPooledMarshaller(
+          true, ImmutableMap.of(), marshaller -> marshaller.marshal(root, result));
     } catch (JAXBException e) {
       throw new XmlException(e);
     }
@@ -271,8 +296,8 @@ public class XmlTransformer {
     return JAXBContext.newInstance(prefix + Joiner.on(':' + prefix).join(schemaNames));
   }
 
-  /** Get a {@link Unmarshaller} instance with the default configuration. */
-  private Unmarshaller getUnmarshaller() throws JAXBException {
+  /** Creates a {@link Unmarshaller} instance with the default configuration. */
+  private Unmarshaller createUnmarshaller() throws JAXBException {
     Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
     unmarshaller.setSchema(schema);
     // This handler was the default in JAXB 1.0. It fails on any exception thrown while
@@ -282,8 +307,42 @@ public class XmlTransformer {
     return unmarshaller;
   }
 
-  /** Get a {@link Marshaller} instance with the given configuration. */
-  private Marshaller getMarshaller(@Nullable Schema schemaParam, Map<String, ?> properties)
+  /** The configuration of a pooled {@link Marshaller}. */
+  private record MarshallerConfig(boolean validate, ImmutableMap<String, ?> properties) {}
+
+  /** A marshalling operation performed with a pooled {@link Marshaller}. */
+  @FunctionalInterface
+  private interface MarshalOperation {
+    void marshal(Marshaller marshaller) throws JAXBException;
+  }
+
+  /**
+   * Runs {@code operation} with a pooled {@link Marshaller} for the given configuration.
+   *
+   * @param validate whether the marshaller validates against {@link #schema}
+   * @param properties the marshaller properties to set, on top of formatted output
+   */
+  private void marshalWithPooledMarshaller(
+      boolean validate, ImmutableMap<String, ?> properties, MarshalOperation operation)
+      throws JAXBException {
+    JaxbObjectPool<Marshaller> pool =
+        marshallerPools.computeIfAbsent(
+            new MarshallerConfig(validate, properties),
+            config ->
+                new JaxbObjectPool<>(
+                    Type.MARSHALLER,
+                    MAX_IDLE_POOLED_OBJECTS,
+                    () ->
+                        createMarshaller(
+                            config.validate() ? schema : null, config.properties())));
+    Marshaller marshaller = pool.borrow();
+    operation.marshal(marshaller);
+    // Only marshallers that completed successfully go back into the pool.
+    pool.release(marshaller);
+  }
+
+  /** Creates a {@link Marshaller} instance with the given configuration. */
+  private Marshaller createMarshaller(@Nullable Schema schemaParam, Map<String, ?> properties)
       throws JAXBException {
     Marshaller marshaller = jaxbContext.createMarshaller();
     for (Map.Entry<String, ?> entry : properties.entrySet()) {
@@ -0,0 +1,102 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.batch;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static google.registry.testing.DatabaseHelper.createHistoryEntryForEppResource;
+import static google.registry.testing.DatabaseHelper.createTld;
+import static google.registry.testing.DatabaseHelper.persistActiveDomain;
+import static google.registry.testing.DatabaseHelper.persistResource;
+import static jakarta.servlet.http.HttpServletResponse.SC_OK;
+
+import google.registry.model.poll.PollMessage;
+import google.registry.model.poll.PollMessageCounts;
+import google.registry.model.reporting.HistoryEntry;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import google.registry.testing.FakeClock;
+import google.registry.testing.FakeResponse;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link ReconcilePollMessageCountsAction}. */
+class ReconcilePollMessageCountsActionTest {
+
+  private final FakeClock clock = new FakeClock(DateTime.parse("2026-06-13T20:21:22Z"));
+
+  @RegisterExtension
+  final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().withClock(clock).buildIntegrationTestExtension();
+
+  private final FakeResponse response = new FakeResponse();
+  private final ReconcilePollMessageCountsAction action =
+      new ReconcilePollMessageCountsAction(response);
+  private HistoryEntry historyEntry;
+
+  @BeforeEach
+  void beforeEach() {
+    createTld("tld");
+    historyEntry = createHistoryEntryForEppResource(persistActiveDomain("example.tld"));
+  }
+
+  private void persistPollMessage(String registrarId, DateTime eventTime) {
+    persistResource(
+        new PollMessage.OneTime.Builder()
+            .setRegistrarId(registrarId)
+            .setEventTime(eventTime)
+            .setMsg("Test poll message")
+            .setHistoryEntry(historyEntry)
+            .build());
+  }
+
+  private int getPendingCount(String registrarId) {
+    return tm().transact(() -> PollMessageCounts.getPendingCount(registrarId, clock.nowUtc()));
+  }
+
+  @Test
+  void testRun_noDrift() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("NewRegistrar", clock.nowUtc().minusDays(1));
+    action.run();
+    assertThat(response.getStatus()).isEqualTo(SC_OK);
+    assertThat(response.getPayload())
+        .isEqualTo("Reconciled poll message counts of 2 registrars, 0 of which had drifted.");
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+    assertThat(getPendingCount("NewRegistrar")).isEqualTo(1);
+  }
+
+  @Test
+  void testRun_fixesDrift() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("NewRegistrar", clock.nowUtc().minusDays(1));
+    // Simulates messages deleted with the triggers disabled.
+    tm().transact(
+            () ->
+                tm().getEntityManager()
+                    .createNativeQuery(
+                        "INSERT INTO \"PollMessageCount\" (registrar_id, event_date,"
+                            + " message_count) VALUES ('TheRegistrar', '2026-01-01', 7)")
+                    .executeUpdate());
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(8);
+    action.run();
+    assertThat(response.getPayload())
+        .isEqualTo("Reconciled poll message counts of 2 registrars, 1 of which had drifted.");
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+    assertThat(getPendingCount("NewRegistrar")).isEqualTo(1);
+  }
+}
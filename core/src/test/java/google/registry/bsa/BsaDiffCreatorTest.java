@@ -21,11 +21,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import google.registry.bsa.BsaDiffCreator.BsaDiff;
-import google.registry.bsa.BsaDiffCreator.Canonicals;
-import google.registry.bsa.BsaDiffCreator.LabelOrderPair;
 import google.registry.bsa.BsaDiffCreator.Line;
 import google.registry.bsa.api.BlockLabel;
 import google.registry.bsa.api.BlockLabel.LabelType;
@@ -35,6 +32,7 @@ import google.registry.bsa.persistence.DownloadSchedule;
 import google.registry.bsa.persistence.DownloadSchedule.CompletedJob;
 import google.registry.tldconfig.idn.IdnTableEnum;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -64,7 +62,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2", "test2,3", "test3,1;4"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.empty());
     BsaDiff diff = diffCreator.createDiff(schedule, idnChecker);
@@ -88,7 +86,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2", "test2,3", "test3,1;4"));
     when(gcsClient.readBlockList("first", BlockListType.BLOCK_PLUS))
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,5"));
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.empty());
     BsaDiff diff = diffCreator.createDiff(schedule, idnChecker);
@@ -114,7 +112,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2", "test2,3", "test3,1;4"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -131,7 +129,7 @@ class BsaDiffCreatorTest {
     when(gcsClient.readBlockList("second", BlockListType.BLOCK)).thenReturn(Stream.of());
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -158,7 +156,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2;5", "test2,3", "test3,1;4"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -179,7 +177,7 @@ class BsaDiffCreatorTest {
             Stream.of("domainLabel,orderIDs", "test1,1;2", "test2,3", "test3,1;4", "test4,5"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -197,7 +195,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2", "test2,3", "test3,1"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -214,7 +212,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,2", "test2,3", "test3,4"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -232,7 +230,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;2", "test3,1;4"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -251,7 +249,7 @@ class BsaDiffCreatorTest {
         .thenReturn(Stream.of("domainLabel,orderIDs", "test2,3"));
     when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
         .thenAnswer((ignore) -> Stream.of());
-    diffCreator = new BsaDiffCreator(gcsClient);
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
     when(schedule.jobName()).thenReturn("second");
     when(completedJob.jobName()).thenReturn("first");
     when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
@@ -267,6 +265,88 @@ class BsaDiffCreatorTest {
             BlockOrder.create(4, OrderType.DELETE));
   }
 
+  @Test
+  void labelInBothLists_orderMovedBetweenLists() {
+    when(idnChecker.getAllValidIdns(anyString())).thenReturn(ImmutableSet.of(IdnTableEnum.JA));
+    when(gcsClient.readBlockList("first", BlockListType.BLOCK))
+        .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1", "test2,2", "test3,3"));
+    when(gcsClient.readBlockList("first", BlockListType.BLOCK_PLUS))
+        .thenReturn(Stream.of("domainLabel,orderIDs", "test1,4", "test4,4"));
+    when(gcsClient.readBlockList("second", BlockListType.BLOCK))
+        .thenReturn(Stream.of("domainLabel,orderIDs", "test1,1;4", "test2,2", "test3,3;5"));
+    when(gcsClient.readBlockList("second", BlockListType.BLOCK_PLUS))
+        .thenReturn(Stream.of("domainLabel,orderIDs", "test5,5"));
+    diffCreator = new BsaDiffCreator(gcsClient, 2);
+    when(schedule.jobName()).thenReturn("second");
+    when(completedJob.jobName()).thenReturn("first");
+    when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
+    try (BsaDiff diff = diffCreator.createDiff(schedule, idnChecker)) {
+      assertThat(diff.getLabels())
+          .containsExactly(
+              BlockLabel.create("test3", LabelType.NEW_ORDER_ASSOCIATION, ImmutableSet.of("JA")),
+              BlockLabel.create("test4", LabelType.DELETE, ImmutableSet.of("JA")),
+              BlockLabel.create("test5", LabelType.CREATE, ImmutableSet.of("JA")));
+      assertThat(diff.getOrders())
+          .containsExactly(
+              BlockOrder.create(4, OrderType.DELETE), BlockOrder.create(5, OrderType.CREATE));
+    }
+  }
+
+  @Test
+  void largeLists_sortedInRuns() {
+    when(idnChecker.getAllValidIdns(anyString())).thenReturn(ImmutableSet.of());
+    // Labels are listed in reverse order, and each run holds only a fraction of them.
+    when(gcsClient.readBlockList("first", BlockListType.BLOCK))
+        .thenAnswer(
+            ignore ->
+                Stream.concat(
+                    Stream.of("domainLabel,orderIDs"),
+                    IntStream.iterate(999, i -> i >= 0, i -> i - 1)
+                        .mapToObj(i -> String.format("label%03d,%d", i, i % 10))));
+    when(gcsClient.readBlockList("second", BlockListType.BLOCK))
+        .thenAnswer(
+            ignore ->
+                Stream.concat(
+                    Stream.of("domainLabel,orderIDs"),
+                    IntStream.iterate(1009, i -> i >= 10, i -> i - 1)
+                        .mapToObj(i -> String.format("label%03d,%d", i, i % 10))));
+    when(gcsClient.readBlockList(anyString(), eq(BlockListType.BLOCK_PLUS)))
+        .thenAnswer((ignore) -> Stream.of());
+    diffCreator = new BsaDiffCreator(gcsClient, 64);
+    when(schedule.jobName()).thenReturn("second");
+    when(completedJob.jobName()).thenReturn("first");
+    when(schedule.latestCompleted()).thenReturn(Optional.of(completedJob));
+    try (BsaDiff diff = diffCreator.createDiff(schedule, idnChecker)) {
+      assertThat(diff.getLabels().filter(label -> label.labelType().equals(LabelType.CREATE)))
+          .containsExactlyElementsIn(
+              IntStream.range(1000, 1010)
+                  .mapToObj(
+                      i -> BlockLabel.create("label" + i, LabelType.CREATE, ImmutableSet.of()))
+                  .toList());
+      assertThat(diff.getLabels().filter(label -> label.labelType().equals(LabelType.DELETE)))
+          .containsExactlyElementsIn(
+              IntStream.range(0, 10)
+                  .mapToObj(
+                      i ->
+                          BlockLabel.create(
+                              String.format("label%03d", i), LabelType.DELETE, ImmutableSet.of()))
+                  .toList());
+      assertThat(diff.getLabels().count()).isEqualTo(20);
+      // Each order gains and loses one label, and is reported once per change despite spanning
+      // many runs.
+      assertThat(diff.getOrders())
+          .containsExactlyElementsIn(
+              IntStream.range(0, 10)
+                  .boxed()
+                  .flatMap(
+                      i ->
+                          Stream.of(
+                              BlockOrder.create(i, OrderType.CREATE),
+                              BlockOrder.create(i, OrderType.DELETE)))
+                  .toList());
+    }
+  }
+
   @Test
   void parseLine_singleOrder() {
     Line line = BsaDiffCreator.parseLine("testmark4,3008916894861");
@@ -290,19 +370,4 @@ class BsaDiffCreatorTest {
         .hasMessageThat()
         .contains("Invalid order id");
   }
-
-  @Test
-  void line_labelOrderPairs() {
-    Line line = Line.of("a", ImmutableList.of(1L, 2L, 3L));
-    assertThat(line.labelOrderPairs(new Canonicals<>()))
-        .containsExactly(
-            LabelOrderPair.of("a", 1L), LabelOrderPair.of("a", 2L), LabelOrderPair.of("a", 3L));
-  }
-
-  @Test
-  void canonicals_get() {
-    Canonicals<Long> canonicals = new Canonicals<>();
-    Long cvalue = canonicals.get(1L);
-    assertThat(canonicals.get(1L)).isSameInstanceAs(cvalue);
-  }
 }
@@ -91,7 +91,7 @@ class BsaDownloadFunctionalTest {
         new BsaDownloadAction(
             createDownloadScheduler(fakeClock),
             blockListFetcher,
-            new BsaDiffCreator(gcsClient),
+            new BsaDiffCreator(gcsClient, 1000),
             bsaReportSender,
             gcsClient,
             () -> new IdnChecker(fakeClock),
@@ -67,6 +67,7 @@ public class BsaRefreshActionTest {
             bsaReportSender,
             /* transactionBatchSize= */ 5,
             /* domainCreateTxnCommitTimeLag= */ Duration.millis(1),
+            /* setBasedRefresh= */ true,
             new BsaEmailSender(gmailClient, emailRecipient),
             bsaLock,
             fakeClock,
@@ -104,6 +104,7 @@ class BsaRefreshFunctionalTest {
             bsaReportSender,
             /* transactionBatchSize= */ 5,
             /* domainCreateTxnCommitTimeLag= */ Duration.millis(1),
+            /* setBasedRefresh= */ true,
             emailSender,
             new BsaLock(
                 new FakeLockHandler(/* lockSucceeds= */ true), Duration.standardSeconds(30)),
@@ -0,0 +1,98 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.bsa;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ExternalSorter}. */
+class ExternalSorterTest {
+
+  @Test
+  void sorted_inMemory() {
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.naturalOrder(), 10)) {
+      ImmutableList.of("c", "a", "b").forEach(sorter::add);
+      assertThat(sorter.sorted()).containsExactly("a", "b", "c").inOrder();
+      assertThat(sorter.getRunCount()).isEqualTo(0);
+    }
+  }
+
+  @Test
+  void sorted_empty() {
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.naturalOrder(), 10)) {
+      assertThat(sorter.sorted()).isEmpty();
+    }
+  }
+
+  @Test
+  void sorted_spillsRunsToDisk() {
+    List<String> lines =
+        IntStream.range(0, 1000).mapToObj(i -> String.format("line%04d", i)).toList();
+    List<String> shuffled = new ArrayList<>(lines);
+    Collections.shuffle(shuffled, new Random(42));
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.naturalOrder(), 64)) {
+      shuffled.forEach(sorter::add);
+      assertThat(sorter.getRunCount()).isEqualTo(15);
+      try (Stream<String> sorted = sorter.sorted()) {
+        assertThat(sorted).containsExactlyElementsIn(lines).inOrder();
+      }
+      // May be streamed again.
+      try (Stream<String> sorted = sorter.sorted()) {
+        assertThat(sorted).containsExactlyElementsIn(lines).inOrder();
+      }
+    }
+  }
+
+  @Test
+  void sorted_customComparator() {
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.comparing(String::length), 2)) {
+      ImmutableList.of("ccc", "a", "dddd", "bb").forEach(sorter::add);
+      try (Stream<String> sorted = sorter.sorted()) {
+        assertThat(sorted).containsExactly("a", "bb", "ccc", "dddd").inOrder();
+      }
+    }
+  }
+
+  @Test
+  void sortedDistinct_acrossRuns() {
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.naturalOrder(), 2)) {
+      ImmutableList.of("b", "a", "b", "c", "a", "b", "c").forEach(sorter::add);
+      try (Stream<String> sorted = sorter.sortedDistinct()) {
+        assertThat(sorted).containsExactly("a", "b", "c").inOrder();
+      }
+    }
+  }
+
+  @Test
+  void add_afterSorting_fails() {
+    try (ExternalSorter sorter = new ExternalSorter(Comparator.naturalOrder(), 10)) {
+      sorter.add("a");
+      sorter.sorted().close();
+      assertThat(assertThrows(IllegalStateException.class, () -> sorter.add("b")))
+          .hasMessageThat()
+          .contains("Cannot add lines after sorting");
+    }
+  }
+}
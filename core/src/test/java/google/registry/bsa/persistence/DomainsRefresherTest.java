@@ -26,6 +26,7 @@ import static google.registry.testing.DatabaseHelper.persistResource;
 import static google.registry.util.DateTimeUtils.START_OF_TIME;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import google.registry.bsa.api.UnblockableDomain;
 import google.registry.bsa.api.UnblockableDomainChange;
 import google.registry.bsa.persistence.BsaUnblockableDomain.Reason;
@@ -59,7 +60,8 @@ public class DomainsRefresherTest {
             .asBuilder()
             .setBsaEnrollStartTime(Optional.of(fakeClock.nowUtc().minusMillis(1)))
             .build());
-    refresher = new DomainsRefresher(START_OF_TIME, fakeClock.nowUtc(), Duration.ZERO, 100);
+    refresher = new DomainsRefresher(
+            START_OF_TIME, fakeClock.nowUtc(), Duration.ZERO, 100, /* setBasedRefresh= */ false);
   }
 
   @Test
@@ -144,4 +146,71 @@ public class DomainsRefresherTest {
                 new UnblockableDomain("label.tld", UnblockableDomain.Reason.RESERVED),
                 UnblockableDomain.Reason.REGISTERED));
   }
+
+  @Test
+  void setBasedRefresh_sameChangesAsPerNameRefresh() {
+    for (int i = 1; i <= 7; i++) {
+      persistBsaLabel("label" + i);
+    }
+    createReservedList(
+        "reservedList",
+        ImmutableMap.of(
+            "label3", RESERVED_FOR_SPECIFIC_USE, "label7", RESERVED_FOR_SPECIFIC_USE));
+    addReservedListsToTld("tld", ImmutableList.of("reservedList"));
+    tm().transact(
+            () ->
+                tm().insertAll(
+                        ImmutableList.of(
+                            BsaUnblockableDomain.of("label1.tld", Reason.REGISTERED),
+                            BsaUnblockableDomain.of("label2.tld", Reason.RESERVED),
+                            BsaUnblockableDomain.of("label3.tld", Reason.REGISTERED),
+                            BsaUnblockableDomain.of("label4.tld", Reason.RESERVED),
+                            BsaUnblockableDomain.of("label5.tld", Reason.REGISTERED))));
+    persistResource(newDomain("label4.tld"));
+    persistResource(newDomain("label5.tld"));
+    persistResource(newDomain("label6.tld"));
+    // A small batch size so that unblockables are read in several pages.
+    DomainsRefresher perNameRefresher =
+        new DomainsRefresher(
+            START_OF_TIME, fakeClock.nowUtc(), Duration.ZERO, 2, /* setBasedRefresh= */ false);
+    DomainsRefresher setBasedRefresher =
+        new DomainsRefresher(
+            START_OF_TIME, fakeClock.nowUtc(), Duration.ZERO, 2, /* setBasedRefresh= */ true);
+
+    assertThat(setBasedRefresher.refreshStaleUnblockablesInBulk())
+        .containsExactly(
+            UnblockableDomainChange.createDeleted(
+                new UnblockableDomain("label1.tld", UnblockableDomain.Reason.REGISTERED)),
+            UnblockableDomainChange.createDeleted(
+                new UnblockableDomain("label2.tld", UnblockableDomain.Reason.RESERVED)),
+            UnblockableDomainChange.createChanged(
+                new UnblockableDomain("label3.tld", UnblockableDomain.Reason.REGISTERED),
+                UnblockableDomain.Reason.RESERVED),
+            UnblockableDomainChange.createChanged(
+                new UnblockableDomain("label4.tld", UnblockableDomain.Reason.RESERVED),
+                UnblockableDomain.Reason.REGISTERED));
+    assertThat(setBasedRefresher.refreshStaleUnblockablesInBulk())
+        .containsExactlyElementsIn(perNameRefresher.refreshStaleUnblockables());
+
+    assertThat(setBasedRefresher.getNewUnblockablesInBulk())
+        .containsExactly(
+            UnblockableDomainChange.createChanged(
+                new UnblockableDomain("label4.tld", UnblockableDomain.Reason.RESERVED),
+                UnblockableDomain.Reason.REGISTERED),
+            UnblockableDomainChange.createNew(
+                new UnblockableDomain("label6.tld", UnblockableDomain.Reason.REGISTERED)),
+            UnblockableDomainChange.createNew(
+                new UnblockableDomain("label7.tld", UnblockableDomain.Reason.RESERVED)));
+    assertThat(setBasedRefresher.getNewUnblockablesInBulk())
+        .containsExactlyElementsIn(perNameRefresher.getNewUnblockables());
+  }
+
+  @Test
+  void setBasedRefresh_noUnblockables() {
+    DomainsRefresher setBasedRefresher =
+        new DomainsRefresher(
+            START_OF_TIME, fakeClock.nowUtc(), Duration.ZERO, 2, /* setBasedRefresh= */ true);
+    assertThat(setBasedRefresher.refreshStaleUnblockablesInBulk()).isEmpty();
+    assertThat(setBasedRefresher.getNewUnblockablesInBulk()).isEmpty();
+  }
 }
@@ -17,6 +17,8 @@ package google.registry.config;
 import static com.google.common.truth.Truth.assertThat;
 import static google.registry.config.RegistryConfig.CONFIG_SETTINGS;
 import static google.registry.config.RegistryConfig.ConfigModule.provideReservedTermsExportDisclaimer;
+import static google.registry.config.RegistryConfig.validateConfigSettings;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -28,4 +30,22 @@ class RegistryConfigTest {
     assertThat(provideReservedTermsExportDisclaimer(CONFIG_SETTINGS.get()))
         .isEqualTo("# Disclaimer line 1.\n" + "# Line 2 is this 1.");
   }
+
+  @Test
+  void testValidateConfigSettings_loadedConfigIsValid() {
+    RegistryConfigSettings config = CONFIG_SETTINGS.get();
+    assertThat(validateConfigSettings(config)).isSameInstanceAs(config);
+  }
+
+  @Test
+  void testFailure_validateConfigSettings_eppCommandLogSamplingRateZero() {
+    RegistryConfigSettings config = new RegistryConfigSettings();
+    config.registryPolicy = new RegistryConfigSettings.RegistryPolicy();
+    config.registryPolicy.eppCommandLogSamplingRate = 0;
+    IllegalArgumentException thrown =
+        assertThrows(IllegalArgumentException.class, () -> validateConfigSettings(config));
+    assertThat(thrown)
+        .hasMessageThat()
+        .isEqualTo("registryPolicy.eppCommandLogSamplingRate must be at least 1, found 0");
+  }
 }
@@ -108,6 +108,24 @@ public class DnsUtilsTest {
     assertRequest(request, TargetType.DOMAIN, domainName, tld, clock.nowUtc().plusMinutes(3));
   }
 
+  @Test
+  void testSuccess_dropsDuplicateNamesWithinRequest() {
+    tm().transact(() -> requestDomainDnsRefresh(ImmutableList.of(domainName, domainName)));
+    DnsRefreshRequest request = Iterables.getOnlyElement(loadAllOf(DnsRefreshRequest.class));
+    assertRequest(request, TargetType.DOMAIN, domainName, tld, clock.nowUtc());
+  }
+
+  @Test
+  void testSuccess_keepsRepeatedRequests() {
+    // Requests are only ever inserted, so that concurrent flows don't conflict; duplicates are
+    // combined when the requests are read for publishing.
+    tm().transact(() -> requestDomainDnsRefresh(domainName));
+    clock.advanceOneMilli();
+    tm().transact(() -> requestDomainDnsRefresh(domainName));
+    tm().transact(() -> requestHostDnsRefresh(domainName));
+    assertThat(loadAllOf(DnsRefreshRequest.class)).hasSize(3);
+  }
+
   @Test
   void testSuccess_ProcessRequests() {
     ImmutableList<DnsRefreshRequest> requests = processRequests();
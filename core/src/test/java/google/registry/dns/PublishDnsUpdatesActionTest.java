@@ -43,6 +43,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import dagger.Lazy;
@@ -173,7 +174,7 @@ public class PublishDnsUpdatesActionTest {
         createAction("xn--q9jyb4c", ImmutableSet.of(), ImmutableSet.of("ns1.example.xn--q9jyb4c"));
     action.run();
 
-    verify(dnsWriter).publishHost("ns1.example.xn--q9jyb4c");
+    verify(dnsWriter).publishHosts(ImmutableList.of("ns1.example.xn--q9jyb4c"));
     verify(dnsWriter).commit();
     verifyNoMoreInteractions(dnsWriter);
     verify(dnsMetrics).incrementPublishDomainRequests("xn--q9jyb4c", 0, PublishStatus.ACCEPTED);
@@ -200,7 +201,7 @@ public class PublishDnsUpdatesActionTest {
     action = createAction("xn--q9jyb4c", ImmutableSet.of("example.xn--q9jyb4c"), ImmutableSet.of());
     action.run();
 
-    verify(dnsWriter).publishDomain("example.xn--q9jyb4c");
+    verify(dnsWriter).publishDomains(ImmutableList.of("example.xn--q9jyb4c"));
     verify(dnsWriter).commit();
     verifyNoMoreInteractions(dnsWriter);
     verify(dnsMetrics).incrementPublishDomainRequests("xn--q9jyb4c", 1, PublishStatus.ACCEPTED);
@@ -455,11 +456,9 @@ public class PublishDnsUpdatesActionTest {
 
     action.run();
 
-    verify(dnsWriter).publishDomain("example.xn--q9jyb4c");
-    verify(dnsWriter).publishDomain("example2.xn--q9jyb4c");
-    verify(dnsWriter).publishHost("ns1.example.xn--q9jyb4c");
-    verify(dnsWriter).publishHost("ns2.example.xn--q9jyb4c");
-    verify(dnsWriter).publishHost("ns1.example2.xn--q9jyb4c");
+    verify(dnsWriter)
+        .publishDomains(ImmutableList.of("example.xn--q9jyb4c", "example2.xn--q9jyb4c"));
+    verify(dnsWriter).publishHosts(hosts.asList());
     verify(dnsWriter).commit();
     verifyNoMoreInteractions(dnsWriter);
     verify(dnsMetrics).incrementPublishDomainRequests("xn--q9jyb4c", 2, PublishStatus.ACCEPTED);
@@ -256,4 +256,25 @@ public class ReadDnsRefreshRequestsActionTest {
                   .isAtMost(Duration.standardSeconds(jitterSeconds.get()));
             });
   }
+
+  @Test
+  void testSuccess_enqueueTasks_duplicateRequests() {
+    action.enqueueUpdates(
+        2,
+        3,
+        new ImmutableList.Builder<DnsRefreshRequest>()
+            .addAll(requests)
+            .add(new DnsRefreshRequest(TargetType.DOMAIN, "domain.tld", "tld", clock.nowUtc()))
+            .build());
+    cloudTasksHelper.assertTasksEnqueued(
+        "dns-publish",
+        new TaskMatcher()
+            .param("dnsWriter", "FooWriter")
+            .param("domains", "domain.tld,future.tld")
+            .param("hosts", "ns1.domain.tld"),
+        new TaskMatcher()
+            .param("dnsWriter", "BarWriter")
+            .param("domains", "domain.tld,future.tld")
+            .param("hosts", "ns1.domain.tld"));
+  }
 }
@@ -358,6 +358,42 @@ public class CloudDnsWriterTest {
     verifyZone(fakeDomainRecords("example.tld", 0, 0, 1, 1));
   }
 
+  @Test
+  void testPublishDomains_loadsAllDomains() {
+    persistResource(
+        fakeDomain(
+                "example1.tld",
+                ImmutableSet.of(persistResource(fakeHost("0.ip4.example1.tld", IPv4))),
+                0)
+            .asBuilder()
+            .addSubordinateHost("0.ip4.example1.tld")
+            .build());
+    persistResource(
+        fakeDomain("example2.tld", ImmutableSet.of(persistResource(fakeHost("0.external"))), 1));
+    writer.publishDomains(ImmutableList.of("example1.tld", "example2.tld"));
+
+    verifyZone(
+        Sets.union(
+                fakeDomainRecords("example1.tld", 1, 0, 0, 0),
+                fakeDomainRecords("example2.tld", 0, 0, 1, 1))
+            .immutableCopy());
+  }
+
+  @Test
+  void testPublishHosts_loadsSuperordinateDomains() {
+    persistResource(
+        fakeDomain(
+                "example.tld",
+                ImmutableSet.of(persistResource(fakeHost("0.ip4.example.tld", IPv4))),
+                0)
+            .asBuilder()
+            .addSubordinateHost("0.ip4.example.tld")
+            .build());
+    writer.publishHosts(ImmutableList.of("0.ip4.example.tld"));
+
+    verifyZone(fakeDomainRecords("example.tld", 1, 0, 0, 0));
+  }
+
   @Test
   void testLoadDomain_withInBailiwickNs_IPv4() {
     persistResource(
@@ -183,6 +183,79 @@ public class DnsUpdateWriterTest {
     assertThatTotalUpdateSetsIs(update, 4); // The delete and NS sets for each TLD
   }
 
+  @Test
+  void testPublishDomains_publishesAllDomains() throws Exception {
+    Host host1 = persistActiveHost("ns.example1.tld");
+    persistResource(
+        persistActiveDomain("example1.tld")
+            .asBuilder()
+            .setNameservers(ImmutableSet.of(host1.createVKey()))
+            .build());
+    Host host2 = persistActiveHost("ns.example2.tld");
+    persistResource(
+        persistActiveDomain("example2.tld")
+            .asBuilder()
+            .setNameservers(ImmutableSet.of(host1.createVKey(), host2.createVKey()))
+            .build());
+
+    writer.publishDomains(ImmutableList.of("example1.tld", "example2.tld", "missing.tld"));
+    writer.commit();
+
+    verify(mockResolver).send(updateCaptor.capture());
+    Update update = updateCaptor.getValue();
+    assertThatUpdatedZoneIs(update, "tld.");
+    assertThatUpdateDeletes(update, "example1.tld.", Type.ANY);
+    assertThatUpdateDeletes(update, "example2.tld.", Type.ANY);
+    assertThatUpdateDeletes(update, "missing.tld.", Type.ANY);
+    assertThatUpdateAdds(
+        update, "example1.tld.", Type.NS, Duration.ZERO.getStandardSeconds(), "ns.example1.tld.");
+    assertThatUpdateAdds(
+        update,
+        "example2.tld.",
+        Type.NS,
+        Duration.ZERO.getStandardSeconds(),
+        "ns.example1.tld.",
+        "ns.example2.tld.");
+    assertThatTotalUpdateSetsIs(update, 5); // The three deletes and two NS sets
+  }
+
+  @Test
+  void testPublishHosts_publishesSuperordinateDomainsWithGlue() throws Exception {
+    for (int i = 1; i <= 2; i++) {
+      Host host =
+          persistResource(
+              newHost(String.format("ns.example%d.tld", i))
+                  .asBuilder()
+                  .setInetAddresses(
+                      ImmutableSet.of(InetAddresses.forString(String.format("10.0.0.%d", i))))
+                  .build());
+      persistResource(
+          DatabaseHelper.newDomain(String.format("example%d.tld", i))
+              .asBuilder()
+              .addSubordinateHost(host.getHostName())
+              .addNameserver(host.createVKey())
+              .build());
+    }
+
+    writer.publishHosts(ImmutableList.of("ns.example1.tld", "ns.example2.tld"));
+    writer.commit();
+
+    verify(mockResolver).send(updateCaptor.capture());
+    Update update = updateCaptor.getValue();
+    assertThatUpdatedZoneIs(update, "tld.");
+    for (int i = 1; i <= 2; i++) {
+      String domainName = String.format("example%d.tld.", i);
+      String hostName = String.format("ns.example%d.tld.", i);
+      assertThatUpdateDeletes(update, domainName, Type.ANY);
+      assertThatUpdateDeletes(update, hostName, Type.ANY);
+      assertThatUpdateAdds(
+          update, hostName, Type.A, Duration.ZERO.getStandardSeconds(), "10.0.0." + i);
+      assertThatUpdateAdds(
+          update, domainName, Type.NS, Duration.ZERO.getStandardSeconds(), hostName);
+    }
+    assertThatTotalUpdateSetsIs(update, 8); // The four deletes, two A and two NS sets
+  }
+
   @Test
   void testPublishDomainCreate_publishesDelegationSigner_usesDefaultTtl() throws Exception {
     Domain domain =
@@ -423,6 +496,34 @@ public class DnsUpdateWriterTest {
     assertThatTotalUpdateSetsIs(update, 3);
   }
 
+  @Test
+  void testPublishDomain_skipsGlueRecordsOfDeletedSubordinateHost() throws Exception {
+    Host host =
+        persistResource(
+            persistDeletedHost("ns1.example.tld", clock.nowUtc().minusDays(1))
+                .asBuilder()
+                .setInetAddresses(ImmutableSet.of(InetAddresses.forString("10.0.0.1")))
+                .build());
+    persistResource(
+        persistActiveDomain("example.tld")
+            .asBuilder()
+            .addSubordinateHost(host.getHostName())
+            .setNameservers(ImmutableSet.of(host.createVKey()))
+            .build());
+
+    writer.publishDomain("example.tld");
+    writer.commit();
+
+    verify(mockResolver).send(updateCaptor.capture());
+    Update update = updateCaptor.getValue();
+    assertThatUpdatedZoneIs(update, "tld.");
+    assertThatUpdateDeletes(update, "example.tld.", Type.ANY);
+    assertThatUpdateDeletes(update, "ns1.example.tld.", Type.ANY);
+    assertThatUpdateAdds(
+        update, "example.tld.", Type.NS, Duration.ZERO.getStandardSeconds(), "ns1.example.tld.");
+    assertThatTotalUpdateSetsIs(update, 3); // The two deletes and the NS set, but no A set
+  }
+
   @Test
   void testPublishDomainExternalAndInBailiwickNameServer() throws Exception {
     Host externalNameserver = persistResource(newHost("ns1.example.com"));
@@ -40,11 +40,13 @@ import google.registry.model.eppoutput.EppResponse;
 import google.registry.model.eppoutput.Result;
 import google.registry.model.eppoutput.Result.Code;
 import google.registry.monitoring.whitebox.EppMetric;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import google.registry.persistence.transaction.JpaTestExtensions;
 import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
 import google.registry.testing.FakeClock;
 import google.registry.util.Clock;
 import google.registry.xml.ValidationMode;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.LogRecord;
@@ -56,6 +58,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -149,9 +152,44 @@ class EppControllerTest {
         true,
         domainCreateXml.getBytes(UTF_8));
 
-    EppMetric expectedMetric = metricBuilder.build();
-    verify(eppMetrics).incrementEppRequests(eq(expectedMetric));
+    ArgumentCaptor<EppMetric> metricCaptor = ArgumentCaptor.forClass(EppMetric.class);
+    verify(eppMetrics).incrementEppRequests(metricCaptor.capture());
+    // The phase times are measured on the system ticker, so only their presence can be checked.
+    assertThat(metricCaptor.getValue().getPhaseTimes().keySet()).containsExactly(Phase.UNMARSHAL);
+    EppMetric expectedMetric =
+        metricBuilder
+            .addPhaseTime(
+                Phase.UNMARSHAL, metricCaptor.getValue().getPhaseTimes().get(Phase.UNMARSHAL))
+            .build();
+    assertThat(metricCaptor.getValue()).isEqualTo(expectedMetric);
     verify(eppMetrics).recordProcessingTime(eq(expectedMetric));
+    verify(eppMetrics).recordPhaseTimes(eq(expectedMetric));
+  }
+
+  @Test
+  void testRecordMarshalTime_afterExportedCommand_recordsPhase() {
+    eppController.handleEppCommand(
+        sessionMetadata,
+        transportCredentials,
+        EppRequestSource.UNIT_TEST,
+        false,
+        true,
+        domainCreateXml.getBytes(UTF_8));
+    eppController.recordMarshalTime(Duration.ofMillis(3));
+    verify(eppMetrics).recordPhaseTime("", Phase.MARSHAL, Duration.ofMillis(3));
+  }
+
+  @Test
+  void testRecordMarshalTime_afterDryRun_recordsNothing() {
+    eppController.handleEppCommand(
+        sessionMetadata,
+        transportCredentials,
+        EppRequestSource.UNIT_TEST,
+        true,
+        true,
+        domainCreateXml.getBytes(UTF_8));
+    eppController.recordMarshalTime(Duration.ofMillis(3));
+    verifyNoInteractions(eppMetrics);
   }
 
   @Test
@@ -15,6 +15,7 @@
 package google.registry.flows;
 
 import static com.google.common.truth.Truth.assertThat;
+import static google.registry.flows.EppXmlSanitizer.sanitizeAndPrettyPrintEppXml;
 import static google.registry.flows.EppXmlSanitizer.sanitizeEppXml;
 import static google.registry.testing.TestDataHelper.loadBytes;
 import static google.registry.xml.XmlTestUtils.assertXmlEqualsIgnoreHeader;
@@ -127,4 +128,40 @@ class EppXmlSanitizerTest {
 
     assertThat(sanitizedXml).isEqualTo(inputXml);
   }
+
+  @Test
+  void testSanitizeAndPrettyPrint_indentsAndMasks() {
+    byte[] inputXmlBytes =
+        ("<epp xmlns=\"urn:ietf:params:xml:ns:epp-1.0\"><command><login>"
+                + "<clID>TheRegistrar</clID>  <pw>secret</pw><options/></login></command></epp>")
+            .getBytes(UTF_8);
+    assertThat(sanitizeAndPrettyPrintEppXml(inputXmlBytes))
+        .isEqualTo(
+            """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <epp xmlns="urn:ietf:params:xml:ns:epp-1.0">
+              <command>
+                <login>
+                  <clID>TheRegistrar</clID>
+                  <pw>******</pw>
+                  <options/>
+                </login>
+              </command>
+            </epp>
+            """);
+  }
+
+  @Test
+  void testSanitizeAndPrettyPrint_matchesPrettyPrintedSanitizedXml() throws Exception {
+    byte[] inputXmlBytes = loadBytes(getClass(), "contact_info.xml").read();
+    assertXmlEqualsIgnoreHeader(
+        sanitizeEppXml(inputXmlBytes), sanitizeAndPrettyPrintEppXml(inputXmlBytes));
+  }
+
+  @Test
+  void testSanitizeAndPrettyPrint_invalidXml_encodedToBase64() {
+    byte[] inputXmlBytes = "<pw>".getBytes(UTF_8);
+    assertThat(sanitizeAndPrettyPrintEppXml(inputXmlBytes))
+        .isEqualTo(Base64.getMimeEncoder().encodeToString(inputXmlBytes));
+  }
 }
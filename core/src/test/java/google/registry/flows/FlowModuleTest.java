@@ -59,6 +59,8 @@ public class FlowModuleTest {
   @Test
   void givenNonMutatingFlow_thenReplicaTmIsUsed() throws EppException {
     String eppInputXmlFilename = "domain_check.xml";
+    // The lag is otherwise measured in the background, and the primary used until it is known.
+    ReplicaStalenessGuard.refreshReplicaLag();
     FlowModule flowModule =
         new FlowModule.Builder().setEppInput(getEppInput(eppInputXmlFilename)).build();
     JpaTransactionManager tm =
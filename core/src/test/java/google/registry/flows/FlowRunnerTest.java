@@ -21,9 +21,13 @@ import static google.registry.testing.TestDataHelper.loadFile;
 import static google.registry.testing.TestLogHandlerUtils.findFirstLogMessageByPrefix;
 import static google.registry.util.DateTimeUtils.START_OF_TIME;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
@@ -33,15 +37,20 @@ import com.google.common.net.InetAddresses;
 import com.google.common.testing.TestLogHandler;
 import google.registry.flows.certs.CertificateChecker;
 import google.registry.model.eppcommon.Trid;
+import google.registry.model.eppinput.EppInput;
 import google.registry.model.eppoutput.EppOutput.ResponseOrGreeting;
 import google.registry.model.eppoutput.EppResponse;
 import google.registry.monitoring.whitebox.EppMetric;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import google.registry.persistence.PersistenceModule.TransactionIsolationLevel;
 import google.registry.persistence.transaction.JpaTestExtensions;
 import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import google.registry.persistence.transaction.JpaTransactionManager;
+import google.registry.persistence.transaction.TransactionManagerFactory;
 import google.registry.testing.FakeClock;
 import google.registry.testing.FakeHttpSession;
 import google.registry.util.JdkLoggerConfig;
+import jakarta.persistence.PersistenceException;
 import java.util.List;
 import java.util.Optional;
 import org.joda.time.DateTime;
@@ -110,8 +119,10 @@ class FlowRunnerTest {
     flowRunner.sessionMetadata =
         new StatelessRequestSessionMetadata("TheRegistrar", ImmutableSet.of());
     flowRunner.trid = Trid.create("client-123", "server-456");
+    flowRunner.eppInput = mock(EppInput.class);
     flowRunner.flowReporter = mock(FlowReporter.class);
     flowRunner.jpaTransactionManager = tm();
+    flowRunner.eppCommandLogSamplingRate = 1;
   }
 
   @Test
@@ -129,6 +140,24 @@ class FlowRunnerTest {
     assertThat(eppMetricBuilder.build().getCommandName()).hasValue("TestTransactional");
   }
 
+  @Test
+  void testRun_nonTransactionalCommand_recordsFlowPhase() throws Exception {
+    flowRunner.run(eppMetricBuilder);
+    assertThat(eppMetricBuilder.build().getPhaseTimes().keySet())
+        .containsNoneOf(Phase.SESSION, Phase.SQL, Phase.COMMIT);
+    assertThat(eppMetricBuilder.build().getPhaseTimes()).containsKey(Phase.FLOW);
+  }
+
+  @Test
+  void testRun_transactionalCommand_recordsTransactionPhases() throws Exception {
+    flowRunner.isTransactional = true;
+    flowRunner.flowClass = TestTransactionalFlow.class;
+    flowRunner.flowProvider = () -> new TestTransactionalFlow(Optional.empty());
+    flowRunner.run(eppMetricBuilder);
+    assertThat(eppMetricBuilder.build().getPhaseTimes().keySet())
+        .containsAtLeast(Phase.FLOW, Phase.SQL, Phase.COMMIT);
+  }
+
   @Test
   void testRun_transactionalCommand_isolationLevelOverride() throws Exception {
     flowRunner.isTransactional = true;
@@ -140,6 +169,35 @@ class FlowRunnerTest {
     assertThat(eppMetricBuilder.build().getCommandName()).hasValue("TestTransactional");
   }
 
+  @Test
+  void testRun_replicaFails_retriesOnPrimary() throws Exception {
+    JpaTransactionManager replica = mock(JpaTransactionManager.class);
+    when(replica.transact(any(), any(), anyBoolean()))
+        .thenThrow(new PersistenceException("Connection refused"));
+    flowRunner.jpaTransactionManager = replica;
+    flowRunner.isTransactional = true;
+    flowRunner.flowClass = TestTransactionalFlow.class;
+    flowRunner.flowProvider = () -> new TestTransactionalFlow(Optional.empty());
+    flowRunner.run(eppMetricBuilder);
+    assertThat(eppMetricBuilder.build().getCommandName()).hasValue("TestTransactional");
+    assertThat(findFirstLogMessageByPrefix(handler, "Failed to run "))
+        .isEqualTo("TestTransactionalFlow on the replica, retrying on the primary.");
+  }
+
+  @Test
+  void testRun_primaryFails_doesNotRetry() {
+    JpaTransactionManager primary = mock(JpaTransactionManager.class);
+    when(primary.transact(any(), any(), anyBoolean()))
+        .thenThrow(new PersistenceException("Connection refused"));
+    TransactionManagerFactory.setJpaTm(() -> primary);
+    flowRunner.jpaTransactionManager = primary;
+    flowRunner.isTransactional = true;
+    flowRunner.flowClass = TestTransactionalFlow.class;
+    flowRunner.flowProvider = () -> new TestTransactionalFlow(Optional.empty());
+    assertThrows(PersistenceException.class, () -> flowRunner.run(eppMetricBuilder));
+    verify(primary).transact(any(), any(), anyBoolean());
+  }
+
   @Test
   void testRun_callsFlowReporterOnce() throws Exception {
     flowRunner.run(eppMetricBuilder);
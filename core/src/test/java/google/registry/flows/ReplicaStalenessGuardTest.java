@@ -0,0 +1,69 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import google.registry.flows.ReplicaStalenessGuard.LagMeasurement;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link ReplicaStalenessGuard}. */
+class ReplicaStalenessGuardTest {
+
+  @RegisterExtension
+  final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().buildIntegrationTestExtension();
+
+  @Test
+  void testMeasureReplicaLag_notAReplica_isZero() {
+    assertThat(ReplicaStalenessGuard.measureReplicaLag()).hasValue(Duration.ZERO);
+  }
+
+  @Test
+  void testIsReplicaUsable_notAReplica() {
+    ReplicaStalenessGuard.refreshReplicaLag();
+    assertThat(ReplicaStalenessGuard.isReplicaUsable(Duration.ZERO)).isTrue();
+  }
+
+  @Test
+  void testLagIfRecent() {
+    long now = System.nanoTime();
+    Optional<Duration> lag = Optional.of(Duration.standardSeconds(2));
+    assertThat(new LagMeasurement(lag, now).lagIfRecent(now)).isEqualTo(lag);
+    assertThat(new LagMeasurement(lag, now - TimeUnit.SECONDS.toNanos(5)).lagIfRecent(now))
+        .isEqualTo(lag);
+    assertThat(new LagMeasurement(lag, now - TimeUnit.SECONDS.toNanos(6)).lagIfRecent(now))
+        .isEmpty();
+    assertThat(new LagMeasurement(Optional.empty(), now).lagIfRecent(now)).isEmpty();
+  }
+
+  @Test
+  void testIsLagAcceptable() {
+    Duration maxLag = Duration.standardSeconds(5);
+    assertThat(ReplicaStalenessGuard.isLagAcceptable(Optional.of(Duration.ZERO), maxLag)).isTrue();
+    assertThat(ReplicaStalenessGuard.isLagAcceptable(Optional.of(maxLag), maxLag)).isTrue();
+    assertThat(
+            ReplicaStalenessGuard.isLagAcceptable(
+                Optional.of(Duration.standardSeconds(6)), maxLag))
+        .isFalse();
+    assertThat(ReplicaStalenessGuard.isLagAcceptable(Optional.empty(), maxLag)).isFalse();
+  }
+}
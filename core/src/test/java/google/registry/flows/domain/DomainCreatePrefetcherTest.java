@@ -0,0 +1,104 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.flows.domain;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.testing.DatabaseHelper.createTld;
+import static google.registry.testing.DatabaseHelper.persistResource;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import google.registry.model.domain.token.AllocationTokenExtension;
+import google.registry.model.eppinput.EppInput;
+import google.registry.model.tld.Tld;
+import google.registry.model.tld.Tld.TldNotFoundException;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import google.registry.testing.FakeClock;
+import java.util.Optional;
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link DomainCreatePrefetcher}. */
+class DomainCreatePrefetcherTest {
+
+  private final FakeClock clock = new FakeClock(DateTime.parse("2026-06-13T20:21:22Z"));
+
+  @RegisterExtension
+  final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().withClock(clock).buildIntegrationTestExtension();
+
+  private static final Duration TIMEOUT = Duration.standardSeconds(10);
+
+  private final EppInput eppInput = mock(EppInput.class);
+  private Tld tld;
+
+  @BeforeEach
+  void beforeEach() {
+    tld = createTld("tld");
+    createTld("other");
+    when(eppInput.getSingleExtension(AllocationTokenExtension.class)).thenReturn(Optional.empty());
+  }
+
+  private DomainCreatePrefetcher createPrefetcher(String domainName, Duration timeout) {
+    return new DomainCreatePrefetcher(domainName, "TheRegistrar", eppInput, timeout);
+  }
+
+  @Test
+  void testPrefetch_keepsSnapshotOfTld() {
+    DomainCreatePrefetcher prefetcher = createPrefetcher("example.tld", TIMEOUT);
+    prefetcher.prefetch();
+    persistResource(tld.asBuilder().setAddGracePeriodLength(Duration.standardDays(2)).build());
+    assertThat(prefetcher.getTld("tld").getAddGracePeriodLength())
+        .isEqualTo(tld.getAddGracePeriodLength());
+    assertThat(Tld.get("tld").getAddGracePeriodLength()).isEqualTo(Duration.standardDays(2));
+  }
+
+  @Test
+  void testGetTld_otherTld_isLoaded() {
+    DomainCreatePrefetcher prefetcher = createPrefetcher("example.tld", TIMEOUT);
+    prefetcher.prefetch();
+    assertThat(prefetcher.getTld("other").getTldStr()).isEqualTo("other");
+    assertThat(prefetcher.getClaimsList("other")).isNotNull();
+  }
+
+  @Test
+  void testGetTld_notPrefetched_isLoaded() {
+    DomainCreatePrefetcher prefetcher = createPrefetcher("example.tld", Duration.ZERO);
+    prefetcher.prefetch();
+    persistResource(tld.asBuilder().setAddGracePeriodLength(Duration.standardDays(2)).build());
+    assertThat(prefetcher.getTld("tld").getAddGracePeriodLength())
+        .isEqualTo(Duration.standardDays(2));
+    assertThat(prefetcher.getClaimsList("tld")).isNotNull();
+  }
+
+  @Test
+  void testPrefetch_unknownTld_isIgnored() {
+    DomainCreatePrefetcher prefetcher = createPrefetcher("example.unknown", TIMEOUT);
+    prefetcher.prefetch();
+    assertThrows(TldNotFoundException.class, () -> prefetcher.getTld("unknown"));
+  }
+
+  @Test
+  void testPrefetch_invalidName_isIgnored() {
+    DomainCreatePrefetcher prefetcher = createPrefetcher("-invalid-", TIMEOUT);
+    prefetcher.prefetch();
+    assertThat(prefetcher.getTld("tld").getTldStr()).isEqualTo("tld");
+  }
+}
@@ -22,6 +22,7 @@ import static google.registry.util.DateTimeUtils.END_OF_TIME;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.common.collect.ImmutableMap;
+import google.registry.config.RegistryConfig;
 import google.registry.flows.FlowTestCase;
 import google.registry.flows.poll.PollAckFlow.InvalidMessageIdException;
 import google.registry.flows.poll.PollAckFlow.MessageDoesNotExistException;
@@ -122,6 +123,26 @@ class PollAckFlowTest extends FlowTestCase<PollAckFlow> {
         loadFile("poll_ack_response.xml", ImmutableMap.of("MSGID", "3-2011", "COUNT", "4")));
   }
 
+  @Test
+  void testSuccess_moreMessages_pollMessageCountsEnabled() throws Exception {
+    RegistryConfig.overridePollMessageCountsEnabledForTesting(true);
+    try {
+      testSuccess_moreMessages();
+    } finally {
+      RegistryConfig.overridePollMessageCountsEnabledForTesting(false);
+    }
+  }
+
+  @Test
+  void testSuccess_oldActiveAutorenew_pollMessageCountsEnabled() throws Exception {
+    RegistryConfig.overridePollMessageCountsEnabledForTesting(true);
+    try {
+      testSuccess_oldActiveAutorenew();
+    } finally {
+      RegistryConfig.overridePollMessageCountsEnabledForTesting(false);
+    }
+  }
+
   @Test
   void testFailure_noSuchMessage() throws Exception {
     assertMutatingFlow(true);
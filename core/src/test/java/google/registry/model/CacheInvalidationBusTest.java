@@ -0,0 +1,163 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static google.registry.testing.DatabaseHelper.createTld;
+import static google.registry.testing.DatabaseHelper.deleteTld;
+import static google.registry.testing.DatabaseHelper.persistResource;
+
+import google.registry.model.tld.Tld;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link CacheInvalidationBus}. */
+class CacheInvalidationBusTest {
+
+  @RegisterExtension
+  final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().buildIntegrationTestExtension();
+
+  private final List<String> invalidatedTlds = new ArrayList<>();
+  private final Consumer<String> invalidator = invalidatedTlds::add;
+
+  @BeforeEach
+  void beforeEach() {
+    CacheInvalidationBus.resetForTest();
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.subscribe("Tld", invalidator);
+  }
+
+  @AfterEach
+  void afterEach() {
+    CacheInvalidationBus.unsubscribe("Tld", invalidator);
+  }
+
+  @Test
+  void testPoll_dispatchesInsertsUpdatesAndDeletes() {
+    Tld tld = createTld("tld");
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld");
+
+    persistResource(tld.asBuilder().setDnsPaused(true).build());
+    deleteTld("tld");
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld", "tld", "tld").inOrder();
+  }
+
+  @Test
+  void testPoll_skipsChangesSeenByPreviousPoll() {
+    createTld("tld");
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld");
+  }
+
+  @Test
+  void testPoll_ignoresOtherTables() {
+    createTld("tld");
+    CacheInvalidationBus.unsubscribe("Tld", invalidator);
+    CacheInvalidationBus.subscribe("ReservedList", invalidator);
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.unsubscribe("ReservedList", invalidator);
+    assertThat(invalidatedTlds).isEmpty();
+  }
+
+  @Test
+  void testPoll_picksUpChangesCommittedOutOfOrder() {
+    createTld("tld");
+    CacheInvalidationBus.poll();
+    long lastId = getLastId();
+    // The change with the lower id commits last, as it would in a longer transaction.
+    insertChange(lastId + 2, "second");
+    CacheInvalidationBus.poll();
+    insertChange(lastId + 1, "first");
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld", "second", "first").inOrder();
+  }
+
+  @Test
+  void testPoll_replaysRecentChangesOnStartup() {
+    createTld("tld");
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.resetForTest();
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld", "tld");
+  }
+
+  @Test
+  void testPoll_startsAfterLastIdWhenTableIsEmpty() {
+    createTld("tld");
+    // The table is emptied by pruning once no changes were made for a while.
+    tm().transact(
+            () ->
+                tm().getEntityManager()
+                    .createNativeQuery("DELETE FROM \"CacheInvalidation\"")
+                    .executeUpdate());
+    CacheInvalidationBus.resetForTest();
+    CacheInvalidationBus.poll();
+    createTld("other");
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("other");
+    assertThat(CacheInvalidationBus.getMissingIdCountForTest()).isEqualTo(0);
+  }
+
+  @Test
+  void testPoll_limitsMissingIds() {
+    createTld("tld");
+    CacheInvalidationBus.poll();
+    long lastId = getLastId();
+    insertChange(lastId + 1, "first");
+    insertChange(lastId + 5000, "last");
+    CacheInvalidationBus.poll();
+    assertThat(invalidatedTlds).containsExactly("tld", "first", "last").inOrder();
+    assertThat(CacheInvalidationBus.getMissingIdCountForTest()).isEqualTo(0);
+
+    insertChange(lastId + 5002, "next");
+    CacheInvalidationBus.poll();
+    assertThat(CacheInvalidationBus.getMissingIdCountForTest()).isEqualTo(1);
+  }
+
+  private static long getLastId() {
+    return tm().transact(
+            () ->
+                (Number)
+                    tm().getEntityManager()
+                        .createNativeQuery("SELECT max(id) FROM \"CacheInvalidation\"")
+                        .getSingleResult())
+        .longValue();
+  }
+
+  private static void insertChange(long id, String key) {
+    tm().transact(
+            () ->
+                tm().getEntityManager()
+                    .createNativeQuery(
+                        "INSERT INTO \"CacheInvalidation\" (id, cache_name, cache_key)"
+                            + " VALUES (:id, 'Tld', :key)")
+                    .setParameter("id", id)
+                    .setParameter("key", key)
+                    .executeUpdate());
+  }
+}
@@ -0,0 +1,203 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.poll;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+import static google.registry.testing.DatabaseHelper.createHistoryEntryForEppResource;
+import static google.registry.testing.DatabaseHelper.createTld;
+import static google.registry.testing.DatabaseHelper.deleteResource;
+import static google.registry.testing.DatabaseHelper.persistActiveDomain;
+import static google.registry.testing.DatabaseHelper.persistResource;
+
+import google.registry.model.reporting.HistoryEntry;
+import google.registry.persistence.transaction.JpaTestExtensions;
+import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
+import google.registry.testing.FakeClock;
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link PollMessageCounts}. */
+class PollMessageCountsTest {
+
+  private final FakeClock clock = new FakeClock(DateTime.parse("2026-06-13T20:21:22Z"));
+
+  @RegisterExtension
+  final JpaIntegrationTestExtension jpa =
+      new JpaTestExtensions.Builder().withClock(clock).buildIntegrationTestExtension();
+
+  private HistoryEntry historyEntry;
+
+  @BeforeEach
+  void beforeEach() {
+    createTld("tld");
+    historyEntry = createHistoryEntryForEppResource(persistActiveDomain("example.tld"));
+  }
+
+  private PollMessage persistPollMessage(String registrarId, DateTime eventTime) {
+    return persistResource(
+        new PollMessage.OneTime.Builder()
+            .setRegistrarId(registrarId)
+            .setEventTime(eventTime)
+            .setMsg("Test poll message")
+            .setHistoryEntry(historyEntry)
+            .build());
+  }
+
+  private int getPendingCount(String registrarId) {
+    return tm().transact(() -> PollMessageCounts.getPendingCount(registrarId, clock.nowUtc()));
+  }
+
+  private void corruptCounts(String registrarId) {
+    tm().transact(
+            () ->
+                tm().getEntityManager()
+                    .createNativeQuery(
+                        "UPDATE \"PollMessageCount\" SET message_count = message_count + 5"
+                            + " WHERE registrar_id = :registrarId")
+                    .setParameter("registrarId", registrarId)
+                    .executeUpdate());
+  }
+
+  private long countRows(String registrarId) {
+    return tm().transact(
+            () ->
+                (Number)
+                    tm().getEntityManager()
+                        .createNativeQuery(
+                            "SELECT count(*) FROM \"PollMessageCount\""
+                                + " WHERE registrar_id = :registrarId")
+                        .setParameter("registrarId", registrarId)
+                        .getSingleResult())
+        .longValue();
+  }
+
+  @Test
+  void testGetPendingCount_noMessages() {
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(0);
+  }
+
+  @Test
+  void testGetPendingCount_countsOnlyMessagesUpToNow() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(30));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusHours(1));
+    persistPollMessage("TheRegistrar", clock.nowUtc());
+    persistPollMessage("TheRegistrar", clock.nowUtc().plusHours(1));
+    persistPollMessage("TheRegistrar", clock.nowUtc().plusDays(2));
+    persistPollMessage("NewRegistrar", clock.nowUtc().minusDays(1));
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(4);
+    assertThat(getPendingCount("NewRegistrar")).isEqualTo(1);
+  }
+
+  @Test
+  void testGetPendingCount_futureMessageBecomesPending() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().plusDays(2));
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(0);
+    clock.advanceBy(Duration.standardDays(3));
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+  }
+
+  @Test
+  void testGetPendingCount_followsDeletes() {
+    PollMessage message = persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(2);
+    deleteResource(message);
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+  }
+
+  @Test
+  void testGetPendingCount_followsEventTimeChanges() {
+    PollMessage.Autorenew autorenew =
+        persistResource(
+            new PollMessage.Autorenew.Builder()
+                .setRegistrarId("TheRegistrar")
+                .setEventTime(clock.nowUtc().minusDays(3))
+                .setMsg("Domain was auto-renewed.")
+                .setTargetId("example.tld")
+                .setHistoryEntry(historyEntry)
+                .build());
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+    persistResource(autorenew.asBuilder().setEventTime(clock.nowUtc().plusYears(1)).build());
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(0);
+  }
+
+  @Test
+  void testGetPendingCount_seesUnflushedChanges() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    assertThat(
+            tm().transact(
+                    () -> {
+                      tm().put(
+                              new PollMessage.OneTime.Builder()
+                                  .setRegistrarId("TheRegistrar")
+                                  .setEventTime(clock.nowUtc().minusDays(2))
+                                  .setMsg("Test poll message")
+                                  .setHistoryEntry(historyEntry)
+                                  .build());
+                      return PollMessageCounts.getPendingCount("TheRegistrar", clock.nowUtc());
+                    }))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void testGetRegistrarIds() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("NewRegistrar", clock.nowUtc().plusDays(3));
+    assertThat(tm().transact(PollMessageCounts::getRegistrarIds))
+        .containsExactly("NewRegistrar", "TheRegistrar")
+        .inOrder();
+  }
+
+  @Test
+  void testReconcile_noDrift() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(1));
+    assertThat(tm().transact(() -> PollMessageCounts.reconcile("TheRegistrar"))).isEqualTo(0);
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(2);
+  }
+
+  @Test
+  void testReconcile_addsUpRowsOfEachDate() {
+    PollMessage message = persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(2));
+    PollMessage otherMessage = persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(1));
+    deleteResource(message);
+    deleteResource(otherMessage);
+    assertThat(countRows("TheRegistrar")).isEqualTo(7);
+    assertThat(tm().transact(() -> PollMessageCounts.reconcile("TheRegistrar"))).isEqualTo(0);
+    // The date whose only message was deleted adds up to zero and is dropped.
+    assertThat(countRows("TheRegistrar")).isEqualTo(2);
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(3);
+  }
+
+  @Test
+  void testReconcile_fixesDrift() {
+    persistPollMessage("TheRegistrar", clock.nowUtc().minusDays(3));
+    persistPollMessage("NewRegistrar", clock.nowUtc().minusDays(3));
+    corruptCounts("TheRegistrar");
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(6);
+    assertThat(tm().transact(() -> PollMessageCounts.reconcile("TheRegistrar"))).isEqualTo(1);
+    assertThat(getPendingCount("TheRegistrar")).isEqualTo(1);
+    assertThat(getPendingCount("NewRegistrar")).isEqualTo(1);
+    assertThat(tm().transact(() -> PollMessageCounts.reconcile("TheRegistrar"))).isEqualTo(0);
+  }
+}
@@ -233,6 +233,25 @@ public class PremiumListDaoTest {
     assertThat(PremiumListDao.getPremiumPrice("premlist", "zirconium")).isEmpty();
   }
 
+  @Test
+  void getPremiumPrices_worksSuccessfully() {
+    PremiumList premiumList =
+        PremiumListDao.save(
+            new PremiumList.Builder()
+                .setName("premlist")
+                .setCurrency(USD)
+                .setLabelsToPrices(TEST_PRICES)
+                .setCreationTimestamp(fakeClock.nowUtc())
+                .build());
+    persistResource(newTld("foobar", "FOOBAR").asBuilder().setPremiumList(premiumList).build());
+    assertThat(
+            PremiumListDao.getPremiumPrices(
+                "premlist", ImmutableList.of("silver", "gold", "zirconium")))
+        .containsExactly("silver", Money.of(USD, 10.23), "gold", Money.of(USD, 1305.47));
+    assertThat(PremiumListDao.getPremiumPrices("nonexistent", ImmutableList.of("silver")))
+        .isEmpty();
+  }
+
   @Test
   void testGetPremiumPrice_worksForJPY() {
     PremiumList premiumList =
@@ -0,0 +1,90 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.tld.label;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.joda.money.CurrencyUnit.JPY;
+import static org.joda.money.CurrencyUnit.USD;
+
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.joda.money.CurrencyUnit;
+import org.joda.money.Money;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link PremiumPriceIndex}. */
+class PremiumPriceIndexTest {
+
+  private static PremiumPriceIndex createIndex(
+      CurrencyUnit currency, ImmutableMap<String, BigDecimal> labelsToPrices) {
+    return PremiumPriceIndex.create(
+        currency,
+        labelsToPrices,
+        amount ->
+            Money.of(
+                currency, amount.setScale(currency.getDecimalPlaces(), RoundingMode.HALF_EVEN)));
+  }
+
+  @Test
+  void testGetPrice_findsEveryLabel() {
+    PremiumPriceIndex index =
+        createIndex(
+            USD,
+            ImmutableMap.of(
+                "rich", new BigDecimal("1999"),
+                "lol", new BigDecimal("999"),
+                "johnny-be-goode", new BigDecimal("20.50"),
+                "a", new BigDecimal("1.234")));
+    assertThat(index.size()).isEqualTo(4);
+    assertThat(index.getPrice("rich")).hasValue(Money.of(USD, 1999));
+    assertThat(index.getPrice("lol")).hasValue(Money.of(USD, 999));
+    assertThat(index.getPrice("johnny-be-goode")).hasValue(Money.of(USD, 20.50));
+    assertThat(index.getPrice("a")).hasValue(Money.of(USD, 1.23));
+  }
+
+  @Test
+  void testGetPrice_absentLabels() {
+    PremiumPriceIndex index =
+        createIndex(USD, ImmutableMap.of("lol", BigDecimal.ONE, "lollipop", BigDecimal.TEN));
+    assertThat(index.getPrice("lo")).isEmpty();
+    assertThat(index.getPrice("loll")).isEmpty();
+    assertThat(index.getPrice("lollipops")).isEmpty();
+    assertThat(index.getPrice("")).isEmpty();
+    assertThat(index.getPrice("zzz")).isEmpty();
+  }
+
+  @Test
+  void testGetPrice_nonAsciiLabels() {
+    PremiumPriceIndex index =
+        createIndex(
+            JPY,
+            ImmutableMap.of(
+                "xn--q9jyb4c", new BigDecimal("1000"),
+                "みんな", new BigDecimal("15000"),
+                "zzz", new BigDecimal("10")));
+    assertThat(index.getPrice("みんな")).hasValue(Money.of(JPY, 15000));
+    assertThat(index.getPrice("xn--q9jyb4c")).hasValue(Money.of(JPY, 1000));
+    assertThat(index.getPrice("zzz")).hasValue(Money.of(JPY, 10));
+    assertThat(index.getPrice("みん")).isEmpty();
+  }
+
+  @Test
+  void testGetPrice_emptyIndex() {
+    PremiumPriceIndex index = createIndex(USD, ImmutableMap.of());
+    assertThat(index.size()).isEqualTo(0);
+    assertThat(index.getPrice("lol")).isEmpty();
+  }
+}
@@ -18,6 +18,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
 
 import com.google.common.collect.ImmutableMap;
+import google.registry.persistence.VKey;
 import google.registry.persistence.transaction.JpaTestExtensions;
 import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationWithCoverageExtension;
 import google.registry.testing.FakeClock;
@@ -117,9 +118,12 @@ public class ClaimsListDaoTest {
   void testEntryCaching_savesAndUpdates() {
     ClaimsList claimsList =
         ClaimsList.create(fakeClock.nowUtc(), ImmutableMap.of("label1", "key1", "label2", "key2"));
-    // Bypass the DAO to avoid the cache
+    // Bypass the DAO to avoid the cache and the index
     tm().transact(() -> tm().insert(claimsList));
-    ClaimsList fromDatabase = ClaimsListDao.get();
+    ClaimsList fromDatabase =
+        tm().transact(
+            () -> tm().loadByKey(VKey.create(ClaimsList.class, claimsList.getRevisionId())));
+    assertThat(fromDatabase.index).isNull();
     // At first, we haven't loaded any entries
     assertThat(tm().transact(() -> fromDatabase.claimKeyCache.getIfPresent("label1"))).isNull();
     assertThat(tm().transact(() -> fromDatabase.getClaimKey("label1"))).hasValue("key1");
@@ -138,6 +142,32 @@ public class ClaimsListDaoTest {
         .isEmpty();
   }
 
+  @Test
+  void testIndex_loadedByDao() {
+    ClaimsList claimsList =
+        ClaimsList.create(fakeClock.nowUtc(), ImmutableMap.of("label1", "key1", "label2", "key2"));
+    // Bypass the DAO so that the list is loaded from the database
+    tm().transact(() -> tm().insert(claimsList));
+    ClaimsList fromDatabase = ClaimsListDao.get();
+    assertThat(fromDatabase.index).isNotNull();
+    // Lookups are answered by the index, outside of any transaction
+    assertThat(fromDatabase.getClaimKey("label1")).hasValue("key1");
+    assertThat(fromDatabase.getClaimKey("label2")).hasValue("key2");
+    assertThat(fromDatabase.getClaimKey("nonexistent")).isEmpty();
+    assertThat(fromDatabase.size()).isEqualTo(2);
+    assertThat(fromDatabase.claimKeyCache.asMap()).isEmpty();
+  }
+
+  @Test
+  void testIndex_loadedOnSave() {
+    ClaimsList claimsList =
+        ClaimsListDao.save(
+            ClaimsList.create(fakeClock.nowUtc(), ImmutableMap.of("label1", "key1")));
+    assertThat(ClaimsListDao.get().index).isNotNull();
+    assertThat(ClaimsListDao.get().getClaimKey("label1")).hasValue("key1");
+    assertThat(claimsList.getClaimKey("label1")).hasValue("key1");
+  }
+
   private void assertClaimsListEquals(ClaimsList left, ClaimsList right) {
     assertThat(left.getRevisionId()).isEqualTo(right.getRevisionId());
     assertThat(left.getTmdbGenerationTime()).isEqualTo(right.getTmdbGenerationTime());
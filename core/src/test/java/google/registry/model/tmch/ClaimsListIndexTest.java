@@ -0,0 +1,70 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.model.tmch;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link ClaimsListIndex}. */
+class ClaimsListIndexTest {
+
+  @Test
+  void testGetClaimKey_findsEveryLabel() {
+    ClaimsListIndex index =
+        ClaimsListIndex.create(
+            ImmutableMap.of(
+                "test", "2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000001",
+                "tes", "2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000002",
+                "xn--q9jyb4c", "2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000003",
+                "みんな", "2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000004"));
+    assertThat(index.size()).isEqualTo(4);
+    assertThat(index.getClaimKey("test"))
+        .hasValue("2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000001");
+    assertThat(index.getClaimKey("tes"))
+        .hasValue("2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000002");
+    assertThat(index.getClaimKey("xn--q9jyb4c"))
+        .hasValue("2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000003");
+    assertThat(index.getClaimKey("みんな"))
+        .hasValue("2013041500/2/6/9/rJ1NrDO92vDsAzf7EQzgjX4R0000000004");
+  }
+
+  @Test
+  void testGetClaimKey_absentLabels() {
+    ClaimsListIndex index =
+        ClaimsListIndex.create(ImmutableMap.of("test", "key1", "tests", "key2"));
+    assertThat(index.getClaimKey("te")).isEmpty();
+    assertThat(index.getClaimKey("testa")).isEmpty();
+    assertThat(index.getClaimKey("testss")).isEmpty();
+    assertThat(index.getClaimKey("")).isEmpty();
+  }
+
+  @Test
+  void testCreate_sharedClaimKey() {
+    ClaimsListIndex index =
+        ClaimsListIndex.create(ImmutableMap.of("a", "key1", "b", "key2", "c", "key1"));
+    assertThat(index.getClaimKey("a")).hasValue("key1");
+    assertThat(index.getClaimKey("b")).hasValue("key2");
+    assertThat(index.getClaimKey("c")).hasValue("key1");
+  }
+
+  @Test
+  void testGetClaimKey_emptyIndex() {
+    ClaimsListIndex index = ClaimsListIndex.create(ImmutableMap.of());
+    assertThat(index.size()).isEqualTo(0);
+    assertThat(index.getClaimKey("test")).isEmpty();
+  }
+}
@@ -0,0 +1,215 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.monitoring.jfr;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for {@link EventContext} and the events that it fills in. */
+class EventContextTest {
+
+  @TempDir Path tmpDir;
+
+  @AfterEach
+  void afterEach() {
+    EventContext.clear();
+  }
+
+  @Test
+  void testNoContext() {
+    assertThat(EventContext.current()).isNull();
+    // Counting outside of a flow is a no-op.
+    EventContext.addRetry();
+    EventContext.addRowsTouched(3);
+    assertThat(EventContext.current()).isNull();
+  }
+
+  @Test
+  void testSetFlow_countsRetriesAndRows() {
+    EventContext.setFlow(EventContextTest.class, "TheRegistrar", () -> "tld");
+    EventContext.addRetry();
+    EventContext.addRowsTouched(2);
+    EventContext.addRowsTouched(3);
+    EventContext context = EventContext.current();
+    assertThat(context.getFlowClass()).isEqualTo("EventContextTest");
+    assertThat(context.getRegistrarId()).isEqualTo("TheRegistrar");
+    assertThat(context.getTld()).isEqualTo("tld");
+    assertThat(context.getRetryCount()).isEqualTo(1);
+    assertThat(context.getRowsTouched()).isEqualTo(5);
+  }
+
+  @Test
+  void testSetFlow_resetsCounters() {
+    EventContext.setFlow(EventContextTest.class, "TheRegistrar", () -> "tld");
+    EventContext.addRetry();
+    EventContext.addRowsTouched(2);
+    EventContext.setFlow(EventContextTest.class, "NewRegistrar", () -> "");
+    assertThat(EventContext.current().getRetryCount()).isEqualTo(0);
+    assertThat(EventContext.current().getRowsTouched()).isEqualTo(0);
+  }
+
+  @Test
+  void testSetFlow_computesTldOnlyWhenRead() {
+    AtomicInteger tldComputations = new AtomicInteger();
+    EventContext.setFlow(
+        EventContextTest.class,
+        "TheRegistrar",
+        () -> {
+          tldComputations.incrementAndGet();
+          return "tld";
+        });
+    assertThat(tldComputations.get()).isEqualTo(0);
+    assertThat(EventContext.current().getTld()).isEqualTo("tld");
+    assertThat(EventContext.current().getTld()).isEqualTo("tld");
+    assertThat(tldComputations.get()).isEqualTo(1);
+  }
+
+  @Test
+  void testRestore_nestedFlows() {
+    EventContext outer = EventContext.setFlow(EventContextTest.class, "TheRegistrar", () -> "tld");
+    assertThat(outer).isNull();
+    EventContext.addRowsTouched(2);
+    EventContext previous = EventContext.setFlow(String.class, "NewRegistrar", () -> "other");
+    EventContext.addRowsTouched(5);
+    EventContext.restore(previous);
+    assertThat(EventContext.current().getFlowClass()).isEqualTo("EventContextTest");
+    assertThat(EventContext.current().getRowsTouched()).isEqualTo(2);
+    EventContext.restore(outer);
+    assertThat(EventContext.current()).isNull();
+  }
+
+  @Test
+  void testFlowEvent_filledFromContext() throws Exception {
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              EventContext.setFlow(EventContextTest.class, "TheRegistrar", () -> "tld");
+              FlowEvent event = FlowEvent.start();
+              EventContext.addRetry();
+              EventContext.addRowsTouched(4);
+              event.end(true);
+            });
+    assertThat(events).hasSize(1);
+    RecordedEvent event = events.get(0);
+    assertThat(event.getEventType().getName()).isEqualTo("google.registry.Flow");
+    assertThat(event.getString("flowClass")).isEqualTo("EventContextTest");
+    assertThat(event.getString("registrarId")).isEqualTo("TheRegistrar");
+    assertThat(event.getString("tld")).isEqualTo("tld");
+    assertThat(event.getInt("retryCount")).isEqualTo(1);
+    assertThat(event.getInt("rowsTouched")).isEqualTo(4);
+    assertThat(event.getBoolean("success")).isTrue();
+  }
+
+  @Test
+  void testTransactionEvent_usesItsOwnCounters() throws Exception {
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              EventContext.setFlow(EventContextTest.class, "TheRegistrar", () -> "tld");
+              EventContext.addRowsTouched(10);
+              TransactionEvent.start(true).end(false, 2, 3);
+            });
+    assertThat(events).hasSize(1);
+    RecordedEvent event = events.get(0);
+    assertThat(event.getString("flowClass")).isEqualTo("EventContextTest");
+    assertThat(event.getBoolean("readOnly")).isTrue();
+    assertThat(event.getBoolean("committed")).isFalse();
+    assertThat(event.getInt("retryCount")).isEqualTo(2);
+    assertThat(event.getInt("rowsTouched")).isEqualTo(3);
+  }
+
+  @Test
+  void testRequestEvent_withoutFlow() throws Exception {
+    List<RecordedEvent> events =
+        record(() -> RequestEvent.start("/_dr/task/foo", "GET").end(true));
+    assertThat(events).hasSize(1);
+    RecordedEvent event = events.get(0);
+    assertThat(event.getString("path")).isEqualTo("/_dr/task/foo");
+    assertThat(event.getString("method")).isEqualTo("GET");
+    assertThat(event.getString("flowClass")).isEmpty();
+    assertThat(event.getBoolean("success")).isTrue();
+  }
+
+  @Test
+  void testCacheLoadStatsCounter_recordsLoads() throws Exception {
+    CacheLoadStatsCounter statsCounter = new CacheLoadStatsCounter("TestCache");
+    List<RecordedEvent> events =
+        record(
+            () -> {
+              statsCounter.recordHits(5);
+              statsCounter.recordLoadSuccess(1_000_000);
+              statsCounter.recordLoadFailure(2_000_000);
+            });
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).getEventType().getName()).isEqualTo("google.registry.CacheLoad");
+    assertThat(events.get(0).getString("cacheName")).isEqualTo("TestCache");
+    assertThat(events.get(0).getLong("loadTime")).isEqualTo(1_000_000);
+    assertThat(events.get(0).getBoolean("success")).isTrue();
+    assertThat(events.get(1).getLong("loadTime")).isEqualTo(2_000_000);
+    assertThat(events.get(1).getBoolean("success")).isFalse();
+    assertThat(statsCounter.snapshot().loadCount()).isEqualTo(0);
+  }
+
+  @Test
+  void testDisabledEvents_notRecorded() throws Exception {
+    Path file = tmpDir.resolve("disabled.jfr");
+    try (Recording recording = new Recording()) {
+      // Like all JFR events, ours are enabled by default and have to be turned off explicitly.
+      recording.disable(FlowEvent.class);
+      recording.start();
+      FlowEvent.start().end(true);
+      recording.stop();
+      recording.dump(file);
+    }
+    assertThat(
+            RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("google.registry.Flow"))
+                .collect(toImmutableList()))
+        .isEmpty();
+  }
+
+  /**
+   * Runs the given code in a recording of all the events of this package, and returns the events
+   * recorded by the current thread.
+   */
+  private List<RecordedEvent> record(Runnable runnable) throws Exception {
+    Path file = tmpDir.resolve("recording.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(FlowEvent.class);
+      recording.enable(TransactionEvent.class);
+      recording.enable(CacheLoadEvent.class);
+      recording.enable(RequestEvent.class);
+      recording.start();
+      runnable.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    long threadId = Thread.currentThread().threadId();
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(event -> event.getEventType().getName().startsWith("google.registry."))
+        .filter(event -> event.getThread().getJavaThreadId() == threadId)
+        .collect(toImmutableList());
+  }
+}
@@ -19,9 +19,11 @@ import static google.registry.testing.DatabaseHelper.createTld;
 import static google.registry.testing.DatabaseHelper.createTlds;
 
 import com.google.common.collect.ImmutableSet;
+import google.registry.monitoring.whitebox.EppMetric.Phase;
 import google.registry.persistence.transaction.JpaTestExtensions;
 import google.registry.persistence.transaction.JpaTestExtensions.JpaIntegrationTestExtension;
 import google.registry.testing.FakeClock;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
@@ -65,4 +67,22 @@ class EppMetricTest {
         EppMetric.builderForRequest(new FakeClock()).setTlds(ImmutableSet.of()).build();
     assertThat(metric.getTld()).isEmpty();
   }
+
+  @Test
+  void test_phaseTimes_areAddedUp() {
+    EppMetric metric =
+        EppMetric.builderForRequest(new FakeClock())
+            .addPhaseTime(Phase.FLOW, Duration.ofMillis(5))
+            .addPhaseTime(Phase.SQL, Duration.ofMillis(2))
+            .addPhaseTime(Phase.FLOW, Duration.ofMillis(7))
+            .build();
+    assertThat(metric.getPhaseTimes())
+        .containsExactly(Phase.FLOW, Duration.ofMillis(12), Phase.SQL, Duration.ofMillis(2));
+  }
+
+  @Test
+  void test_noPhaseTimes_areRecordedAsEmpty() {
+    EppMetric metric = EppMetric.builderForRequest(new FakeClock()).build();
+    assertThat(metric.getPhaseTimes()).isEmpty();
+  }
 }
@@ -0,0 +1,109 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.persistence.transaction;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link SequenceIdPool}. */
+class SequenceIdPoolTest {
+
+  private final AtomicLong sequence = new AtomicLong(1);
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  /** Mimics {@code nextval} over a series, which may interleave with other callers. */
+  private long[] fetch(int count) {
+    fetches.incrementAndGet();
+    return LongStream.range(0, count).map(ignored -> sequence.getAndIncrement()).toArray();
+  }
+
+  @Test
+  void allocateId_fetchesOneBlockPerBlockSize() {
+    SequenceIdPool pool = new SequenceIdPool(3);
+    ImmutableList.Builder<Long> ids = new ImmutableList.Builder<>();
+    for (int i = 0; i < 7; i++) {
+      ids.add(pool.allocateId(this::fetch));
+    }
+    assertThat(ids.build()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L).inOrder();
+    assertThat(fetches.get()).isEqualTo(3);
+  }
+
+  @Test
+  void allocateId_blockSizeOne_fetchesEveryId() {
+    SequenceIdPool pool = new SequenceIdPool(1);
+    assertThat(pool.allocateId(this::fetch)).isEqualTo(1L);
+    assertThat(pool.allocateId(this::fetch)).isEqualTo(2L);
+    assertThat(fetches.get()).isEqualTo(2);
+  }
+
+  @Test
+  void allocateId_failedFetch_doesNotConsumeBlock() {
+    SequenceIdPool pool = new SequenceIdPool(2);
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            pool.allocateId(
+                count -> {
+                  throw new IllegalStateException("database is down");
+                }));
+    assertThat(pool.allocateId(this::fetch)).isEqualTo(1L);
+    assertThat(pool.allocateId(this::fetch)).isEqualTo(2L);
+  }
+
+  @Test
+  void allocateId_concurrentCallers_idsAreUnique() throws Exception {
+    SequenceIdPool pool = new SequenceIdPool(10);
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int j = 0; j < 1000; j++) {
+                    assertThat(ids.add(pool.allocateId(this::fetch))).isTrue();
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(ids).hasSize(8000);
+    // Blocks that lose a race are discarded, so a few more ids than needed may be reserved.
+    assertThat(sequence.get() - 1).isAtLeast(8000);
+  }
+
+  @Test
+  void create_invalidBlockSize() {
+    assertThrows(IllegalArgumentException.class, () -> new SequenceIdPool(0));
+  }
+}
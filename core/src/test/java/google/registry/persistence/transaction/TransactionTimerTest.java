@@ -0,0 +1,78 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.persistence.transaction;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.persistence.transaction.TransactionManagerFactory.tm;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/** Unit tests for {@link TransactionTimer}. */
+class TransactionTimerTest {
+
+  @RegisterExtension
+  final JpaTestExtensions.JpaUnitTestExtension jpa =
+      new JpaTestExtensions.Builder().buildUnitTestExtension();
+
+  private static void sleepInSql() {
+    tm().transact(
+            () ->
+                tm().getEntityManager()
+                    .createNativeQuery("SELECT 1 FROM pg_sleep(0.02)")
+                    .getSingleResult());
+  }
+
+  @Test
+  void testTimer_recordsSqlAndCommitTimes() {
+    TransactionTimer timer = TransactionTimer.start();
+    try {
+      sleepInSql();
+    } finally {
+      timer.close();
+    }
+    assertThat(timer.getSqlTime()).isAtLeast(Duration.ofMillis(20));
+    assertThat(timer.getCommitTime()).isGreaterThan(Duration.ZERO);
+  }
+
+  @Test
+  void testTimer_afterClose_recordsNothing() {
+    TransactionTimer timer = TransactionTimer.start();
+    timer.close();
+    sleepInSql();
+    assertThat(timer.getSqlTime()).isEqualTo(Duration.ZERO);
+    assertThat(timer.getCommitTime()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  void testTimer_nested_restoresOuterTimer() {
+    TransactionTimer outer = TransactionTimer.start();
+    try {
+      TransactionTimer inner = TransactionTimer.start();
+      try {
+        sleepInSql();
+      } finally {
+        inner.close();
+      }
+      assertThat(inner.getSqlTime()).isAtLeast(Duration.ofMillis(20));
+      assertThat(outer.getSqlTime()).isEqualTo(Duration.ZERO);
+      sleepInSql();
+    } finally {
+      outer.close();
+    }
+    assertThat(outer.getSqlTime()).isAtLeast(Duration.ofMillis(20));
+  }
+}
@@ -102,6 +102,34 @@ final class AbstractJsonableObjectTest {
     assertThat(thrown).hasMessageThat().contains("must have no arguments");
   }
 
+  @Test
+  void testMethodThrows_fails() {
+    Jsonable jsonable =
+        new AbstractJsonableObject() {
+          @JsonableElement String myString() {
+            throw new IllegalArgumentException("Oops");
+          }
+        };
+    JsonableException thrown = assertThrows(JsonableException.class, () -> jsonable.toJson());
+    assertThat(thrown).hasMessageThat().contains("Error reading value of method");
+    assertThat(thrown).hasCauseThat().hasCauseThat().isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static final class JsonableWithValue extends AbstractJsonableObject {
+    @JsonableElement private final int myInt;
+
+    JsonableWithValue(int myInt) {
+      this.myInt = myInt;
+    }
+  }
+
+  @Test
+  void testSameClass_readsEachObject() {
+    // The members of a class are only looked up once, but must still be read from each object.
+    assertThat(new JsonableWithValue(1).toJson()).isEqualTo(createJson("{'myInt':1}"));
+    assertThat(new JsonableWithValue(2).toJson()).isEqualTo(createJson("{'myInt':2}"));
+  }
+
   @Test
   void testRecursive() {
     Jsonable myJsonableObject = new AbstractJsonableObject() {
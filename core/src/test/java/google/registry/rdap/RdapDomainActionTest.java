@@ -28,8 +28,11 @@ import static google.registry.testing.FullFieldsTestEntityHelper.makeRegistrar;
 import static google.registry.testing.FullFieldsTestEntityHelper.makeRegistrarPocs;
 import static google.registry.testing.GsonSubject.assertAboutJson;
 import static google.registry.util.DateTimeUtils.START_OF_TIME;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.joda.time.Duration.standardSeconds;
 import static org.mockito.Mockito.verify;
 
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -48,8 +51,10 @@ import google.registry.rdap.RdapMetrics.SearchType;
 import google.registry.rdap.RdapMetrics.WildcardType;
 import google.registry.rdap.RdapSearchResults.IncompletenessWarningType;
 import google.registry.request.Action;
+import java.time.Duration;
 import java.util.Optional;
 import org.joda.time.DateTime;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -62,6 +67,7 @@ class RdapDomainActionTest extends RdapActionBaseTestCase<RdapDomainAction> {
   }
 
   private Host host1;
+  private Domain catLol;
 
   @BeforeEach
   void beforeEach() {
@@ -75,12 +81,13 @@ class RdapDomainActionTest extends RdapActionBaseTestCase<RdapDomainAction> {
     Host host2 =
         makeAndPersistHost(
             "ns2.cat.lol", "bad:f00d:cafe:0:0:0:15:beef", clock.nowUtc().minusYears(2));
-    persistResource(
-        makeDomain("cat.lol", host1, host2, registrarLol)
-            .asBuilder()
-            .setCreationTimeForTest(clock.nowUtc().minusYears(3))
-            .setCreationRegistrarId("TheRegistrar")
-            .build());
+    catLol =
+        persistResource(
+            makeDomain("cat.lol", host1, host2, registrarLol)
+                .asBuilder()
+                .setCreationTimeForTest(clock.nowUtc().minusYears(3))
+                .setCreationRegistrarId("TheRegistrar")
+                .build());
 
     // deleted domain in lol
     Host hostDodo2 =
@@ -129,6 +136,11 @@ class RdapDomainActionTest extends RdapActionBaseTestCase<RdapDomainAction> {
             clock.nowUtc().minusMonths(6)));
   }
 
+  @AfterEach
+  void afterEach() {
+    RdapResponseCache.setCacheForTest(Optional.empty(), Ticker.systemTicker());
+  }
+
   private void assertProperResponseForCatLol(String queryString, String expectedOutputFile) {
     assertAboutJson()
         .that(generateActualJson(queryString))
@@ -469,6 +481,53 @@ class RdapDomainActionTest extends RdapActionBaseTestCase<RdapDomainAction> {
     assertThat(response.getStatus()).isEqualTo(404);
   }
 
+  @Test
+  void testResponseCache_servesCachedResponseUntilExpired() {
+    enableResponseCache();
+    assertThat(generateActualJson("cat.lol").get("ldhName").getAsString()).isEqualTo("cat.lol");
+    persistResource(catLol.asBuilder().setDeletionTime(clock.nowUtc().minusDays(1)).build());
+    clock.advanceBy(standardSeconds(59));
+    assertThat(generateActualJson("cat.lol").get("ldhName").getAsString()).isEqualTo("cat.lol");
+    assertThat(response.getStatus()).isEqualTo(200);
+    clock.advanceBy(standardSeconds(2));
+    generateActualJson("cat.lol");
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+
+  @Test
+  void testResponseCache_notSharedAcrossRequestUrls() {
+    enableResponseCache();
+    generateActualJson("cat.lol");
+    persistResource(catLol.asBuilder().setDeletionTime(clock.nowUtc().minusDays(1)).build());
+    generateActualJson("CAT.LOL");
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+
+  @Test
+  void testResponseCache_notSharedAcrossAuthorizations() {
+    enableResponseCache();
+    generateActualJson("cat.lol");
+    persistResource(catLol.asBuilder().setDeletionTime(clock.nowUtc().minusDays(1)).build());
+    loginAsAdmin();
+    generateActualJson("cat.lol");
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+
+  @Test
+  void testResponseCache_headRequestBypassesCache() {
+    enableResponseCache();
+    generateActualJson("cat.lol");
+    persistResource(catLol.asBuilder().setDeletionTime(clock.nowUtc().minusDays(1)).build());
+    generateHeadPayload("cat.lol");
+    assertThat(response.getStatus()).isEqualTo(404);
+  }
+
+  /** Caches responses for a minute, as measured by the test clock. */
+  private void enableResponseCache() {
+    RdapResponseCache.setCacheForTest(
+        Optional.of(Duration.ofMinutes(1)), () -> MILLISECONDS.toNanos(clock.nowUtc().getMillis()));
+  }
+
   private Domain persistActiveDomainWithHost(
       String label, String tld, DateTime creationTime, DateTime expirationTime) {
     return persistResource(
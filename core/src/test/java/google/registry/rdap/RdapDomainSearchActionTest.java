@@ -920,7 +920,7 @@ class RdapDomainSearchActionTest extends RdapSearchActionTestCase<RdapDomainSear
   void testDomainMatchDeletedDomainWithWildcard_notFound() {
     persistDomainAsDeleted(domainCatLol, clock.nowUtc().minusDays(1));
     runNotFoundTest(RequestType.NAME, "cat.lo*", "No domains found");
-    verifyErrorMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(1L), 404);
+    verifyErrorMetrics(SearchType.BY_DOMAIN_NAME);
   }
 
   @Test
@@ -928,7 +928,7 @@ class RdapDomainSearchActionTest extends RdapSearchActionTestCase<RdapDomainSear
     persistDomainAsDeleted(domainCatLol, clock.nowUtc().minusDays(1));
     persistDomainAsDeleted(domainCatLol2, clock.nowUtc().minusDays(1));
     runNotFoundTest(RequestType.NAME, "cat*.lol", "No domains found");
-    verifyErrorMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(2L), 404);
+    verifyErrorMetrics(SearchType.BY_DOMAIN_NAME);
   }
 
   // TODO(b/27376E-95): reenable or delete this test
@@ -948,7 +948,7 @@ class RdapDomainSearchActionTest extends RdapSearchActionTestCase<RdapDomainSear
     JsonObject obj = generateActualJson(RequestType.NAME, "domain*.lol");
     assertThat(response.getStatus()).isEqualTo(200);
     checkNumberOfDomainsInResult(obj, 4);
-    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(16L));
+    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(4L));
   }
 
   @Test
@@ -959,14 +959,36 @@ class RdapDomainSearchActionTest extends RdapSearchActionTestCase<RdapDomainSear
     JsonObject obj = generateActualJson(RequestType.NAME, "domain*.lol");
     assertThat(response.getStatus()).isEqualTo(200);
     checkNumberOfDomainsInResult(obj, 3);
-    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(60L));
+    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(3L));
+  }
+
+  @Test
+  void testDomainMatch_manyDeletedDomains_fullResultSetDespiteDeletedDomains() {
+    // Deleted domains are filtered out by the query itself, so no matter how many there are, they
+    // don't keep us from finding a full result set.
+    createManyDomainsAndHosts(4, 50, 2);
+    rememberWildcardType("domain*.lol");
+    assertAboutJson()
+        .that(generateActualJson(RequestType.NAME, "domain*.lol"))
+        .isEqualTo(
+            jsonFileBuilder()
+                .addDomain("domain100.lol", "8E-LOL")
+                .addDomain("domain150.lol", "5C-LOL")
+                .addDomain("domain200.lol", "2A-LOL")
+                .addDomain("domain50.lol", "C0-LOL")
+                .load("rdap_nontruncated_domains.json"));
+    assertThat(response.getStatus()).isEqualTo(200);
+    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(4L));
   }
 
   @Test
   void testDomainMatch_manyDeletedDomains_partialResultSetDueToFetchingLimit() {
-    // This is not exactly desired behavior, but expected: There are enough domains to fill a full
-    // result set, but there are so many deleted domains that we run out of patience before we work
-    // our way through all of them.
+    // This is not exactly desired behavior, but expected: When deleted domains are requested, but
+    // the request isn't authorized to see them, there are enough domains to fill a full result set,
+    // but there are so many deleted domains that we run out of patience before we work our way
+    // through all of them.
+    login("otherregistrar");
+    action.includeDeletedParam = Optional.of(true);
     createManyDomainsAndHosts(4, 50, 2);
     rememberWildcardType("domain*.lol");
     assertAboutJson()
@@ -1063,7 +1085,7 @@ class RdapDomainSearchActionTest extends RdapSearchActionTestCase<RdapDomainSear
                 .setNextQuery("name=domain*.lol&cursor=ZG9tYWluMzAubG9s")
                 .load("rdap_domains_four_truncated.json"));
     assertThat(response.getStatus()).isEqualTo(200);
-    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(27L), IncompletenessWarningType.TRUNCATED);
+    verifyMetrics(SearchType.BY_DOMAIN_NAME, Optional.of(5L), IncompletenessWarningType.TRUNCATED);
   }
 
   @Test
@@ -0,0 +1,86 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.util.SerializeUtils.deserialize;
+import static google.registry.util.SerializeUtils.serialize;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import google.registry.rde.DepositFragment.DepositFragmentCoder;
+import java.io.ByteArrayOutputStream;
+import org.apache.beam.sdk.util.CoderUtils;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link DepositFragment}. */
+class DepositFragmentTest {
+
+  private static final String XML =
+      "<rdeDomain:domain>\n  <rdeDomain:name>cat.みんな</rdeDomain:name>\n</rdeDomain:domain>\n";
+
+  @Test
+  void testXml_roundTrips() {
+    DepositFragment fragment = DepositFragment.create(RdeResourceType.DOMAIN, XML, "");
+    assertThat(fragment.hasXml()).isTrue();
+    assertThat(fragment.xml()).isEqualTo(XML);
+  }
+
+  @Test
+  void testWriteXmlTo_writesUtf8() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    output.write("<before/>".getBytes(UTF_8));
+    DepositFragment.create(RdeResourceType.DOMAIN, XML, "").writeXmlTo(output);
+    assertThat(output.toString(UTF_8)).isEqualTo("<before/>" + XML);
+  }
+
+  @Test
+  void testEmptyXml_writesNothing() throws Exception {
+    DepositFragment fragment = DepositFragment.create(RdeResourceType.HOST, "", "error");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    fragment.writeXmlTo(output);
+    assertThat(fragment.hasXml()).isFalse();
+    assertThat(fragment.xml()).isEmpty();
+    assertThat(output.size()).isEqualTo(0);
+  }
+
+  @Test
+  void testXml_isCompressed() throws Exception {
+    String xml = XML.repeat(100);
+    DepositFragment fragment = DepositFragment.create(RdeResourceType.DOMAIN, xml, "");
+    assertThat(CoderUtils.encodeToByteArray(DepositFragmentCoder.of(), fragment).length)
+        .isLessThan(xml.length() / 4);
+  }
+
+  @Test
+  void testCoder_roundTrips() throws Exception {
+    DepositFragment fragment = DepositFragment.create(RdeResourceType.REGISTRAR, XML, "error");
+    DepositFragment decoded =
+        CoderUtils.decodeFromByteArray(
+            DepositFragmentCoder.of(),
+            CoderUtils.encodeToByteArray(DepositFragmentCoder.of(), fragment));
+    assertThat(decoded.type()).isEqualTo(RdeResourceType.REGISTRAR);
+    assertThat(decoded.xml()).isEqualTo(XML);
+    assertThat(decoded.error()).isEqualTo("error");
+  }
+
+  @Test
+  void testSerialization_roundTrips() {
+    DepositFragment fragment = DepositFragment.create(RdeResourceType.HOST, XML, "");
+    DepositFragment deserialized = deserialize(DepositFragment.class, serialize(fragment));
+    assertThat(deserialized.type()).isEqualTo(RdeResourceType.HOST);
+    assertThat(deserialized.xml()).isEqualTo(XML);
+    assertThat(deserialized.error()).isEmpty();
+  }
+}
@@ -0,0 +1,146 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.rde;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link PipelinedOutputStream}. */
+class PipelinedOutputStreamTest {
+
+  private static final byte[] DATA =
+      "<rdeDomain:name>example.tld</rdeDomain:name>\n".repeat(10000).getBytes(UTF_8);
+
+  @Test
+  void testWrite_passesBytesThroughInOrder() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (OutputStream pipe = new PipelinedOutputStream("pipe", output, 100, 2)) {
+      writeInRandomChunks(pipe);
+    }
+    assertThat(output.toByteArray()).isEqualTo(DATA);
+  }
+
+  @Test
+  void testChainedLayers_outputIsByteIdentical() throws Exception {
+    assertThat(compress(true)).isEqualTo(compress(false));
+  }
+
+  @Test
+  void testFlush_flushesWrappedStream() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    boolean[] flushed = new boolean[1];
+    OutputStream wrapped =
+        new OutputStream() {
+          @Override
+          public void write(int b) {
+            output.write(b);
+          }
+
+          @Override
+          public void flush() {
+            flushed[0] = output.size() == 3;
+          }
+        };
+    try (OutputStream pipe = new PipelinedOutputStream("pipe", wrapped)) {
+      pipe.write(new byte[] {1, 2, 3});
+      pipe.flush();
+      assertThat(flushed[0]).isTrue();
+    }
+  }
+
+  @Test
+  void testClose_doesNotCloseWrappedStream() throws Exception {
+    boolean[] closed = new boolean[1];
+    OutputStream wrapped =
+        new OutputStream() {
+          @Override
+          public void write(int b) {}
+
+          @Override
+          public void close() {
+            closed[0] = true;
+          }
+        };
+    new PipelinedOutputStream("pipe", wrapped).close();
+    assertThat(closed[0]).isFalse();
+  }
+
+  @Test
+  void testWrite_afterClose_fails() throws Exception {
+    OutputStream pipe = new PipelinedOutputStream("pipe", new ByteArrayOutputStream());
+    pipe.close();
+    assertThrows(IllegalStateException.class, () -> pipe.write(1));
+  }
+
+  @Test
+  void testFailure_isRethrownToWriter() {
+    OutputStream wrapped =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("disk full");
+          }
+        };
+    PipelinedOutputStream pipe = new PipelinedOutputStream("pipe", wrapped, 16, 2);
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () -> {
+              for (int i = 0; i < 100; i++) {
+                pipe.write(new byte[16]);
+              }
+            });
+    assertThat(thrown).hasCauseThat().hasMessageThat().isEqualTo("disk full");
+    assertThrows(IOException.class, pipe::close);
+  }
+
+  /** Compresses the data twice over, optionally with each layer on its own thread. */
+  private static byte[] compress(boolean pipelined) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    OutputStream outerPipe = pipelined ? new PipelinedOutputStream("outer", output) : output;
+    OutputStream outer = new DeflaterOutputStream(outerPipe, new Deflater(Deflater.BEST_SPEED));
+    OutputStream innerPipe = pipelined ? new PipelinedOutputStream("inner", outer, 1000, 3) : outer;
+    OutputStream inner = new DeflaterOutputStream(innerPipe, new Deflater());
+    writeInRandomChunks(inner);
+    inner.close();
+    innerPipe.close();
+    outer.close();
+    outerPipe.close();
+    return output.toByteArray();
+  }
+
+  private static void writeInRandomChunks(OutputStream output) throws IOException {
+    Random random = new Random(42);
+    int position = 0;
+    while (position < DATA.length) {
+      int length = Math.min(DATA.length - position, random.nextInt(5000));
+      if (length == 1) {
+        output.write(DATA[position]);
+      } else {
+        output.write(DATA, position, length);
+      }
+      position += length;
+    }
+  }
+}
@@ -67,14 +67,15 @@ public class RydeGpgIntegrationTest {
   static Stream<Arguments> provideTestCombinations() {
     Stream.Builder<Arguments> stream = Stream.builder();
       for (String content : CONTENTS) {
-      stream.add(Arguments.of(content));
+      stream.add(Arguments.of(content, false));
+      stream.add(Arguments.of(content, true));
     }
     return stream.build();
   }
 
   @ParameterizedTest
   @MethodSource("provideTestCombinations")
-  void test(String content) throws Exception {
+  void test(String content, boolean pipelined) throws Exception {
     final String filename = "sloth";
     assumeTrue(hasCommand("tar"));
     assumeTrue(hasCommand(GPG_BINARY + " --version"));
@@ -97,6 +98,7 @@ public class RydeGpgIntegrationTest {
                 .setRydeOutput(rydeOut, receiverKey)
                 .setSignatureOutput(sigOut, signingKey)
                 .setFileMetadata(filename, data.length, modified)
+                .setPipelined(pipelined)
                 .build()) {
       rydeEncoder.write(data);
     }
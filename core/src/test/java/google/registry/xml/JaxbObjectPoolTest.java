@@ -0,0 +1,79 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.xml;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.monitoring.metrics.contrib.LongMetricSubject.assertThat;
+import static google.registry.xml.JaxbObjectPool.poolRequests;
+
+import google.registry.xml.JaxbObjectPool.Type;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link JaxbObjectPool}. */
+class JaxbObjectPoolTest {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final JaxbObjectPool<Object> pool =
+      new JaxbObjectPool<>(
+          Type.MARSHALLER,
+          2,
+          () -> {
+            created.incrementAndGet();
+            return new Object();
+          });
+
+  @BeforeEach
+  void beforeEach() {
+    poolRequests.reset();
+  }
+
+  @Test
+  void testBorrow_emptyPool_createsNewObject() throws Exception {
+    assertThat(pool.borrow()).isNotNull();
+    assertThat(created.get()).isEqualTo(1);
+    assertThat(poolRequests).hasValueForLabels(1, "MARSHALLER", "miss").and().hasNoOtherValues();
+  }
+
+  @Test
+  void testBorrow_releasedObject_isReused() throws Exception {
+    Object object = pool.borrow();
+    pool.release(object);
+    assertThat(pool.borrow()).isSameInstanceAs(object);
+    assertThat(created.get()).isEqualTo(1);
+    assertThat(poolRequests)
+        .hasValueForLabels(1, "MARSHALLER", "miss")
+        .and()
+        .hasValueForLabels(1, "MARSHALLER", "hit")
+        .and()
+        .hasNoOtherValues();
+  }
+
+  @Test
+  void testRelease_fullPool_dropsObject() throws Exception {
+    Object first = pool.borrow();
+    Object second = pool.borrow();
+    Object third = pool.borrow();
+    pool.release(first);
+    pool.release(second);
+    pool.release(third);
+    assertThat(pool.idleCount()).isEqualTo(2);
+    assertThat(pool.borrow()).isSameInstanceAs(first);
+    assertThat(pool.borrow()).isSameInstanceAs(second);
+    assertThat(pool.borrow()).isNotSameInstanceAs(third);
+    assertThat(created.get()).isEqualTo(4);
+  }
+}
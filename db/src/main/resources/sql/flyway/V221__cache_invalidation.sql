@@ -0,0 +1,41 @@
+-- Copyright 2026 The Nomulus Authors. All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Change log of rows in tables that are cached in memory by the servers. Each
+-- server polls it to invalidate its cached copies of the changed rows.
+CREATE TABLE "CacheInvalidation" (
+    id bigserial NOT NULL,
+    cache_name text NOT NULL,
+    cache_key text NOT NULL,
+    invalidation_time timestamptz DEFAULT now() NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX cacheinvalidation_invalidation_time_idx
+  ON "CacheInvalidation" USING btree (invalidation_time);
+
+-- Records a change to the row of the table the trigger is defined on. The
+-- argument of the trigger is the name of the column holding the cache key. The
+-- triggers are created by the following scripts, one table per script.
+CREATE FUNCTION publish_cache_invalidation() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+  INSERT INTO "CacheInvalidation" (cache_name, cache_key)
+  VALUES (
+    TG_TABLE_NAME,
+    CASE WHEN TG_OP = 'DELETE' THEN to_jsonb(OLD) ELSE to_jsonb(NEW) END ->> TG_ARGV[0]);
+  RETURN NULL;
+END;
+$$;
@@ -0,0 +1,20 @@
+-- Copyright 2026 The Nomulus Authors. All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Trigram indexes serve the LIKE patterns of RDAP partial-match searches. Unlike the btree indexes
+-- on these columns, they can be used regardless of the database collation.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS domain_domain_name_trgm ON "Domain"
+  USING gin (domain_name gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS host_host_name_trgm ON "Host"
+  USING gin (host_name gin_trgm_ops);
@@ -0,0 +1,18 @@
+-- Copyright 2026 The Nomulus Authors. All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Serves the poll message queries of a registrar that are bounded by event time,
+-- i.e. the first pending message and the count of messages due today.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS pollmessage_registrar_id_event_time_idx
+  ON "PollMessage" USING btree (registrar_id, event_time);
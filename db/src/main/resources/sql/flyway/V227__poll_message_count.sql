@@ -0,0 +1,47 @@
+-- Copyright 2026 The Nomulus Authors. All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+-- Changes to the number of poll messages per registrar and (UTC) event date,
+-- appended by the triggers on PollMessage created in V231: +1 for each message
+-- added to a date, -1 for each one removed from it. The triggers only ever
+-- insert, so concurrent poll message writes never contend for the same rows.
+-- The reconcilePollMessageCounts action periodically adds up the rows of each
+-- registrar and date into one, and also counts the messages that existed before
+-- the triggers were created.
+CREATE TABLE "PollMessageCount" (
+    id bigserial NOT NULL,
+    registrar_id text NOT NULL,
+    event_date date NOT NULL,
+    message_count bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX pollmessagecount_registrar_id_event_date_idx
+  ON "PollMessageCount" USING btree (registrar_id, event_date);
+
+CREATE FUNCTION update_poll_message_count() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+    VALUES (OLD.registrar_id, (OLD.event_time AT TIME ZONE 'UTC')::date, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+    VALUES (NEW.registrar_id, (NEW.event_time AT TIME ZONE 'UTC')::date, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$;
@@ -0,0 +1,26 @@
+-- Copyright 2026 The Nomulus Authors. All Rights Reserved.
+--
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+--
+--     http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+
+CREATE TRIGGER poll_message_count
+  AFTER INSERT OR DELETE ON "PollMessage"
+  FOR EACH ROW EXECUTE FUNCTION update_poll_message_count();
+
+-- Acking an autorenew poll message moves its event time forward. Other updates
+-- rewrite these columns unchanged and need no recount.
+CREATE TRIGGER poll_message_count_update
+  AFTER UPDATE OF registrar_id, event_time ON "PollMessage"
+  FOR EACH ROW
+  WHEN (OLD.registrar_id IS DISTINCT FROM NEW.registrar_id
+        OR OLD.event_time IS DISTINCT FROM NEW.event_time)
+  EXECUTE FUNCTION update_poll_message_count();
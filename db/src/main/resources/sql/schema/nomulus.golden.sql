@@ -31,6 +31,58 @@ CREATE EXTENSION IF NOT EXISTS hstore WITH SCHEMA public;
 COMMENT ON EXTENSION hstore IS 'data type for storing sets of (key, value) pairs';
 
 
+--
+-- Name: pg_trgm; Type: EXTENSION; Schema: -; Owner: -
+--
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+
+--
+-- Name: EXTENSION pg_trgm; Type: COMMENT; Schema: -; Owner: -
+--
+
+COMMENT ON EXTENSION pg_trgm IS 'text similarity measurement and index searching based on trigrams';
+
+
+--
+-- Name: publish_cache_invalidation(); Type: FUNCTION; Schema: public; Owner: -
+--
+
+CREATE FUNCTION public.publish_cache_invalidation() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+  INSERT INTO "CacheInvalidation" (cache_name, cache_key)
+  VALUES (
+    TG_TABLE_NAME,
+    CASE WHEN TG_OP = 'DELETE' THEN to_jsonb(OLD) ELSE to_jsonb(NEW) END ->> TG_ARGV[0]);
+  RETURN NULL;
+END;
+$$;
+
+
+--
+-- Name: update_poll_message_count(); Type: FUNCTION; Schema: public; Owner: -
+--
+
+CREATE FUNCTION public.update_poll_message_count() RETURNS trigger
+    LANGUAGE plpgsql
+    AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+    VALUES (OLD.registrar_id, (OLD.event_time AT TIME ZONE 'UTC')::date, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    INSERT INTO "PollMessageCount" (registrar_id, event_date, message_count)
+    VALUES (NEW.registrar_id, (NEW.event_time AT TIME ZONE 'UTC')::date, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$;
+
+
 SET default_tablespace = '';
 
 SET default_table_access_method = heap;
@@ -213,6 +265,37 @@ CREATE TABLE public."BsaUnblockableDomain" (
 );
 
 
+--
+-- Name: CacheInvalidation; Type: TABLE; Schema: public; Owner: -
+--
+
+CREATE TABLE public."CacheInvalidation" (
+    id bigint NOT NULL,
+    cache_name text NOT NULL,
+    cache_key text NOT NULL,
+    invalidation_time timestamp with time zone DEFAULT now() NOT NULL
+);
+
+
+--
+-- Name: CacheInvalidation_id_seq; Type: SEQUENCE; Schema: public; Owner: -
+--
+
+CREATE SEQUENCE public."CacheInvalidation_id_seq"
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 1;
+
+
+--
+-- Name: CacheInvalidation_id_seq; Type: SEQUENCE OWNED BY; Schema: public; Owner: -
+--
+
+ALTER SEQUENCE public."CacheInvalidation_id_seq" OWNED BY public."CacheInvalidation".id;
+
+
 --
 -- Name: ClaimsEntry; Type: TABLE; Schema: public; Owner: -
 --
@@ -892,6 +975,37 @@ CREATE TABLE public."PollMessage" (
 );
 
 
+--
+-- Name: PollMessageCount; Type: TABLE; Schema: public; Owner: -
+--
+
+CREATE TABLE public."PollMessageCount" (
+    id bigint NOT NULL,
+    registrar_id text NOT NULL,
+    event_date date NOT NULL,
+    message_count bigint NOT NULL
+);
+
+
+--
+-- Name: PollMessageCount_id_seq; Type: SEQUENCE; Schema: public; Owner: -
+--
+
+CREATE SEQUENCE public."PollMessageCount_id_seq"
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 1;
+
+
+--
+-- Name: PollMessageCount_id_seq; Type: SEQUENCE OWNED BY; Schema: public; Owner: -
+--
+
+ALTER SEQUENCE public."PollMessageCount_id_seq" OWNED BY public."PollMessageCount".id;
+
+
 --
 -- Name: PremiumEntry; Type: TABLE; Schema: public; Owner: -
 --
@@ -1430,6 +1544,13 @@ ALTER TABLE ONLY public."BsaDomainRefresh" ALTER COLUMN job_id SET DEFAULT nextv
 ALTER TABLE ONLY public."BsaDownload" ALTER COLUMN job_id SET DEFAULT nextval('public."BsaDownload_job_id_seq"'::regclass);
 
 
+--
+-- Name: CacheInvalidation id; Type: DEFAULT; Schema: public; Owner: -
+--
+
+ALTER TABLE ONLY public."CacheInvalidation" ALTER COLUMN id SET DEFAULT nextval('public."CacheInvalidation_id_seq"'::regclass);
+
+
 --
 -- Name: ClaimsList revision_id; Type: DEFAULT; Schema: public; Owner: -
 --
@@ -1465,6 +1586,13 @@ ALTER TABLE ONLY public."PackagePromotion" ALTER COLUMN package_promotion_id SET
 ALTER TABLE ONLY public."PremiumList" ALTER COLUMN revision_id SET DEFAULT nextval('public."PremiumList_revision_id_seq"'::regclass);
 
 
+--
+-- Name: PollMessageCount id; Type: DEFAULT; Schema: public; Owner: -
+--
+
+ALTER TABLE ONLY public."PollMessageCount" ALTER COLUMN id SET DEFAULT nextval('public."PollMessageCount_id_seq"'::regclass);
+
+
 --
 -- Name: RegistrarPoc id; Type: DEFAULT; Schema: public; Owner: -
 --
@@ -1564,6 +1692,14 @@ ALTER TABLE ONLY public."BsaUnblockableDomain"
     ADD CONSTRAINT "BsaUnblockableDomain_pkey" PRIMARY KEY (label, tld);
 
 
+--
+-- Name: CacheInvalidation CacheInvalidation_pkey; Type: CONSTRAINT; Schema: public; Owner: -
+--
+
+ALTER TABLE ONLY public."CacheInvalidation"
+    ADD CONSTRAINT "CacheInvalidation_pkey" PRIMARY KEY (id);
+
+
 --
 -- Name: ClaimsEntry ClaimsEntry_pkey; Type: CONSTRAINT; Schema: public; Owner: -
 --
@@ -1740,6 +1876,14 @@ ALTER TABLE ONLY public."PollMessage"
     ADD CONSTRAINT "PollMessage_pkey" PRIMARY KEY (poll_message_id);
 
 
+--
+-- Name: PollMessageCount PollMessageCount_pkey; Type: CONSTRAINT; Schema: public; Owner: -
+--
+
+ALTER TABLE ONLY public."PollMessageCount"
+    ADD CONSTRAINT "PollMessageCount_pkey" PRIMARY KEY (id);
+
+
 --
 -- Name: PremiumEntry PremiumEntry_pkey; Type: CONSTRAINT; Schema: public; Owner: -
 --
@@ -1951,6 +2095,13 @@ CREATE INDEX billingevent_billing_event_id_hash ON public."BillingEvent" USING h
 CREATE INDEX billingrecurrence_billing_recurrence_id_hash ON public."BillingRecurrence" USING hash (billing_recurrence_id);
 
 
+--
+-- Name: cacheinvalidation_invalidation_time_idx; Type: INDEX; Schema: public; Owner: -
+--
+
+CREATE INDEX cacheinvalidation_invalidation_time_idx ON public."CacheInvalidation" USING btree (invalidation_time);
+
+
 --
 -- Name: delegationsignerdata_domain_repo_id_hash; Type: INDEX; Schema: public; Owner: -
 --
@@ -1972,6 +2123,13 @@ CREATE INDEX domain_current_package_token_idx ON public."Domain" USING hash (cur
 CREATE INDEX domain_domain_name_hash ON public."Domain" USING hash (domain_name);
 
 
+--
+-- Name: domain_domain_name_trgm; Type: INDEX; Schema: public; Owner: -
+--
+
+CREATE INDEX domain_domain_name_trgm ON public."Domain" USING gin (domain_name public.gin_trgm_ops);
+
+
 --
 -- Name: domain_domain_repo_id_hash; Type: INDEX; Schema: public; Owner: -
 --
@@ -2091,6 +2249,13 @@ CREATE INDEX graceperiodhistory_grace_period_history_revision_id_hash ON public.
 CREATE INDEX host_host_name_hash ON public."Host" USING hash (host_name);
 
 
+--
+-- Name: host_host_name_trgm; Type: INDEX; Schema: public; Owner: -
+--
+
+CREATE INDEX host_host_name_trgm ON public."Host" USING gin (host_name public.gin_trgm_ops);
+
+
 --
 -- Name: host_repo_id_hash; Type: INDEX; Schema: public; Owner: -
 --
@@ -2784,6 +2949,20 @@ CREATE INDEX idxy98mebut8ix1v07fjxxdkqcx ON public."Host" USING btree (creation_
 CREATE INDEX pollmessage_poll_message_id_hash ON public."PollMessage" USING hash (poll_message_id);
 
 
+--
+-- Name: pollmessage_registrar_id_event_time_idx; Type: INDEX; Schema: public; Owner: -
+--
+
+CREATE INDEX pollmessage_registrar_id_event_time_idx ON public."PollMessage" USING btree (registrar_id, event_time);
+
+
+--
+-- Name: pollmessagecount_registrar_id_event_date_idx; Type: INDEX; Schema: public; Owner: -
+--
+
+CREATE INDEX pollmessagecount_registrar_id_event_date_idx ON public."PollMessageCount" USING btree (registrar_id, event_date);
+
+
 --
 -- Name: premiumlist_name_idx; Type: INDEX; Schema: public; Owner: -
 --
@@ -2833,6 +3012,41 @@ CREATE INDEX spec11threatmatch_registrar_id_idx ON public."Spec11ThreatMatch" US
 CREATE INDEX spec11threatmatch_tld_idx ON public."Spec11ThreatMatch" USING btree (tld);
 
 
+--
+-- Name: PollMessage poll_message_count; Type: TRIGGER; Schema: public; Owner: -
+--
+
+CREATE TRIGGER poll_message_count AFTER INSERT OR DELETE ON public."PollMessage" FOR EACH ROW EXECUTE FUNCTION public.update_poll_message_count();
+
+
+--
+-- Name: PollMessage poll_message_count_update; Type: TRIGGER; Schema: public; Owner: -
+--
+
+CREATE TRIGGER poll_message_count_update AFTER UPDATE OF registrar_id, event_time ON public."PollMessage" FOR EACH ROW WHEN (((old.registrar_id IS DISTINCT FROM new.registrar_id) OR (old.event_time IS DISTINCT FROM new.event_time))) EXECUTE FUNCTION public.update_poll_message_count();
+
+
+--
+-- Name: PremiumList premium_list_cache_invalidation; Type: TRIGGER; Schema: public; Owner: -
+--
+
+CREATE TRIGGER premium_list_cache_invalidation AFTER INSERT OR DELETE OR UPDATE ON public."PremiumList" FOR EACH ROW EXECUTE FUNCTION public.publish_cache_invalidation('name');
+
+
+--
+-- Name: ReservedList reserved_list_cache_invalidation; Type: TRIGGER; Schema: public; Owner: -
+--
+
+CREATE TRIGGER reserved_list_cache_invalidation AFTER INSERT OR DELETE OR UPDATE ON public."ReservedList" FOR EACH ROW EXECUTE FUNCTION public.publish_cache_invalidation('name');
+
+
+--
+-- Name: Tld tld_cache_invalidation; Type: TRIGGER; Schema: public; Owner: -
+--
+
+CREATE TRIGGER tld_cache_invalidation AFTER INSERT OR DELETE OR UPDATE ON public."Tld" FOR EACH ROW EXECUTE FUNCTION public.publish_cache_invalidation('tld_name');
+
+
 --
 -- Name: Contact fk1sfyj7o7954prbn1exk7lpnoe; Type: FK CONSTRAINT; Schema: public; Owner: -
 --
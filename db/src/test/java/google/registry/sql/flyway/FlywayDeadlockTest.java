@@ -101,6 +101,11 @@ public class FlywayDeadlockTest {
           Pattern.compile(
               "^\\s*ALTER\\s+TABLE\\s+(IF\\s+EXISTS\\s+|ONLY\\s+)*(public.)?((\\w+)|(\"\\w+\"))[^;]+$",
               CASE_INSENSITIVE),
+          3,
+          Pattern.compile(
+              "^\\s*CREATE\\s+(OR\\s+REPLACE\\s+)?TRIGGER\\s+[^;]*?\\s+ON\\s+(public.)?"
+                  + "((\\w+)|(\"\\w+\"))[^;]+$",
+              CASE_INSENSITIVE),
           3);
 
   /**
@@ -140,7 +145,9 @@ public class FlywayDeadlockTest {
             "create index if not exists \"index_name\" on public.\"element_name\" ...",
             "create index if not exists index_name on public.element_name ...",
             "create index if not exists \"index_name\" on public.element_name ...",
-            "create unique index public.index_name on public.\"element_name\" ...");
+            "create unique index public.index_name on public.\"element_name\" ...",
+            "create trigger trigger_name after insert or delete on \"element_name\" ...",
+            "create or replace trigger trigger_name\n after update on element_name ...");
     ddls.forEach(ddl -> assertThat(getDdlLockedElementName(ddl)).hasValue("element_name"));
   }
 
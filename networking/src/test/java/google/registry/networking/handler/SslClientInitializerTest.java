@@ -29,6 +29,10 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.local.LocalChannel;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectedListenerFailureBehavior;
+import io.netty.handler.ssl.ApplicationProtocolConfig.SelectorFailureBehavior;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SniHandler;
@@ -377,4 +381,38 @@ class SslClientInitializerTest {
     nettyExtension.assertThatServerRootCause().isInstanceOf(SSLException.class);
     assertThat(nettyExtension.getClientChannel().isActive()).isFalse();
   }
+
+  @ParameterizedTest
+  @MethodSource("provideTestCombinations")
+  void testSuccess_applicationProtocolNegotiated(SslProvider sslProvider) throws Exception {
+    LocalAddress localAddress = new LocalAddress("APPLICATION_PROTOCOL_NEGOTIATED_" + sslProvider);
+
+    SelfSignedCaCertificate ssc = SelfSignedCaCertificate.create(SSL_HOST);
+    SslContext sslContext =
+        SslContextBuilder.forServer(ssc.key(), ssc.cert())
+            .applicationProtocolConfig(
+                new ApplicationProtocolConfig(
+                    Protocol.ALPN,
+                    SelectorFailureBehavior.NO_ADVERTISE,
+                    SelectedListenerFailureBehavior.ACCEPT,
+                    "h2",
+                    "http/1.1"))
+            .build();
+    nettyExtension.setUpServer(localAddress, new SniHandler(hostname -> sslContext));
+
+    SslClientInitializer<LocalChannel> sslClientInitializer =
+        new SslClientInitializer<>(
+            sslProvider,
+            SslClientInitializerTest::hostProvider,
+            SslClientInitializerTest::portProvider,
+            ImmutableList.of(ssc.cert()),
+            null,
+            null,
+            ImmutableList.of("h2"));
+    nettyExtension.setUpClient(localAddress, sslClientInitializer);
+
+    Channel channel = nettyExtension.getClientChannel();
+    setUpSslChannel(channel, ssc.cert());
+    assertThat(channel.pipeline().get(SslHandler.class).applicationProtocol()).isEqualTo("h2");
+  }
 }
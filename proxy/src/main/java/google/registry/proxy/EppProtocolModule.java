@@ -36,6 +36,7 @@ import google.registry.proxy.quota.TokenStore;
 import google.registry.util.Clock;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
 import io.netty.handler.ssl.SslProvider;
@@ -107,17 +108,22 @@ public final class EppProtocolModule {
 
   @Provides
   static LengthFieldBasedFrameDecoder provideLengthFieldBasedFrameDecoder(ProxyConfig config) {
-    return new LengthFieldBasedFrameDecoder(
-        // Max message length.
-        config.epp.maxMessageLengthBytes,
-        // Header field location offset.
-        0,
-        // Header field length.
-        config.epp.headerLengthBytes,
-        // Adjustment applied to the header field value in order to obtain message length.
-        -config.epp.headerLengthBytes,
-        // Initial bytes to strip (i.e., strip the length header).
-        config.epp.headerLengthBytes);
+    LengthFieldBasedFrameDecoder decoder =
+        new LengthFieldBasedFrameDecoder(
+            // Max message length.
+            config.epp.maxMessageLengthBytes,
+            // Header field location offset.
+            0,
+            // Header field length.
+            config.epp.headerLengthBytes,
+            // Adjustment applied to the header field value in order to obtain message length.
+            -config.epp.headerLengthBytes,
+            // Initial bytes to strip (i.e., strip the length header).
+            config.epp.headerLengthBytes);
+    // Accumulate partial frames as a composite of the pooled read buffers instead of copying them
+    // into one contiguous buffer, so that a frame spanning several reads is never copied.
+    decoder.setCumulator(ByteToMessageDecoder.COMPOSITE_CUMULATOR);
+    return decoder;
   }
 
   @Singleton
@@ -179,7 +185,8 @@ public final class EppProtocolModule {
   @EppProtocol
   static TokenStore provideTokenStore(
       ProxyConfig config, ScheduledExecutorService refreshExecutor, Clock clock) {
-    return new TokenStore(new QuotaConfig(config.epp.quota, PROTOCOL_NAME), refreshExecutor, clock);
+    return TokenStore.create(
+        new QuotaConfig(config.epp.quota, PROTOCOL_NAME), refreshExecutor, clock);
   }
 
   @Provides
@@ -0,0 +1,229 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static google.registry.proxy.Protocol.PROTOCOL_KEY;
+import static google.registry.proxy.handler.RelayHandler.RELAY_CHANNEL_KEY;
+
+import com.google.common.flogger.FluentLogger;
+import com.google.common.net.HostAndPort;
+import google.registry.proxy.Protocol.BackendProtocol;
+import google.registry.proxy.handler.Http2ConnectionHealthHandler;
+import google.registry.proxy.handler.RelayHandler;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pool of HTTP/2 connections to backend hosts, over which relays are multiplexed as streams.
+ *
+ * <p>A pool is confined to a single {@link EventLoop}: its connections are registered with it, and
+ * only frontend channels registered with it open streams from it. Each stream therefore shares the
+ * event loop of the frontend channel it relays for, which {@link RelayHandler} relies on to access
+ * the relay buffer without synchronization, and the pool itself needs no locking either.
+ *
+ * <p>A new stream is opened on the first healthy connection to the backend host that has fewer
+ * open streams than {@link BackendProtocol#maxConcurrentStreams}, or than the backend allows if
+ * that is lower. A new connection is established if there is none. Connections are evicted from the
+ * pool when they are closed, or when they are marked as draining by the {@link
+ * Http2ConnectionHealthHandler}.
+ *
+ * <p>A stream channel does not take up a stream on the wire until a request is written to it, so
+ * idle frontend connections holding on to their streams cost the backend nothing. They still count
+ * towards the limit of the connection, so that a burst of requests from every frontend connection
+ * sharing it cannot exceed the number of streams the backend accepts.
+ */
+public class Http2ConnectionPool {
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  private final EventLoop eventLoop;
+  private final Map<HostAndPort, List<Connection>> connections = new HashMap<>();
+
+  Http2ConnectionPool(EventLoop eventLoop) {
+    this.eventLoop = eventLoop;
+  }
+
+  /**
+   * Opens a stream to the backend of a multiplexed {@link BackendProtocol}.
+   *
+   * <p>The stream channel has the handlers of the protocol added to its pipeline, and relays to the
+   * given frontend channel. The returned future fails if no connection to the backend can be
+   * established.
+   */
+  Future<Http2StreamChannel> openStream(BackendProtocol protocol, Channel relayChannel) {
+    checkState(eventLoop.inEventLoop(), "Streams must be opened from the event loop of the pool");
+    checkArgument(protocol.isMultiplexed(), "Backend protocol %s is not multiplexed", protocol);
+    checkArgument(
+        relayChannel.eventLoop() == eventLoop,
+        "Channel %s is not registered with the event loop of the pool",
+        relayChannel);
+
+    Connection connection = selectConnection(protocol);
+    connection.openStreams++;
+    Promise<Http2StreamChannel> promise = eventLoop.newPromise();
+    // Release the stream slot when the stream is closed, or if it could not be opened at all. This
+    // listener is added before the promise is returned, so it always runs before the caller's own.
+    promise.addListener(
+        (Future<Http2StreamChannel> future) -> {
+          if (future.isSuccess()) {
+            ChannelFuture unusedFuture =
+                future.getNow().closeFuture().addListener(future2 -> connection.openStreams--);
+          } else {
+            connection.openStreams--;
+          }
+        });
+    connection.connectFuture.addListener(
+        (ChannelFuture future) -> {
+          if (!future.isSuccess()) {
+            promise.setFailure(future.cause());
+            return;
+          }
+          Future<Http2StreamChannel> unusedFuture =
+              new Http2StreamChannelBootstrap(future.channel())
+                  .handler(
+                      new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel streamChannel) {
+                          ProxyServer.addHandlers(
+                              streamChannel.pipeline(), protocol.handlerProviders());
+                        }
+                      })
+                  .attr(PROTOCOL_KEY, protocol)
+                  // Stream channel relays to the frontend channel.
+                  .attr(RELAY_CHANNEL_KEY, relayChannel)
+                  .open(promise);
+        });
+    return promise;
+  }
+
+  /** Returns the number of connections in the pool, including those still being established. */
+  int connectionCount() {
+    return connections.values().stream().mapToInt(List::size).sum();
+  }
+
+  private Connection selectConnection(BackendProtocol protocol) {
+    List<Connection> hostConnections =
+        connections.computeIfAbsent(
+            HostAndPort.fromParts(protocol.host(), protocol.port()), key -> new ArrayList<>());
+    hostConnections.removeIf(connection -> !connection.isUsable());
+    for (Connection connection : hostConnections) {
+      if (connection.hasCapacity(protocol.maxConcurrentStreams())) {
+        return connection;
+      }
+    }
+    Connection connection = connect(protocol);
+    hostConnections.add(connection);
+    return connection;
+  }
+
+  private Connection connect(BackendProtocol protocol) {
+    Bootstrap bootstrap =
+        new Bootstrap()
+            .group(eventLoop)
+            .channel(NioSocketChannel.class)
+            .handler(
+                new ChannelInitializer<NioSocketChannel>() {
+                  @Override
+                  protected void initChannel(NioSocketChannel connectionChannel) {
+                    ProxyServer.addHandlers(
+                        connectionChannel.pipeline(), protocol.connectionHandlerProviders());
+                  }
+                })
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .attr(PROTOCOL_KEY, protocol);
+    Connection connection = new Connection(bootstrap.connect(protocol.host(), protocol.port()));
+    HostAndPort hostAndPort = HostAndPort.fromParts(protocol.host(), protocol.port());
+    connection.connectFuture.addListener(
+        (ChannelFuture future) -> {
+          if (!future.isSuccess()) {
+            logger.atWarning().withCause(future.cause()).log(
+                "Cannot connect to backend %s for %s protocol.", hostAndPort, protocol.name());
+            evict(hostAndPort, connection);
+            return;
+          }
+          logger.atInfo().log(
+              "Backend connection established: %s %s", protocol.name(), future.channel());
+          ChannelFuture unusedFuture =
+              future
+                  .channel()
+                  .closeFuture()
+                  .addListener(
+                      future2 -> {
+                        logger.atInfo().log(
+                            "Backend connection terminated: %s %s",
+                            protocol.name(), future.channel());
+                        evict(hostAndPort, connection);
+                      });
+        });
+    return connection;
+  }
+
+  private void evict(HostAndPort hostAndPort, Connection connection) {
+    List<Connection> hostConnections = connections.get(hostAndPort);
+    if (hostConnections != null) {
+      hostConnections.remove(connection);
+    }
+  }
+
+  /** A connection to a backend host and the number of streams opened on it. */
+  private static final class Connection {
+
+    private final ChannelFuture connectFuture;
+    private int openStreams = 0;
+
+    private Connection(ChannelFuture connectFuture) {
+      this.connectFuture = connectFuture;
+    }
+
+    /** Whether new streams can be opened on this connection, once it is established. */
+    private boolean isUsable() {
+      if (!connectFuture.isDone()) {
+        return true;
+      }
+      Channel channel = connectFuture.channel();
+      return connectFuture.isSuccess()
+          && channel.isActive()
+          && !Http2ConnectionHealthHandler.isDraining(channel);
+    }
+
+    private boolean hasCapacity(int maxConcurrentStreams) {
+      int limit = maxConcurrentStreams;
+      if (connectFuture.isSuccess()) {
+        Http2FrameCodec codec = connectFuture.channel().pipeline().get(Http2FrameCodec.class);
+        if (codec != null) {
+          // The limit advertised by the backend in its SETTINGS frame.
+          limit = Math.min(limit, codec.connection().local().maxActiveStreams());
+        }
+      }
+      return openStreams < limit;
+    }
+  }
+}
@@ -15,6 +15,7 @@
 package google.registry.proxy;
 
 import static google.registry.networking.handler.SslClientInitializer.createSslClientInitializerWithSystemTrustStore;
+import static google.registry.networking.handler.SslClientInitializer.createSslClientInitializerWithSystemTrustStoreAndAlpn;
 
 import com.google.common.collect.ImmutableList;
 import dagger.Module;
@@ -22,13 +23,22 @@ import dagger.Provides;
 import google.registry.networking.handler.SslClientInitializer;
 import google.registry.proxy.Protocol.BackendProtocol;
 import google.registry.proxy.handler.BackendMetricsHandler;
+import google.registry.proxy.handler.Http2ConnectionHealthHandler;
 import google.registry.proxy.handler.RelayHandler.FullHttpResponseRelayHandler;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.timeout.IdleStateHandler;
 import jakarta.inject.Provider;
 import jakarta.inject.Qualifier;
 import java.security.cert.X509Certificate;
@@ -46,6 +56,12 @@ import javax.annotation.Nullable;
  * loopback (for security reasons), as is the case when both the proxy and Nomulus container live in
  * the same Kubernetes pod.
  *
+ * <p>If {@code httpsRelay.http2} is set, requests are relayed over HTTP/2 instead: the protocol is
+ * then multiplexed, with {@link HttpsRelayConnection} handlers making up the pipeline of the
+ * connections shared by many relays, and the regular handlers making up the pipeline of the
+ * stream opened for each request. The protocol is negotiated with ALPN over TLS, and assumed
+ * without negotiation (with "prior knowledge") over plain HTTP.
+ *
  * @see <a href=https://kubernetes.io/docs/concepts/services-networking/>The Kubernetes network
  *     model</a>
  */
@@ -56,6 +72,10 @@ public class HttpsRelayProtocolModule {
   @Qualifier
   public @interface HttpsRelayProtocol {}
 
+  /** Dagger qualifier to provide handlers of the connections that HTTP/2 streams share. */
+  @Qualifier
+  public @interface HttpsRelayConnection {}
+
   private static final String PROTOCOL_NAME = "https_relay";
 
   @Provides
@@ -63,12 +83,17 @@ public class HttpsRelayProtocolModule {
   static BackendProtocol.Builder provideProtocolBuilder(
       ProxyConfig config,
       @HttpsRelayProtocol boolean localRelay,
-      @HttpsRelayProtocol ImmutableList<Provider<? extends ChannelHandler>> handlerProviders) {
+      @HttpsRelayProtocol ImmutableList<Provider<? extends ChannelHandler>> handlerProviders,
+      @HttpsRelayConnection
+          ImmutableList<Provider<? extends ChannelHandler>> connectionHandlerProviders) {
     return Protocol.backendBuilder()
         .name(PROTOCOL_NAME)
         .isLocal(localRelay)
         .port(localRelay ? config.httpsRelay.localPort : config.httpsRelay.port)
-        .handlerProviders(handlerProviders);
+        .handlerProviders(handlerProviders)
+        .connectionHandlerProviders(connectionHandlerProviders)
+        .maxConcurrentStreams(
+            config.httpsRelay.http2 ? config.httpsRelay.http2MaxConcurrentStreams : 1);
   }
 
   @Provides
@@ -81,23 +106,42 @@ public class HttpsRelayProtocolModule {
         channel -> channel.attr(Protocol.PROTOCOL_KEY).get().port());
   }
 
+  @Provides
+  @HttpsRelayConnection
+  static SslClientInitializer<NioSocketChannel> provideHttp2SslClientInitializer(
+      SslProvider sslProvider) {
+    return createSslClientInitializerWithSystemTrustStoreAndAlpn(
+        sslProvider,
+        channel -> ((BackendProtocol) channel.attr(Protocol.PROTOCOL_KEY).get()).host(),
+        channel -> channel.attr(Protocol.PROTOCOL_KEY).get().port(),
+        ImmutableList.of(ApplicationProtocolNames.HTTP_2));
+  }
+
   @Provides
   @HttpsRelayProtocol
   static ImmutableList<Provider<? extends ChannelHandler>> provideHandlerProviders(
+      ProxyConfig config,
       @HttpsRelayProtocol boolean localRelay,
       @HttpsRelayProtocol
           Provider<SslClientInitializer<NioSocketChannel>> sslClientInitializerProvider,
       Provider<HttpClientCodec> httpClientCodecProvider,
+      Provider<Http2StreamFrameToHttpObjectCodec> http2StreamFrameToHttpObjectCodecProvider,
       Provider<HttpObjectAggregator> httpObjectAggregatorProvider,
       Provider<BackendMetricsHandler> backendMetricsHandlerProvider,
       Provider<LoggingHandler> loggingHandlerProvider,
       Provider<FullHttpResponseRelayHandler> relayHandlerProvider) {
     ImmutableList.Builder<Provider<? extends ChannelHandler>> builder =
         new ImmutableList.Builder<>();
-    if (!localRelay) {
-      builder.add(sslClientInitializerProvider);
+    if (config.httpsRelay.http2) {
+      // TLS is handled by the shared connection, the stream only converts between HTTP/2 frames
+      // and HTTP/1.1 objects.
+      builder.add(http2StreamFrameToHttpObjectCodecProvider);
+    } else {
+      if (!localRelay) {
+        builder.add(sslClientInitializerProvider);
+      }
+      builder.add(httpClientCodecProvider);
     }
-    builder.add(httpClientCodecProvider);
     builder.add(httpObjectAggregatorProvider);
     builder.add(backendMetricsHandlerProvider);
     builder.add(loggingHandlerProvider);
@@ -105,11 +149,62 @@ public class HttpsRelayProtocolModule {
     return builder.build();
   }
 
+  @Provides
+  @HttpsRelayConnection
+  static ImmutableList<Provider<? extends ChannelHandler>> provideConnectionHandlerProviders(
+      ProxyConfig config,
+      @HttpsRelayProtocol boolean localRelay,
+      @HttpsRelayConnection
+          Provider<SslClientInitializer<NioSocketChannel>> sslClientInitializerProvider,
+      Provider<Http2FrameCodec> http2FrameCodecProvider,
+      Provider<Http2MultiplexHandler> http2MultiplexHandlerProvider,
+      @HttpsRelayConnection Provider<IdleStateHandler> idleStateHandlerProvider,
+      Provider<Http2ConnectionHealthHandler> http2ConnectionHealthHandlerProvider) {
+    if (!config.httpsRelay.http2) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<Provider<? extends ChannelHandler>> builder =
+        new ImmutableList.Builder<>();
+    if (!localRelay) {
+      builder.add(sslClientInitializerProvider);
+    }
+    builder.add(http2FrameCodecProvider);
+    builder.add(http2MultiplexHandlerProvider);
+    builder.add(idleStateHandlerProvider);
+    builder.add(http2ConnectionHealthHandlerProvider);
+    return builder.build();
+  }
+
   @Provides
   static HttpClientCodec provideHttpClientCodec() {
     return new HttpClientCodec();
   }
 
+  @Provides
+  static Http2FrameCodec provideHttp2FrameCodec() {
+    // The proxy never accepts streams initiated by the backend.
+    return Http2FrameCodecBuilder.forClient()
+        .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+        .build();
+  }
+
+  @Provides
+  static Http2MultiplexHandler provideHttp2MultiplexHandler() {
+    // With server push disabled, the handler for streams initiated by the backend is never used.
+    return new Http2MultiplexHandler(new ChannelInboundHandlerAdapter());
+  }
+
+  @Provides
+  static Http2StreamFrameToHttpObjectCodec provideHttp2StreamFrameToHttpObjectCodec() {
+    return new Http2StreamFrameToHttpObjectCodec(false);
+  }
+
+  @Provides
+  @HttpsRelayConnection
+  static IdleStateHandler provideIdleStateHandler(ProxyConfig config) {
+    return new IdleStateHandler(config.httpsRelay.http2PingIntervalSeconds, 0, 0);
+  }
+
   @Provides
   static HttpObjectAggregator provideHttpObjectAggregator(ProxyConfig config) {
     return new HttpObjectAggregator(config.httpsRelay.maxMessageLengthBytes);
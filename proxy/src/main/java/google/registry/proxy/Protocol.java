@@ -49,7 +49,10 @@ public interface Protocol {
 
   /** A builder for {@link FrontendProtocol}, by default it connects to a remote host. */
   static BackendProtocol.Builder backendBuilder() {
-    return new AutoValue_Protocol_BackendProtocol.Builder().isLocal(false);
+    return new AutoValue_Protocol_BackendProtocol.Builder()
+        .isLocal(false)
+        .connectionHandlerProviders(ImmutableList.of())
+        .maxConcurrentStreams(1);
   }
 
   /**
@@ -115,7 +118,9 @@ public interface Protocol {
    * Connection parameters for a connection from the proxy to Nomulus.
    *
    * <p>This protocol is associated to a {@link NioSocketChannel} established by the proxy
-   * connecting to a remote peer.
+   * connecting to a remote peer, or, if the protocol is {@linkplain #isMultiplexed multiplexed},
+   * to an HTTP/2 stream channel opened on such a connection that is shared with other frontend
+   * connections. In the latter case {@link #handlerProviders} are the handlers of the stream.
    */
   @AutoValue
   abstract class BackendProtocol implements Protocol {
@@ -125,6 +130,20 @@ public interface Protocol {
     /** Whether the protocol is expected to connect to localhost. */
     public abstract boolean isLocal();
 
+    /**
+     * The {@link ChannelHandler} providers for the shared HTTP/2 connection that streams of this
+     * protocol are multiplexed over, in order. Empty if each relay uses its own connection.
+     */
+    public abstract ImmutableList<Provider<? extends ChannelHandler>> connectionHandlerProviders();
+
+    /** Maximum number of streams multiplexed over one connection. */
+    public abstract int maxConcurrentStreams();
+
+    /** Whether relays share connections, each relay using its own stream. */
+    public boolean isMultiplexed() {
+      return !connectionHandlerProviders().isEmpty();
+    }
+
     /** Builder of {@link BackendProtocol}. */
     @AutoValue.Builder
     public abstract static class Builder extends Protocol.Builder<Builder, BackendProtocol> {
@@ -132,6 +151,11 @@ public interface Protocol {
 
       public abstract Builder isLocal(boolean value);
 
+      public abstract Builder connectionHandlerProviders(
+          ImmutableList<Provider<? extends ChannelHandler>> value);
+
+      public abstract Builder maxConcurrentStreams(int value);
+
       abstract BackendProtocol autoBuild();
 
       @Override
@@ -140,6 +164,10 @@ public interface Protocol {
         Preconditions.checkState(
             !protocol.isLocal() || protocol.host().equals("localhost"),
             "Local backend protocol must connect to localhost");
+        Preconditions.checkState(
+            protocol.maxConcurrentStreams() > 0,
+            "Backend protocol %s must allow at least one stream per connection",
+            protocol.name());
         return autoBuild();
       }
     }
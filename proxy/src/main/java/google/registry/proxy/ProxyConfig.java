@@ -87,6 +87,9 @@ public class ProxyConfig {
     public int port;
     public int localPort;
     public int maxMessageLengthBytes;
+    public boolean http2;
+    public int http2MaxConcurrentStreams;
+    public int http2PingIntervalSeconds;
   }
 
   /** Configuration options that apply to Stackdriver monitoring metrics. */
@@ -109,6 +112,7 @@ public class ProxyConfig {
     }
 
     public int refreshSeconds;
+    public String tokenStore;
     public QuotaGroup defaultQuota;
     public List<QuotaGroup> customQuota;
   }
@@ -35,10 +35,12 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.Future;
 import io.netty.util.internal.logging.InternalLoggerFactory;
@@ -46,8 +48,11 @@ import io.netty.util.internal.logging.JdkLoggerFactory;
 import jakarta.inject.Provider;
 import java.util.ArrayDeque;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
 
 /**
  * A multiprotocol proxy server that listens for protocols in {@link
@@ -77,12 +82,20 @@ public class ProxyServer implements Runnable {
    *       {@link Channel}, i. e. the {@link Channel} that binds to local port and listens.
    *   <li>Add handlers for the {@link FrontendProtocol} to the inbound {@link Channel}.
    *   <li>Establish an outbound {@link Channel} that serves as the relay channel of the inbound
-   *       {@link Channel}, as specified by {@link FrontendProtocol#relayProtocol}.
+   *       {@link Channel}, as specified by {@link FrontendProtocol#relayProtocol}. If the {@link
+   *       BackendProtocol} is multiplexed, the outbound {@link Channel} is a stream opened on a
+   *       connection shared with other inbound {@link Channel}s, taken from the {@link
+   *       Http2ConnectionPool} of the inbound {@link Channel}'s {@link EventLoop}.
    *   <li>After the outbound {@link Channel} connects successfully, enable {@link
    *       ChannelOption#AUTO_READ} on the inbound {@link Channel} to start reading.
    * </ol>
    */
   private static class ServerChannelInitializer extends ChannelInitializer<NioSocketChannel> {
+
+    /** Pools of multiplexed backend connections, one per event loop of the inbound channels. */
+    private final Map<EventLoop, Http2ConnectionPool> http2ConnectionPools =
+        new ConcurrentHashMap<>();
+
     @Override
     protected void initChannel(NioSocketChannel inboundChannel) {
       // Add inbound channel handlers.
@@ -100,26 +113,34 @@ public class ProxyServer implements Runnable {
             "Connection established: %s %s", inboundProtocol.name(), inboundChannel);
         // Connect to the relay (outbound) channel specified by the BackendProtocol.
         BackendProtocol outboundProtocol = inboundProtocol.relayProtocol();
-        Bootstrap bootstrap =
-            new Bootstrap()
-                // Use the same thread to connect to the relay channel, therefore avoiding
-                // synchronization handling due to interactions between the two channels
-                .group(inboundChannel.eventLoop())
-                .channel(NioSocketChannel.class)
-                .handler(
-                    new ChannelInitializer<NioSocketChannel>() {
-                      @Override
-                      protected void initChannel(NioSocketChannel outboundChannel) {
-                        addHandlers(
-                            outboundChannel.pipeline(), outboundProtocol.handlerProviders());
-                      }
-                    })
-                .option(ChannelOption.SO_KEEPALIVE, true)
-                // Outbound channel relays to inbound channel.
-                .attr(RELAY_CHANNEL_KEY, inboundChannel)
-                .attr(PROTOCOL_KEY, outboundProtocol);
+        if (outboundProtocol.isMultiplexed()) {
+          Http2ConnectionPool http2ConnectionPool =
+              http2ConnectionPools.computeIfAbsent(
+                  inboundChannel.eventLoop(), Http2ConnectionPool::new);
+          openOutboundStream(
+              http2ConnectionPool, inboundProtocol, outboundProtocol, inboundChannel);
+        } else {
+          Bootstrap bootstrap =
+              new Bootstrap()
+                  // Use the same thread to connect to the relay channel, therefore avoiding
+                  // synchronization handling due to interactions between the two channels
+                  .group(inboundChannel.eventLoop())
+                  .channel(NioSocketChannel.class)
+                  .handler(
+                      new ChannelInitializer<NioSocketChannel>() {
+                        @Override
+                        protected void initChannel(NioSocketChannel outboundChannel) {
+                          addHandlers(
+                              outboundChannel.pipeline(), outboundProtocol.handlerProviders());
+                        }
+                      })
+                  .option(ChannelOption.SO_KEEPALIVE, true)
+                  // Outbound channel relays to inbound channel.
+                  .attr(RELAY_CHANNEL_KEY, inboundChannel)
+                  .attr(PROTOCOL_KEY, outboundProtocol);
 
-        connectOutboundChannel(bootstrap, inboundProtocol, outboundProtocol, inboundChannel);
+          connectOutboundChannel(bootstrap, inboundProtocol, outboundProtocol, inboundChannel);
+        }
         // If the inbound connection is closed, close its outbound relay connection as well. There
         // is no way to recover from an inbound connection termination, as the connection can only
         // be initiated by the client.
@@ -172,76 +193,138 @@ public class ProxyServer implements Runnable {
       outboundChannelFuture.addListener(
           (ChannelFuture future) -> {
             if (future.isSuccess()) {
-              // Outbound connection is successful, now we can set the metadata to couple these two
-              // connections together.
-              Channel outboundChannel = future.channel();
-              // Inbound channel relays to outbound channel.
-              inboundChannel.attr(RELAY_CHANNEL_KEY).set(outboundChannel);
-              // Outbound channel established successfully, inbound channel can start reading.
-              // This setter also calls channel.read() to request read operation.
-              inboundChannel.config().setAutoRead(true);
-              logger.atInfo().log(
-                  "Relay established: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
-                  inboundProtocol.name(), outboundProtocol.name(), inboundChannel, outboundChannel);
-              // Now that we have a functional relay channel to the backend, if there's any
-              // buffered requests, send them off to the relay channel. We need to obtain a copy
-              // of the messages and clear the queue first, because if the relay is not successful,
-              // the message will be written back to the queue, causing an infinite loop.
-              Queue<Object> relayBuffer = inboundChannel.attr(RELAY_BUFFER_KEY).get();
-              Object[] messages = relayBuffer.toArray();
-              relayBuffer.clear();
-              for (Object msg : messages) {
-                logger.atInfo().log(
-                    "Relay retried: %s <-> %s\nFRONTEND: %s\nBACKEND: %s\nHASH: %s",
-                    inboundProtocol.name(),
-                    outboundProtocol.name(),
-                    inboundChannel,
-                    outboundChannel,
-                    msg.hashCode());
-                writeToRelayChannel(inboundChannel, outboundChannel, msg, true);
-              }
-              // When this outbound connection is closed, try reconnecting if the inbound connection
-              // is still active.
-              ChannelFuture unusedChannelFuture =
-                  outboundChannel
-                      .closeFuture()
-                      .addListener(
-                          (ChannelFuture future2) -> {
-                            if (inboundChannel.isActive()) {
-                              logger.atInfo().log(
-                                  "Relay interrupted: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
-                                  inboundProtocol.name(),
-                                  outboundProtocol.name(),
-                                  inboundChannel,
-                                  outboundChannel);
-                              connectOutboundChannel(
-                                  bootstrap, inboundProtocol, outboundProtocol, inboundChannel);
-                            } else {
-                              logger.atInfo().log(
-                                  "Relay terminated: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
-                                  inboundProtocol.name(),
-                                  outboundProtocol.name(),
-                                  inboundChannel,
-                                  outboundChannel);
-                            }
-                          });
+              relayEstablished(
+                  inboundProtocol,
+                  outboundProtocol,
+                  inboundChannel,
+                  future.channel(),
+                  () ->
+                      connectOutboundChannel(
+                          bootstrap, inboundProtocol, outboundProtocol, inboundChannel));
             } else {
-              // We cannot connect to Nomulus for unknown reasons, no relay can be done so drop the
-              // inbound connection as well.
-              logger.atSevere().withCause(future.cause()).log(
-                  "Cannot connect to relay channel for %s channel: %s.",
-                  inboundProtocol.name(), inboundChannel);
-              ChannelFuture unusedFuture = inboundChannel.close();
+              relayFailed(inboundProtocol, inboundChannel, future.cause());
             }
           });
     }
 
-    private static void addHandlers(
-        ChannelPipeline channelPipeline,
-        ImmutableList<Provider<? extends ChannelHandler>> handlerProviders) {
-      for (Provider<? extends ChannelHandler> handlerProvider : handlerProviders) {
-        channelPipeline.addLast(handlerProvider.get());
+    /**
+     * Opens an outbound relay stream on a shared backend connection and sets the relevant metadata
+     * on both channels.
+     *
+     * <p>Each HTTP/2 stream carries a single request and its response, after which it is closed by
+     * the backend. As with {@link #connectOutboundChannel}, a new stream is then opened if the
+     * inbound connection is still active.
+     */
+    private static void openOutboundStream(
+        Http2ConnectionPool http2ConnectionPool,
+        FrontendProtocol inboundProtocol,
+        BackendProtocol outboundProtocol,
+        NioSocketChannel inboundChannel) {
+      Future<Http2StreamChannel> unusedFuture =
+          http2ConnectionPool
+              .openStream(outboundProtocol, inboundChannel)
+              .addListener(
+                  (Future<Http2StreamChannel> future) -> {
+                    if (future.isSuccess()) {
+                      relayEstablished(
+                          inboundProtocol,
+                          outboundProtocol,
+                          inboundChannel,
+                          future.getNow(),
+                          () ->
+                              openOutboundStream(
+                                  http2ConnectionPool,
+                                  inboundProtocol,
+                                  outboundProtocol,
+                                  inboundChannel));
+                    } else {
+                      relayFailed(inboundProtocol, inboundChannel, future.cause());
+                    }
+                  });
+    }
+
+    /**
+     * Couples an inbound channel with its newly established outbound relay channel.
+     *
+     * @param reconnect establishes another outbound channel when this one is closed while the
+     *     inbound channel is still active.
+     */
+    private static void relayEstablished(
+        FrontendProtocol inboundProtocol,
+        BackendProtocol outboundProtocol,
+        NioSocketChannel inboundChannel,
+        Channel outboundChannel,
+        Runnable reconnect) {
+      // A multiplexed relay channel is a stream that is closed after every response, there is no
+      // point in logging its lifecycle other than for debugging.
+      Level level = outboundProtocol.isMultiplexed() ? Level.FINE : Level.INFO;
+      // Inbound channel relays to outbound channel.
+      inboundChannel.attr(RELAY_CHANNEL_KEY).set(outboundChannel);
+      // Outbound channel established successfully, inbound channel can start reading.
+      // This setter also calls channel.read() to request read operation.
+      inboundChannel.config().setAutoRead(true);
+      logger.at(level).log(
+          "Relay established: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
+          inboundProtocol.name(), outboundProtocol.name(), inboundChannel, outboundChannel);
+      // Now that we have a functional relay channel to the backend, if there's any
+      // buffered requests, send them off to the relay channel. We need to obtain a copy
+      // of the messages and clear the queue first, because if the relay is not successful,
+      // the message will be written back to the queue, causing an infinite loop.
+      Queue<Object> relayBuffer = inboundChannel.attr(RELAY_BUFFER_KEY).get();
+      Object[] messages = relayBuffer.toArray();
+      relayBuffer.clear();
+      for (Object msg : messages) {
+        logger.atInfo().log(
+            "Relay retried: %s <-> %s\nFRONTEND: %s\nBACKEND: %s\nHASH: %s",
+            inboundProtocol.name(),
+            outboundProtocol.name(),
+            inboundChannel,
+            outboundChannel,
+            msg.hashCode());
+        writeToRelayChannel(inboundChannel, outboundChannel, msg, true);
       }
+      // When this outbound connection is closed, try reconnecting if the inbound connection
+      // is still active.
+      ChannelFuture unusedChannelFuture =
+          outboundChannel
+              .closeFuture()
+              .addListener(
+                  (ChannelFuture future) -> {
+                    if (inboundChannel.isActive()) {
+                      logger.at(level).log(
+                          "Relay interrupted: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
+                          inboundProtocol.name(),
+                          outboundProtocol.name(),
+                          inboundChannel,
+                          outboundChannel);
+                      reconnect.run();
+                    } else {
+                      logger.atInfo().log(
+                          "Relay terminated: %s <-> %s\nFRONTEND: %s\nBACKEND: %s",
+                          inboundProtocol.name(),
+                          outboundProtocol.name(),
+                          inboundChannel,
+                          outboundChannel);
+                    }
+                  });
+    }
+
+    private static void relayFailed(
+        FrontendProtocol inboundProtocol, NioSocketChannel inboundChannel, Throwable cause) {
+      // We cannot connect to Nomulus for unknown reasons, no relay can be done so drop the
+      // inbound connection as well.
+      logger.atSevere().withCause(cause).log(
+          "Cannot connect to relay channel for %s channel: %s.",
+          inboundProtocol.name(), inboundChannel);
+      ChannelFuture unusedFuture = inboundChannel.close();
+    }
+  }
+
+  static void addHandlers(
+      ChannelPipeline channelPipeline,
+      ImmutableList<Provider<? extends ChannelHandler>> handlerProviders) {
+    for (Provider<? extends ChannelHandler> handlerProvider : handlerProviders) {
+      channelPipeline.addLast(handlerProvider.get());
     }
   }
 
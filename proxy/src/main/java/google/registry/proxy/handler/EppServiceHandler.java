@@ -36,6 +36,7 @@ import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Promise;
 import java.security.cert.X509Certificate;
@@ -59,6 +60,8 @@ public class EppServiceHandler extends HttpsRelayServiceHandler {
 
   public static final String EPP_CONTENT_TYPE = "application/epp+xml";
 
+  private static final AsciiString EPP_CONTENT_TYPE_VALUE = AsciiString.cached(EPP_CONTENT_TYPE);
+
   private final byte[] helloBytes;
 
   private String sslClientCertificateHash;
@@ -135,8 +138,8 @@ public class EppServiceHandler extends HttpsRelayServiceHandler {
         .set(ProxyHttpHeaders.CERTIFICATE_HASH, sslClientCertificateHash)
         .set(ProxyHttpHeaders.IP_ADDRESS, clientAddress)
         .set(ProxyHttpHeaders.FALLBACK_IP_ADDRESS, clientAddress)
-        .set(HttpHeaderNames.CONTENT_TYPE, EPP_CONTENT_TYPE)
-        .set(HttpHeaderNames.ACCEPT, EPP_CONTENT_TYPE);
+        .set(HttpHeaderNames.CONTENT_TYPE, EPP_CONTENT_TYPE_VALUE)
+        .set(HttpHeaderNames.ACCEPT, EPP_CONTENT_TYPE_VALUE);
 
     maybeSetRegistrarIdHeader(request);
 
@@ -0,0 +1,106 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy.handler;
+
+import com.google.common.flogger.FluentLogger;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import jakarta.inject.Inject;
+
+/**
+ * Handler that monitors the health of an HTTP/2 backend connection shared by many relays.
+ *
+ * <p>This handler is added after the {@link Http2MultiplexHandler}, which passes connection-level
+ * frames down the pipeline. Upon receiving a GOAWAY frame the connection is marked as draining: no
+ * new streams should be opened on it, but the streams already open are left to finish.
+ *
+ * <p>When the preceding {@link IdleStateHandler} reports that nothing has been read from the
+ * connection for a while, a PING is sent to the backend. If the PING is still not acknowledged the
+ * next time the connection goes idle, the connection is deemed dead and closed, so that relays are
+ * not stuck on a connection that the backend has silently dropped.
+ */
+public class Http2ConnectionHealthHandler extends ChannelInboundHandlerAdapter {
+
+  private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+  /** Key set to {@code true} on a connection that no new streams should be opened on. */
+  public static final AttributeKey<Boolean> DRAINING_KEY = AttributeKey.valueOf("DRAINING_KEY");
+
+  private long lastPingContent = 0;
+  private boolean pingOutstanding = false;
+
+  @Inject
+  Http2ConnectionHealthHandler() {}
+
+  /** Returns whether the given connection has been marked as draining. */
+  public static boolean isDraining(Channel channel) {
+    return Boolean.TRUE.equals(channel.attr(DRAINING_KEY).get());
+  }
+
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (msg instanceof Http2GoAwayFrame) {
+      Http2GoAwayFrame goAwayFrame = (Http2GoAwayFrame) msg;
+      logger.atInfo().log(
+          "GOAWAY received with error code %d, draining backend connection %s",
+          goAwayFrame.errorCode(), ctx.channel());
+      ctx.channel().attr(DRAINING_KEY).set(true);
+      ReferenceCountUtil.release(msg);
+    } else if (msg instanceof Http2PingFrame) {
+      Http2PingFrame pingFrame = (Http2PingFrame) msg;
+      if (pingFrame.ack() && pingFrame.content() == lastPingContent) {
+        pingOutstanding = false;
+      }
+    } else {
+      super.channelRead(ctx, msg);
+    }
+  }
+
+  @Override
+  public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+    if (!(evt instanceof IdleStateEvent)) {
+      super.userEventTriggered(ctx, evt);
+      return;
+    }
+    if (pingOutstanding) {
+      logger.atWarning().log("PING not acknowledged, closing backend connection %s", ctx.channel());
+      ChannelFuture unusedFuture = ctx.close();
+      return;
+    }
+    pingOutstanding = true;
+    ChannelFuture unusedFuture =
+        ctx.writeAndFlush(new DefaultHttp2PingFrame(++lastPingContent))
+            .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+  }
+
+  /** Terminates the connection, and therefore all streams multiplexed over it, upon exception. */
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    logger.atWarning().withCause(cause).log(
+        "Closing backend connection %s due to unexpected exception.", ctx.channel());
+    ChannelFuture unusedFuture = ctx.close();
+  }
+}
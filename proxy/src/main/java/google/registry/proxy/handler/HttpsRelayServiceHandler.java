@@ -25,7 +25,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
-import io.netty.handler.codec.ByteToMessageCodec;
+import io.netty.handler.codec.MessageToMessageCodec;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
@@ -37,6 +37,7 @@ import io.netty.handler.codec.http.cookie.ClientCookieDecoder;
 import io.netty.handler.codec.http.cookie.ClientCookieEncoder;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.timeout.ReadTimeoutException;
+import io.netty.util.AsciiString;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -56,13 +57,21 @@ import javax.net.ssl.SSLHandshakeException;
  * of the next outbound handler in the channel pipeline, which eventually writes the response bytes
  * to the remote peer of this channel.
  *
+ * <p>Payloads are never copied in either direction: the request content is a retained slice of the
+ * inbound frame, and the response content buffer itself is passed down the pipeline. Ownership of
+ * these (usually pooled) buffers moves along with the message, so whoever consumes the message
+ * last is responsible for releasing it.
+ *
  * <p>This handler is session-aware and will store all the session cookies that are contained in the
  * HTTP response headers, which are added back to headers of subsequent HTTP requests.
  */
-public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHttpResponse> {
+public abstract class HttpsRelayServiceHandler
+    extends MessageToMessageCodec<ByteBuf, FullHttpResponse> {
 
   private static final FluentLogger logger = FluentLogger.forEnclosingClass();
-  private static final String CANARY_HEADER = "canary";
+  private static final AsciiString CANARY_HEADER = AsciiString.cached("canary");
+  private static final AsciiString CANARY_VALUE = AsciiString.cached("true");
+  private static final AsciiString USER_AGENT = AsciiString.cached("Proxy");
 
   protected static final ImmutableSet<Class<? extends Exception>> NON_FATAL_INBOUND_EXCEPTIONS =
       ImmutableSet.of(ReadTimeoutException.class, SSLHandshakeException.class);
@@ -71,7 +80,7 @@ public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHt
       ImmutableSet.of(NonOkHttpResponseException.class);
 
   protected final Map<String, Cookie> cookieStore = new LinkedHashMap<>();
-  private final String relayHost;
+  private final AsciiString relayHost;
   private final String relayPath;
   private final boolean canary;
   private final Supplier<String> idTokenSupplier;
@@ -84,7 +93,7 @@ public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHt
       boolean canary,
       Supplier<String> idTokenSupplier,
       FrontendMetrics metrics) {
-    this.relayHost = relayHost;
+    this.relayHost = AsciiString.of(relayHost);
     this.relayPath = relayPath;
     this.canary = canary;
     this.idTokenSupplier = idTokenSupplier;
@@ -97,21 +106,27 @@ public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHt
    * <p>This default method creates a bare-bone {@link FullHttpRequest} that may need to be
    * modified, e.g. adding headers specific for each protocol.
    *
+   * <p>The request content is a retained slice of {@code byteBuf}, so the returned request holds a
+   * reference to the inbound buffer until it is released.
+   *
    * @param byteBuf inbound message.
    */
   protected FullHttpRequest decodeFullHttpRequest(ByteBuf byteBuf) {
     FullHttpRequest request =
-        new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, relayPath);
+        new DefaultFullHttpRequest(
+            HttpVersion.HTTP_1_1,
+            HttpMethod.POST,
+            relayPath,
+            byteBuf.readRetainedSlice(byteBuf.readableBytes()));
     request
         .headers()
-        .set(HttpHeaderNames.USER_AGENT, "Proxy")
+        .set(HttpHeaderNames.USER_AGENT, USER_AGENT)
         .set(HttpHeaderNames.HOST, relayHost)
         .set(HttpHeaderNames.AUTHORIZATION, "Bearer " + idTokenSupplier.get())
-        .setInt(HttpHeaderNames.CONTENT_LENGTH, byteBuf.readableBytes());
+        .setInt(HttpHeaderNames.CONTENT_LENGTH, request.content().readableBytes());
     if (canary) {
-      request.headers().set(CANARY_HEADER, "true");
+      request.headers().set(CANARY_HEADER, CANARY_VALUE);
     }
-    request.content().writeBytes(byteBuf);
     return request;
   }
 
@@ -141,7 +156,7 @@ public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHt
   /**
    * Construct the {@link ByteBuf}
    *
-   * <p>This default method puts all the response payload into the {@link ByteBuf}.
+   * <p>This default method returns the response payload buffer itself, without copying it.
    *
    * @param fullHttpResponse outbound http response.
    */
@@ -164,13 +179,15 @@ public abstract class HttpsRelayServiceHandler extends ByteToMessageCodec<FullHt
   }
 
   @Override
-  protected void encode(ChannelHandlerContext ctx, FullHttpResponse response, ByteBuf byteBuf)
+  protected void encode(ChannelHandlerContext ctx, FullHttpResponse response, List<Object> out)
       throws Exception {
     if (!response.status().equals(HttpResponseStatus.OK)) {
       throw new NonOkHttpResponseException(response, ctx.channel());
     }
     saveCookies(response);
-    byteBuf.writeBytes(encodeFullHttpResponse(response));
+    // The encoder releases the response once this method returns, so the payload that is passed on
+    // needs its own reference.
+    out.add(encodeFullHttpResponse(response).retain());
   }
 
   /** Terminates connection upon inbound exception. */
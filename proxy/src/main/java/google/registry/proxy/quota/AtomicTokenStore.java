@@ -0,0 +1,288 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy.quota;
+
+import static google.registry.proxy.quota.QuotaConfig.SENTINEL_UNLIMITED_TOKENS;
+import static java.lang.StrictMath.min;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import google.registry.util.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.concurrent.ThreadSafe;
+import org.joda.time.DateTime;
+
+/**
+ * A lock-free {@link TokenStore} that keeps the tokens of each user in an {@link AtomicLong}.
+ *
+ * <p>The base {@link TokenStore} updates its entries with {@link ConcurrentHashMap#compute}, which
+ * locks the bin of the user and allocates a new entry (plus Joda time objects) on every request.
+ * When a registrar opens many sessions at once, the {@code QuotaHandler} of each of them contends
+ * on that lock. This store instead:
+ *
+ * <ul>
+ *   <li>Packs the token count of a user and the sequence number of the refill period it belongs to
+ *       into a single {@code long}, updated with compare-and-set.
+ *   <li>Measures refill periods with a {@link Ticker} rather than the {@link Clock}, so that
+ *       checking whether a refill is due does not allocate. The {@link Clock} is only read when a
+ *       refill actually happens, to timestamp the new pool of tokens.
+ *   <li>Creates the {@link TimestampedInteger} results of a refill period once, when the period
+ *       starts, and hands out the same instances for every {@link #take} in the period.
+ *   <li>Purges stale entries when a new user is added and the previous purge is older than the
+ *       refresh period, instead of on a schedule. The store can only grow when users are added, so
+ *       this bounds its size just as well, without a background thread.
+ * </ul>
+ *
+ * <p>This store is selected with {@code tokenStore: ATOMIC} in the quota configuration.
+ */
+@ThreadSafe
+public class AtomicTokenStore extends TokenStore {
+
+  private static final long TOKEN_MASK = 0xFFFFFFFFL;
+
+  /** A map of {@code userId} to its bucket of tokens. */
+  private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  private final QuotaConfig config;
+  private final Clock clock;
+  private final Ticker ticker;
+  private final long refreshNanos;
+  private final AtomicLong lastPurgeNanos;
+
+  public AtomicTokenStore(QuotaConfig config, Clock clock) {
+    this(config, null, clock, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  AtomicTokenStore(
+      QuotaConfig config, ScheduledExecutorService refreshExecutor, Clock clock, Ticker ticker) {
+    super(config, refreshExecutor, clock);
+    this.config = config;
+    this.clock = clock;
+    this.ticker = ticker;
+    this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(config.getRefreshPeriod().getMillis());
+    this.lastPurgeNanos = new AtomicLong(ticker.read());
+  }
+
+  /**
+   * A refill period of a bucket, and the results handed out for tokens taken during it.
+   *
+   * <p>A new period is published before any token is taken from it, so the sequence number in the
+   * state of a bucket is never greater than the one of its current period.
+   */
+  private record Period(
+      int sequence,
+      long startNanos,
+      DateTime refillTime,
+      TimestampedInteger granted,
+      TimestampedInteger denied) {
+
+    static Period create(int sequence, long startNanos, DateTime refillTime) {
+      return new Period(
+          sequence,
+          startNanos,
+          refillTime,
+          TimestampedInteger.create(1, refillTime),
+          TimestampedInteger.create(0, refillTime));
+    }
+  }
+
+  /** The tokens of a user, along with the user's quota configuration. */
+  private static final class Bucket {
+    private final boolean unlimited;
+    private final int tokenAmount;
+    private final long refillNanos;
+    private final AtomicReference<Period> period;
+
+    /**
+     * The sequence number of the refill period in the upper half and the token count in the lower
+     * half. A sequence number lower than the one of the current period means the bucket has been
+     * refilled since it was last taken from, i.e. it is full.
+     */
+    private final AtomicLong state;
+
+    private Bucket(boolean unlimited, int tokenAmount, long refillNanos, Period period) {
+      this.unlimited = unlimited;
+      this.tokenAmount = tokenAmount;
+      this.refillNanos = refillNanos;
+      this.period = new AtomicReference<>(period);
+      this.state = new AtomicLong(pack(period.sequence(), tokenAmount));
+    }
+  }
+
+  private static long pack(int sequence, int tokens) {
+    return ((long) sequence << 32) | (tokens & TOKEN_MASK);
+  }
+
+  private static int sequence(long state) {
+    return (int) (state >>> 32);
+  }
+
+  private static int tokens(long state) {
+    return (int) (state & TOKEN_MASK);
+  }
+
+  /**
+   * Attempts to take one token from the token store.
+   *
+   * <p>The bucket of the user is refilled first if its refill period has passed. Returns one token
+   * if one is available, otherwise zero, timestamped at the refill time of the bucket.
+   */
+  @Override
+  TimestampedInteger take(String userId) {
+    Bucket bucket = getOrCreateBucket(userId);
+    if (bucket.unlimited) {
+      return bucket.period.get().granted();
+    }
+    while (true) {
+      Period period = currentPeriod(bucket);
+      long state = bucket.state.get();
+      int sequence = sequence(state);
+      if (sequence > period.sequence()) {
+        // Another thread started a new period after we read the current one.
+        continue;
+      }
+      int tokens = sequence == period.sequence() ? tokens(state) : bucket.tokenAmount;
+      if (tokens == 0) {
+        return period.denied();
+      }
+      if (bucket.state.compareAndSet(state, pack(period.sequence(), tokens - 1))) {
+        return period.granted();
+      }
+    }
+  }
+
+  /**
+   * Attempts to return the granted token to the token store.
+   *
+   * <p>The bucket of the user is refilled first if its refill period has passed. The token is only
+   * added back if it was taken during the current refill period, capped at the allotted amount.
+   */
+  @Override
+  void put(String userId, DateTime returnedTokenRefillTime) {
+    Bucket bucket = buckets.get(userId);
+    if (bucket == null || bucket.unlimited) {
+      return;
+    }
+    while (true) {
+      Period period = currentPeriod(bucket);
+      if (!period.refillTime().equals(returnedTokenRefillTime)) {
+        return;
+      }
+      long state = bucket.state.get();
+      if (sequence(state) != period.sequence()) {
+        // Either the bucket is full, or the period changed after we read it, in which case the
+        // returned token is stale and the next iteration discards it.
+        if (sequence(state) < period.sequence()) {
+          return;
+        }
+        continue;
+      }
+      int tokens = tokens(state);
+      if (tokens >= bucket.tokenAmount
+          || bucket.state.compareAndSet(
+              state, pack(period.sequence(), min(tokens + 1, bucket.tokenAmount)))) {
+        return;
+      }
+    }
+  }
+
+  /** Deletes any entry that has not been refilled for longer than the refresh period. */
+  @Override
+  void refresh() {
+    long now = ticker.read();
+    buckets
+        .values()
+        .removeIf(bucket -> now - bucket.period.get().startNanos() >= refreshNanos);
+  }
+
+  /** Does nothing, stale entries are purged when new users are added instead. */
+  @Override
+  void scheduleRefresh() {}
+
+  @Override
+  @VisibleForTesting
+  TimestampedInteger getTokenForTests(String userId) {
+    Bucket bucket = buckets.get(userId);
+    if (bucket == null) {
+      return null;
+    }
+    // Does not refill the bucket, so that the store is left as is.
+    Period period = bucket.period.get();
+    if (bucket.unlimited) {
+      return TimestampedInteger.create(SENTINEL_UNLIMITED_TOKENS, period.refillTime());
+    }
+    long state = bucket.state.get();
+    return TimestampedInteger.create(
+        sequence(state) == period.sequence() ? tokens(state) : bucket.tokenAmount,
+        period.refillTime());
+  }
+
+  /** Returns the current refill period of the bucket, starting a new one if it is due. */
+  private Period currentPeriod(Bucket bucket) {
+    while (true) {
+      Period period = bucket.period.get();
+      if (bucket.refillNanos == 0) {
+        return period;
+      }
+      long now = ticker.read();
+      if (now - period.startNanos() < bucket.refillNanos) {
+        return period;
+      }
+      Period newPeriod = Period.create(period.sequence() + 1, now, clock.nowUtc());
+      if (bucket.period.compareAndSet(period, newPeriod)) {
+        return newPeriod;
+      }
+    }
+  }
+
+  private Bucket getOrCreateBucket(String userId) {
+    Bucket bucket = buckets.get(userId);
+    if (bucket != null) {
+      return bucket;
+    }
+    purgeIfDue();
+    return buckets.computeIfAbsent(userId, this::createBucket);
+  }
+
+  private Bucket createBucket(String userId) {
+    Period period = Period.create(0, ticker.read(), clock.nowUtc());
+    if (config.hasUnlimitedTokens(userId)) {
+      return new Bucket(true, SENTINEL_UNLIMITED_TOKENS, 0, period);
+    }
+    return new Bucket(
+        false,
+        config.getTokenAmount(userId),
+        TimeUnit.MILLISECONDS.toNanos(config.getRefillPeriod(userId).getMillis()),
+        period);
+  }
+
+  /** Purges stale entries if the refresh period has passed since the last purge. */
+  private void purgeIfDue() {
+    if (refreshNanos == 0) {
+      return;
+    }
+    long now = ticker.read();
+    long lastPurge = lastPurgeNanos.get();
+    // Only one of the threads racing to add users does the purge.
+    if (now - lastPurge >= refreshNanos && lastPurgeNanos.compareAndSet(lastPurge, now)) {
+      refresh();
+    }
+  }
+}
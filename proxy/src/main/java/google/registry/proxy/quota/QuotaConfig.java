@@ -17,6 +17,7 @@ package google.registry.proxy.quota;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ascii;
 import com.google.common.collect.ImmutableMap;
 import google.registry.proxy.ProxyConfig.Quota;
 import google.registry.proxy.ProxyConfig.Quota.QuotaGroup;
@@ -28,8 +29,17 @@ public class QuotaConfig {
   /** A special value of token amount that indicates unlimited tokens. */
   public static final int SENTINEL_UNLIMITED_TOKENS = -1;
 
+  /** Implementations of {@link TokenStore} that can be selected in the config. */
+  public enum TokenStoreType {
+    /** The {@link TokenStore} backed by a map of immutable entries. */
+    MAP,
+    /** The lock-free {@link AtomicTokenStore}. */
+    ATOMIC
+  }
+
   private final String protocolName;
   private final int refreshSeconds;
+  private final TokenStoreType tokenStoreType;
   private final QuotaGroup defaultQuota;
   private final ImmutableMap<String, QuotaGroup> customQuotaMap;
 
@@ -42,6 +52,10 @@ public class QuotaConfig {
   public QuotaConfig(Quota quota, String protocolName) {
     this.protocolName = protocolName;
     refreshSeconds = quota.refreshSeconds;
+    tokenStoreType =
+        quota.tokenStore == null
+            ? TokenStoreType.MAP
+            : TokenStoreType.valueOf(Ascii.toUpperCase(quota.tokenStore));
     defaultQuota = quota.defaultQuota;
     ImmutableMap.Builder<String, QuotaGroup> mapBuilder = new ImmutableMap.Builder<>();
     quota.customQuota.forEach(
@@ -80,6 +94,11 @@ public class QuotaConfig {
     return Duration.standardSeconds(refreshSeconds);
   }
 
+  /** Returns the implementation of {@link TokenStore} to use for this quota config. */
+  TokenStoreType getTokenStoreType() {
+    return tokenStoreType;
+  }
+
   /** Returns the name of the protocol for which this quota config is made. */
   String getProtocolName() {
     return protocolName;
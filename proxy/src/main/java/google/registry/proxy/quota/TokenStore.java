@@ -42,7 +42,8 @@ import org.joda.time.Duration;
  * #put} takes place. It also exposes a {@link #refresh} method that goes through each entry in the
  * store and purges stale entries, in order to prevent the token store from growing too large.
  *
- * <p>There should be one token store for each protocol.
+ * <p>There should be one token store for each protocol. See {@link AtomicTokenStore} for a
+ * lock-free alternative, selected with {@link #create}.
  */
 @ThreadSafe
 public class TokenStore {
@@ -187,6 +188,15 @@ public class TokenStore {
         });
   }
 
+  /** Creates the {@link TokenStore} implementation selected in the given quota config. */
+  public static TokenStore create(
+      QuotaConfig config, ScheduledExecutorService refreshExecutor, Clock clock) {
+    return switch (config.getTokenStoreType()) {
+      case MAP -> new TokenStore(config, refreshExecutor, clock);
+      case ATOMIC -> new AtomicTokenStore(config, clock);
+    };
+  }
+
   /** Schedules token store refresh if enabled. */
   void scheduleRefresh() {
     // Only schedule refresh if the refresh period is not zero.
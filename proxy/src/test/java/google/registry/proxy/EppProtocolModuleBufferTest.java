@@ -0,0 +1,213 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.networking.handler.SslServerInitializer.CLIENT_CERTIFICATE_PROMISE_KEY;
+import static google.registry.proxy.handler.ProxyProtocolHandler.REMOTE_ADDRESS_KEY;
+import static google.registry.util.ResourceUtils.readResourceBytes;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import google.registry.util.SelfSignedCaCertificate;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.EncoderException;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetector.Level;
+import io.netty.util.concurrent.Promise;
+import java.security.cert.X509Certificate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Buffer ownership tests for {@link EppProtocolModule}.
+ *
+ * <p>The EPP pipeline passes pooled buffers from the socket all the way to the relay channel (and
+ * back) without copying them. These tests use a pooled allocator with paranoid leak detection and
+ * check the reference counts of the original buffers: a buffer that is still alive while the
+ * decoded message is held proves that the message is a view of it rather than a copy, and a buffer
+ * that is freed once the message is released proves that nothing leaked along the way.
+ */
+class EppProtocolModuleBufferTest extends ProtocolModuleTest {
+
+  private static final int HEADER_LENGTH = 4;
+  private static final String CLIENT_ADDRESS = "epp.client.tld";
+
+  private static Level originalLeakDetectionLevel;
+
+  private final ByteBufAllocator allocator = new PooledByteBufAllocator(true);
+
+  EppProtocolModuleBufferTest() {
+    super(TestComponent::eppHandlers);
+  }
+
+  @BeforeAll
+  static void beforeAll() {
+    originalLeakDetectionLevel = ResourceLeakDetector.getLevel();
+    ResourceLeakDetector.setLevel(Level.PARANOID);
+  }
+
+  @AfterAll
+  static void afterAll() {
+    ResourceLeakDetector.setLevel(originalLeakDetectionLevel);
+  }
+
+  @BeforeEach
+  @Override
+  void beforeEach() throws Exception {
+    testComponent = makeTestComponent();
+    X509Certificate certificate = SelfSignedCaCertificate.create().cert();
+    initializeChannel(
+        ch -> {
+          ch.attr(REMOTE_ADDRESS_KEY).set(CLIENT_ADDRESS);
+          ch.attr(CLIENT_CERTIFICATE_PROMISE_KEY).set(ch.eventLoop().newPromise());
+          addAllTestableHandlers(ch);
+        });
+    @SuppressWarnings("unused")
+    Promise<X509Certificate> unusedPromise =
+        channel.attr(CLIENT_CERTIFICATE_PROMISE_KEY).get().setSuccess(certificate);
+    // First inbound message is hello.
+    ReferenceCountUtil.release(channel.readInbound());
+  }
+
+  @AfterEach
+  void afterEach() {
+    assertThat(channel.finishAndReleaseAll()).isFalse();
+  }
+
+  private ByteBuf getPooledByteBufFromContent(byte[] content, int offset, int length) {
+    ByteBuf buffer = allocator.directBuffer();
+    if (offset == 0) {
+      buffer.writeInt(content.length + HEADER_LENGTH);
+    }
+    buffer.writeBytes(content, offset, length);
+    return buffer;
+  }
+
+  private ByteBuf getPooledByteBufFromContent(byte[] content) {
+    return getPooledByteBufFromContent(content, 0, content.length);
+  }
+
+  private FullHttpResponse makePooledEppHttpResponse(byte[] content, HttpResponseStatus status) {
+    FullHttpResponse response =
+        TestUtils.makeEppHttpResponse(new String(content, UTF_8), status);
+    ByteBuf pooledContent = allocator.directBuffer().writeBytes(response.content());
+    FullHttpResponse pooledResponse = response.replace(pooledContent);
+    response.release();
+    return pooledResponse;
+  }
+
+  @Test
+  void testSuccess_inboundFrame_notCopied() throws Exception {
+    byte[] inputBytes = readResourceBytes(getClass(), "login.xml").read();
+    ByteBuf input = getPooledByteBufFromContent(inputBytes);
+
+    assertThat(channel.writeInbound(input)).isTrue();
+    FullHttpRequest request = channel.readInbound();
+    assertThat(request.content().toString(UTF_8)).isEqualTo(new String(inputBytes, UTF_8));
+    assertThat(request.headers().getInt(HttpHeaderNames.CONTENT_LENGTH))
+        .isEqualTo(inputBytes.length);
+
+    // The request content is a view of the inbound buffer, which the request keeps alive.
+    assertThat(input.refCnt()).isEqualTo(1);
+    assertThat(request.release()).isTrue();
+    assertThat(input.refCnt()).isEqualTo(0);
+  }
+
+  @Test
+  void testSuccess_inboundFrameAcrossReads_notCopied() throws Exception {
+    byte[] inputBytes = readResourceBytes(getClass(), "login.xml").read();
+    int split = inputBytes.length / 2;
+    ByteBuf input1 = getPooledByteBufFromContent(inputBytes, 0, split);
+    ByteBuf input2 = getPooledByteBufFromContent(inputBytes, split, inputBytes.length - split);
+
+    // The first read does not contain the whole frame.
+    assertThat(channel.writeInbound(input1)).isFalse();
+    assertThat(input1.refCnt()).isEqualTo(1);
+
+    assertThat(channel.writeInbound(input2)).isTrue();
+    FullHttpRequest request = channel.readInbound();
+    assertThat(request.content().toString(UTF_8)).isEqualTo(new String(inputBytes, UTF_8));
+
+    // The frame is a composite of both reads, each of which is kept alive by the request.
+    assertThat(input1.refCnt()).isEqualTo(1);
+    assertThat(input2.refCnt()).isEqualTo(1);
+    assertThat(request.release()).isTrue();
+    assertThat(input1.refCnt()).isEqualTo(0);
+    assertThat(input2.refCnt()).isEqualTo(0);
+  }
+
+  @Test
+  void testSuccess_multipleFramesInOneRead_released() throws Exception {
+    byte[] inputBytes1 = readResourceBytes(getClass(), "login.xml").read();
+    byte[] inputBytes2 = readResourceBytes(getClass(), "logout.xml").read();
+    ByteBuf input = getPooledByteBufFromContent(inputBytes1);
+    input.writeInt(inputBytes2.length + HEADER_LENGTH).writeBytes(inputBytes2);
+
+    assertThat(channel.writeInbound(input)).isTrue();
+    FullHttpRequest request1 = channel.readInbound();
+    FullHttpRequest request2 = channel.readInbound();
+    assertThat(request1.content().toString(UTF_8)).isEqualTo(new String(inputBytes1, UTF_8));
+    assertThat(request2.content().toString(UTF_8)).isEqualTo(new String(inputBytes2, UTF_8));
+
+    // Both requests share the same inbound buffer, which is freed when the last one is released.
+    assertThat(request1.release()).isTrue();
+    assertThat(input.refCnt()).isEqualTo(1);
+    assertThat(request2.release()).isTrue();
+    assertThat(input.refCnt()).isEqualTo(0);
+  }
+
+  @Test
+  void testSuccess_outboundResponse_notCopied() throws Exception {
+    byte[] outputBytes = readResourceBytes(getClass(), "login_response.xml").read();
+    FullHttpResponse response = makePooledEppHttpResponse(outputBytes, HttpResponseStatus.OK);
+    ByteBuf content = response.content();
+
+    assertThat(channel.writeOutbound(response)).isTrue();
+
+    // The length header and the response content are written as separate buffers, the latter
+    // being the response content itself.
+    ByteBuf header = channel.readOutbound();
+    ByteBuf payload = channel.readOutbound();
+    assertThat(header.readInt()).isEqualTo(outputBytes.length + HEADER_LENGTH);
+    assertThat(payload.toString(UTF_8)).isEqualTo(new String(outputBytes, UTF_8));
+    assertThat(content.refCnt()).isEqualTo(1);
+    assertThat(header.release()).isTrue();
+    assertThat(payload.release()).isTrue();
+    assertThat(content.refCnt()).isEqualTo(0);
+  }
+
+  @Test
+  void testFailure_nonOkOutboundResponse_released() throws Exception {
+    byte[] outputBytes = readResourceBytes(getClass(), "login_response.xml").read();
+    FullHttpResponse response =
+        makePooledEppHttpResponse(outputBytes, HttpResponseStatus.UNAUTHORIZED);
+    ByteBuf content = response.content();
+
+    assertThrows(EncoderException.class, () -> channel.writeOutbound(response));
+    assertThat(content.refCnt()).isEqualTo(0);
+    assertThat(channel.isActive()).isFalse();
+  }
+}
@@ -0,0 +1,171 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.proxy.handler.Http2ConnectionHealthHandler.DRAINING_KEY;
+import static google.registry.proxy.handler.RelayHandler.RELAY_CHANNEL_KEY;
+
+import com.google.common.collect.ImmutableList;
+import google.registry.proxy.Protocol.BackendProtocol;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import jakarta.inject.Provider;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Http2ConnectionPool}.
+ *
+ * <p>The pool connects to an HTTP/2 server listening on a loopback port, which accepts streams but
+ * never responds to them.
+ */
+class Http2ConnectionPoolTest {
+
+  private final EventLoopGroup serverGroup = new NioEventLoopGroup(1);
+  private final EventLoopGroup clientGroup = new NioEventLoopGroup(1);
+  private final EventLoop eventLoop = clientGroup.next();
+  private final Http2ConnectionPool pool = new Http2ConnectionPool(eventLoop);
+
+  private Channel relayChannel;
+  private int port;
+
+  @BeforeEach
+  void beforeEach() throws Exception {
+    Channel serverChannel =
+        new ServerBootstrap()
+            .group(serverGroup)
+            .channel(NioServerSocketChannel.class)
+            .childHandler(
+                new ChannelInitializer<NioSocketChannel>() {
+                  @Override
+                  protected void initChannel(NioSocketChannel ch) {
+                    ch.pipeline()
+                        .addLast(
+                            Http2FrameCodecBuilder.forServer().build(),
+                            new Http2MultiplexHandler(
+                                new ChannelInitializer<Http2StreamChannel>() {
+                                  @Override
+                                  protected void initChannel(Http2StreamChannel streamChannel) {}
+                                }));
+                  }
+                })
+            .bind("localhost", 0)
+            .sync()
+            .channel();
+    port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    relayChannel = new NioSocketChannel();
+    eventLoop.register(relayChannel).sync();
+  }
+
+  @AfterEach
+  void afterEach() throws Exception {
+    clientGroup.shutdownGracefully().sync();
+    serverGroup.shutdownGracefully().sync();
+  }
+
+  private BackendProtocol makeProtocol(int maxConcurrentStreams) {
+    return Protocol.backendBuilder()
+        .name("test")
+        .host("localhost")
+        .port(port)
+        .isLocal(true)
+        .handlerProviders(ImmutableList.of())
+        .connectionHandlerProviders(
+            ImmutableList.<Provider<? extends ChannelHandler>>of(
+                () -> Http2FrameCodecBuilder.forClient().build(),
+                () -> new Http2MultiplexHandler(new ChannelInboundHandlerAdapter())))
+        .maxConcurrentStreams(maxConcurrentStreams)
+        .build();
+  }
+
+  private Http2StreamChannel openStream(BackendProtocol protocol) throws Exception {
+    return eventLoop.submit(() -> pool.openStream(protocol, relayChannel)).get().get();
+  }
+
+  private int connectionCount() throws Exception {
+    return eventLoop.submit(pool::connectionCount).get();
+  }
+
+  @Test
+  void testSuccess_streamRelaysToChannel() throws Exception {
+    BackendProtocol protocol = makeProtocol(10);
+    Http2StreamChannel stream = openStream(protocol);
+    assertThat(stream.attr(RELAY_CHANNEL_KEY).get()).isSameInstanceAs(relayChannel);
+    assertThat(stream.attr(Protocol.PROTOCOL_KEY).get()).isSameInstanceAs(protocol);
+  }
+
+  @Test
+  void testSuccess_streamsShareConnection() throws Exception {
+    BackendProtocol protocol = makeProtocol(10);
+    Http2StreamChannel stream1 = openStream(protocol);
+    Http2StreamChannel stream2 = openStream(protocol);
+    assertThat(stream1.parent()).isSameInstanceAs(stream2.parent());
+    assertThat(connectionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testSuccess_maxConcurrentStreamsReached_newConnection() throws Exception {
+    BackendProtocol protocol = makeProtocol(1);
+    Http2StreamChannel stream1 = openStream(protocol);
+    Http2StreamChannel stream2 = openStream(protocol);
+    assertThat(stream1.parent()).isNotSameInstanceAs(stream2.parent());
+    assertThat(connectionCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testSuccess_closedStream_releasesSlot() throws Exception {
+    BackendProtocol protocol = makeProtocol(1);
+    Http2StreamChannel stream1 = openStream(protocol);
+    stream1.close().sync();
+    Http2StreamChannel stream2 = openStream(protocol);
+    assertThat(stream1.parent()).isSameInstanceAs(stream2.parent());
+    assertThat(connectionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testSuccess_drainingConnection_evicted() throws Exception {
+    BackendProtocol protocol = makeProtocol(10);
+    Http2StreamChannel stream1 = openStream(protocol);
+    stream1.parent().attr(DRAINING_KEY).set(true);
+    Http2StreamChannel stream2 = openStream(protocol);
+    assertThat(stream1.parent()).isNotSameInstanceAs(stream2.parent());
+    assertThat(connectionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testSuccess_closedConnection_evicted() throws Exception {
+    BackendProtocol protocol = makeProtocol(10);
+    Http2StreamChannel stream1 = openStream(protocol);
+    stream1.parent().close().sync();
+    Http2StreamChannel stream2 = openStream(protocol);
+    assertThat(stream2.parent()).isNotSameInstanceAs(stream1.parent());
+    assertThat(stream2.parent().isActive()).isTrue();
+    assertThat(connectionCount()).isEqualTo(1);
+  }
+}
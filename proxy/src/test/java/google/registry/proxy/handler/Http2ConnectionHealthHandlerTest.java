@@ -0,0 +1,72 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy.handler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.proxy.handler.Http2ConnectionHealthHandler.isDraining;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.DefaultHttp2GoAwayFrame;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2PingFrame;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link Http2ConnectionHealthHandler}. */
+class Http2ConnectionHealthHandlerTest {
+
+  private final EmbeddedChannel channel = new EmbeddedChannel(new Http2ConnectionHealthHandler());
+
+  private Http2PingFrame fireIdleEvent() {
+    channel.pipeline().fireUserEventTriggered(IdleStateEvent.FIRST_READER_IDLE_STATE_EVENT);
+    return channel.readOutbound();
+  }
+
+  @Test
+  void testSuccess_pingSentWhenIdle() {
+    Http2PingFrame ping = fireIdleEvent();
+    assertThat(ping.ack()).isFalse();
+    assertThat(channel.isActive()).isTrue();
+  }
+
+  @Test
+  void testSuccess_pingAcknowledged_connectionKept() {
+    Http2PingFrame ping = fireIdleEvent();
+    // The acknowledgement is consumed by the handler.
+    assertThat(channel.writeInbound(new DefaultHttp2PingFrame(ping.content(), true))).isFalse();
+    Http2PingFrame nextPing = fireIdleEvent();
+    assertThat(nextPing.content()).isNotEqualTo(ping.content());
+    assertThat(channel.isActive()).isTrue();
+  }
+
+  @Test
+  void testSuccess_pingNotAcknowledged_connectionClosed() {
+    Http2PingFrame ping = fireIdleEvent();
+    // An acknowledgement of a different PING does not count.
+    channel.writeInbound(new DefaultHttp2PingFrame(ping.content() + 1, true));
+    assertThat(fireIdleEvent()).isNull();
+    assertThat(channel.isActive()).isFalse();
+  }
+
+  @Test
+  void testSuccess_goAway_connectionDraining() {
+    assertThat(isDraining(channel)).isFalse();
+    assertThat(channel.writeInbound(new DefaultHttp2GoAwayFrame(Http2Error.NO_ERROR))).isFalse();
+    assertThat(isDraining(channel)).isTrue();
+    // Streams already open are allowed to finish.
+    assertThat(channel.isActive()).isTrue();
+  }
+}
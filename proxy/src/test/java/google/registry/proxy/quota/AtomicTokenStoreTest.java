@@ -0,0 +1,248 @@
+// Copyright 2026 The Nomulus Authors. All Rights Reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package google.registry.proxy.quota;
+
+import static com.google.common.truth.Truth.assertThat;
+import static google.registry.proxy.quota.QuotaConfig.SENTINEL_UNLIMITED_TOKENS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import google.registry.proxy.quota.TokenStore.TimestampedInteger;
+import google.registry.testing.FakeClock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.joda.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for {@link AtomicTokenStore}. */
+class AtomicTokenStoreTest {
+
+  private final QuotaConfig quotaConfig = mock(QuotaConfig.class);
+  private final FakeClock clock = new FakeClock();
+  private final String user = "theUser";
+  private final String otherUser = "theOtherUser";
+
+  /** A ticker that advances along with the fake clock. */
+  private final Ticker ticker =
+      new Ticker() {
+        @Override
+        public long read() {
+          return TimeUnit.MILLISECONDS.toNanos(clock.nowUtc().getMillis());
+        }
+      };
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  private AtomicTokenStore tokenStore;
+
+  private DateTime assertTake(int grantAmount, int amountLeft, DateTime timestamp) {
+    return assertTake(user, grantAmount, amountLeft, timestamp);
+  }
+
+  private DateTime assertTake(String user, int grantAmount, int amountLeft, DateTime timestamp) {
+    TimestampedInteger grantedToken = tokenStore.take(user);
+    assertThat(grantedToken).isEqualTo(TimestampedInteger.create(grantAmount, timestamp));
+    assertThat(tokenStore.getTokenForTests(user))
+        .isEqualTo(TimestampedInteger.create(amountLeft, timestamp));
+    return grantedToken.timestamp();
+  }
+
+  private void assertPut(
+      DateTime returnedTokenRefillTime, int amountAfterReturn, DateTime refillTime) {
+    tokenStore.put(user, returnedTokenRefillTime);
+    assertThat(tokenStore.getTokenForTests(user))
+        .isEqualTo(TimestampedInteger.create(amountAfterReturn, refillTime));
+  }
+
+  private void createTokenStore() {
+    tokenStore = new AtomicTokenStore(quotaConfig, null, clock, ticker);
+  }
+
+  @BeforeEach
+  void beforeEach() {
+    when(quotaConfig.getRefreshPeriod()).thenReturn(Duration.standardSeconds(60));
+    when(quotaConfig.getRefillPeriod(user)).thenReturn(Duration.standardSeconds(10));
+    when(quotaConfig.getTokenAmount(user)).thenReturn(3);
+    when(quotaConfig.getRefillPeriod(otherUser)).thenReturn(Duration.standardSeconds(15));
+    when(quotaConfig.getTokenAmount(otherUser)).thenReturn(5);
+    createTokenStore();
+  }
+
+  @AfterEach
+  void afterEach() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testSuccess_take() {
+    // Take 3 tokens one by one.
+    DateTime refillTime = clock.nowUtc();
+    assertTake(1, 2, refillTime);
+    assertTake(1, 1, refillTime);
+    clock.advanceBy(Duration.standardSeconds(2));
+    assertTake(1, 0, refillTime);
+
+    // Take 1 token, not enough tokens left.
+    clock.advanceBy(Duration.standardSeconds(3));
+    assertTake(0, 0, refillTime);
+
+    // Refill period passed. Take 1 token - success.
+    clock.advanceBy(Duration.standardSeconds(6));
+    refillTime = clock.nowUtc();
+    assertTake(1, 2, refillTime);
+  }
+
+  @Test
+  void testSuccess_take_sameResultsWithinRefillPeriod() {
+    TimestampedInteger granted = tokenStore.take(user);
+    assertThat(tokenStore.take(user)).isSameInstanceAs(granted);
+  }
+
+  @Test
+  void testSuccess_put_entryDoesNotExist() {
+    tokenStore.put(user, clock.nowUtc());
+    assertThat(tokenStore.getTokenForTests(user)).isNull();
+  }
+
+  @Test
+  void testSuccess_put() {
+    DateTime refillTime = clock.nowUtc();
+
+    // Initialize the entry.
+    DateTime grantedTokenRefillTime = assertTake(1, 2, refillTime);
+
+    // Put into full bucket.
+    assertPut(grantedTokenRefillTime, 3, refillTime);
+    assertPut(grantedTokenRefillTime, 3, refillTime);
+
+    clock.advanceBy(Duration.standardSeconds(3));
+
+    // Take 1 token out, put 1 back in.
+    assertTake(1, 2, refillTime);
+    assertPut(refillTime, 3, refillTime);
+
+    // Do not put old token back.
+    grantedTokenRefillTime = assertTake(1, 2, refillTime);
+    clock.advanceBy(Duration.standardSeconds(11));
+    refillTime = clock.nowUtc();
+    assertPut(grantedTokenRefillTime, 3, refillTime);
+  }
+
+  @Test
+  void testSuccess_refresh() {
+    DateTime refillTime1 = clock.nowUtc();
+    assertTake(user, 1, 2, refillTime1);
+
+    clock.advanceBy(Duration.standardSeconds(5));
+    DateTime refillTime2 = clock.nowUtc();
+    assertTake(otherUser, 1, 4, refillTime2);
+
+    clock.advanceBy(Duration.standardSeconds(55));
+
+    // Entry for user is 60s old, entry for otherUser is 55s old.
+    tokenStore.refresh();
+    assertThat(tokenStore.getTokenForTests(user)).isNull();
+    assertThat(tokenStore.getTokenForTests(otherUser))
+        .isEqualTo(TimestampedInteger.create(4, refillTime2));
+  }
+
+  @Test
+  void testSuccess_staleEntriesPurgedWhenUserAdded() {
+    when(quotaConfig.getRefillPeriod(user)).thenReturn(Duration.ZERO);
+    createTokenStore();
+    assertTake(user, 1, 2, clock.nowUtc());
+
+    // Taking from an existing user does not purge.
+    clock.advanceBy(Duration.standardSeconds(60));
+    tokenStore.take(user);
+    assertThat(tokenStore.getTokenForTests(user)).isNotNull();
+
+    // Adding a user does.
+    assertTake(otherUser, 1, 4, clock.nowUtc());
+    assertThat(tokenStore.getTokenForTests(user)).isNull();
+  }
+
+  @Test
+  void testSuccess_unlimitedQuota() {
+    when(quotaConfig.hasUnlimitedTokens(user)).thenReturn(true);
+    DateTime refillTime = clock.nowUtc();
+    for (int i = 0; i < 10000; ++i) {
+      assertTake(1, SENTINEL_UNLIMITED_TOKENS, refillTime);
+      clock.advanceOneMilli();
+    }
+    for (int i = 0; i < 10000; ++i) {
+      assertPut(clock.nowUtc(), SENTINEL_UNLIMITED_TOKENS, refillTime);
+    }
+  }
+
+  @Test
+  void testSuccess_noRefill() {
+    when(quotaConfig.getRefillPeriod(user)).thenReturn(Duration.ZERO);
+    DateTime refillTime = clock.nowUtc();
+    assertTake(1, 2, refillTime);
+    assertTake(1, 1, refillTime);
+    assertTake(1, 0, refillTime);
+    clock.advanceBy(Duration.standardDays(365));
+    assertTake(0, 0, refillTime);
+  }
+
+  @Test
+  void testSuccess_noRefresh() {
+    when(quotaConfig.getRefreshPeriod()).thenReturn(Duration.ZERO);
+    createTokenStore();
+    DateTime refillTime = clock.nowUtc();
+    assertTake(1, 2, refillTime);
+    clock.advanceBy(Duration.standardDays(365));
+    assertTake(otherUser, 1, 4, clock.nowUtc());
+    assertThat(tokenStore.getTokenForTests(user))
+        .isEqualTo(TimestampedInteger.create(2, refillTime));
+  }
+
+  @Test
+  void testSuccess_concurrency() throws Exception {
+    when(quotaConfig.getTokenAmount(user)).thenReturn(1000);
+    DateTime refillTime = clock.nowUtc();
+    List<Future<TimestampedInteger>> futures = new ArrayList<>();
+    for (int i = 0; i < 1500; ++i) {
+      futures.add(executor.submit(() -> tokenStore.take(user)));
+    }
+    int granted = 0;
+    for (Future<TimestampedInteger> future : futures) {
+      granted += future.get().value();
+    }
+    // Exactly the allotted amount is granted, no matter how the takes interleave.
+    assertThat(granted).isEqualTo(1000);
+    assertThat(tokenStore.getTokenForTests(user))
+        .isEqualTo(TimestampedInteger.create(0, refillTime));
+
+    List<Future<?>> putFutures = new ArrayList<>();
+    for (int i = 0; i < 200; ++i) {
+      putFutures.add(executor.submit(() -> tokenStore.put(user, refillTime)));
+    }
+    for (Future<?> future : putFutures) {
+      future.get();
+    }
+    assertThat(tokenStore.getTokenForTests(user))
+        .isEqualTo(TimestampedInteger.create(200, refillTime));
+  }
+}
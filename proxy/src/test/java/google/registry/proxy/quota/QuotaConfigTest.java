@@ -19,6 +19,7 @@ import static google.registry.util.ResourceUtils.readResourceUtf8;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import google.registry.proxy.ProxyConfig.Quota;
+import google.registry.proxy.quota.QuotaConfig.TokenStoreType;
 import org.joda.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.yaml.snakeyaml.Yaml;
@@ -47,6 +48,7 @@ class QuotaConfigTest {
   void testSuccess_regularConfig() {
     quotaConfig = loadQuotaConfig("quota_config_regular.yaml");
     assertThat(quotaConfig.getRefreshPeriod()).isEqualTo(Duration.standardHours(1));
+    assertThat(quotaConfig.getTokenStoreType()).isEqualTo(TokenStoreType.MAP);
     validateQuota("abc", 10, 60);
     validateQuota("987lol", 500, 10);
     validateQuota("no_match", 100, 60);
@@ -61,6 +63,13 @@ class QuotaConfigTest {
     validateQuota("no_match", 100, 60);
   }
 
+  @Test
+  void testSuccess_atomicTokenStore() {
+    quotaConfig = loadQuotaConfig("quota_config_atomic.yaml");
+    assertThat(quotaConfig.getTokenStoreType()).isEqualTo(TokenStoreType.ATOMIC);
+    validateQuota("no_match", 100, 60);
+  }
+
   @Test
   void testSuccess_noRefresh_noRefill() {
     quotaConfig = loadQuotaConfig("quota_config_no_refresh_no_refill.yaml");